@@ -16,12 +16,18 @@
 
 package com.bakdata.quick.common.api.client.mirror;
 
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.bakdata.quick.common.api.model.mirror.PositionedValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
 import com.bakdata.quick.common.resolver.TypeResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import okhttp3.HttpUrl;
 
 /**
  * Default HTTP client for working with Quick mirrors.
@@ -55,6 +61,22 @@ public class DefaultMirrorClient<K, V> implements MirrorClient<K, V> {
         return this.mirrorRequestManager.processResponse(response, this.parser::deserialize);
     }
 
+    @Override
+    @Nullable
+    public V fetchValue(final K key, final FieldProjection projection, @Nullable final String minPosition) {
+        final HttpUrl url = MirrorRequests.project(this.host.forKey(key.toString()), projection);
+        final ResponseWrapper response = MirrorRequests.makeRequest(this.mirrorRequestManager, url, minPosition);
+        return this.mirrorRequestManager.processResponse(response, this.parser.forProjection(projection)::deserialize);
+    }
+
+    @Override
+    public PositionedValue<V> fetchValueWithPosition(final K key, @Nullable final String minPosition) {
+        final ResponseWrapper response =
+            MirrorRequests.makeRequest(this.mirrorRequestManager, this.host.forKey(key.toString()), minPosition);
+        final V value = this.mirrorRequestManager.processResponse(response, this.parser::deserialize);
+        return new PositionedValue<>(value, response.getPosition());
+    }
+
     @Override
     public List<V> fetchAll() {
         final ResponseWrapper response = this.mirrorRequestManager.makeRequest(this.host.forAll());
@@ -63,6 +85,16 @@ public class DefaultMirrorClient<K, V> implements MirrorClient<K, V> {
             Collections.emptyList());
     }
 
+    @Override
+    public List<V> fetchAll(final FieldProjection projection, @Nullable final ValueFilter filter) {
+        final HttpUrl url =
+            MirrorRequests.filter(MirrorRequests.project(this.host.forAll(), projection), filter, this.objectMapper());
+        final ResponseWrapper response = this.mirrorRequestManager.makeRequest(url);
+        return Objects.requireNonNullElse(
+            this.mirrorRequestManager.processResponse(response, this.parser.forProjection(projection)::deserializeList),
+            Collections.emptyList());
+    }
+
     @Override
     @Nullable
     public List<V> fetchValues(final List<K> keys) {
@@ -73,6 +105,18 @@ public class DefaultMirrorClient<K, V> implements MirrorClient<K, V> {
             Collections.emptyList());
     }
 
+    @Override
+    @Nullable
+    public List<V> fetchValues(final List<K> keys, final FieldProjection projection,
+        @Nullable final String minPosition) {
+        final List<String> collect = keys.stream().map(Object::toString).collect(Collectors.toList());
+        final HttpUrl url = MirrorRequests.project(this.host.forKeys(collect), projection);
+        final ResponseWrapper response = MirrorRequests.makeRequest(this.mirrorRequestManager, url, minPosition);
+        return Objects.requireNonNullElse(
+            this.mirrorRequestManager.processResponse(response, this.parser.forProjection(projection)::deserializeList),
+            Collections.emptyList());
+    }
+
     @Override
     @Nullable
     public List<V> fetchRange(final K key, final String from, final String rangeTo) {
@@ -84,8 +128,48 @@ public class DefaultMirrorClient<K, V> implements MirrorClient<K, V> {
             Collections.emptyList());
     }
 
+    @Override
+    @Nullable
+    public List<V> fetchRange(final K key, final String from, final String to, final FieldProjection projection,
+        @Nullable final ValueFilter filter) {
+        final HttpUrl url = MirrorRequests.filter(
+            MirrorRequests.project(this.host.forRange(key.toString(), from, to), projection), filter,
+            this.objectMapper());
+        final ResponseWrapper response = this.mirrorRequestManager.makeRequest(url);
+        return Objects.requireNonNullElse(
+            this.mirrorRequestManager.processResponse(response, this.parser.forProjection(projection)::deserializeList),
+            Collections.emptyList());
+    }
+
+    @Override
+    public Aggregate aggregateAll(@Nullable final String field, @Nullable final ValueFilter filter) {
+        final HttpUrl url = MirrorRequests.filter(MirrorRequests.aggregated(this.host.forAggregate(), field), filter,
+            this.objectMapper());
+        return this.aggregate(url);
+    }
+
+    @Override
+    public Aggregate aggregateRange(final K key, final String from, final String to, @Nullable final String field,
+        @Nullable final ValueFilter filter) {
+        final HttpUrl url = MirrorRequests.filter(
+            MirrorRequests.aggregated(this.host.forRangeAggregate(key.toString(), from, to), field), filter,
+            this.objectMapper());
+        return this.aggregate(url);
+    }
+
     @Override
     public boolean exists(final K key) {
         return this.fetchValue(key) != null;
     }
+
+    private Aggregate aggregate(final HttpUrl url) {
+        final ResponseWrapper response = this.mirrorRequestManager.makeRequest(url);
+        return Objects.requireNonNullElse(
+            this.mirrorRequestManager.processResponse(response, MirrorRequests.aggregateParser(this.objectMapper())),
+            Aggregate.empty());
+    }
+
+    private ObjectMapper objectMapper() {
+        return this.parser.getObjectMapper();
+    }
 }
@@ -22,6 +22,7 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import io.micronaut.http.HttpStatus;
 import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -39,8 +40,8 @@ public class DefaultMirrorRequestManager implements MirrorRequestManager {
     }
 
     @Override
-    public ResponseWrapper makeRequest(final HttpUrl url) {
-        final Request request = new Request.Builder().url(url).get().build();
+    public ResponseWrapper makeRequest(final HttpUrl url, final Headers headers) {
+        final Request request = new Request.Builder().url(url).headers(headers).get().build();
         // Do not close the response here because its content is read later (try-with-resources
         // implicitly closes the processed resource).
         try {
@@ -28,6 +28,11 @@ public class HeaderConstants {
     // The constant below indicates the existence of a header.
     // See: https://stackoverflow.com/a/65241869 for more details.
     public static final String HEADER_EXISTS = "?1";
+    // The X-Quick-Position header contains the position of the mirror's state a response was read from.
+    // See {@link com.bakdata.quick.common.api.model.TopicPosition#toToken()} for the format.
+    public static final String POSITION_HEADER = "X-Quick-Position";
+    // The X-Quick-Min-Position header requests that a response reflects at least the given position.
+    public static final String MIN_POSITION_HEADER = "X-Quick-Min-Position";
 
     private HeaderConstants() {
     }
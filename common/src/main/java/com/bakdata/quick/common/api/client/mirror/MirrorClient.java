@@ -16,6 +16,10 @@
 
 package com.bakdata.quick.common.api.client.mirror;
 
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.bakdata.quick.common.api.model.mirror.PositionedValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.List;
 
@@ -37,6 +41,25 @@ public interface MirrorClient<K, V> {
     @Nullable
     V fetchValue(final K key);
 
+    /**
+     * Fetches the value of the given key together with the position of the mirror's state.
+     *
+     * @param key a key to be fetched
+     * @return the value, which is null if the key does not exist, and the position the mirror read it at
+     */
+    default PositionedValue<V> fetchValueWithPosition(final K key) {
+        return this.fetchValueWithPosition(key, null);
+    }
+
+    /**
+     * Fetches the value of the given key from a state that reflects at least the given position.
+     *
+     * @param key         a key to be fetched
+     * @param minPosition optional position token the mirror's state must have reached
+     * @return the value, which is null if the key does not exist, and the position the mirror read it at
+     */
+    PositionedValue<V> fetchValueWithPosition(final K key, @Nullable final String minPosition);
+
     /**
      * Fetches all the values of a mirror topic.
      *
@@ -64,6 +87,94 @@ public interface MirrorClient<K, V> {
     @Nullable
     List<V> fetchRange(final K key, final String from, final String to);
 
+    /**
+     * Fetches the value of the given key with only the fields of the projection.
+     */
+    @Nullable
+    default V fetchValue(final K key, final FieldProjection projection) {
+        return this.fetchValue(key, projection, null);
+    }
+
+    /**
+     * Fetches the value of the given key with only the fields of the projection from a state that reflects at least
+     * the given position.
+     *
+     * @param key         a key to be fetched
+     * @param projection  fields of the value to fetch
+     * @param minPosition optional position token the mirror's state must have reached
+     * @return the value or null if the key does not exist
+     */
+    @Nullable
+    V fetchValue(final K key, final FieldProjection projection, @Nullable final String minPosition);
+
+    /**
+     * Fetches all the values of a mirror topic matching the filter with only the fields of the projection.
+     *
+     * @param projection fields of the values to fetch
+     * @param filter     optional filter evaluated by the mirror
+     * @return list of matching values
+     */
+    List<V> fetchAll(final FieldProjection projection, @Nullable final ValueFilter filter);
+
+    /**
+     * Fetches the values of a list of keys with only the fields of the projection.
+     */
+    @Nullable
+    default List<V> fetchValues(final List<K> keys, final FieldProjection projection) {
+        return this.fetchValues(keys, projection, null);
+    }
+
+    /**
+     * Fetches the values of a list of keys with only the fields of the projection from a state that reflects at least
+     * the given position.
+     *
+     * @param keys        list of keys to be fetched
+     * @param projection  fields of the values to fetch
+     * @param minPosition optional position token the mirror's state must have reached
+     * @return a list of values with null for each missing key, or null if the values could not be fetched
+     */
+    @Nullable
+    List<V> fetchValues(final List<K> keys, final FieldProjection projection, @Nullable final String minPosition);
+
+    /**
+     * Fetches a range of a given key matching the filter with only the fields of the projection.
+     *
+     * @param key        a key to be fetched
+     * @param from       lower bound of the range field
+     * @param to         higher bound of the range field
+     * @param projection fields of the values to fetch
+     * @param filter     optional filter evaluated by the mirror
+     * @return a list of matching values
+     */
+    @Nullable
+    List<V> fetchRange(final K key, final String from, final String to, final FieldProjection projection,
+        @Nullable final ValueFilter filter);
+
+    /**
+     * Aggregates all the values of a mirror topic matching the filter.
+     *
+     * <p>
+     * The mirror aggregates the values, so that only the aggregate is transferred.
+     *
+     * @param field  optional field to aggregate, if null the values are only counted
+     * @param filter optional filter evaluated by the mirror
+     * @return the aggregate of all matching values
+     */
+    Aggregate aggregateAll(@Nullable final String field, @Nullable final ValueFilter filter);
+
+    /**
+     * Aggregates a range of a given key matching the filter.
+     *
+     * @param key    the key of the range
+     * @param from   lower bound of the range field
+     * @param to     higher bound of the range field
+     * @param field  optional field to aggregate, if null the values are only counted
+     * @param filter optional filter evaluated by the mirror
+     * @return the aggregate of all matching values in the range
+     */
+    Aggregate aggregateRange(final K key, final String from, final String to, @Nullable final String field,
+        @Nullable final ValueFilter filter);
+
     /**
      * Checks if a key exists in mirror topic.
      *
@@ -131,6 +131,40 @@ public final class MirrorHost {
         return httpUrl;
     }
 
+    /**
+     * Generates a URL for aggregating all values in a topic.
+     *
+     * <p>
+     * e.g. http://quick-mirror-example-topic/mirror/aggregate
+     */
+    public HttpUrl forAggregate() {
+        final HttpUrl httpUrl = this.getBaseUrlBuilder()
+            .addPathSegment("aggregate")
+            .build();
+
+        log.trace("Preparing Mirror URL: {}", httpUrl);
+        return httpUrl;
+    }
+
+    /**
+     * Generates a URL for aggregating a range of keys.
+     *
+     * <p>
+     * e.g. http://quick-mirror-example-topic/mirror/range/123/aggregate?from=1&to=10
+     */
+    public HttpUrl forRangeAggregate(final String key, final String from, final String to) {
+        final HttpUrl httpUrl = this.getBaseUrlBuilder()
+            .addPathSegment("range")
+            .addPathSegment(key)
+            .addPathSegment("aggregate")
+            .addQueryParameter("from", from)
+            .addQueryParameter("to", to)
+            .build();
+
+        log.trace("Preparing Mirror URL: {}", httpUrl);
+        return httpUrl;
+    }
+
     /**
      * Returns the Mirror host with the configured prefix.
      *
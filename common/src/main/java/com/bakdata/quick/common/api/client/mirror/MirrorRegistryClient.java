@@ -21,10 +21,12 @@ import com.bakdata.quick.common.api.client.ingest.IngestClient;
 import com.bakdata.quick.common.api.model.KeyValuePair;
 import com.bakdata.quick.common.api.model.TopicData;
 import com.bakdata.quick.common.api.model.TopicWriteType;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.bakdata.quick.common.config.TopicRegistryConfig;
 import com.bakdata.quick.common.exception.NotFoundException;
 import com.bakdata.quick.common.resolver.KnownTypeResolver;
 import com.bakdata.quick.common.type.QuickTopicType;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.reactivex.Single;
@@ -81,12 +83,20 @@ public class MirrorRegistryClient implements TopicRegistryClient {
         if (name.equals(this.registryTopic)) {
             return this.getSelf();
         }
-        return Single.fromCallable(() -> this.fetchTopicData(name));
+        return Single.fromCallable(() -> this.fetchTopicData(name, null));
     }
 
-    private TopicData fetchTopicData(final String name) {
+    @Override
+    public Single<TopicData> getTopicData(final String name, final String minPosition) {
+        if (name.equals(this.registryTopic)) {
+            return this.getSelf();
+        }
+        return Single.fromCallable(() -> this.fetchTopicData(name, minPosition));
+    }
+
+    private TopicData fetchTopicData(final String name, @Nullable final String minPosition) {
         log.debug("Request topic data from topic registry for topic {}", name);
-        final TopicData topicData = this.topicDataClient.fetchValue(name);
+        final TopicData topicData = this.topicDataClient.fetchValue(name, FieldProjection.all(), minPosition);
         if (topicData != null) {
             return topicData;
         }
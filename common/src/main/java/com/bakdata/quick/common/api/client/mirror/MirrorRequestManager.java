@@ -17,6 +17,7 @@
 package com.bakdata.quick.common.api.client.mirror;
 
 import edu.umd.cs.findbugs.annotations.Nullable;
+import okhttp3.Headers;
 import okhttp3.HttpUrl;
 
 /**
@@ -30,7 +31,18 @@ public interface MirrorRequestManager {
      * @param url A URL for which a request is made
      * @return a response body if successful; null if resource has not been found
      */
-    ResponseWrapper makeRequest(final HttpUrl url);
+    default ResponseWrapper makeRequest(final HttpUrl url) {
+        return this.makeRequest(url, Headers.of());
+    }
+
+    /**
+     * Submits a request with additional headers and processes the response.
+     *
+     * @param url     A URL for which a request is made
+     * @param headers headers sent with the request, e.g., the minimum position of the mirror's state
+     * @return a response body if successful; null if resource has not been found
+     */
+    ResponseWrapper makeRequest(final HttpUrl url, final Headers headers);
 
     @Nullable
     <T> T processResponse(final ResponseWrapper responseWrapper, final ParserFunction<T> parser);
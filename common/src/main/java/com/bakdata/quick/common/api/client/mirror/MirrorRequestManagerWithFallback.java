@@ -23,6 +23,7 @@ import com.bakdata.quick.common.exception.MirrorException;
 import io.micronaut.http.HttpStatus;
 import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -52,9 +53,9 @@ public class MirrorRequestManagerWithFallback implements MirrorRequestManager {
     }
 
     @Override
-    public ResponseWrapper makeRequest(final HttpUrl url) {
+    public ResponseWrapper makeRequest(final HttpUrl url, final Headers headers) {
         log.debug("Sending request to: {}", url);
-        final Request request = new Request.Builder().url(url).get().build();
+        final Request request = new Request.Builder().url(url).headers(headers).get().build();
         // Do not close the response here because its content is read later (try-with-resources
         // implicitly closes the processed resource).
         try {
@@ -75,7 +76,8 @@ public class MirrorRequestManagerWithFallback implements MirrorRequestManager {
      * This code covers a situation where a replica is removed, and we can no longer reach the host for a given
      * partition. The k8s-service (Load Balancer) is used as a fallback in such a case. It might also happen that the
      * Load Balancer itself is not reachable. If this occurs, we throw an exception. We also set the X-Cache-Update
-     * header {@link HeaderConstants} to a response to immediately update the mapping.
+     * header {@link HeaderConstants} to a response to immediately update the mapping. The fallback request carries the
+     * headers of the original request.
      *
      * @param initialRequest the original request
      * @return an instance of ResponseWrapper with headerSet equals true
@@ -84,7 +86,8 @@ public class MirrorRequestManagerWithFallback implements MirrorRequestManager {
         log.info("Host at {} is unavailable.", initialRequest.url());
         final HttpUrl newUrl = createMirrorUrlFromRequest(initialRequest, this.fallbackServiceHost);
         log.info("Forwarding the request to {}", newUrl);
-        final Request fallbackRequest = new Request.Builder().url(newUrl).get().build();
+        final Request fallbackRequest = new Request.Builder().url(newUrl).headers(initialRequest.headers()).get()
+            .build();
         try {
             final Response fallbackResponse = this.client.newCall(fallbackRequest).execute();
             return ResponseWrapper.fromFallbackResponse(fallbackResponse);
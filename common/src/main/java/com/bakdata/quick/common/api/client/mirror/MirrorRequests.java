@@ -0,0 +1,103 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.api.client.mirror;
+
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.bakdata.quick.common.api.model.mirror.MirrorValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
+import com.bakdata.quick.common.exception.MirrorException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.http.HttpStatus;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+
+/**
+ * Helpers for building the requests that mirror clients send.
+ */
+final class MirrorRequests {
+    private static final TypeReference<MirrorValue<Aggregate>> AGGREGATE_TYPE = new TypeReference<>() {};
+
+    private MirrorRequests() {
+    }
+
+    /**
+     * Sends a request that requires the mirror's state to reflect at least the given position.
+     *
+     * @param requestManager manager sending the request
+     * @param url            URL of the request
+     * @param minPosition    optional position token, if null the mirror answers from its current state
+     * @return the response of the mirror
+     */
+    static ResponseWrapper makeRequest(final MirrorRequestManager requestManager, final HttpUrl url,
+        @Nullable final String minPosition) {
+        if (minPosition == null) {
+            return requestManager.makeRequest(url);
+        }
+        return requestManager.makeRequest(url, Headers.of(HeaderConstants.MIN_POSITION_HEADER, minPosition));
+    }
+
+    /**
+     * Adds the projection to the URL of a request, unless all fields are selected.
+     */
+    static HttpUrl project(final HttpUrl url, final FieldProjection projection) {
+        if (projection.isAll()) {
+            return url;
+        }
+        return url.newBuilder()
+            .addQueryParameter(FieldProjection.QUERY_PARAMETER, projection.toString())
+            .build();
+    }
+
+    /**
+     * Adds the filter as JSON to the URL of a request, so that the mirror evaluates it.
+     */
+    static HttpUrl filter(final HttpUrl url, @Nullable final ValueFilter filter, final ObjectMapper objectMapper) {
+        if (filter == null) {
+            return url;
+        }
+        try {
+            return url.newBuilder()
+                .addQueryParameter(ValueFilter.QUERY_PARAMETER, objectMapper.writeValueAsString(filter))
+                .build();
+        } catch (final JsonProcessingException e) {
+            throw new MirrorException("Could not serialize filter", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    /**
+     * Adds the aggregated field to the URL of a request, unless the values are only counted.
+     */
+    static HttpUrl aggregated(final HttpUrl url, @Nullable final String field) {
+        if (field == null) {
+            return url;
+        }
+        return url.newBuilder()
+            .addQueryParameter(Aggregate.QUERY_PARAMETER, field)
+            .build();
+    }
+
+    /**
+     * Returns a parser for the responses of aggregate endpoints.
+     */
+    static ParserFunction<Aggregate> aggregateParser(final ObjectMapper objectMapper) {
+        return inputStream -> objectMapper.readValue(inputStream, AGGREGATE_TYPE);
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.bakdata.quick.common.api.client.mirror;
 
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.bakdata.quick.common.api.model.mirror.MirrorValue;
 import com.bakdata.quick.common.exception.MirrorException;
 import com.bakdata.quick.common.resolver.TypeResolver;
@@ -46,6 +47,23 @@ public class MirrorValueParser<V> {
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * Returns a parser for responses that only contain the fields of the given projection.
+     */
+    public MirrorValueParser<V> forProjection(final FieldProjection projection) {
+        if (projection.isAll()) {
+            return this;
+        }
+        return new MirrorValueParser<>(this.resolver.forProjection(projection), this.objectMapper);
+    }
+
+    /**
+     * Returns the object mapper of the parser, which clients use for the JSON in their requests as well.
+     */
+    ObjectMapper getObjectMapper() {
+        return this.objectMapper;
+    }
+
     /**
      * Extracts value from the underlying input stream.
      *
@@ -67,7 +85,7 @@ public class MirrorValueParser<V> {
      * but is adjusted to work with lists.
      *
      * @param inputStream an input stream
-     * @return a list of values that have been parsed from the corresponding json nodes
+     * @return a list of values that have been parsed from the corresponding json nodes, with null for missing keys
      * @throws IOException an instance of IOException if input stream can't be converted to a JsonNode.
      */
     public MirrorValue<List<V>> deserializeList(final InputStream inputStream) throws IOException {
@@ -78,7 +96,7 @@ public class MirrorValueParser<V> {
         }
 
         final List<V> collect = StreamSupport.stream(valueNode.spliterator(), false)
-            .map(this::parseValue)
+            .map(element -> element.isNull() ? null : this.parseValue(element))
             .collect(Collectors.toList());
         return new MirrorValue<>(collect);
     }
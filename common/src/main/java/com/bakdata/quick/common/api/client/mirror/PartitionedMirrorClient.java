@@ -16,13 +16,22 @@
 
 package com.bakdata.quick.common.api.client.mirror;
 
+import static com.bakdata.quick.common.api.client.mirror.MirrorRequests.aggregated;
+import static com.bakdata.quick.common.api.client.mirror.MirrorRequests.filter;
+import static com.bakdata.quick.common.api.client.mirror.MirrorRequests.project;
+
 import com.bakdata.quick.common.api.client.HttpClient;
 import com.bakdata.quick.common.api.client.routing.Router;
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.bakdata.quick.common.api.model.mirror.PositionedValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
 import com.bakdata.quick.common.resolver.TypeResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -42,7 +51,9 @@ import okhttp3.HttpUrl;
 public class PartitionedMirrorClient<K, V> implements MirrorClient<K, V> {
     private final Router<K> router;
     private final MirrorValueParser<V> parser;
+    private final ObjectMapper objectMapper;
     private final MirrorRequestManager requestManager;
+    private final ParserFunction<Aggregate> aggregateParser;
 
     /**
      * Next to its default task of instantiation PartitionHost, it takes responsibility for creating several business
@@ -53,34 +64,63 @@ public class PartitionedMirrorClient<K, V> implements MirrorClient<K, V> {
         final MirrorRequestManager mirrorRequestManager,
         final Router<K> router) {
         this.parser = new MirrorValueParser<>(typeResolver, client.objectMapper());
+        this.objectMapper = client.objectMapper();
         this.requestManager = mirrorRequestManager;
+        this.aggregateParser = MirrorRequests.aggregateParser(this.objectMapper);
         this.router = router;
     }
 
     @Override
     @Nullable
     public V fetchValue(final K key) {
+        return this.fetchValue(key, FieldProjection.all());
+    }
+
+    @Override
+    @Nullable
+    public V fetchValue(final K key, final FieldProjection projection, @Nullable final String minPosition) {
         final MirrorHost currentKeyHost = this.router.findHost(key);
         log.debug("Host {} will answer the request for the key: {}.", currentKeyHost.getUrl().host(), key);
-        final ResponseWrapper response = this.requestManager.makeRequest(currentKeyHost.forKey(key.toString()));
+        final HttpUrl url = project(currentKeyHost.forKey(key.toString()), projection);
+        final ResponseWrapper response = MirrorRequests.makeRequest(this.requestManager, url, minPosition);
+        if (response.isUpdateCacheHeaderSet()) {
+            log.debug("The update header has been set. Updating router info.");
+            this.router.updateRoutingInfo();
+        }
+        return this.requestManager.processResponse(response, this.parser.forProjection(projection)::deserialize);
+    }
+
+    @Override
+    public PositionedValue<V> fetchValueWithPosition(final K key, @Nullable final String minPosition) {
+        final MirrorHost currentKeyHost = this.router.findHost(key);
+        final ResponseWrapper response =
+            MirrorRequests.makeRequest(this.requestManager, currentKeyHost.forKey(key.toString()), minPosition);
         if (response.isUpdateCacheHeaderSet()) {
             log.debug("The update header has been set. Updating router info.");
             this.router.updateRoutingInfo();
         }
-        return this.requestManager.processResponse(response, this.parser::deserialize);
+        final V value = this.requestManager.processResponse(response, this.parser::deserialize);
+        return new PositionedValue<>(value, response.getPosition());
     }
 
     @Override
     public List<V> fetchAll() {
+        return this.fetchAll(FieldProjection.all(), null);
+    }
+
+    @Override
+    public List<V> fetchAll(final FieldProjection projection, @Nullable final ValueFilter filter) {
+        final MirrorValueParser<V> projectedParser = this.parser.forProjection(projection);
         final List<MirrorHost> knownHosts = this.router.getAllHosts();
         final List<V> valuesFromAllHosts = new ArrayList<>();
         log.debug("Fetching the values for all possible keys that are distributed across {} hosts.", knownHosts.size());
         for (final MirrorHost host : knownHosts) {
             log.debug("Fetching the value from the following host: {}", host.getUrl().host());
-            final ResponseWrapper response = this.requestManager.makeRequest(host.forAll());
+            final HttpUrl url = filter(project(host.forAll(), projection), filter, this.objectMapper);
+            final ResponseWrapper response = this.requestManager.makeRequest(url);
             final List<V> valuesFromSingleHost =
-                Objects.requireNonNullElse(this.requestManager.processResponse(response, this.parser::deserializeList),
-                    Collections.emptyList());
+                Objects.requireNonNullElse(this.requestManager.processResponse(response,
+                    projectedParser::deserializeList), Collections.emptyList());
             valuesFromAllHosts.addAll(valuesFromSingleHost);
             log.debug("Fetched {} values.", valuesFromSingleHost.size());
         }
@@ -90,19 +130,29 @@ public class PartitionedMirrorClient<K, V> implements MirrorClient<K, V> {
     @Override
     @Nullable
     public List<V> fetchValues(final List<K> keys) {
+        return this.fetchValues(keys, FieldProjection.all());
+    }
+
+    @Override
+    @Nullable
+    public List<V> fetchValues(final List<K> keys, final FieldProjection projection,
+        @Nullable final String minPosition) {
         log.debug("Fetching values for keys {}.", keys.size());
-        final List<V> valuesFromAllHosts = new ArrayList<>();
+        final MirrorValueParser<V> projectedParser = this.parser.forProjection(projection);
+        // each host returns the values of its keys in order; they are put back at the position of their key
+        final List<V> valuesFromAllHosts = new ArrayList<>(Collections.nCopies(keys.size(), null));
 
-        final Map<MirrorHost, List<K>> mirrorHostKeyMap = this.findMirrorHostForListOfKeys(keys);
-        log.debug("Created a map of host and list of keys: {}", mirrorHostKeyMap);
+        final Map<MirrorHost, List<Integer>> mirrorHostKeyMap = this.findMirrorHostForListOfKeys(keys);
+        log.debug("Created a map of host and list of key indices: {}", mirrorHostKeyMap);
 
-        for (final Entry<MirrorHost, List<K>> mirrorHostWitKeys : mirrorHostKeyMap.entrySet()) {
-            final List<String> stringKeys = mirrorHostWitKeys.getValue().stream()
-                .map(Objects::toString)
+        for (final Entry<MirrorHost, List<Integer>> mirrorHostWitKeys : mirrorHostKeyMap.entrySet()) {
+            final List<Integer> keyIndices = mirrorHostWitKeys.getValue();
+            final List<String> stringKeys = keyIndices.stream()
+                .map(index -> Objects.toString(keys.get(index)))
                 .collect(Collectors.toList());
-            final HttpUrl url = mirrorHostWitKeys.getKey().forKeys(stringKeys);
+            final HttpUrl url = project(mirrorHostWitKeys.getKey().forKeys(stringKeys), projection);
             log.debug("Making request for host: {}", url);
-            final ResponseWrapper response = this.requestManager.makeRequest(url);
+            final ResponseWrapper response = MirrorRequests.makeRequest(this.requestManager, url, minPosition);
 
             if (response.isUpdateCacheHeaderSet()) {
                 log.debug("The update header has been set for url {}. Updating router info.", url);
@@ -110,9 +160,15 @@ public class PartitionedMirrorClient<K, V> implements MirrorClient<K, V> {
             }
 
             final List<V> valuesFromSingleHost =
-                Objects.requireNonNullElse(this.requestManager.processResponse(response, this.parser::deserializeList),
-                    Collections.emptyList());
-            valuesFromAllHosts.addAll(valuesFromSingleHost);
+                this.requestManager.processResponse(response, projectedParser::deserializeList);
+            // missing keys are null; values that still do not match the keys are left to the caller to fetch one by one
+            if (valuesFromSingleHost == null || valuesFromSingleHost.size() != keyIndices.size()) {
+                log.warn("Could not match the values from {} with their keys", url);
+                return null;
+            }
+            for (int i = 0; i < keyIndices.size(); i++) {
+                valuesFromAllHosts.set(keyIndices.get(i), valuesFromSingleHost.get(i));
+            }
         }
         log.debug("Fetched values for list request: {}", valuesFromAllHosts);
         return valuesFromAllHosts;
@@ -121,14 +177,54 @@ public class PartitionedMirrorClient<K, V> implements MirrorClient<K, V> {
     @Override
     @Nullable
     public List<V> fetchRange(final K key, final String from, final String to) {
+        return this.fetchRange(key, from, to, FieldProjection.all(), null);
+    }
+
+    @Override
+    @Nullable
+    public List<V> fetchRange(final K key, final String from, final String to, final FieldProjection projection,
+        @Nullable final ValueFilter filter) {
+        final MirrorHost currentKeyHost = this.router.findHost(key);
+        final HttpUrl url =
+            filter(project(currentKeyHost.forRange(key.toString(), from, to), projection), filter, this.objectMapper);
+        final ResponseWrapper response = this.requestManager.makeRequest(url);
+        if (response.isUpdateCacheHeaderSet()) {
+            log.debug("The update header has been set for host {} and key {}. Updating router info.", url, key);
+            this.router.updateRoutingInfo();
+        }
+        return this.requestManager.processResponse(response, this.parser.forProjection(projection)::deserializeList);
+    }
+
+    @Override
+    public Aggregate aggregateAll(@Nullable final String field, @Nullable final ValueFilter filter) {
+        final List<MirrorHost> knownHosts = this.router.getAllHosts();
+        log.debug("Aggregating the values of all keys that are distributed across {} hosts.", knownHosts.size());
+        Aggregate aggregate = Aggregate.empty();
+        // each host aggregates its partitions, so that only the partial aggregates are transferred
+        for (final MirrorHost host : knownHosts) {
+            final HttpUrl url = filter(aggregated(host.forAggregate(), field), filter, this.objectMapper);
+            final ResponseWrapper response = this.requestManager.makeRequest(url);
+            final Aggregate partial = this.requestManager.processResponse(response, this.aggregateParser);
+            if (partial != null) {
+                aggregate = aggregate.merge(partial);
+            }
+        }
+        return aggregate;
+    }
+
+    @Override
+    public Aggregate aggregateRange(final K key, final String from, final String to, @Nullable final String field,
+        @Nullable final ValueFilter filter) {
         final MirrorHost currentKeyHost = this.router.findHost(key);
-        final HttpUrl url = currentKeyHost.forRange(key.toString(), from, to);
+        final HttpUrl url = filter(aggregated(currentKeyHost.forRangeAggregate(key.toString(), from, to), field),
+            filter, this.objectMapper);
         final ResponseWrapper response = this.requestManager.makeRequest(url);
         if (response.isUpdateCacheHeaderSet()) {
             log.debug("The update header has been set for host {} and key {}. Updating router info.", url, key);
             this.router.updateRoutingInfo();
         }
-        return this.requestManager.processResponse(response, this.parser::deserializeList);
+        return Objects.requireNonNullElse(this.requestManager.processResponse(response, this.aggregateParser),
+            Aggregate.empty());
     }
 
     @Override
@@ -136,11 +232,14 @@ public class PartitionedMirrorClient<K, V> implements MirrorClient<K, V> {
         return this.fetchValue(key) != null;
     }
 
-    private Map<MirrorHost, List<K>> findMirrorHostForListOfKeys(final Iterable<K> keys) {
-        final Map<MirrorHost, List<K>> mirrorHostKeyMap = new HashMap<>();
-        for (final K key : keys) {
-            final MirrorHost mirrorHost = this.router.findHost(key);
-            mirrorHostKeyMap.computeIfAbsent(mirrorHost, k -> new ArrayList<>()).add(key);
+    /**
+     * Groups the indices of the keys by the host responsible for them.
+     */
+    private Map<MirrorHost, List<Integer>> findMirrorHostForListOfKeys(final List<K> keys) {
+        final Map<MirrorHost, List<Integer>> mirrorHostKeyMap = new LinkedHashMap<>();
+        for (int index = 0; index < keys.size(); index++) {
+            final MirrorHost mirrorHost = this.router.findHost(keys.get(index));
+            mirrorHostKeyMap.computeIfAbsent(mirrorHost, k -> new ArrayList<>()).add(index);
         }
         return mirrorHostKeyMap;
     }
@@ -30,7 +30,8 @@ import okhttp3.ResponseBody;
  * <p>
  * It consists of a response body extracted from the response and a boolean that indicates
  * whether the X-Cache-Update header has been set. This header signals the need to update
- * the mapping between partitions and mirror hosts.
+ * the mapping between partitions and mirror hosts. If the mirror sent the X-Quick-Position header, its token is kept
+ * as well, even for responses without body.
  */
 @Slf4j
 @Value
@@ -39,14 +40,14 @@ public class ResponseWrapper {
     @Nullable
     ResponseBody responseBody;
     boolean updateCacheHeaderSet;
+    @Nullable
+    String position;
 
-    private ResponseWrapper(@Nullable final ResponseBody responseBody, final boolean headerSet) {
+    private ResponseWrapper(@Nullable final ResponseBody responseBody, final boolean headerSet,
+        @Nullable final String position) {
         this.responseBody = responseBody;
         this.updateCacheHeaderSet = headerSet;
-    }
-
-    private ResponseWrapper(@Nullable final ResponseBody responseBody) {
-        this(responseBody, false);
+        this.position = position;
     }
 
     /**
@@ -57,13 +58,10 @@ public class ResponseWrapper {
      */
     public static ResponseWrapper fromResponse(final Response response) {
         if (response.code() == HttpStatus.NOT_FOUND.getCode()) {
-            return new ResponseWrapper(null, isCacheMissHeaderSet(response));
+            return new ResponseWrapper(null, isCacheMissHeaderSet(response), getPosition(response));
         }
         final ResponseBody body = getAndCheckResponseBody(response);
-        if (response.header(HeaderConstants.UPDATE_PARTITION_HOST_MAPPING_HEADER) != null) {
-            return new ResponseWrapper(body, isCacheMissHeaderSet(response));
-        }
-        return new ResponseWrapper(body);
+        return new ResponseWrapper(body, isCacheMissHeaderSet(response), getPosition(response));
     }
 
     /**
@@ -77,10 +75,10 @@ public class ResponseWrapper {
      */
     public static ResponseWrapper fromFallbackResponse(final Response fallbackResponse) {
         if (fallbackResponse.code() == HttpStatus.NOT_FOUND.getCode()) {
-            return new ResponseWrapper(null, true);
+            return new ResponseWrapper(null, true, getPosition(fallbackResponse));
         }
         final ResponseBody body = getAndCheckResponseBody(fallbackResponse);
-        return new ResponseWrapper(body, true);
+        return new ResponseWrapper(body, true, getPosition(fallbackResponse));
     }
 
     /**
@@ -113,4 +111,12 @@ public class ResponseWrapper {
     private static boolean isCacheMissHeaderSet(final Response response) {
         return response.header(HeaderConstants.UPDATE_PARTITION_HOST_MAPPING_HEADER) != null;
     }
+
+    /**
+     * Returns the token of the X-Quick-Position header from {@link HeaderConstants}, if it has been set.
+     */
+    @Nullable
+    private static String getPosition(final Response response) {
+        return response.header(HeaderConstants.POSITION_HEADER);
+    }
 }
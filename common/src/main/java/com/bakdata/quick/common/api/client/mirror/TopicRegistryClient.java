@@ -32,6 +32,15 @@ public interface TopicRegistryClient {
 
     Single<TopicData> getTopicData(String name);
 
+    /**
+     * Gets the topic data from a state of the topic registry that reflects at least the given position.
+     *
+     * @param name        name of the topic
+     * @param minPosition position token in the topic backing the topic registry
+     * @return the topic data
+     */
+    Single<TopicData> getTopicData(String name, String minPosition);
+
     Single<Boolean> topicDataExists(final String name);
 
     Single<List<TopicData>> getAllTopics();
@@ -0,0 +1,41 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.api.model;
+
+/**
+ * Acknowledgement modes for ingesting data.
+ *
+ * <p>
+ * The mode lets clients choose between the latency of a request and the guarantees they get once it completes.
+ */
+public enum AckMode {
+    /**
+     * The request completes once the records are handed to the producer.
+     */
+    NONE,
+    /**
+     * The request completes once Kafka acknowledged the records.
+     */
+    LEADER,
+    /**
+     * Like {@link #LEADER}, but the response contains the written offset per partition.
+     *
+     * <p>
+     * Clients can pass this position to subsequent reads so that they see their own writes.
+     */
+    VISIBLE
+}
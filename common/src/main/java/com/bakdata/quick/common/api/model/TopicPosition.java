@@ -0,0 +1,103 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.api.model;
+
+import com.bakdata.quick.common.exception.BadArgumentException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.Value;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+/**
+ * Position in a topic, i.e., the highest offset per partition.
+ *
+ * <p>
+ * A position can be passed around as a token of the form {@code 0:5,1:7}, i.e., comma separated pairs of partition
+ * and offset.
+ */
+@Value
+public class TopicPosition {
+    private static final String COMPONENT_SEPARATOR = ",";
+    private static final String OFFSET_SEPARATOR = ":";
+
+    String topic;
+    Map<Integer, Long> offsets;
+
+    /**
+     * Creates the position of the last written record per partition.
+     *
+     * @param topic    name of the topic
+     * @param metadata metadata of the written records
+     * @return position after all records were written
+     */
+    public static TopicPosition fromMetadata(final String topic, final List<RecordMetadata> metadata) {
+        final Map<Integer, Long> offsets = new TreeMap<>();
+        for (final RecordMetadata recordMetadata : metadata) {
+            offsets.merge(recordMetadata.partition(), recordMetadata.offset(), Math::max);
+        }
+        return new TopicPosition(topic, offsets);
+    }
+
+    /**
+     * Parses a position token.
+     *
+     * @param topic name of the topic the token refers to
+     * @param token token as created by {@link #toToken()}
+     * @return position described by the token
+     * @throws BadArgumentException if the token is malformed
+     */
+    public static TopicPosition fromToken(final String topic, final String token) {
+        final Map<Integer, Long> offsets = new TreeMap<>();
+        if (token.isBlank()) {
+            return new TopicPosition(topic, offsets);
+        }
+        for (final String component : token.split(COMPONENT_SEPARATOR)) {
+            final String[] partitionAndOffset = component.split(OFFSET_SEPARATOR);
+            if (partitionAndOffset.length != 2) {
+                throw new BadArgumentException(String.format("Invalid position token: %s", token));
+            }
+            try {
+                offsets.merge(Integer.parseInt(partitionAndOffset[0].trim()),
+                    Long.parseLong(partitionAndOffset[1].trim()), Math::max);
+            } catch (final NumberFormatException exception) {
+                throw new BadArgumentException(String.format("Invalid position token: %s", token));
+            }
+        }
+        return new TopicPosition(topic, offsets);
+    }
+
+    /**
+     * Creates the token representation of this position.
+     */
+    public String toToken() {
+        return this.offsets.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(entry -> entry.getKey() + OFFSET_SEPARATOR + entry.getValue())
+            .collect(Collectors.joining(COMPONENT_SEPARATOR));
+    }
+
+    /**
+     * Combines two positions of the same topic by keeping the highest offset per partition.
+     */
+    public TopicPosition merge(final TopicPosition other) {
+        final Map<Integer, Long> merged = new TreeMap<>(this.offsets);
+        other.getOffsets().forEach((partition, offset) -> merged.merge(partition, offset, Math::max));
+        return new TopicPosition(this.topic, merged);
+    }
+}
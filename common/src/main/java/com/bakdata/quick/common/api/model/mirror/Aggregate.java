@@ -0,0 +1,94 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.api.model.mirror;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.function.DoubleBinaryOperator;
+import lombok.Value;
+
+/**
+ * Aggregate over the values returned by the aggregate endpoints of a mirror.
+ *
+ * <p>
+ * Without a field, the aggregate only counts the values. With a field, it counts the values in which the field is set
+ * and computes the sum, minimum, maximum, and average of the field. Nested fields are qualified by their parent and a
+ * /, e.g., {@code price/total}. The mirror expects the field in the query parameter {@value #QUERY_PARAMETER}.
+ *
+ * <p>
+ * Partial aggregates, e.g., of different mirror replicas, are combined with {@link #merge(Aggregate)}. The average is
+ * derived from sum and count, so that merged aggregates have the exact average of all values.
+ */
+@Value
+@JsonIgnoreProperties(value = "avg", allowGetters = true)
+@SuppressWarnings("ObjectToString") // Lombok does that for us
+public class Aggregate {
+    /**
+     * Name of the query parameter containing the aggregated field in requests to the mirror.
+     */
+    public static final String QUERY_PARAMETER = "field";
+
+    private static final Aggregate EMPTY = new Aggregate(0, null, null, null);
+
+    long count;
+    @Nullable
+    Double sum;
+    @Nullable
+    Double min;
+    @Nullable
+    Double max;
+
+    /**
+     * Returns the aggregate of no values.
+     */
+    public static Aggregate empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the average of the aggregated field, or null if no field is aggregated or no value has been seen.
+     */
+    @Nullable
+    public Double getAvg() {
+        if (this.sum == null || this.count == 0) {
+            return null;
+        }
+        return this.sum / this.count;
+    }
+
+    /**
+     * Combines this aggregate with the aggregate of other values of the same field.
+     */
+    public Aggregate merge(final Aggregate other) {
+        return new Aggregate(this.count + other.count,
+            combine(this.sum, other.sum, Double::sum),
+            combine(this.min, other.min, Math::min),
+            combine(this.max, other.max, Math::max));
+    }
+
+    @Nullable
+    private static Double combine(@Nullable final Double left, @Nullable final Double right,
+        final DoubleBinaryOperator operator) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        return operator.applyAsDouble(left, right);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.common.api.model.mirror;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Fields of the values requested from a mirror.
+ *
+ * <p>
+ * A projection consists of paths separated by commas. Nested fields are qualified by their parent and a /, e.g.,
+ * {@code productId,price/total} selects the field productId and the field total of price. A field without nested
+ * fields is selected as a whole, even if other paths select some of its nested fields. The empty projection selects
+ * all fields.
+ *
+ * <p>
+ * The mirror only serializes the selected fields of Avro and Protobuf values. Other values are not affected.
+ */
+@EqualsAndHashCode
+public final class FieldProjection {
+    /**
+     * Name of the query parameter containing the projection in requests to the mirror.
+     */
+    public static final String QUERY_PARAMETER = "fields";
+    private static final FieldProjection ALL = new FieldProjection(Collections.emptySortedMap());
+    private static final String FIELD_SEPARATOR = ",";
+    private static final String PATH_SEPARATOR = "/";
+
+    private final SortedMap<String, FieldProjection> fields;
+
+    private FieldProjection(final SortedMap<String, FieldProjection> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Returns the projection selecting all fields.
+     */
+    public static FieldProjection all() {
+        return ALL;
+    }
+
+    /**
+     * Creates a projection from its string representation.
+     *
+     * @param projection comma separated field paths
+     * @return parsed projection
+     */
+    public static FieldProjection parse(final String projection) {
+        if (projection.isBlank()) {
+            return ALL;
+        }
+        return fromPaths(Set.of(projection.split(FIELD_SEPARATOR)));
+    }
+
+    /**
+     * Creates a projection from field paths, e.g., {@code price/total}.
+     *
+     * @param paths the selected field paths
+     * @return projection selecting the paths
+     */
+    public static FieldProjection fromPaths(final Collection<String> paths) {
+        final Builder builder = new Builder();
+        for (final String path : paths) {
+            Builder current = builder;
+            for (final String field : path.strip().split(PATH_SEPARATOR)) {
+                if (!field.isEmpty()) {
+                    current = current.fields.computeIfAbsent(field, name -> new Builder());
+                }
+            }
+            if (current != builder) {
+                current.whole = true;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Whether this projection selects all fields.
+     */
+    public boolean isAll() {
+        return this.fields.isEmpty();
+    }
+
+    /**
+     * Whether the field is selected.
+     */
+    public boolean includes(final String field) {
+        return this.isAll() || this.fields.containsKey(field);
+    }
+
+    /**
+     * Returns the projection of the nested fields of a field.
+     *
+     * <p>
+     * If the field is selected as a whole or not at all, all its fields are selected.
+     */
+    public FieldProjection getNested(final String field) {
+        return this.fields.getOrDefault(field, ALL);
+    }
+
+    /**
+     * Returns the names of the selected fields.
+     */
+    public Set<String> getFieldNames() {
+        return Collections.unmodifiableSet(this.fields.keySet());
+    }
+
+    /**
+     * Returns the string representation used as query parameter.
+     */
+    @Override
+    public String toString() {
+        final List<String> paths = new ArrayList<>();
+        this.collectPaths("", paths);
+        return String.join(FIELD_SEPARATOR, paths);
+    }
+
+    private void collectPaths(final String prefix, final List<String> paths) {
+        this.fields.forEach((name, nested) -> {
+            if (nested.isAll()) {
+                paths.add(prefix + name);
+            } else {
+                nested.collectPaths(prefix + name + PATH_SEPARATOR, paths);
+            }
+        });
+    }
+
+    private static final class Builder {
+        private final Map<String, Builder> fields = new TreeMap<>();
+        private boolean whole;
+
+        private FieldProjection build() {
+            if (this.whole || this.fields.isEmpty()) {
+                return ALL;
+            }
+            final SortedMap<String, FieldProjection> projections = new TreeMap<>();
+            this.fields.forEach((name, nested) -> projections.put(name, nested.build()));
+            return new FieldProjection(Collections.unmodifiableSortedMap(projections));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.api.model.mirror;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.Value;
+
+/**
+ * Value of a key together with the position of the mirror's state it was read from.
+ *
+ * <p>
+ * The position is a token of the form {@code 0:5}, i.e., the last offset the mirror processed in the partition of the
+ * key. It is also present if the key does not exist, so that clients can continue reading the topic right after the
+ * state they have seen.
+ *
+ * @param <V> value type
+ */
+@Value
+@SuppressWarnings("ObjectToString") // Lombok does that for us
+public class PositionedValue<V> {
+    @Nullable
+    V value;
+    @Nullable
+    String position;
+}
@@ -0,0 +1,88 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.common.api.model.mirror;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Filter on the values returned by the all and range endpoints of a mirror.
+ *
+ * <p>
+ * A filter matches a value if all its conditions hold. Comparisons refer to a field of the value, with nested fields
+ * qualified by their parent and a /, e.g., {@code price/total}. Literals are converted to the type of the field when
+ * the filter is evaluated, so that {@code "10"} and {@code 10} are equivalent for numeric fields.
+ *
+ * <p>
+ * The mirror expects the filter as JSON in the query parameter {@value #QUERY_PARAMETER}, e.g.,
+ * <pre>{@code
+ * {"or": [{"field": "price/total", "gte": 10, "lt": 20}, {"field": "currency", "in": ["EURO", "DOLLAR"]}]}
+ * }</pre>
+ */
+@Value
+@Builder
+@JsonInclude(Include.NON_NULL)
+@SuppressWarnings("ObjectToString") // Lombok does that for us
+public class ValueFilter {
+    /**
+     * Name of the query parameter containing the filter in requests to the mirror.
+     */
+    public static final String QUERY_PARAMETER = "where";
+
+    /**
+     * Filters that must all match.
+     */
+    @Nullable
+    List<ValueFilter> and;
+    /**
+     * Filters of which at least one must match.
+     */
+    @Nullable
+    List<ValueFilter> or;
+    /**
+     * Filter that must not match.
+     */
+    @Nullable
+    ValueFilter not;
+    /**
+     * Path of the field the comparisons refer to.
+     */
+    @Nullable
+    String field;
+    @Nullable
+    Object eq;
+    @Nullable
+    Object ne;
+    @Nullable
+    Object lt;
+    @Nullable
+    Object lte;
+    @Nullable
+    Object gt;
+    @Nullable
+    Object gte;
+    /**
+     * Literals of which the field must equal one.
+     */
+    @Nullable
+    List<Object> in;
+}
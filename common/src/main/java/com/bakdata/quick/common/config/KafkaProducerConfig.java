@@ -0,0 +1,106 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.config;
+
+import io.micronaut.context.annotation.ConfigurationInject;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+/**
+ * Configuration for the shared producers used when ingesting data into Kafka.
+ *
+ * <p>
+ * All properties are optional. The batching and compression settings are passed directly to the Kafka producers.
+ *
+ * @see com.bakdata.quick.common.kafka.KafkaProducerPool
+ */
+@ConfigurationProperties("quick.kafka.producer")
+@Getter
+public class KafkaProducerConfig {
+    public static final int DEFAULT_POOL_SIZE = 2;
+    public static final int DEFAULT_LINGER_MS = 5;
+    public static final int DEFAULT_BATCH_SIZE = 64 * 1024;
+    public static final String DEFAULT_COMPRESSION_TYPE = "none";
+
+    /**
+     * Number of producers shared by all topics.
+     */
+    private final int poolSize;
+
+    /**
+     * Number of threads serializing keys and values before they are handed to the producers.
+     */
+    private final int serializerThreads;
+
+    /**
+     * Time in milliseconds a producer waits for more records before sending a batch.
+     */
+    private final int lingerMs;
+
+    /**
+     * Upper bound of a batch in bytes.
+     */
+    private final int batchSize;
+
+    /**
+     * Compression applied to batches, e.g. none, gzip, snappy, lz4 or zstd.
+     */
+    private final String compressionType;
+
+    /**
+     * Constructor setting defaults.
+     */
+    public KafkaProducerConfig() {
+        this(Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param poolSize          number of shared producers
+     * @param serializerThreads number of threads for serializing records
+     * @param lingerMs          producer's linger.ms
+     * @param batchSize         producer's batch.size
+     * @param compressionType   producer's compression.type
+     */
+    @ConfigurationInject
+    public KafkaProducerConfig(final Optional<Integer> poolSize,
+        final Optional<Integer> serializerThreads,
+        final Optional<Integer> lingerMs,
+        final Optional<Integer> batchSize,
+        final Optional<String> compressionType) {
+        this.poolSize = poolSize.orElse(DEFAULT_POOL_SIZE);
+        this.serializerThreads = serializerThreads.orElse(Runtime.getRuntime().availableProcessors());
+        this.lingerMs = lingerMs.orElse(DEFAULT_LINGER_MS);
+        this.batchSize = batchSize.orElse(DEFAULT_BATCH_SIZE);
+        this.compressionType = compressionType.orElse(DEFAULT_COMPRESSION_TYPE);
+    }
+
+    /**
+     * Converts the batching and compression settings to a map for configuring Kafka producers.
+     */
+    public Map<String, Object> asProps() {
+        return Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, this.lingerMs,
+            ProducerConfig.BATCH_SIZE_CONFIG, this.batchSize,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, this.compressionType
+        );
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.bakdata.quick.common.config;
+
+import io.micronaut.context.annotation.ConfigurationInject;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Configuration for the cache of topic data from the topic registry.
+ *
+ * <p>
+ * All properties are optional.
+ *
+ * @see com.bakdata.quick.common.type.registry.QuickTopicTypeService
+ */
+@ConfigurationProperties("quick.topic-data.cache")
+@Getter
+public class TopicDataCacheConfig {
+    public static final Duration DEFAULT_REFRESH_AFTER_WRITE = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_MISSING_TOPIC_TTL = Duration.ofSeconds(5);
+    public static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    /**
+     * Time after which cached topic data is reloaded in the background.
+     */
+    private final Duration refreshAfterWrite;
+
+    /**
+     * Time a topic that does not exist in the topic registry is remembered as missing.
+     */
+    private final Duration missingTopicTtl;
+
+    /**
+     * Maximum number of cached topics.
+     */
+    private final long maximumSize;
+
+    /**
+     * Whether changes in the topic registry's topic trigger a reload of the cached topic data.
+     */
+    private final boolean watchRegistry;
+
+    /**
+     * Constructor setting defaults.
+     */
+    public TopicDataCacheConfig() {
+        this(Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param refreshAfterWrite time after which entries are reloaded
+     * @param missingTopicTtl   time missing topics are cached
+     * @param maximumSize       maximum number of entries
+     * @param watchRegistry     whether to reload entries on changes in the topic registry
+     */
+    @ConfigurationInject
+    public TopicDataCacheConfig(final Optional<Duration> refreshAfterWrite,
+        final Optional<Duration> missingTopicTtl,
+        final Optional<Long> maximumSize,
+        final Optional<Boolean> watchRegistry) {
+        this.refreshAfterWrite = refreshAfterWrite.orElse(DEFAULT_REFRESH_AFTER_WRITE);
+        this.missingTopicTtl = missingTopicTtl.orElse(DEFAULT_MISSING_TOPIC_TTL);
+        this.maximumSize = maximumSize.orElse(DEFAULT_MAXIMUM_SIZE);
+        this.watchRegistry = watchRegistry.orElse(true);
+    }
+}
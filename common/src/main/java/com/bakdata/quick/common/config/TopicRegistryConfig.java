@@ -18,15 +18,22 @@ package com.bakdata.quick.common.config;
 
 import io.micronaut.context.annotation.ConfigurationInject;
 import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.context.annotation.Requires;
 import lombok.Getter;
 import org.apache.kafka.clients.admin.NewTopic;
 
 /**
  * Configuration for internal topic registry.
+ *
+ * <p>
+ * It only exists if the topic registry is configured, so that services can optionally depend on it.
  */
-@ConfigurationProperties("quick.topic-registry")
+@ConfigurationProperties(TopicRegistryConfig.PREFIX)
+@Requires(property = TopicRegistryConfig.PREFIX + ".topic-name")
 @Getter
 public class TopicRegistryConfig {
+    public static final String PREFIX = "quick.topic-registry";
+
     private final String topicName;
     private final String serviceName;
     private final int partitions;
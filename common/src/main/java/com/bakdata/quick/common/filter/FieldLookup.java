@@ -0,0 +1,36 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.filter;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Looks up the value of a field in an Avro record or Protobuf message.
+ */
+@FunctionalInterface
+public interface FieldLookup {
+    /**
+     * Returns the value of a field.
+     *
+     * @param value the Avro record or Protobuf message
+     * @param field name of the field
+     * @return the value of the field, or null if it is not set
+     * @throws IllegalArgumentException if the value has no such field
+     */
+    @Nullable
+    Object get(Object value, String field);
+}
@@ -0,0 +1,76 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.filter;
+
+import com.bakdata.quick.common.exception.BadArgumentException;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
+
+/**
+ * Path of a possibly nested field in Avro records or Protobuf messages, e.g., {@code price/total}.
+ */
+public final class FieldPath {
+    private static final String SEPARATOR = "/";
+
+    private final String path;
+    private final String[] fields;
+
+    private FieldPath(final String path) {
+        this.path = path;
+        this.fields = path.split(SEPARATOR);
+    }
+
+    public static FieldPath parse(final String path) {
+        return new FieldPath(path);
+    }
+
+    /**
+     * Returns the names of the fields from the outermost to the innermost one.
+     */
+    public List<String> getFields() {
+        return List.of(this.fields);
+    }
+
+    /**
+     * Resolves the field in a value.
+     *
+     * @param value     the Avro record or Protobuf message
+     * @param lookup    lookup of the field values
+     * @return the value of the field, or null if the field or one of its parents is not set
+     * @throws BadArgumentException if the field does not exist
+     */
+    @Nullable
+    public Object resolve(final Object value, final FieldLookup lookup) {
+        Object current = value;
+        for (final String field : this.fields) {
+            if (current == null) {
+                return null;
+            }
+            try {
+                current = lookup.get(current, field);
+            } catch (final IllegalArgumentException | ClassCastException e) {
+                throw new BadArgumentException(String.format("Could not find field %s", this.path));
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return this.path;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.common.filter;
+
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
+import com.bakdata.quick.common.exception.BadArgumentException;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import org.apache.avro.generic.GenericEnumSymbol;
+
+/**
+ * Compiles a {@link ValueFilter} into a predicate over Avro records or Protobuf messages.
+ *
+ * <p>
+ * The structure of the filter is validated when it is compiled. Fields and their types are validated when the filter
+ * is evaluated, because they are only known from the values themselves. Callers knowing the schema of the values can
+ * check the {@link #fieldPaths(ValueFilter) fields} up front. Literals are converted to the type of the field they are
+ * compared with. A missing value of a field only matches the {@code ne} comparison.
+ *
+ * <p>
+ * The mirror evaluates filters of list and range queries, the gateway those of subscriptions.
+ */
+public final class ValueFilterPredicate {
+    private final FieldLookup lookup;
+
+    private ValueFilterPredicate(final FieldLookup lookup) {
+        this.lookup = lookup;
+    }
+
+    /**
+     * Creates a predicate evaluating the filter.
+     *
+     * @param filter the filter to evaluate
+     * @param lookup lookup of the field values of Avro records or Protobuf messages
+     * @return predicate matching the values passing the filter
+     * @throws BadArgumentException if the filter is malformed
+     */
+    public static <V> Predicate<V> compile(final ValueFilter filter, final FieldLookup lookup) {
+        final Predicate<Object> predicate = new ValueFilterPredicate(lookup).compile(filter);
+        return predicate::test;
+    }
+
+    /**
+     * Returns the paths of all fields the filter compares.
+     *
+     * @param filter the filter, possibly with nested filters
+     * @return the paths in the order they appear in the filter
+     */
+    public static List<FieldPath> fieldPaths(final ValueFilter filter) {
+        final List<FieldPath> paths = new ArrayList<>();
+        addFieldPaths(filter, paths);
+        return paths;
+    }
+
+    private static void addFieldPaths(final ValueFilter filter, final List<FieldPath> paths) {
+        final String field = filter.getField();
+        if (field != null) {
+            paths.add(FieldPath.parse(field));
+        }
+        final List<ValueFilter> and = filter.getAnd();
+        if (and != null) {
+            and.forEach(operand -> addFieldPaths(operand, paths));
+        }
+        final List<ValueFilter> or = filter.getOr();
+        if (or != null) {
+            or.forEach(operand -> addFieldPaths(operand, paths));
+        }
+        final ValueFilter not = filter.getNot();
+        if (not != null) {
+            addFieldPaths(not, paths);
+        }
+    }
+
+    private Predicate<Object> compile(final ValueFilter filter) {
+        final List<Predicate<Object>> conditions = new ArrayList<>();
+        if (filter.getAnd() != null) {
+            final List<Predicate<Object>> operands = this.compileAll(filter.getAnd());
+            conditions.add(value -> operands.stream().allMatch(operand -> operand.test(value)));
+        }
+        if (filter.getOr() != null) {
+            final List<Predicate<Object>> operands = this.compileAll(filter.getOr());
+            conditions.add(value -> operands.stream().anyMatch(operand -> operand.test(value)));
+        }
+        if (filter.getNot() != null) {
+            conditions.add(this.compile(filter.getNot()).negate());
+        }
+        if (filter.getField() != null) {
+            conditions.addAll(this.compileComparisons(filter, filter.getField()));
+        } else if (hasComparison(filter)) {
+            throw new BadArgumentException("Filter comparisons require a field");
+        }
+        if (conditions.isEmpty()) {
+            throw new BadArgumentException("Filter has no conditions");
+        }
+        if (conditions.size() == 1) {
+            return conditions.get(0);
+        }
+        return value -> conditions.stream().allMatch(condition -> condition.test(value));
+    }
+
+    private List<Predicate<Object>> compileAll(final List<ValueFilter> filters) {
+        final List<Predicate<Object>> predicates = new ArrayList<>();
+        for (final ValueFilter filter : filters) {
+            predicates.add(this.compile(filter));
+        }
+        return predicates;
+    }
+
+    private List<Predicate<Object>> compileComparisons(final ValueFilter filter, final String field) {
+        final FieldPath path = FieldPath.parse(field);
+        final List<Predicate<Object>> comparisons = new ArrayList<>();
+        this.addComparison(comparisons, path, filter.getEq(), result -> result == 0);
+        this.addComparison(comparisons, path, filter.getLt(), result -> result < 0);
+        this.addComparison(comparisons, path, filter.getLte(), result -> result <= 0);
+        this.addComparison(comparisons, path, filter.getGt(), result -> result > 0);
+        this.addComparison(comparisons, path, filter.getGte(), result -> result >= 0);
+        if (filter.getNe() != null) {
+            final Literal literal = Literal.of(filter.getNe());
+            comparisons.add(value -> {
+                final Object actual = path.resolve(value, this.lookup);
+                return actual == null || compare(actual, literal, field) != 0;
+            });
+        }
+        if (filter.getIn() != null) {
+            final List<Literal> literals = new ArrayList<>();
+            for (final Object literal : filter.getIn()) {
+                literals.add(Literal.of(literal));
+            }
+            comparisons.add(value -> {
+                final Object actual = path.resolve(value, this.lookup);
+                return actual != null && literals.stream().anyMatch(literal -> compare(actual, literal, field) == 0);
+            });
+        }
+        if (comparisons.isEmpty()) {
+            throw new BadArgumentException(String.format("Filter for field %s has no comparison", field));
+        }
+        return comparisons;
+    }
+
+    private void addComparison(final List<Predicate<Object>> comparisons, final FieldPath path,
+        @Nullable final Object rawLiteral, final IntPredicate expected) {
+        if (rawLiteral == null) {
+            return;
+        }
+        final Literal literal = Literal.of(rawLiteral);
+        final String field = path.toString();
+        comparisons.add(value -> {
+            final Object actual = path.resolve(value, this.lookup);
+            return actual != null && expected.test(compare(actual, literal, field));
+        });
+    }
+
+    private static int compare(final Object actual, final Literal literal, final String field) {
+        if (actual instanceof Float || actual instanceof Double) {
+            return Double.compare(((Number) actual).doubleValue(), literal.requireNumber(field).doubleValue());
+        }
+        if (actual instanceof Number) {
+            final BigDecimal number = literal.requireNumber(field);
+            if (literal.integral != null) {
+                return Long.compare(((Number) actual).longValue(), literal.integral);
+            }
+            return BigDecimal.valueOf(((Number) actual).longValue()).compareTo(number);
+        }
+        if (actual instanceof Boolean) {
+            return Boolean.compare((Boolean) actual, literal.requireBoolean(field));
+        }
+        if (actual instanceof EnumValueDescriptor) {
+            return ((EnumValueDescriptor) actual).getName().compareTo(literal.text);
+        }
+        if (actual instanceof CharSequence || actual instanceof GenericEnumSymbol) {
+            return actual.toString().compareTo(literal.text);
+        }
+        throw new BadArgumentException(String.format("Field %s cannot be compared", field));
+    }
+
+    private static boolean hasComparison(final ValueFilter filter) {
+        return filter.getEq() != null || filter.getNe() != null || filter.getLt() != null || filter.getLte() != null
+            || filter.getGt() != null || filter.getGte() != null || filter.getIn() != null;
+    }
+
+    /**
+     * A literal of a filter, converted to all types it may be compared with.
+     */
+    private static final class Literal {
+        private final String text;
+        @Nullable
+        private final BigDecimal number;
+        @Nullable
+        private final Long integral;
+
+        private Literal(final String text, @Nullable final BigDecimal number) {
+            this.text = text;
+            this.number = number;
+            this.integral = number == null ? null : toLong(number);
+        }
+
+        static Literal of(final Object literal) {
+            final String text = literal.toString();
+            try {
+                return new Literal(text, new BigDecimal(text));
+            } catch (final NumberFormatException e) {
+                return new Literal(text, null);
+            }
+        }
+
+        @Nullable
+        private static Long toLong(final BigDecimal number) {
+            try {
+                return number.longValueExact();
+            } catch (final ArithmeticException e) {
+                return null;
+            }
+        }
+
+        BigDecimal requireNumber(final String field) {
+            if (this.number == null) {
+                throw new BadArgumentException(String.format("Field %s requires a number, got %s", field, this.text));
+            }
+            return this.number;
+        }
+
+        boolean requireBoolean(final String field) {
+            if (!"true".equals(this.text) && !"false".equals(this.text)) {
+                throw new BadArgumentException(String.format("Field %s requires a boolean, got %s", field, this.text));
+            }
+            return Boolean.parseBoolean(this.text);
+        }
+    }
+}
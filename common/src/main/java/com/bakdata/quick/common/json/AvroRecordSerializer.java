@@ -14,15 +14,29 @@
  *    limitations under the License.
  */
 
+
 package com.bakdata.quick.common.json;
 
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.avro.Conversion;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalType;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericFixed;
 import org.apache.avro.generic.GenericRecord;
-import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
+import org.apache.avro.specific.SpecificData;
 
 /**
  * JSON serializer for Avro records.
@@ -30,19 +44,163 @@ import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
  * <p>
  * Since {@code SpecificRecord} implements {@link GenericRecord}, this class is used for both types.
  * A custom serializer is required, because we want to skip certain fields of Avro records.
- * This uses the implementation provided by {@link JsonAvroConverter} to handle other cases like nullable unions.
+ *
+ * <p>
+ * The output equals the one of {@code JsonAvroConverter}, i.e., Avro's JSON encoding without the type wrapper of
+ * unions. However, the tokens are written directly to the {@link JsonGenerator} by a writer compiled once per schema.
+ * If a {@link FieldProjection} is given, the fields of records that are not selected are skipped.
  */
-final class AvroRecordSerializer extends JsonSerializer<GenericRecord> {
-    private final JsonAvroConverter jsonAvroConverter;
+final class AvroRecordSerializer extends JsonSerializer<GenericRecord>
+    implements ProjectingSerializer<GenericRecord> {
+    private final Map<Schema, RecordWriter> recordWriters;
 
     AvroRecordSerializer() {
-        this.jsonAvroConverter = new JsonAvroConverter();
+        this.recordWriters = new ConcurrentHashMap<>();
     }
 
     @Override
     public void serialize(final GenericRecord genericRecord, final JsonGenerator jsonGenerator,
                           final SerializerProvider serializerProvider) throws IOException {
-        final String json = new String(this.jsonAvroConverter.convertToJson(genericRecord), StandardCharsets.UTF_8);
-        jsonGenerator.writeRawValue(json);
+        this.writeRecord(genericRecord, jsonGenerator, FieldProjection.all());
+    }
+
+    @Override
+    public void serialize(final GenericRecord genericRecord, final JsonGenerator jsonGenerator,
+                          final FieldProjection projection) throws IOException {
+        this.writeRecord(genericRecord, jsonGenerator, projection);
+    }
+
+    private void writeRecord(final Object value, final JsonGenerator generator, final FieldProjection projection)
+        throws IOException {
+        final GenericRecord record = (GenericRecord) value;
+        // nested records are looked up when they are written, so that recursive schemas are supported
+        this.recordWriters.computeIfAbsent(record.getSchema(), this::compileRecord)
+            .write(record, generator, projection);
+    }
+
+    private RecordWriter compileRecord(final Schema schema) {
+        // the model of specific records knows the conversions of their logical types
+        final SpecificData model = SpecificData.getForSchema(schema);
+        final List<FieldWriter> fields = schema.getFields().stream()
+            .map(field -> new FieldWriter(new SerializedString(field.name()), field.pos(),
+                this.compile(field.schema(), model)))
+            .collect(Collectors.toList());
+        return new RecordWriter(fields);
+    }
+
+    private ValueWriter compile(final Schema schema, final SpecificData model) {
+        final ValueWriter writer = this.compileRaw(schema, model);
+        final LogicalType logicalType = schema.getLogicalType();
+        final Conversion<?> conversion = logicalType == null ? null : model.getConversionFor(logicalType);
+        if (conversion == null) {
+            return writer;
+        }
+        return (value, generator, projection) -> {
+            final Object rawValue = conversion.getConvertedType().isInstance(value)
+                ? Conversions.convertToRawType(value, schema, logicalType, conversion)
+                : value;
+            writer.write(rawValue, generator, projection);
+        };
+    }
+
+    private ValueWriter compileRaw(final Schema schema, final SpecificData model) {
+        switch (schema.getType()) {
+            case RECORD:
+                return this::writeRecord;
+            case UNION:
+                final List<ValueWriter> branches = schema.getTypes().stream()
+                    .map(type -> this.compile(type, model))
+                    .collect(Collectors.toList());
+                return (value, generator, projection) ->
+                    branches.get(model.resolveUnion(schema, value)).write(value, generator, projection);
+            case ARRAY:
+                final ValueWriter elementWriter = this.compile(schema.getElementType(), model);
+                return (value, generator, projection) -> {
+                    generator.writeStartArray();
+                    for (final Object element : (Collection<?>) value) {
+                        elementWriter.write(element, generator, projection);
+                    }
+                    generator.writeEndArray();
+                };
+            case MAP:
+                final ValueWriter valueWriter = this.compile(schema.getValueType(), model);
+                return (value, generator, projection) -> {
+                    generator.writeStartObject();
+                    for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                        generator.writeFieldName(entry.getKey().toString());
+                        valueWriter.write(entry.getValue(), generator, FieldProjection.all());
+                    }
+                    generator.writeEndObject();
+                };
+            case STRING:
+            case ENUM:
+                return (value, generator, projection) -> generator.writeString(value.toString());
+            case BYTES:
+                return (value, generator, projection) -> writeBytes(((ByteBuffer) value).duplicate(), generator);
+            case FIXED:
+                return (value, generator, projection) ->
+                    writeBytes(ByteBuffer.wrap(((GenericFixed) value).bytes()), generator);
+            case INT:
+                return (value, generator, projection) -> generator.writeNumber(((Number) value).intValue());
+            case LONG:
+                return (value, generator, projection) -> generator.writeNumber(((Number) value).longValue());
+            case FLOAT:
+                return (value, generator, projection) -> generator.writeNumber(((Number) value).floatValue());
+            case DOUBLE:
+                return (value, generator, projection) -> generator.writeNumber(((Number) value).doubleValue());
+            case BOOLEAN:
+                return (value, generator, projection) -> generator.writeBoolean((Boolean) value);
+            case NULL:
+                return (value, generator, projection) -> generator.writeNull();
+            default:
+                throw new IllegalArgumentException("Unsupported Avro type: " + schema.getType());
+        }
+    }
+
+    /**
+     * Writes bytes like Avro's JSON encoding, i.e., as a string with one character per byte.
+     */
+    private static void writeBytes(final ByteBuffer buffer, final JsonGenerator generator) throws IOException {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        generator.writeString(new String(bytes, StandardCharsets.ISO_8859_1));
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(Object value, JsonGenerator generator, FieldProjection projection) throws IOException;
+    }
+
+    private static final class FieldWriter {
+        private final SerializedString name;
+        private final int position;
+        private final ValueWriter writer;
+
+        private FieldWriter(final SerializedString name, final int position, final ValueWriter writer) {
+            this.name = name;
+            this.position = position;
+            this.writer = writer;
+        }
+    }
+
+    private static final class RecordWriter {
+        private final List<FieldWriter> fields;
+
+        private RecordWriter(final List<FieldWriter> fields) {
+            this.fields = fields;
+        }
+
+        private void write(final GenericRecord record, final JsonGenerator generator, final FieldProjection projection)
+            throws IOException {
+            generator.writeStartObject();
+            for (final FieldWriter field : this.fields) {
+                final String name = field.name.getValue();
+                if (projection.includes(name)) {
+                    generator.writeFieldName(field.name);
+                    field.writer.write(record.get(field.position), generator, projection.getNested(name));
+                }
+            }
+            generator.writeEndObject();
+        }
     }
 }
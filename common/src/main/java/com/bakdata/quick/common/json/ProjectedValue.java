@@ -0,0 +1,47 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.common.json;
+
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Value;
+
+/**
+ * A value that is serialized with only the fields of a projection.
+ *
+ * <p>
+ * Avro records and Protobuf messages are projected. All other values are serialized as usual.
+ */
+@Value
+@JsonSerialize(using = ProjectedValueSerializer.class)
+@SuppressWarnings("ObjectToString") // Lombok does that for us
+public class ProjectedValue {
+    Object value;
+    FieldProjection projection;
+
+    /**
+     * Projects each element of a list, keeping null elements, e.g., of missing keys.
+     */
+    public static List<ProjectedValue> ofList(final List<?> values, final FieldProjection projection) {
+        return values.stream()
+            .map(value -> value == null ? null : new ProjectedValue(value, projection))
+            .collect(Collectors.toList());
+    }
+}
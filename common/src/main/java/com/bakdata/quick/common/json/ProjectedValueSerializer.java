@@ -0,0 +1,45 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import java.io.IOException;
+
+/**
+ * JSON serializer for {@link ProjectedValue}.
+ *
+ * <p>
+ * This delegates to the serializer of the wrapped value and passes the projection if it supports one.
+ */
+final class ProjectedValueSerializer extends JsonSerializer<ProjectedValue> {
+    @Override
+    @SuppressWarnings("unchecked") // the serializer was looked up for the value's class
+    public void serialize(final ProjectedValue projectedValue, final JsonGenerator jsonGenerator,
+                          final SerializerProvider serializerProvider) throws IOException {
+        final Object value = projectedValue.getValue();
+        final JsonSerializer<Object> serializer = serializerProvider.findValueSerializer(value.getClass());
+        if (serializer instanceof ProjectingSerializer) {
+            ((ProjectingSerializer<Object>) serializer).serialize(value, jsonGenerator,
+                projectedValue.getProjection());
+        } else {
+            serializer.serialize(value, jsonGenerator, serializerProvider);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.common.json;
+
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+
+/**
+ * Serializer that can restrict the output to the fields of a {@link FieldProjection}.
+ *
+ * @param <T> type of the serialized values
+ */
+interface ProjectingSerializer<T> {
+    void serialize(T value, JsonGenerator jsonGenerator, FieldProjection projection) throws IOException;
+}
@@ -14,33 +14,240 @@
  *    limitations under the License.
  */
 
+
 package com.bakdata.quick.common.json;
 
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.Message;
 import com.google.protobuf.util.JsonFormat;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * JSON serializer for Protobuf records.
  *
  * <p>
- * This internally delegates deserialization to Protobuf's {@link JsonFormat.Printer}.
+ * The output equals the one of Protobuf's {@link JsonFormat.Printer} including default value fields. However, the
+ * tokens are written directly to the {@link JsonGenerator} by a writer compiled once per message type. Only
+ * well-known types like {@code google.protobuf.Timestamp}, which have a special JSON mapping, are delegated to the
+ * printer.
+ *
+ * <p>
+ * If a {@link FieldProjection} is given, the fields of messages that are not selected are skipped. Fields are selected
+ * by their JSON or their Protobuf name.
  */
-final class ProtobufMessageSerializer extends JsonSerializer<Message> {
+final class ProtobufMessageSerializer extends JsonSerializer<Message> implements ProjectingSerializer<Message> {
+    private static final String WELL_KNOWN_TYPE_PACKAGE = "google.protobuf";
+    private static final String NULL_VALUE = "google.protobuf.NullValue";
+
     private final JsonFormat.Printer jsonProtoPrinter;
+    private final Map<Descriptor, MessageWriter> messageWriters;
 
     ProtobufMessageSerializer() {
         this.jsonProtoPrinter = JsonFormat.printer()
             .includingDefaultValueFields();
+        this.messageWriters = new ConcurrentHashMap<>();
     }
 
     @Override
     public void serialize(final Message message, final JsonGenerator jsonGenerator,
                           final SerializerProvider serializerProvider) throws IOException {
-        final String json = this.jsonProtoPrinter.print(message);
-        jsonGenerator.writeRawValue(json);
+        this.writeMessage(message, jsonGenerator, FieldProjection.all());
+    }
+
+    @Override
+    public void serialize(final Message message, final JsonGenerator jsonGenerator,
+                          final FieldProjection projection) throws IOException {
+        this.writeMessage(message, jsonGenerator, projection);
+    }
+
+    private void writeMessage(final Object value, final JsonGenerator generator, final FieldProjection projection)
+        throws IOException {
+        final Message message = (Message) value;
+        // nested messages are looked up when they are written, so that recursive messages are supported
+        this.messageWriters.computeIfAbsent(message.getDescriptorForType(), this::compileMessage)
+            .write(message, generator, projection);
+    }
+
+    private MessageWriter compileMessage(final Descriptor descriptor) {
+        if (descriptor.getFile().getPackage().equals(WELL_KNOWN_TYPE_PACKAGE)) {
+            return (message, generator, projection) -> generator.writeRawValue(this.jsonProtoPrinter.print(message));
+        }
+        // the printer orders the fields by their number
+        final List<FieldWriter> fields = descriptor.getFields().stream()
+            .sorted(Comparator.comparingInt(FieldDescriptor::getNumber))
+            .map(field -> new FieldWriter(field, new SerializedString(field.getJsonName()), this.compileField(field)))
+            .collect(Collectors.toList());
+        return (message, generator, projection) -> {
+            generator.writeStartObject();
+            for (final FieldWriter field : fields) {
+                field.write(message, generator, projection);
+            }
+            generator.writeEndObject();
+        };
+    }
+
+    private ValueWriter compileField(final FieldDescriptor field) {
+        if (field.isMapField()) {
+            final FieldDescriptor keyField = field.getMessageType().findFieldByName("key");
+            final FieldDescriptor valueField = field.getMessageType().findFieldByName("value");
+            final ValueWriter valueWriter = this.compileValue(valueField);
+            return (value, generator, projection) -> {
+                generator.writeStartObject();
+                for (final Object element : (List<?>) value) {
+                    final Message entry = (Message) element;
+                    generator.writeFieldName(mapKey(keyField, entry.getField(keyField)));
+                    valueWriter.write(entry.getField(valueField), generator, FieldProjection.all());
+                }
+                generator.writeEndObject();
+            };
+        }
+        final ValueWriter elementWriter = this.compileValue(field);
+        if (!field.isRepeated()) {
+            return elementWriter;
+        }
+        return (value, generator, projection) -> {
+            generator.writeStartArray();
+            for (final Object element : (List<?>) value) {
+                elementWriter.write(element, generator, projection);
+            }
+            generator.writeEndArray();
+        };
+    }
+
+    private ValueWriter compileValue(final FieldDescriptor field) {
+        switch (field.getType()) {
+            case MESSAGE:
+            case GROUP:
+                return this::writeMessage;
+            case ENUM:
+                if (field.getEnumType().getFullName().equals(NULL_VALUE)) {
+                    return (value, generator, projection) -> generator.writeNull();
+                }
+                return (value, generator, projection) -> {
+                    final EnumValueDescriptor enumValue = (EnumValueDescriptor) value;
+                    // values unknown to the descriptor are written as numbers
+                    if (enumValue.getIndex() == -1) {
+                        generator.writeNumber(enumValue.getNumber());
+                    } else {
+                        generator.writeString(enumValue.getName());
+                    }
+                };
+            case INT32:
+            case SINT32:
+            case SFIXED32:
+                return (value, generator, projection) -> generator.writeNumber((Integer) value);
+            case UINT32:
+            case FIXED32:
+                return (value, generator, projection) -> generator.writeNumber(Integer.toUnsignedLong((Integer) value));
+            case INT64:
+            case SINT64:
+            case SFIXED64:
+                // 64-bit integers are strings in JSON
+                return (value, generator, projection) -> generator.writeString(value.toString());
+            case UINT64:
+            case FIXED64:
+                return (value, generator, projection) -> generator.writeString(Long.toUnsignedString((Long) value));
+            case FLOAT:
+                return (value, generator, projection) -> {
+                    final float floatValue = (Float) value;
+                    if (Float.isFinite(floatValue)) {
+                        generator.writeNumber(floatValue);
+                    } else {
+                        generator.writeString(Float.toString(floatValue));
+                    }
+                };
+            case DOUBLE:
+                return (value, generator, projection) -> {
+                    final double doubleValue = (Double) value;
+                    if (Double.isFinite(doubleValue)) {
+                        generator.writeNumber(doubleValue);
+                    } else {
+                        generator.writeString(Double.toString(doubleValue));
+                    }
+                };
+            case BOOL:
+                return (value, generator, projection) -> generator.writeBoolean((Boolean) value);
+            case STRING:
+                return (value, generator, projection) -> generator.writeString((String) value);
+            case BYTES:
+                return (value, generator, projection) ->
+                    generator.writeString(Base64.getEncoder().encodeToString(((ByteString) value).toByteArray()));
+            default:
+                throw new IllegalArgumentException("Unsupported Protobuf type: " + field.getType());
+        }
+    }
+
+    private static String mapKey(final FieldDescriptor keyField, final Object key) {
+        switch (keyField.getType()) {
+            case UINT32:
+            case FIXED32:
+                return Integer.toUnsignedString((Integer) key);
+            case UINT64:
+            case FIXED64:
+                return Long.toUnsignedString((Long) key);
+            default:
+                return key.toString();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(Object value, JsonGenerator generator, FieldProjection projection) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface MessageWriter {
+        void write(Message message, JsonGenerator generator, FieldProjection projection) throws IOException;
+    }
+
+    private static final class FieldWriter {
+        private final FieldDescriptor field;
+        private final SerializedString name;
+        private final ValueWriter writer;
+        /**
+         * Whether the printer skips the field if it is not set, instead of printing its default value.
+         */
+        private final boolean skipUnlessSet;
+
+        private FieldWriter(final FieldDescriptor field, final SerializedString name, final ValueWriter writer) {
+            this.field = field;
+            this.name = name;
+            this.writer = writer;
+            this.skipUnlessSet = !field.isRepeated()
+                && (field.getJavaType() == FieldDescriptor.JavaType.MESSAGE || field.getContainingOneof() != null);
+        }
+
+        private void write(final Message message, final JsonGenerator generator, final FieldProjection projection)
+            throws IOException {
+            final String selectedName = this.selectedName(projection);
+            if (selectedName == null || (this.skipUnlessSet && !message.hasField(this.field))) {
+                return;
+            }
+            generator.writeFieldName(this.name);
+            this.writer.write(message.getField(this.field), generator, projection.getNested(selectedName));
+        }
+
+        @Nullable
+        private String selectedName(final FieldProjection projection) {
+            if (projection.includes(this.name.getValue())) {
+                return this.name.getValue();
+            }
+            return projection.includes(this.field.getName()) ? this.field.getName() : null;
+        }
     }
 }
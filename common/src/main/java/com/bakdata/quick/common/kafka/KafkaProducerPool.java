@@ -0,0 +1,343 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.kafka;
+
+import com.bakdata.quick.common.api.model.KeyValuePair;
+import com.bakdata.quick.common.config.KafkaConfig;
+import com.bakdata.quick.common.config.KafkaProducerConfig;
+import com.google.common.collect.Lists;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Small pool of Kafka producers shared by all topics.
+ *
+ * <p>
+ * The producers only handle raw bytes. Keys and values are serialized with the topic's serializers on a separate
+ * worker pool before they are handed to a producer. All records of a topic are sent by the same producer so that the
+ * order of records per partition is preserved.
+ *
+ * <p>
+ * If a {@link MeterRegistry} is available, the pool records the number of records, bytes, failures and the batch
+ * latency per topic.
+ */
+@Singleton
+@Slf4j
+public class KafkaProducerPool implements AutoCloseable {
+    /**
+     * Number of records serialized by a single task of the worker pool.
+     */
+    private static final int SERIALIZATION_CHUNK_SIZE = 500;
+    private static final String TOPIC_TAG = "topic";
+
+    private final Map<String, Object> properties;
+    private final AtomicReferenceArray<Producer<byte[], byte[]>> producers;
+    private final ExecutorService serializerExecutor;
+    private final Scheduler serializerScheduler;
+    private final Optional<MeterRegistry> meterRegistry;
+    private final Map<String, TopicMetrics> topicMetrics;
+
+    /**
+     * Constructor with default producer settings and without metrics.
+     *
+     * @param kafkaConfig configuration for kafka
+     */
+    public KafkaProducerPool(final KafkaConfig kafkaConfig) {
+        this(kafkaConfig, new KafkaProducerConfig(), Optional.empty());
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param kafkaConfig    configuration for kafka
+     * @param producerConfig configuration for the producers and serialization
+     * @param meterRegistry  registry for throughput metrics, empty if metrics are disabled
+     */
+    @Inject
+    public KafkaProducerPool(final KafkaConfig kafkaConfig, final KafkaProducerConfig producerConfig,
+        final Optional<MeterRegistry> meterRegistry) {
+        this.properties = new HashMap<>(kafkaConfig.asProps());
+        this.properties.putAll(producerConfig.asProps());
+        this.properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        this.properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        // producers are created lazily: creating one requires a resolvable bootstrap server
+        this.producers = new AtomicReferenceArray<>(producerConfig.getPoolSize());
+        this.serializerExecutor = Executors.newFixedThreadPool(producerConfig.getSerializerThreads());
+        this.serializerScheduler = Schedulers.from(this.serializerExecutor);
+        this.meterRegistry = meterRegistry;
+        this.topicMetrics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Serializes and sends a batch of key value pairs to a topic.
+     *
+     * <p>
+     * The returned single completes once all records are acknowledged. If at least one record fails, it emits the
+     * first error after all other records completed.
+     *
+     * @param topic           name of the topic
+     * @param pairs           key value pairs to send; values may be null for tombstones
+     * @param keySerializer   configured serializer for the keys
+     * @param valueSerializer configured serializer for the values
+     * @param <K>             type of the key
+     * @param <V>             type of the value
+     * @return metadata of the written records in the order of the input
+     */
+    public <K, V> Single<List<RecordMetadata>> send(final String topic, final List<KeyValuePair<K, V>> pairs,
+        final Serializer<K> keySerializer, final Serializer<V> valueSerializer) {
+        if (pairs.isEmpty()) {
+            return Single.just(List.of());
+        }
+        return this.serializeAll(topic, pairs, keySerializer, valueSerializer)
+            .flatMap(records -> this.sendRecords(topic, records));
+    }
+
+    /**
+     * Serializes a batch of key value pairs and hands it to the producer without waiting for Kafka's acknowledgement.
+     *
+     * <p>
+     * The returned completable completes once all records are enqueued. Records failing afterwards are only logged and
+     * counted as failures.
+     *
+     * @param topic           name of the topic
+     * @param pairs           key value pairs to send; values may be null for tombstones
+     * @param keySerializer   configured serializer for the keys
+     * @param valueSerializer configured serializer for the values
+     * @param <K>             type of the key
+     * @param <V>             type of the value
+     * @return completable completing once all records are enqueued
+     */
+    public <K, V> Completable enqueue(final String topic, final List<KeyValuePair<K, V>> pairs,
+        final Serializer<K> keySerializer, final Serializer<V> valueSerializer) {
+        if (pairs.isEmpty()) {
+            return Completable.complete();
+        }
+        return this.serializeAll(topic, pairs, keySerializer, valueSerializer)
+            .flatMapCompletable(records -> Completable.fromAction(() -> this.sendInBackground(topic, records)));
+    }
+
+    private <K, V> Single<List<ProducerRecord<byte[], byte[]>>> serializeAll(final String topic,
+        final List<KeyValuePair<K, V>> pairs, final Serializer<K> keySerializer,
+        final Serializer<V> valueSerializer) {
+        return Flowable.fromIterable(Lists.partition(pairs, SERIALIZATION_CHUNK_SIZE))
+            .concatMapEager(chunk -> Flowable.fromCallable(() -> serialize(topic, chunk, keySerializer,
+                    valueSerializer))
+                .subscribeOn(this.serializerScheduler))
+            .flatMapIterable(records -> records)
+            .toList();
+    }
+
+    private Single<List<RecordMetadata>> sendRecords(final String topic,
+        final List<ProducerRecord<byte[], byte[]>> records) {
+        return Single.create(emitter -> {
+            final Producer<byte[], byte[]> producer = this.getProducer(topic);
+            final TopicMetrics metrics = this.getMetrics(topic);
+            final long start = System.nanoTime();
+
+            final RecordMetadata[] metadata = new RecordMetadata[records.size()];
+            final AtomicInteger pending = new AtomicInteger(records.size());
+            final AtomicReference<Exception> firstError = new AtomicReference<>();
+
+            for (int i = 0; i < records.size(); i++) {
+                final int index = i;
+                final ProducerRecord<byte[], byte[]> producerRecord = records.get(i);
+                metrics.recordBytes(producerRecord);
+                final Callback callback = (recordMetadata, exception) -> {
+                    if (exception != null) {
+                        firstError.compareAndSet(null, exception);
+                        metrics.recordFailure();
+                    } else {
+                        metadata[index] = recordMetadata;
+                    }
+                    // the last callback completes the whole batch
+                    if (pending.decrementAndGet() == 0) {
+                        metrics.recordBatch(records.size(), System.nanoTime() - start);
+                        final Exception error = firstError.get();
+                        if (error != null) {
+                            emitter.tryOnError(error);
+                        } else {
+                            emitter.onSuccess(Arrays.asList(metadata));
+                        }
+                    }
+                };
+                try {
+                    producer.send(producerRecord, callback);
+                } catch (final RuntimeException exception) {
+                    // e.g., the producer is closed or the buffer stayed exhausted for max.block.ms
+                    callback.onCompletion(null, exception);
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unused") // nothing we can do with the disposable; failures are only logged
+    private void sendInBackground(final String topic, final List<ProducerRecord<byte[], byte[]>> records) {
+        // the records are handed to the producer while subscribing
+        final Disposable disposable = this.sendRecords(topic, records)
+            .subscribe(metadata -> log.trace("{} enqueued records were acknowledged", metadata.size()),
+                error -> log.warn("Could not send enqueued records to topic {}", topic, error));
+    }
+
+    private static <K, V> List<ProducerRecord<byte[], byte[]>> serialize(final String topic,
+        final List<KeyValuePair<K, V>> pairs, final Serializer<K> keySerializer,
+        final Serializer<V> valueSerializer) {
+        final List<ProducerRecord<byte[], byte[]>> records = new ArrayList<>(pairs.size());
+        for (final KeyValuePair<K, V> pair : pairs) {
+            final byte[] key = keySerializer.serialize(topic, pair.getKey());
+            // null values are tombstones and must stay null
+            final byte[] value = pair.getValue() == null ? null : valueSerializer.serialize(topic, pair.getValue());
+            records.add(new ProducerRecord<>(topic, key, value));
+        }
+        return records;
+    }
+
+    private Producer<byte[], byte[]> getProducer(final String topic) {
+        final int index = Math.floorMod(topic.hashCode(), this.producers.length());
+        final Producer<byte[], byte[]> producer = this.producers.get(index);
+        if (producer != null) {
+            return producer;
+        }
+        synchronized (this.producers) {
+            if (this.producers.get(index) == null) {
+                log.debug("Creating shared producer {} of {}", index + 1, this.producers.length());
+                this.producers.set(index, new KafkaProducer<>(this.properties));
+            }
+            return this.producers.get(index);
+        }
+    }
+
+    private TopicMetrics getMetrics(final String topic) {
+        return this.topicMetrics.computeIfAbsent(topic,
+            name -> this.meterRegistry.map(registry -> TopicMetrics.create(registry, name)).orElse(TopicMetrics.NONE));
+    }
+
+    /**
+     * Closes the producers and the serialization workers.
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        log.debug("Teardown producer pool: Close shared producers");
+        for (int i = 0; i < this.producers.length(); i++) {
+            final Producer<byte[], byte[]> producer = this.producers.getAndSet(i, null);
+            if (producer != null) {
+                producer.close();
+            }
+        }
+        this.serializerExecutor.shutdown();
+    }
+
+    /**
+     * Throughput metrics of a single topic.
+     */
+    private static final class TopicMetrics {
+        private static final TopicMetrics NONE = new TopicMetrics(null, null, null, null);
+
+        @Nullable
+        private final Counter records;
+        @Nullable
+        private final Counter bytes;
+        @Nullable
+        private final Counter failures;
+        @Nullable
+        private final Timer batchLatency;
+
+        private TopicMetrics(@Nullable final Counter records, @Nullable final Counter bytes,
+            @Nullable final Counter failures, @Nullable final Timer batchLatency) {
+            this.records = records;
+            this.bytes = bytes;
+            this.failures = failures;
+            this.batchLatency = batchLatency;
+        }
+
+        private static TopicMetrics create(final MeterRegistry registry, final String topic) {
+            return new TopicMetrics(
+                Counter.builder("quick.producer.records")
+                    .description("Number of records sent to the topic")
+                    .tag(TOPIC_TAG, topic)
+                    .register(registry),
+                Counter.builder("quick.producer.bytes")
+                    .description("Number of serialized key and value bytes sent to the topic")
+                    .baseUnit("bytes")
+                    .tag(TOPIC_TAG, topic)
+                    .register(registry),
+                Counter.builder("quick.producer.failures")
+                    .description("Number of records that could not be sent to the topic")
+                    .tag(TOPIC_TAG, topic)
+                    .register(registry),
+                Timer.builder("quick.producer.batch.latency")
+                    .description("Time until all records of an ingest batch are acknowledged")
+                    .tag(TOPIC_TAG, topic)
+                    .register(registry)
+            );
+        }
+
+        private void recordBytes(final ProducerRecord<byte[], byte[]> producerRecord) {
+            if (this.bytes != null) {
+                final int keySize = producerRecord.key() == null ? 0 : producerRecord.key().length;
+                final int valueSize = producerRecord.value() == null ? 0 : producerRecord.value().length;
+                this.bytes.increment(keySize + valueSize);
+            }
+        }
+
+        private void recordFailure() {
+            if (this.failures != null) {
+                this.failures.increment();
+            }
+        }
+
+        private void recordBatch(final int size, final long durationNanos) {
+            if (this.records != null && this.batchLatency != null) {
+                this.records.increment(size);
+                this.batchLatency.record(durationNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -16,23 +16,41 @@
 
 package com.bakdata.quick.common.resolver;
 
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
 import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
 
 /**
  * Resolver for avro objects.
  */
+@Slf4j
 public class GenericAvroResolver implements TypeResolver<GenericRecord> {
+    private static final int MAX_PROJECTIONS = 100;
 
     private final JsonAvroConverter converter;
     private final Schema schema;
+    private final Cache<FieldProjection, GenericAvroResolver> projectedResolvers;
 
     public GenericAvroResolver(final Schema schema) {
         this.schema = schema;
         this.converter = new JsonAvroConverter();
+        this.projectedResolvers = Caffeine.newBuilder().maximumSize(MAX_PROJECTIONS).build();
     }
 
     @Override
@@ -41,4 +59,153 @@ public class GenericAvroResolver implements TypeResolver<GenericRecord> {
         return this.converter.convertToGenericDataRecord(value.getBytes(StandardCharsets.UTF_8), this.schema);
     }
 
+    /**
+     * Converts a map, e.g., a GraphQL input object, into a record without a JSON round trip.
+     *
+     * <p>
+     * Missing fields are set to their default value. Fields not present in the schema are ignored.
+     */
+    @Override
+    public GenericRecord fromObject(final Object value) {
+        Objects.requireNonNull(this.schema, "Configure the resolver before using it");
+        if (value instanceof String) {
+            return this.fromString((String) value);
+        }
+        return convertRecord(checkType(value, Map.class, this.schema), this.schema);
+    }
+
+    /**
+     * Returns a resolver for a schema that only contains the selected fields.
+     *
+     * <p>
+     * This allows resolving the projected values of a mirror, which lack the fields that are not selected.
+     */
+    @Override
+    public TypeResolver<GenericRecord> forProjection(final FieldProjection projection) {
+        if (projection.isAll()) {
+            return this;
+        }
+        return this.projectedResolvers.get(projection,
+            selection -> new GenericAvroResolver(projectSchema(this.schema, selection)));
+    }
+
+    private static Schema projectSchema(final Schema schema, final FieldProjection projection) {
+        if (projection.isAll()) {
+            return schema;
+        }
+        switch (schema.getType()) {
+            case RECORD:
+                final List<Schema.Field> fields = new ArrayList<>();
+                for (final Schema.Field field : schema.getFields()) {
+                    if (projection.includes(field.name())) {
+                        final Schema fieldSchema = projectSchema(field.schema(), projection.getNested(field.name()));
+                        fields.add(new Schema.Field(field, fieldSchema));
+                    }
+                }
+                return Schema.createRecord(schema.getName(), schema.getDoc(), schema.getNamespace(), schema.isError(),
+                    fields);
+            case UNION:
+                final List<Schema> branches = new ArrayList<>();
+                for (final Schema branch : schema.getTypes()) {
+                    branches.add(projectSchema(branch, projection));
+                }
+                return Schema.createUnion(branches);
+            case ARRAY:
+                return Schema.createArray(projectSchema(schema.getElementType(), projection));
+            default:
+                return schema;
+        }
+    }
+
+    @Nullable
+    private static Object convertNullable(@Nullable final Object value, final Schema schema) {
+        return value == null ? null : convert(value, schema);
+    }
+
+    private static Object convert(final Object value, final Schema schema) {
+        switch (schema.getType()) {
+            case RECORD:
+                return convertRecord(checkType(value, Map.class, schema), schema);
+            case UNION:
+                return convertUnion(value, schema);
+            case ARRAY:
+                final Collection<?> elements = checkType(value, Collection.class, schema);
+                final List<Object> array = new ArrayList<>(elements.size());
+                for (final Object element : elements) {
+                    array.add(convertNullable(element, schema.getElementType()));
+                }
+                return new GenericData.Array<>(schema, array);
+            case MAP:
+                final Map<?, ?> entries = checkType(value, Map.class, schema);
+                final Map<String, Object> map = new HashMap<>(entries.size());
+                entries.forEach((key, entry) ->
+                    map.put(key.toString(), convertNullable(entry, schema.getValueType())));
+                return map;
+            case ENUM:
+                return new GenericData.EnumSymbol(schema, value.toString());
+            case STRING:
+                return value.toString();
+            case INT:
+                return checkType(value, Number.class, schema).intValue();
+            case LONG:
+                return checkType(value, Number.class, schema).longValue();
+            case FLOAT:
+                return checkType(value, Number.class, schema).floatValue();
+            case DOUBLE:
+                return checkType(value, Number.class, schema).doubleValue();
+            case BOOLEAN:
+                return checkType(value, Boolean.class, schema);
+            case BYTES:
+                return convertBytes(value, schema);
+            default:
+                throw new AvroRuntimeException(String.format("Cannot convert input to type %s", schema.getType()));
+        }
+    }
+
+    /**
+     * Converts raw bytes or a string in Avro's JSON encoding of bytes, i.e., with one character per byte.
+     */
+    private static ByteBuffer convertBytes(final Object value, final Schema schema) {
+        if (value instanceof ByteBuffer) {
+            return ((ByteBuffer) value).duplicate();
+        }
+        if (value instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) value);
+        }
+        final CharSequence encoded = checkType(value, CharSequence.class, schema);
+        return ByteBuffer.wrap(encoded.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static GenericRecord convertRecord(final Map<?, ?> input, final Schema schema) {
+        final GenericRecordBuilder builder = new GenericRecordBuilder(schema);
+        for (final Schema.Field field : schema.getFields()) {
+            if (input.containsKey(field.name())) {
+                builder.set(field, convertNullable(input.get(field.name()), field.schema()));
+            }
+        }
+        return builder.build();
+    }
+
+    private static Object convertUnion(final Object value, final Schema schema) {
+        // use the first branch the value can be converted to, e.g., the non-null branch of an optional field
+        for (final Schema branch : schema.getTypes()) {
+            if (branch.getType() == Schema.Type.NULL) {
+                continue;
+            }
+            try {
+                return convert(value, branch);
+            } catch (final AvroRuntimeException e) {
+                log.trace("Cannot convert {} to union branch {}", value, branch.getName(), e);
+            }
+        }
+        throw new AvroRuntimeException(String.format("Cannot convert %s to any type of %s", value, schema));
+    }
+
+    private static <T> T checkType(final Object value, final Class<T> type, final Schema schema) {
+        if (!type.isInstance(value)) {
+            throw new AvroRuntimeException(
+                String.format("Cannot convert %s to %s", value, schema.getType().getName()));
+        }
+        return type.cast(value);
+    }
 }
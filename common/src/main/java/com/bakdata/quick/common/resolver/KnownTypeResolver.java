@@ -53,4 +53,14 @@ public class KnownTypeResolver<T> implements TypeResolver<T> {
         }
     }
 
+    @Override
+    public T fromObject(final Object value) {
+        try {
+            return this.objectMapper.convertValue(value, this.typeClass);
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Could not convert \"%s\" into %s", value, this.typeClass),
+                e);
+        }
+    }
+
 }
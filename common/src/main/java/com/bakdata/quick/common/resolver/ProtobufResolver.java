@@ -16,11 +16,16 @@
 
 package com.bakdata.quick.common.resolver;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.Descriptors;
+import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.DynamicMessage;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.google.protobuf.util.JsonFormat;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * A resolver for Protobuf messages.
@@ -44,4 +49,105 @@ public class ProtobufResolver implements TypeResolver<Message> {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Converts a map, e.g., a GraphQL input object, into a message without a JSON round trip.
+     *
+     * <p>
+     * Fields are matched by their name or their JSON name. Fields not present in the descriptor are ignored.
+     */
+    @Override
+    public Message fromObject(final Object value) {
+        if (value instanceof String) {
+            return this.fromString((String) value);
+        }
+        return convertMessage(checkType(value, Map.class, this.descriptor.getFullName()), this.descriptor);
+    }
+
+    private static DynamicMessage convertMessage(final Map<?, ?> input, final Descriptors.Descriptor descriptor) {
+        final DynamicMessage.Builder builder = DynamicMessage.newBuilder(descriptor);
+        for (final FieldDescriptor field : descriptor.getFields()) {
+            final Object fieldValue = input.containsKey(field.getName())
+                ? input.get(field.getName())
+                : input.get(field.getJsonName());
+            // proto3 has no null values: unset fields keep their default
+            if (fieldValue == null) {
+                continue;
+            }
+            if (field.isMapField()) {
+                final Descriptors.Descriptor entryType = field.getMessageType();
+                final FieldDescriptor keyField = entryType.findFieldByName("key");
+                final FieldDescriptor valueField = entryType.findFieldByName("value");
+                checkType(fieldValue, Map.class, field.getFullName()).forEach((key, entry) ->
+                    builder.addRepeatedField(field, DynamicMessage.newBuilder(entryType)
+                        .setField(keyField, convertField(key, keyField))
+                        .setField(valueField, convertField(entry, valueField))
+                        .build()));
+            } else if (field.isRepeated()) {
+                for (final Object element : checkType(fieldValue, Collection.class, field.getFullName())) {
+                    builder.addRepeatedField(field, convertField(element, field));
+                }
+            } else {
+                builder.setField(field, convertField(fieldValue, field));
+            }
+        }
+        return builder.build();
+    }
+
+    private static Object convertField(final Object value, final FieldDescriptor field) {
+        switch (field.getJavaType()) {
+            case MESSAGE:
+                return convertMessage(checkType(value, Map.class, field.getFullName()), field.getMessageType());
+            case ENUM:
+                final Descriptors.EnumValueDescriptor enumValue =
+                    field.getEnumType().findValueByName(value.toString());
+                if (enumValue == null) {
+                    throw new IllegalArgumentException(
+                        String.format("Unknown value %s for enum %s", value, field.getEnumType().getFullName()));
+                }
+                return enumValue;
+            case STRING:
+                return value.toString();
+            case INT:
+                return checkType(value, Number.class, field.getFullName()).intValue();
+            case LONG:
+                return checkType(value, Number.class, field.getFullName()).longValue();
+            case FLOAT:
+                return checkType(value, Number.class, field.getFullName()).floatValue();
+            case DOUBLE:
+                return checkType(value, Number.class, field.getFullName()).doubleValue();
+            case BOOLEAN:
+                return checkType(value, Boolean.class, field.getFullName());
+            case BYTE_STRING:
+                return convertBytes(value, field.getFullName());
+            default:
+                throw new IllegalArgumentException(
+                    String.format("Cannot convert input to type %s", field.getJavaType()));
+        }
+    }
+
+    /**
+     * Converts raw bytes or a Base64 string as in Protobuf's JSON encoding of bytes.
+     */
+    private static ByteString convertBytes(final Object value, final String name) {
+        if (value instanceof ByteString) {
+            return (ByteString) value;
+        }
+        if (value instanceof byte[]) {
+            return ByteString.copyFrom((byte[]) value);
+        }
+        final String encoded = checkType(value, CharSequence.class, name).toString();
+        try {
+            return ByteString.copyFrom(Base64.getDecoder().decode(encoded));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Cannot convert %s for %s: Not Base64", value, name), e);
+        }
+    }
+
+    private static <T> T checkType(final Object value, final Class<T> type, final String name) {
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException(String.format("Cannot convert %s for %s", value, name));
+        }
+        return type.cast(value);
+    }
 }
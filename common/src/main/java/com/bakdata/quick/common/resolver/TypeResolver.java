@@ -16,9 +16,38 @@
 
 package com.bakdata.quick.common.resolver;
 
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+
 /**
  * A TypeResolver is used for serializing values dynamically in quick.
  */
 public interface TypeResolver<T> {
     T fromString(String value);
+
+    /**
+     * Resolves an already parsed value, e.g., a GraphQL input argument.
+     *
+     * <p>
+     * Resolvers for complex types convert maps and lists directly. The default implementation falls back to the
+     * string representation of the value and is only suitable for primitive types.
+     *
+     * @param value parsed value
+     * @return resolved value
+     */
+    default T fromObject(final Object value) {
+        return this.fromString(value.toString());
+    }
+
+    /**
+     * Returns a resolver for values that only contain the fields of the given projection.
+     *
+     * <p>
+     * By default, values are resolved independently of their fields.
+     *
+     * @param projection the selected fields
+     * @return resolver for projected values
+     */
+    default TypeResolver<T> forProjection(final FieldProjection projection) {
+        return this;
+    }
 }
@@ -17,7 +17,11 @@
 package com.bakdata.quick.common.schema;
 
 import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import java.util.Collection;
 
 /**
  * Client for interacting with the Avro Schema Registry.
@@ -44,4 +48,18 @@ public interface SchemaFetcher {
      */
     Single<ParsedSchema> getSchema(final String subject);
 
+    /**
+     * Loads the schemas of all given subjects in parallel, e.g., for warming up a cache.
+     *
+     * <p>
+     * Subjects whose schema cannot be retrieved are skipped.
+     */
+    default Completable prefetchSchemas(final Collection<String> subjects) {
+        return Flowable.fromIterable(subjects)
+            .flatMapCompletable(subject -> this.getSchema(subject)
+                .subscribeOn(Schedulers.io())
+                .ignoreElement()
+                .onErrorComplete());
+    }
+
 }
@@ -23,36 +23,67 @@ import com.bakdata.quick.common.api.client.HttpClient;
 import com.bakdata.quick.common.config.KafkaConfig;
 import com.bakdata.quick.common.exception.HttpClientException;
 import com.bakdata.quick.common.exception.schema.SchemaNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import io.confluent.kafka.schemaregistry.ParsedSchema;
 import io.confluent.kafka.schemaregistry.SchemaProvider;
 import io.confluent.kafka.schemaregistry.avro.AvroSchemaProvider;
 import io.confluent.kafka.schemaregistry.client.rest.entities.Schema;
 import io.micronaut.http.HttpStatus;
 import io.reactivex.Single;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
 import okhttp3.Request;
 import okhttp3.Response;
 
 /**
  * Client for retrieving Avro schemas from the schema registry.
+ *
+ * <p>
+ * Schemas are cached on two levels: The id of a subject's latest version is kept for a short time, while the parsed
+ * schema of an id never changes and is therefore kept indefinitely. Thus, a new version of a subject is picked up after
+ * the TTL, and schemas already known by their id are not parsed again.
  */
 @Singleton
 public class SchemaRegistryFetcher implements SchemaFetcher {
+    public static final Duration DEFAULT_LATEST_ID_TTL = Duration.ofSeconds(30);
+
     private final HttpClient client;
     private final String schemaRegistryUrl;
     private final SchemaProvider schemaProvider;
     private final SchemaProvider avroSchemaProvider;
+    private final LoadingCache<String, Integer> latestIds;
+    private final Cache<Integer, ParsedSchema> schemasById;
 
     /**
      * Default constructor.
      */
+    @Inject
     public SchemaRegistryFetcher(final HttpClient client, final KafkaConfig kafkaConfig,
                                  final SchemaProvider schemaProvider) {
+        this(client, kafkaConfig, schemaProvider, DEFAULT_LATEST_ID_TTL);
+    }
+
+    /**
+     * Constructor with a custom TTL for the subjects' latest ids.
+     *
+     * @param latestIdTtl duration after which the latest version of a subject is requested again
+     */
+    public SchemaRegistryFetcher(final HttpClient client, final KafkaConfig kafkaConfig,
+                                 final SchemaProvider schemaProvider, final Duration latestIdTtl) {
         this.client = client;
         this.schemaRegistryUrl = kafkaConfig.getSchemaRegistryUrl();
         this.schemaProvider = schemaProvider;
         this.avroSchemaProvider = new AvroSchemaProvider();
+        this.latestIds = Caffeine.newBuilder()
+            .expireAfterWrite(latestIdTtl)
+            .build(this::fetchLatestId);
+        this.schemasById = Caffeine.newBuilder().build();
     }
 
     @Override
@@ -67,27 +98,37 @@ public class SchemaRegistryFetcher implements SchemaFetcher {
 
     @Override
     public Single<ParsedSchema> getSchema(final String subject) {
-        final Request build = new Request.Builder()
+        return Single.fromCallable(() -> {
+            final Integer id = Objects.requireNonNull(this.latestIds.get(subject));
+            // ids are never evicted, so the schema is present once its id was loaded
+            return Objects.requireNonNull(this.schemasById.getIfPresent(id));
+        });
+    }
+
+    private Integer fetchLatestId(final String subject) {
+        final Request request = new Request.Builder()
             .url(String.format("%s/subjects/%s/versions/latest", this.schemaRegistryUrl, subject))
             .header("Content-Type", "application/vnd.schemaregistry.v1+json")
             .build();
 
-        // For internal topics starting with __ we always use avro
-        final SchemaProvider subjectSchemaProvider =
-            subject.startsWith("__") ? this.avroSchemaProvider : this.schemaProvider;
-
-        return Single.fromCallable(() -> this.parseSchema(subject, build, subjectSchemaProvider));
-    }
-
-    private ParsedSchema parseSchema(final String subject, final Request request,
-                                     final SchemaProvider subjectSchemaProvider) throws IOException {
         try (final Response response = this.client.newCall(request).execute()) {
             if (response.code() != HttpStatus.OK.getCode()) {
                 throw new HttpClientException(HttpStatus.valueOf(response.code()));
             }
             final Schema schema = this.client.objectMapper().readValue(response.body().byteStream(), Schema.class);
-            return subjectSchemaProvider.parseSchema(schema.getSchema(), schema.getReferences())
-                .orElseThrow(() -> new SchemaNotFoundException(subject));
+            // the schema is only parsed if its id is unknown
+            this.schemasById.get(schema.getId(), id -> this.parseSchema(subject, schema));
+            return schema.getId();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
+
+    private ParsedSchema parseSchema(final String subject, final Schema schema) {
+        // For internal topics starting with __ we always use avro
+        final SchemaProvider subjectSchemaProvider =
+            subject.startsWith("__") ? this.avroSchemaProvider : this.schemaProvider;
+        return subjectSchemaProvider.parseSchema(schema.getSchema(), schema.getReferences())
+            .orElseThrow(() -> new SchemaNotFoundException(subject));
+    }
 }
@@ -18,6 +18,7 @@ package com.bakdata.quick.common.type;
 
 import io.reactivex.Completable;
 import io.reactivex.Single;
+import java.util.function.Consumer;
 
 /**
  * Service for retrieving topic information and deleting topics.
@@ -26,4 +27,16 @@ public interface TopicTypeService {
     <K, V> Single<QuickTopicData<K, V>> getTopicData(final String topic);
 
     Completable deleteFromTopicRegistry(String topic);
+
+    /**
+     * Registers a listener that is called with the name of a topic whose topic data changed, e.g., after a new schema
+     * was registered for it.
+     *
+     * <p>
+     * By default, topic data never changes and listeners are not called.
+     *
+     * @param listener listener called with the topic name
+     */
+    default void addTopicDataListener(final Consumer<String> listener) {
+    }
 }
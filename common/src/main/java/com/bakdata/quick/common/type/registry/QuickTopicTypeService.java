@@ -22,6 +22,10 @@ import static com.bakdata.quick.common.api.model.KeyValueEnum.VALUE;
 import com.bakdata.quick.common.api.client.mirror.TopicRegistryClient;
 import com.bakdata.quick.common.api.model.KeyValueEnum;
 import com.bakdata.quick.common.api.model.TopicData;
+import com.bakdata.quick.common.config.KafkaConfig;
+import com.bakdata.quick.common.config.TopicDataCacheConfig;
+import com.bakdata.quick.common.config.TopicRegistryConfig;
+import com.bakdata.quick.common.exception.NotFoundException;
 import com.bakdata.quick.common.schema.SchemaFetcher;
 import com.bakdata.quick.common.type.ConversionProvider;
 import com.bakdata.quick.common.type.QuickTopicData;
@@ -30,30 +34,50 @@ import com.bakdata.quick.common.type.QuickTopicType;
 import com.bakdata.quick.common.type.TopicTypeService;
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.reactivex.Completable;
 import io.reactivex.Single;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.schedulers.Schedulers;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.serialization.Serde;
 
 /**
  * Service for getting and configuring topic data from the topic registry.
+ *
+ * <p>
+ * Topic data is cached and reloaded in the background, so that requests rarely wait for the topic registry or the
+ * schema registry. Topics missing in the topic registry are cached for a short time as well. If enabled, changes in
+ * the topic registry trigger a reload of the affected entry. The reload waits until the topic registry's mirror has
+ * applied the change. Listeners are notified when reloaded topic data differs from the cached one, so that they can
+ * discard everything they derived from it, e.g., serdes.
  */
 @Singleton
 @Slf4j
 public class QuickTopicTypeService implements TopicTypeService {
     private final SchemaFetcher registryFetcher;
     private final TopicRegistryClient topicRegistryClient;
-    private final AsyncLoadingCache<String, QuickTopicData<?, ?>> cache;
+    private final AsyncLoadingCache<String, Optional<QuickTopicData<?, ?>>> cache;
     private final ConversionProvider conversionProvider;
+    private final List<Consumer<String>> topicDataListeners;
+    @Nullable
+    private final TopicRegistryWatcher registryWatcher;
 
     /**
-     * Default constructor.
+     * Constructor using the default cache configuration without watching the topic registry.
      *
      * @param registryFetcher http client for schema registry
      * @param topicRegistryClient http client for topic registry
@@ -62,19 +86,70 @@ public class QuickTopicTypeService implements TopicTypeService {
     public QuickTopicTypeService(final SchemaFetcher registryFetcher,
         final TopicRegistryClient topicRegistryClient,
         final ConversionProvider conversionProvider) {
+        this(registryFetcher, topicRegistryClient, conversionProvider, new TopicDataCacheConfig());
+    }
+
+    /**
+     * Constructor without watching the topic registry.
+     *
+     * @param registryFetcher http client for schema registry
+     * @param topicRegistryClient http client for topic registry
+     * @param conversionProvider provider for conversion operations
+     * @param cacheConfig configuration of the topic data cache
+     */
+    public QuickTopicTypeService(final SchemaFetcher registryFetcher,
+        final TopicRegistryClient topicRegistryClient,
+        final ConversionProvider conversionProvider,
+        final TopicDataCacheConfig cacheConfig) {
+        this(registryFetcher, topicRegistryClient, conversionProvider, cacheConfig, null, null);
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * <p>
+     * The topic registry is only watched if it is enabled in the cache configuration and Kafka and the topic registry
+     * are configured.
+     *
+     * @param registryFetcher http client for schema registry
+     * @param topicRegistryClient http client for topic registry
+     * @param conversionProvider provider for conversion operations
+     * @param cacheConfig configuration of the topic data cache
+     * @param kafkaConfig configuration for kafka
+     * @param topicRegistryConfig configuration of the topic registry
+     */
+    @Inject
+    public QuickTopicTypeService(final SchemaFetcher registryFetcher,
+        final TopicRegistryClient topicRegistryClient,
+        final ConversionProvider conversionProvider,
+        final TopicDataCacheConfig cacheConfig,
+        @Nullable final KafkaConfig kafkaConfig,
+        @Nullable final TopicRegistryConfig topicRegistryConfig) {
         this.registryFetcher = registryFetcher;
         this.topicRegistryClient = topicRegistryClient;
         this.conversionProvider = conversionProvider;
+        this.topicDataListeners = new CopyOnWriteArrayList<>();
         this.cache = Caffeine.newBuilder()
-            .maximumSize(1_000)
-            .expireAfterAccess(Duration.ofSeconds(5))
+            .maximumSize(cacheConfig.getMaximumSize())
+            .refreshAfterWrite(cacheConfig.getRefreshAfterWrite())
+            .expireAfter(new MissingTopicExpiry(cacheConfig.getMissingTopicTtl()))
+            .removalListener(this::onRemoval)
             .buildAsync(this::loadTopicData);
+        if (cacheConfig.isWatchRegistry() && kafkaConfig != null && topicRegistryConfig != null) {
+            this.registryWatcher =
+                new TopicRegistryWatcher(kafkaConfig, topicRegistryConfig.getTopicName(), this::refresh);
+            this.registryWatcher.start();
+        } else {
+            this.registryWatcher = null;
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <K, V> Single<QuickTopicData<K, V>> getTopicData(final String topic) {
-        return Single.fromFuture(this.cache.get(topic)).map(data -> (QuickTopicData<K, V>) data);
+        return Single.fromFuture(this.cache.get(topic))
+            .map(data -> (QuickTopicData<K, V>) data.orElseThrow(() -> new NotFoundException(
+                String.format("Topic %s not found in topic registry", topic))));
     }
 
     @Override
@@ -82,11 +157,106 @@ public class QuickTopicTypeService implements TopicTypeService {
         return this.topicRegistryClient.delete(topic);
     }
 
-    private CompletableFuture<QuickTopicData<?, ?>> loadTopicData(final String key, final Executor executor) {
-        log.debug("No cached entry for topic {}", key);
-        return this.topicRegistryClient.getTopicData(key)
-            .flatMap(this::fromTopicData)
-            .as(single -> singleToFuture(executor, single));
+    @Override
+    public void addTopicDataListener(final Consumer<String> listener) {
+        this.topicDataListeners.add(listener);
+    }
+
+    /**
+     * Reloads the topic data in the background if it is cached.
+     *
+     * <p>
+     * The topic data is read from a state of the topic registry that reflects at least the given position, i.e.,
+     * the position of the change. Until the reload is done, the previous topic data is served. If the reload fails,
+     * the entry is invalidated, so that the next request loads it again.
+     *
+     * @param topic    the topic that changed in the topic registry
+     * @param position position token of the change in the topic backing the topic registry
+     */
+    @SuppressWarnings("unused") // the reloaded value is served by the cache
+    public void refresh(final String topic, final String position) {
+        if (this.cache.getIfPresent(topic) == null) {
+            return;
+        }
+        log.debug("Reload topic data for topic {} at position {}", topic, position);
+        final Disposable disposable = this.toCacheEntry(topic, this.topicRegistryClient.getTopicData(topic, position))
+            .subscribeOn(Schedulers.io())
+            .subscribe(data -> this.cache.put(topic, CompletableFuture.completedFuture(data)), throwable -> {
+                log.warn("Could not reload topic data for topic {}", topic, throwable);
+                this.cache.synchronous().invalidate(topic);
+            });
+    }
+
+    /**
+     * Stops watching the topic registry.
+     */
+    @PreDestroy
+    public void tearDown() {
+        if (this.registryWatcher != null) {
+            this.registryWatcher.close();
+        }
+    }
+
+    /**
+     * Notifies the listeners if the topic data of a topic was replaced with different topic data or invalidated.
+     *
+     * <p>
+     * Caffeine calls this after the removal, so that the cache already serves the new topic data.
+     */
+    private void onRemoval(@Nullable final String topic, @Nullable final Optional<QuickTopicData<?, ?>> previous,
+        final RemovalCause cause) {
+        if (topic == null || previous == null) {
+            return;
+        }
+        if (cause == RemovalCause.REPLACED) {
+            final Optional<QuickTopicData<?, ?>> current = this.cache.synchronous().getIfPresent(topic);
+            if (current != null && !hasChanged(previous, current)) {
+                return;
+            }
+        } else if (cause != RemovalCause.EXPLICIT) {
+            // evicted topic data is still valid, it is just not cached anymore
+            return;
+        }
+        log.debug("Topic data of topic {} changed", topic);
+        this.topicDataListeners.forEach(listener -> listener.accept(topic));
+    }
+
+    private static boolean hasChanged(final Optional<QuickTopicData<?, ?>> previous,
+        final Optional<QuickTopicData<?, ?>> current) {
+        if (previous.isEmpty() || current.isEmpty()) {
+            return previous.isPresent() != current.isPresent();
+        }
+        final QuickTopicData<?, ?> previousData = previous.get();
+        final QuickTopicData<?, ?> currentData = current.get();
+        // serdes and resolvers are created anew on every load, so only the types and schemas are compared
+        return previousData.getWriteType() != currentData.getWriteType()
+            || hasChanged(previousData.getKeyData(), currentData.getKeyData())
+            || hasChanged(previousData.getValueData(), currentData.getValueData());
+    }
+
+    private static boolean hasChanged(final QuickData<?> previous, final QuickData<?> current) {
+        return previous.getType() != current.getType()
+            || !Objects.equals(previous.getParsedSchema(), current.getParsedSchema());
+    }
+
+    private CompletableFuture<Optional<QuickTopicData<?, ?>>> loadTopicData(final String key,
+        final Executor executor) {
+        log.debug("Loading topic data for topic {}", key);
+        final Single<Optional<QuickTopicData<?, ?>>> topicData =
+            this.toCacheEntry(key, this.topicRegistryClient.getTopicData(key));
+        return topicData.as(single -> singleToFuture(executor, single));
+    }
+
+    private Single<Optional<QuickTopicData<?, ?>>> toCacheEntry(final String key, final Single<TopicData> topicData) {
+        return topicData.flatMap(this::fromTopicData)
+            .<Optional<QuickTopicData<?, ?>>>map(Optional::of)
+            .onErrorResumeNext(throwable -> {
+                if (throwable instanceof NotFoundException) {
+                    log.debug("Topic {} not found in topic registry", key);
+                    return Single.just(Optional.empty());
+                }
+                return Single.error(throwable);
+            });
     }
 
     private <K, V> Single<QuickTopicData<K, V>> fromTopicData(final TopicData topicData) {
@@ -128,11 +298,39 @@ public class QuickTopicTypeService implements TopicTypeService {
     }
 
     @SuppressWarnings("unused") // nothing we can do with the disposable; the value will be in the future
-    private static CompletableFuture<QuickTopicData<?, ?>> singleToFuture(final Executor executor,
-        final Single<QuickTopicData<Object, Object>> single) {
-        final CompletableFuture<QuickTopicData<?, ?>> cf = new CompletableFuture<>();
+    private static <T> CompletableFuture<T> singleToFuture(final Executor executor, final Single<T> single) {
+        final CompletableFuture<T> cf = new CompletableFuture<>();
         final Disposable disposable = single.subscribeOn(Schedulers.from(executor))
             .subscribe(cf::complete, cf::completeExceptionally);
         return cf;
     }
+
+    /**
+     * Keeps existing topics until they are evicted or reloaded, and missing topics only for a short time.
+     */
+    private static final class MissingTopicExpiry implements Expiry<String, Optional<QuickTopicData<?, ?>>> {
+        private final long missingTopicTtlNanos;
+
+        private MissingTopicExpiry(final Duration missingTopicTtl) {
+            this.missingTopicTtlNanos = missingTopicTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(final String key, final Optional<QuickTopicData<?, ?>> value,
+            final long currentTime) {
+            return value.isPresent() ? Long.MAX_VALUE : this.missingTopicTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Optional<QuickTopicData<?, ?>> value,
+            final long currentTime, final long currentDuration) {
+            return this.expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Optional<QuickTopicData<?, ?>> value,
+            final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.bakdata.quick.common.type.registry;
+
+import com.bakdata.quick.common.api.model.TopicPosition;
+import com.bakdata.quick.common.config.KafkaConfig;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+/**
+ * Watches the topic backing the topic registry and notifies about changed topics.
+ *
+ * <p>
+ * The watcher reads from the end of the topic, i.e., it only reports changes happening after it started. It does not
+ * use a consumer group, so every instance receives all changes.
+ *
+ * <p>
+ * Each change is reported with the position of its record. The topic registry's mirror may not have applied the change
+ * yet, so reads of the changed topic data should require this position.
+ */
+@Slf4j
+public class TopicRegistryWatcher implements Closeable {
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(10);
+
+    private final String registryTopic;
+    private final BiConsumer<String, String> listener;
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Default constructor.
+     *
+     * @param kafkaConfig   configuration for kafka
+     * @param registryTopic name of the topic backing the topic registry
+     * @param listener      called with the name and the position token of each changed topic
+     */
+    public TopicRegistryWatcher(final KafkaConfig kafkaConfig, final String registryTopic,
+        final BiConsumer<String, String> listener) {
+        this.registryTopic = registryTopic;
+        this.listener = listener;
+        final Map<String, Object> props = Map.of(
+            ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfig.getBootstrapServer(),
+            ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false
+        );
+        this.consumer = new KafkaConsumer<>(props, new StringDeserializer(), new ByteArrayDeserializer());
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "topic-registry-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts watching the topic registry in the background.
+     */
+    public void start() {
+        if (this.running.compareAndSet(false, true)) {
+            this.executor.execute(this::run);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.running.set(false);
+        this.consumer.wakeup();
+        this.executor.shutdown();
+    }
+
+    private void run() {
+        try {
+            while (this.running.get()) {
+                this.pollChanges();
+            }
+        } catch (final WakeupException exception) {
+            log.debug("Stop watching topic registry");
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.consumer.close();
+        }
+    }
+
+    private void pollChanges() throws InterruptedException {
+        try {
+            if (this.consumer.assignment().isEmpty() && !this.assignPartitions()) {
+                TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF.toMillis());
+                return;
+            }
+            for (final ConsumerRecord<String, byte[]> record : this.consumer.poll(POLL_TIMEOUT)) {
+                if (record.key() != null) {
+                    log.debug("Topic {} changed in topic registry", record.key());
+                    final TopicPosition position =
+                        new TopicPosition(record.topic(), Map.of(record.partition(), record.offset()));
+                    this.listener.accept(record.key(), position.toToken());
+                }
+            }
+        } catch (final WakeupException exception) {
+            throw exception;
+        } catch (final KafkaException exception) {
+            log.warn("Could not read changes from topic registry", exception);
+            TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF.toMillis());
+        }
+    }
+
+    private boolean assignPartitions() {
+        final List<TopicPartition> partitions = this.consumer.partitionsFor(this.registryTopic).stream()
+            .map(info -> new TopicPartition(info.topic(), info.partition()))
+            .collect(Collectors.toList());
+        if (partitions.isEmpty()) {
+            log.debug("Topic registry topic {} does not exist yet", this.registryTopic);
+            return false;
+        }
+        this.consumer.assign(partitions);
+        this.consumer.seekToEnd(partitions);
+        // the seek is lazy; resolve the positions now so that no change after this point is missed
+        for (final TopicPartition partition : partitions) {
+            final long offset = this.consumer.position(partition);
+            log.trace("Watching {} from offset {}", partition, offset);
+        }
+        return true;
+    }
+}
@@ -24,12 +24,16 @@ import java.util.function.Supplier;
 /**
  * Wrapper holding values for lazy initialization.
  *
+ * <p>
+ * The value is initialized at most once, even if it is requested by multiple threads concurrently. Once it is
+ * {@link #reset() reset}, the next request initializes it again.
+ *
  * @param <T> value supplied lazily
  */
 public class Lazy<T> {
     private final Supplier<? extends T> supplier;
     @Nullable
-    private T value;
+    private volatile T value;
 
     public Lazy(final Supplier<? extends T> supplier) {
         this.supplier = supplier;
@@ -41,10 +45,22 @@ public class Lazy<T> {
      */
     @NonNull
     public T get() {
-        if (this.value == null) {
-            this.value = this.supplier.get();
-            Objects.requireNonNull(this.value, "Lazy initialization must not return null.");
+        final T current = this.value;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (this.value == null) {
+                this.value = Objects.requireNonNull(this.supplier.get(), "Lazy initialization must not return null.");
+            }
+            return this.value;
         }
-        return this.value;
+    }
+
+    /**
+     * Discards the value, so that the next request initializes it again.
+     */
+    public synchronized void reset() {
+        this.value = null;
     }
 }
@@ -0,0 +1,92 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.api.client.mirror;
+
+import static com.bakdata.quick.common.api.client.TestUtils.mockResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
+import com.bakdata.quick.common.resolver.StringResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.Test;
+
+class DefaultMirrorClientTest {
+    private final MirrorHost host = MirrorHost.createWithNoPrefix("123.456.789.000:8080");
+    private final MirrorRequestManager mockRequestManager = mock(MirrorRequestManager.class);
+    private final MirrorClient<String, String> stringMirrorClient = new DefaultMirrorClient<>(this.host,
+        new MirrorValueParser<>(new StringResolver(), new ObjectMapper()), this.mockRequestManager);
+
+    @Test
+    void shouldSendFilterWhenFetchingRange() {
+        final ValueFilter filter = ValueFilter.builder().field("amount").gte(10).build();
+        final HttpUrl url = this.host.forRange("key-1", "1", "4").newBuilder()
+            .addQueryParameter(ValueFilter.QUERY_PARAMETER, "{\"field\":\"amount\",\"gte\":10}")
+            .build();
+        final ResponseWrapper response = ResponseWrapper.fromResponse(mockResponse());
+        when(this.mockRequestManager.makeRequest(eq(url))).thenReturn(response);
+        when(this.mockRequestManager.processResponse(eq(response), any())).thenReturn(List.of("value-1"));
+
+        final List<String> values =
+            this.stringMirrorClient.fetchRange("key-1", "1", "4", FieldProjection.all(), filter);
+
+        assertThat(values).containsExactly("value-1");
+        verify(this.mockRequestManager).makeRequest(eq(url));
+    }
+
+    @Test
+    void shouldSendFilterWhenFetchingAll() {
+        final ValueFilter filter = ValueFilter.builder().field("currency").eq("EURO").build();
+        final HttpUrl url = this.host.forAll().newBuilder()
+            .addQueryParameter(ValueFilter.QUERY_PARAMETER, "{\"field\":\"currency\",\"eq\":\"EURO\"}")
+            .build();
+        final ResponseWrapper response = ResponseWrapper.fromResponse(mockResponse());
+        when(this.mockRequestManager.makeRequest(eq(url))).thenReturn(response);
+        when(this.mockRequestManager.processResponse(eq(response), any())).thenReturn(List.of("value-1"));
+
+        final List<String> values = this.stringMirrorClient.fetchAll(FieldProjection.all(), filter);
+
+        assertThat(values).containsExactly("value-1");
+        verify(this.mockRequestManager).makeRequest(eq(url));
+    }
+
+    @Test
+    void shouldRequestAggregateOfRange() {
+        final ValueFilter filter = ValueFilter.builder().field("amount").gte(10).build();
+        final HttpUrl url = this.host.forRangeAggregate("key-1", "1", "4").newBuilder()
+            .addQueryParameter(Aggregate.QUERY_PARAMETER, "amount")
+            .addQueryParameter(ValueFilter.QUERY_PARAMETER, "{\"field\":\"amount\",\"gte\":10}")
+            .build();
+        final ResponseWrapper response = ResponseWrapper.fromResponse(mockResponse());
+        when(this.mockRequestManager.makeRequest(eq(url))).thenReturn(response);
+        when(this.mockRequestManager.processResponse(eq(response), any()))
+            .thenReturn(new Aggregate(2, 30.0, 10.0, 20.0));
+
+        final Aggregate aggregate = this.stringMirrorClient.aggregateRange("key-1", "1", "4", "amount", filter);
+
+        assertThat(aggregate).isEqualTo(new Aggregate(2, 30.0, 10.0, 20.0));
+        verify(this.mockRequestManager).makeRequest(eq(url));
+    }
+}
@@ -63,6 +63,15 @@ class MirrorHostTest {
         assertThat(actual.toString()).isEqualTo(expected);
     }
 
+    @Test
+    void shouldConstructCorrectUrlForRangeAggregate() {
+        final MirrorHost mirrorHost = MirrorHost.createWithNoPrefix("10.30.40.0:8080");
+        final HttpUrl actual = mirrorHost.forRangeAggregate("test-key", "1", "4");
+        final String expected = String.format("http://10.30.40.0:8080/%s/range/test-key/aggregate?from=1&to=4",
+            MIRROR_HOST_PATH);
+        assertThat(actual.toString()).isEqualTo(expected);
+    }
+
     @Test
     void shouldBeEqualIfTheTopicNameIsTheSame() {
         final MirrorHost firstMirrorHost = MirrorHost.createWithPrefix("topic-1");
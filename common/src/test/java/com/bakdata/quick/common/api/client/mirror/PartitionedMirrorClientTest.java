@@ -27,9 +27,16 @@ import static org.mockito.Mockito.when;
 
 import com.bakdata.quick.common.api.client.HttpClient;
 import com.bakdata.quick.common.api.client.routing.PartitionRouter;
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.bakdata.quick.common.api.model.mirror.PositionedValue;
 import com.bakdata.quick.common.resolver.StringResolver;
+import io.micronaut.http.HttpStatus;
 import java.util.List;
+import okhttp3.Headers;
 import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.Test;
 
 class PartitionedMirrorClientTest {
@@ -71,6 +78,36 @@ class PartitionedMirrorClientTest {
         assertThat(value2).isEqualTo("value-2");
     }
 
+    @Test
+    void shouldKeepPositionOfMissingKey() {
+        final MirrorHost host = MirrorHost.createWithNoPrefix("123.456.789.000:8080");
+        when(this.mockRouter.findHost(eq("key-1"))).thenReturn(host);
+        final ResponseWrapper response = ResponseWrapper.fromResponse(mockResponse().newBuilder()
+            .code(HttpStatus.NOT_FOUND.getCode())
+            .header(HeaderConstants.POSITION_HEADER, "1:5")
+            .build());
+        when(this.mockRequestManager.makeRequest(eq(host.forKey("key-1")))).thenReturn(response);
+
+        final PositionedValue<String> value = this.stringMirrorClient.fetchValueWithPosition("key-1");
+
+        assertThat(value).isEqualTo(new PositionedValue<>(null, "1:5"));
+    }
+
+    @Test
+    void shouldSendMinPositionWhenFetchingValue() {
+        final MirrorHost host = MirrorHost.createWithNoPrefix("123.456.789.000:8080");
+        when(this.mockRouter.findHost(eq("key-1"))).thenReturn(host);
+        final Headers headers = Headers.of(HeaderConstants.MIN_POSITION_HEADER, "0:5");
+        final ResponseWrapper response = ResponseWrapper.fromResponse(mockResponse());
+        when(this.mockRequestManager.makeRequest(eq(host.forKey("key-1")), eq(headers))).thenReturn(response);
+        when(this.mockRequestManager.processResponse(eq(response), any())).thenReturn("value-1");
+
+        final String value = this.stringMirrorClient.fetchValue("key-1", FieldProjection.all(), "0:5");
+
+        assertThat(value).isEqualTo("value-1");
+        verify(this.mockRequestManager).makeRequest(eq(host.forKey("key-1")), eq(headers));
+    }
+
     @Test
     void shouldReturnAllValuesFromMirrorWithTwoReplicaWhenFetchingAll() {
         final List<MirrorHost> multiReplicaMirror = List.of(
@@ -131,6 +168,64 @@ class PartitionedMirrorClientTest {
         assertThat(allValues).hasSize(4).containsAll(List.of("value-1", "value-2", "value-3", "value-4"));
     }
 
+    @Test
+    void shouldReturnValuesInOrderOfInterleavedKeysFromMirrorWithTwoReplicas() {
+        final MirrorHost firstReplica = MirrorHost.createWithNoPrefix("123.456.789.000:8080");
+        final MirrorHost secondReplica = MirrorHost.createWithNoPrefix("000.987.654.321:8080");
+        when(this.mockRouter.findHost("key-1")).thenReturn(secondReplica);
+        when(this.mockRouter.findHost("key-2")).thenReturn(firstReplica);
+        when(this.mockRouter.findHost("key-3")).thenReturn(secondReplica);
+        when(this.mockRouter.findHost("key-4")).thenReturn(firstReplica);
+
+        final ResponseWrapper firstResponse = ResponseWrapper.fromResponse(mockResponse());
+        when(this.mockRequestManager.makeRequest(eq(firstReplica.forKeys(List.of("key-2", "key-4")))))
+            .thenReturn(firstResponse);
+        when(this.mockRequestManager.processResponse(eq(firstResponse), any()))
+            .thenReturn(List.of("value-2", "value-4"));
+        final ResponseWrapper secondResponse = ResponseWrapper.fromResponse(mockResponse());
+        when(this.mockRequestManager.makeRequest(eq(secondReplica.forKeys(List.of("key-1", "key-3")))))
+            .thenReturn(secondResponse);
+        when(this.mockRequestManager.processResponse(eq(secondResponse), any()))
+            .thenReturn(List.of("value-1", "value-3"));
+
+        final List<String> values = this.stringMirrorClient.fetchValues(List.of("key-1", "key-2", "key-3", "key-4"));
+
+        assertThat(values).containsExactly("value-1", "value-2", "value-3", "value-4");
+    }
+
+    @Test
+    void shouldKeepMissingKeysAsNullWhenFetchingValuesFromMirror() {
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("{\"value\":[\"value-1\",null,\"value-3\"]}"));
+        final MirrorClient<String, String> client = createClientForServer(server);
+
+        final List<String> values = client.fetchValues(List.of("key-1", "key-2", "key-3"));
+
+        assertThat(values).containsExactly("value-1", null, "value-3");
+    }
+
+    @Test
+    void shouldReturnNullIfValuesFromMirrorCannotBeMatchedWithKeys() {
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("{\"value\":[\"value-1\"]}"));
+        final MirrorClient<String, String> client = createClientForServer(server);
+
+        final List<String> values = client.fetchValues(List.of("key-1", "key-2"));
+
+        assertThat(values).isNull();
+    }
+
+    @Test
+    void shouldReturnNullIfMirrorDoesNotFindValues() {
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(HttpStatus.NOT_FOUND.getCode()));
+        final MirrorClient<String, String> client = createClientForServer(server);
+
+        final List<String> values = client.fetchValues(List.of("key-1", "key-2"));
+
+        assertThat(values).isNull();
+    }
+
     @Test
     void shouldReturnAllValuesFromMirrorWithOneReplicaAndTwoPartitionsWhenFetchValues() {
         final List<MirrorHost> singleReplicaMirrorWithTwoPartitions = List.of(
@@ -176,5 +271,37 @@ class PartitionedMirrorClientTest {
         verify(this.mockRouter).updateRoutingInfo();
         assertThat(allValues).hasSize(4).containsAll(values);
     }
-}
 
+    @Test
+    void shouldMergeAggregatesFromMirrorWithTwoReplicas() {
+        final List<MirrorHost> multiReplicaMirror = List.of(
+            MirrorHost.createWithNoPrefix("123.456.789.000:8080"),
+            MirrorHost.createWithNoPrefix("000.987.654.321:8080")
+        );
+
+        when(this.mockRouter.getAllHosts()).thenReturn(multiReplicaMirror);
+        final ResponseWrapper response = ResponseWrapper.fromResponse(mockResponse());
+        final HttpUrl firstUrl = multiReplicaMirror.get(0).forAggregate().newBuilder()
+            .addQueryParameter(Aggregate.QUERY_PARAMETER, "amount")
+            .build();
+        when(this.mockRequestManager.makeRequest(any())).thenReturn(response);
+        when(this.mockRequestManager.processResponse(eq(response), any())).thenReturn(
+            new Aggregate(2, 5.0, 1.0, 4.0), new Aggregate(1, 7.0, 7.0, 7.0));
+
+        final Aggregate aggregate = this.stringMirrorClient.aggregateAll("amount", null);
+
+        verify(this.mockRequestManager).makeRequest(eq(firstUrl));
+        verify(this.mockRequestManager, times(2)).makeRequest(any());
+        assertThat(aggregate).isEqualTo(new Aggregate(3, 12.0, 1.0, 7.0));
+        assertThat(aggregate.getAvg()).isEqualTo(4.0);
+    }
+
+    private static MirrorClient<String, String> createClientForServer(final MockWebServer server) {
+        final MirrorHost host = MirrorHost.createWithNoPrefix(server.getHostName() + ":" + server.getPort());
+        final PartitionRouter<String> router = mock(PartitionRouter.class);
+        when(router.findHost(any())).thenReturn(host);
+        final HttpClient client = new HttpClient();
+        return new PartitionedMirrorClient<>(client, new StringResolver(), new DefaultMirrorRequestManager(client),
+            router);
+    }
+}
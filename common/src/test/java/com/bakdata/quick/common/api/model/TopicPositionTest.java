@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.api.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.bakdata.quick.common.exception.BadArgumentException;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TopicPositionTest {
+    private static final String TOPIC = "topic";
+
+    @Test
+    void shouldConvertToAndFromToken() {
+        final TopicPosition position = new TopicPosition(TOPIC, Map.of(1, 7L, 0, 5L));
+        assertThat(position.toToken()).isEqualTo("0:5,1:7");
+        assertThat(TopicPosition.fromToken(TOPIC, "0:5,1:7")).isEqualTo(position);
+    }
+
+    @Test
+    void shouldParseEmptyToken() {
+        assertThat(TopicPosition.fromToken(TOPIC, "")).isEqualTo(new TopicPosition(TOPIC, Map.of()));
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertThatExceptionOfType(BadArgumentException.class)
+            .isThrownBy(() -> TopicPosition.fromToken(TOPIC, "0:abc"));
+        assertThatExceptionOfType(BadArgumentException.class)
+            .isThrownBy(() -> TopicPosition.fromToken(TOPIC, "0-5"));
+    }
+
+    @Test
+    void shouldMergeByKeepingHighestOffset() {
+        final TopicPosition first = new TopicPosition(TOPIC, Map.of(0, 5L, 1, 2L));
+        final TopicPosition second = new TopicPosition(TOPIC, Map.of(1, 7L, 2, 1L));
+        assertThat(first.merge(second)).isEqualTo(new TopicPosition(TOPIC, Map.of(0, 5L, 1, 7L, 2, 1L)));
+    }
+}
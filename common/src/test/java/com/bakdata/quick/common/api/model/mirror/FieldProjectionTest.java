@@ -0,0 +1,56 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.common.api.model.mirror;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FieldProjectionTest {
+
+    @Test
+    void shouldParseNestedPaths() {
+        final FieldProjection projection = FieldProjection.parse("productId,price/total,price/currency");
+        assertThat(projection.getFieldNames()).containsExactly("price", "productId");
+        assertThat(projection.getNested("price").getFieldNames()).containsExactly("currency", "total");
+        assertThat(projection.getNested("productId").isAll()).isTrue();
+        assertThat(projection.includes("name")).isFalse();
+    }
+
+    @Test
+    void shouldConvertToAndFromString() {
+        final FieldProjection projection = FieldProjection.fromPaths(List.of("price/total", "productId", "name"));
+        assertThat(projection).hasToString("name,price/total,productId");
+        assertThat(FieldProjection.parse(projection.toString())).isEqualTo(projection);
+    }
+
+    @Test
+    void shouldSelectAllFieldsForEmptyProjection() {
+        assertThat(FieldProjection.parse("").isAll()).isTrue();
+        assertThat(FieldProjection.fromPaths(List.of())).isEqualTo(FieldProjection.all());
+        assertThat(FieldProjection.all().includes("name")).isTrue();
+    }
+
+    @Test
+    void shouldPreferWholeFieldOverNestedFields() {
+        final FieldProjection projection = FieldProjection.fromPaths(List.of("price/total", "price"));
+        assertThat(projection.getNested("price").isAll()).isTrue();
+        assertThat(projection).hasToString("price");
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.quick.common.ConfigUtils;
+import java.util.Map;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+
+class KafkaProducerConfigTest {
+    @Test
+    void shouldCreateConfigFromEnv() {
+        final Map<String, Object> env = Map.of(
+            "QUICK_KAFKA_PRODUCER_POOL_SIZE", "4",
+            "QUICK_KAFKA_PRODUCER_SERIALIZER_THREADS", "8",
+            "QUICK_KAFKA_PRODUCER_LINGER_MS", "20",
+            "QUICK_KAFKA_PRODUCER_BATCH_SIZE", "131072",
+            "QUICK_KAFKA_PRODUCER_COMPRESSION_TYPE", "lz4"
+        );
+
+        final KafkaProducerConfig config = ConfigUtils.createWithEnvironment(env, KafkaProducerConfig.class);
+
+        assertThat(config.getPoolSize()).isEqualTo(4);
+        assertThat(config.getSerializerThreads()).isEqualTo(8);
+        assertThat(config.asProps())
+            .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 20)
+            .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 131072)
+            .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+    }
+
+    @Test
+    void shouldUseDefaults() {
+        final KafkaProducerConfig config = ConfigUtils.createWithEnvironment(Map.of(), KafkaProducerConfig.class);
+
+        assertThat(config.getPoolSize()).isEqualTo(KafkaProducerConfig.DEFAULT_POOL_SIZE);
+        assertThat(config.getLingerMs()).isEqualTo(KafkaProducerConfig.DEFAULT_LINGER_MS);
+        assertThat(config.getBatchSize()).isEqualTo(KafkaProducerConfig.DEFAULT_BATCH_SIZE);
+        assertThat(config.getCompressionType()).isEqualTo(KafkaProducerConfig.DEFAULT_COMPRESSION_TYPE);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.common.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.bakdata.quick.avro.PurchaseStatsAvro;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
+import com.bakdata.quick.common.exception.BadArgumentException;
+import com.bakdata.quick.testutil.AddressRecord;
+import com.bakdata.quick.testutil.ComplexProtoTestRecord;
+import com.bakdata.quick.testutil.Person;
+import com.bakdata.quick.testutil.ProtoTestRecord;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
+import java.util.function.Predicate;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+
+class ValueFilterPredicateTest {
+    private static final PurchaseStatsAvro FIRST = purchase("first", 3L, 7);
+    private static final PurchaseStatsAvro SECOND = purchase("second", 10L, null);
+
+    @Test
+    void shouldCompareAvroFields() {
+        final ValueFilter filter = ValueFilter.builder().field("amount").gte(3).lt("10").build();
+        assertThat(avro(filter)).accepts(FIRST).rejects(SECOND);
+
+        final ValueFilter inFilter = ValueFilter.builder().field("id").in(List.of("second", "third")).build();
+        assertThat(avro(inFilter)).rejects(FIRST).accepts(SECOND);
+    }
+
+    @Test
+    void shouldOnlyMatchNotEqualForMissingValues() {
+        assertThat(avro(ValueFilter.builder().field("productId").eq(7).build())).accepts(FIRST).rejects(SECOND);
+        assertThat(avro(ValueFilter.builder().field("productId").ne(7).build())).rejects(FIRST).accepts(SECOND);
+        assertThat(avro(ValueFilter.builder().field("productId").lt(100).build())).accepts(FIRST).rejects(SECOND);
+    }
+
+    @Test
+    void shouldCombineFilters() {
+        final ValueFilter isFirst = ValueFilter.builder().field("id").eq("first").build();
+        final ValueFilter isLarge = ValueFilter.builder().field("amount").gt(5).build();
+        final ValueFilter either = ValueFilter.builder().or(List.of(isFirst, isLarge)).build();
+        final ValueFilter neither = ValueFilter.builder().not(either).build();
+        final ValueFilter both = ValueFilter.builder().and(List.of(isFirst, isLarge)).build();
+
+        assertThat(avro(either)).accepts(FIRST, SECOND);
+        assertThat(avro(neither)).rejects(FIRST, SECOND);
+        assertThat(avro(both)).rejects(FIRST, SECOND);
+    }
+
+    @Test
+    void shouldCompareNestedFields() {
+        final Person person = Person.newBuilder()
+            .setFirstname("Jane")
+            .setLastname("Doe")
+            .setAddress(AddressRecord.newBuilder().setStreetaddress("Main Street").setCity("Berlin").build())
+            .build();
+        assertThat(avro(ValueFilter.builder().field("address/city").eq("Berlin").build())).accepts(person);
+
+        final ComplexProtoTestRecord message = ComplexProtoTestRecord.newBuilder()
+            .setId("message")
+            .setProtoTestRecord(ProtoTestRecord.newBuilder().setId("nested").setValue(5).build())
+            .build();
+        final Predicate<Message> protoFilter = ValueFilterPredicate.compile(
+            ValueFilter.builder().field("protoTestRecord/value").gte(5.0).build(),
+            ValueFilterPredicateTest::getMessageField);
+        assertThat(protoFilter).accepts(message);
+    }
+
+    @Test
+    void shouldRejectMalformedFilters() {
+        assertThatExceptionOfType(BadArgumentException.class)
+            .isThrownBy(() -> avro(ValueFilter.builder().build()));
+        assertThatExceptionOfType(BadArgumentException.class)
+            .isThrownBy(() -> avro(ValueFilter.builder().eq(5).build()));
+        assertThatExceptionOfType(BadArgumentException.class)
+            .isThrownBy(() -> avro(ValueFilter.builder().field("amount").build()));
+    }
+
+    @Test
+    void shouldRejectUnknownFieldsAndIncompatibleLiterals() {
+        final Predicate<GenericRecord> unknownField = avro(ValueFilter.builder().field("price").eq(5).build());
+        assertThatExceptionOfType(BadArgumentException.class)
+            .isThrownBy(() -> unknownField.test(FIRST))
+            .withMessageContaining("price");
+
+        final Predicate<GenericRecord> noNumber = avro(ValueFilter.builder().field("amount").eq("many").build());
+        assertThatExceptionOfType(BadArgumentException.class)
+            .isThrownBy(() -> noNumber.test(FIRST))
+            .withMessageContaining("requires a number");
+    }
+
+    @Test
+    void shouldListFieldPathsOfNestedFilters() {
+        final ValueFilter isFirst = ValueFilter.builder().field("id").eq("first").build();
+        final ValueFilter inBerlin = ValueFilter.builder().field("address/city").eq("Berlin").build();
+        final ValueFilter filter = ValueFilter.builder()
+            .and(List.of(isFirst, ValueFilter.builder().not(inBerlin).build()))
+            .build();
+
+        assertThat(ValueFilterPredicate.fieldPaths(filter))
+            .extracting(FieldPath::getFields)
+            .containsExactly(List.of("id"), List.of("address", "city"));
+    }
+
+    private static Predicate<GenericRecord> avro(final ValueFilter filter) {
+        return ValueFilterPredicate.compile(filter, ValueFilterPredicateTest::getRecordField);
+    }
+
+    @Nullable
+    private static Object getRecordField(final Object value, final String field) {
+        final Schema.Field schemaField = ((GenericRecord) value).getSchema().getField(field);
+        if (schemaField == null) {
+            throw new IllegalArgumentException(String.format("Could not find field with name %s", field));
+        }
+        return ((GenericRecord) value).get(schemaField.pos());
+    }
+
+    @Nullable
+    private static Object getMessageField(final Object value, final String field) {
+        final FieldDescriptor descriptor = ((Message) value).getDescriptorForType().findFieldByName(field);
+        if (descriptor == null) {
+            throw new IllegalArgumentException(String.format("Could not find field with name %s", field));
+        }
+        return ((Message) value).getField(descriptor);
+    }
+
+    private static PurchaseStatsAvro purchase(final String id, final long amount, final Integer productId) {
+        return PurchaseStatsAvro.newBuilder().setId(id).setAmount(amount).setProductId(productId).build();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.common.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.quick.avro.PurchaseStatsAvro;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.avro.util.Utf8;
+import org.junit.jupiter.api.Test;
+import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
+
+class AvroRecordSerializerTest {
+    private static final Schema ITEM_SCHEMA = SchemaBuilder.record("Item").fields()
+        .requiredString("name")
+        .requiredDouble("price")
+        .endRecord();
+
+    private static final Schema ORDER_SCHEMA = SchemaBuilder.record("Order").fields()
+        .requiredLong("id")
+        .requiredInt("quantity")
+        .requiredFloat("discount")
+        .requiredBoolean("paid")
+        .optionalString("comment")
+        .name("status").type().enumeration("Status").symbols("OPEN", "CLOSED").noDefault()
+        .name("payload").type().bytesType().noDefault()
+        .name("checksum").type().fixed("Checksum").size(2).noDefault()
+        .name("items").type().array().items(ITEM_SCHEMA).noDefault()
+        .name("attributes").type().map().values().stringType().noDefault()
+        .name("gift").type().optional().type(ITEM_SCHEMA)
+        .name("reference").type().unionOf().stringType().and().longType().endUnion().noDefault()
+        .endRecord();
+
+    private final ObjectMapper mapper = createMapper();
+    private final JsonAvroConverter converter = new JsonAvroConverter();
+
+    @Test
+    void shouldSerializeSpecificRecord() throws IOException {
+        final PurchaseStatsAvro record = PurchaseStatsAvro.newBuilder()
+            .setId("purchase1")
+            .setAmount(3)
+            .setProductId(5)
+            .build();
+
+        assertThat(this.serialize(record)).isEqualTo(this.convert(record));
+    }
+
+    @Test
+    void shouldSerializeGenericRecord() throws IOException {
+        final GenericRecord item = new GenericRecordBuilder(ITEM_SCHEMA)
+            .set("name", new Utf8("shirt"))
+            .set("price", 19.99)
+            .build();
+        final GenericRecord order = new GenericRecordBuilder(ORDER_SCHEMA)
+            .set("id", 1L)
+            .set("quantity", 2)
+            .set("discount", 0.5f)
+            .set("paid", true)
+            .set("comment", "fast delivery")
+            .set("status", new GenericData.EnumSymbol(ORDER_SCHEMA.getField("status").schema(), "OPEN"))
+            .set("payload", ByteBuffer.wrap("äbc".getBytes(StandardCharsets.UTF_8)))
+            .set("checksum", new GenericData.Fixed(ORDER_SCHEMA.getField("checksum").schema(), new byte[] {1, -1}))
+            .set("items", List.of(item, item))
+            .set("attributes", Map.of(new Utf8("color"), new Utf8("black")))
+            .set("gift", item)
+            .set("reference", 42L)
+            .build();
+
+        assertThat(this.serialize(order)).isEqualTo(this.convert(order));
+    }
+
+    @Test
+    void shouldSerializeNullsInUnions() throws IOException {
+        final GenericRecord order = new GenericRecordBuilder(ORDER_SCHEMA)
+            .set("id", 1L)
+            .set("quantity", 2)
+            .set("discount", 0.0f)
+            .set("paid", false)
+            .set("status", new GenericData.EnumSymbol(ORDER_SCHEMA.getField("status").schema(), "CLOSED"))
+            .set("payload", ByteBuffer.allocate(0))
+            .set("checksum", new GenericData.Fixed(ORDER_SCHEMA.getField("checksum").schema(), new byte[2]))
+            .set("items", List.of())
+            .set("attributes", Map.of())
+            .set("reference", "abc")
+            .build();
+
+        final JsonNode json = this.serialize(order);
+        assertThat(json).isEqualTo(this.convert(order));
+        assertThat(json.get("gift").isNull()).isTrue();
+    }
+
+    @Test
+    void shouldSerializeRecordsInCollections() throws IOException {
+        final GenericRecord item = new GenericRecordBuilder(ITEM_SCHEMA)
+            .set("name", "shirt")
+            .set("price", 19.99)
+            .build();
+
+        final JsonNode json = this.mapper.readTree(this.mapper.writeValueAsString(Map.of("items", List.of(item))));
+        assertThat(json.get("items").get(0)).isEqualTo(this.convert(item));
+    }
+
+    @Test
+    void shouldSerializeProjectedFields() throws IOException {
+        final GenericRecord item = new GenericRecordBuilder(ITEM_SCHEMA)
+            .set("name", "shirt")
+            .set("price", 19.99)
+            .build();
+        final GenericRecord order = new GenericRecordBuilder(ORDER_SCHEMA)
+            .set("id", 1L)
+            .set("quantity", 2)
+            .set("discount", 0.0f)
+            .set("paid", false)
+            .set("status", new GenericData.EnumSymbol(ORDER_SCHEMA.getField("status").schema(), "CLOSED"))
+            .set("payload", ByteBuffer.allocate(0))
+            .set("checksum", new GenericData.Fixed(ORDER_SCHEMA.getField("checksum").schema(), new byte[2]))
+            .set("items", List.of(item))
+            .set("attributes", Map.of())
+            .set("gift", item)
+            .set("reference", "abc")
+            .build();
+
+        final FieldProjection projection = FieldProjection.parse("id,items/name,gift/price");
+        final String serialized = this.mapper.writeValueAsString(new ProjectedValue(order, projection));
+        final JsonNode json = this.mapper.readTree(serialized);
+        final String expected = "{\"id\":1,\"items\":[{\"name\":\"shirt\"}],\"gift\":{\"price\":19.99}}";
+        assertThat(json).isEqualTo(this.mapper.readTree(expected));
+    }
+
+    private JsonNode serialize(final GenericRecord record) throws IOException {
+        return this.mapper.readTree(this.mapper.writeValueAsString(record));
+    }
+
+    private JsonNode convert(final GenericRecord record) throws IOException {
+        return this.mapper.readTree(this.converter.convertToJson(record));
+    }
+
+    private static ObjectMapper createMapper() {
+        final SimpleModule module = new SimpleModule();
+        module.addSerializer(GenericRecord.class, new AvroRecordSerializer());
+        return new ObjectMapper().registerModule(module);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.common.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.quick.testutil.ComplexProtoTestRecord;
+import com.bakdata.quick.testutil.ProtoTestRecord;
+import com.bakdata.quick.testutil.PurchaseListProto;
+import com.bakdata.quick.testutil.PurchaseStatsProto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ProtobufMessageSerializerTest {
+    private final ObjectMapper mapper = createMapper();
+    private final JsonFormat.Printer printer = JsonFormat.printer().includingDefaultValueFields();
+
+    @Test
+    void shouldSerializeMessage() throws IOException {
+        final PurchaseStatsProto message = PurchaseStatsProto.newBuilder()
+            .setId("purchase1")
+            .setAmount(Long.MAX_VALUE)
+            .setProductId(5)
+            .build();
+
+        final JsonNode json = this.serialize(message);
+        assertThat(json).isEqualTo(this.print(message));
+        assertThat(json.get("amount").isTextual()).isTrue();
+    }
+
+    @Test
+    void shouldSerializeDefaultValues() throws IOException {
+        final PurchaseStatsProto message = PurchaseStatsProto.getDefaultInstance();
+
+        assertThat(this.serialize(message)).isEqualTo(this.print(message));
+    }
+
+    @Test
+    void shouldSerializeNestedMessage() throws IOException {
+        final ComplexProtoTestRecord message = ComplexProtoTestRecord.newBuilder()
+            .setId("outer")
+            .setProtoTestRecord(ProtoTestRecord.newBuilder().setId("inner").setValue(3).build())
+            .build();
+
+        assertThat(this.serialize(message)).isEqualTo(this.print(message));
+    }
+
+    @Test
+    void shouldSkipUnsetNestedMessage() throws IOException {
+        final ComplexProtoTestRecord message = ComplexProtoTestRecord.newBuilder()
+            .setId("outer")
+            .build();
+
+        final JsonNode json = this.serialize(message);
+        assertThat(json).isEqualTo(this.print(message));
+        assertThat(json.has("protoTestRecord")).isFalse();
+    }
+
+    @Test
+    void shouldSerializeRepeatedFields() throws IOException {
+        final PurchaseListProto message = PurchaseListProto.newBuilder()
+            .setId("purchase1")
+            .addAllProductIds(List.of(1, 2, 3))
+            .build();
+
+        assertThat(this.serialize(message)).isEqualTo(this.print(message));
+        assertThat(this.serialize(PurchaseListProto.getDefaultInstance()))
+            .isEqualTo(this.print(PurchaseListProto.getDefaultInstance()));
+    }
+
+    @Test
+    void shouldSerializeDynamicMessage() throws IOException {
+        final ProtoTestRecord record = ProtoTestRecord.newBuilder().setId("inner").setValue(3).build();
+        final DynamicMessage message = DynamicMessage.newBuilder(ComplexProtoTestRecord.getDescriptor())
+            .setField(ComplexProtoTestRecord.getDescriptor().findFieldByName("id"), "outer")
+            .setField(ComplexProtoTestRecord.getDescriptor().findFieldByName("protoTestRecord"), record)
+            .build();
+
+        assertThat(this.serialize(message)).isEqualTo(this.print(message));
+    }
+
+    private JsonNode serialize(final Message message) throws IOException {
+        return this.mapper.readTree(this.mapper.writeValueAsString(message));
+    }
+
+    private JsonNode print(final Message message) throws IOException {
+        return this.mapper.readTree(this.printer.print(message));
+    }
+
+    private static ObjectMapper createMapper() {
+        final SimpleModule module = new SimpleModule();
+        module.addSerializer(Message.class, new ProtobufMessageSerializer());
+        module.addSerializer(DynamicMessage.class, new ProtobufMessageSerializer());
+        return new ObjectMapper().registerModule(module);
+    }
+}
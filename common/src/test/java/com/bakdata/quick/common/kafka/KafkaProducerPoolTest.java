@@ -0,0 +1,141 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.common.kafka;
+
+import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.quick.common.api.model.KeyValuePair;
+import com.bakdata.quick.common.api.model.TopicPosition;
+import com.bakdata.quick.common.config.KafkaConfig;
+import com.bakdata.quick.common.config.KafkaProducerConfig;
+import com.bakdata.quick.common.tags.IntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.mguenther.kafka.junit.EmbeddedKafkaCluster;
+import net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig;
+import net.mguenther.kafka.junit.KeyValue;
+import net.mguenther.kafka.junit.ReadKeyValues;
+import net.mguenther.kafka.junit.TopicConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.LongDeserializer;
+import org.apache.kafka.common.serialization.LongSerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+@IntegrationTest
+class KafkaProducerPoolTest {
+    private static EmbeddedKafkaCluster kafkaCluster = null;
+
+    @BeforeAll
+    static void setUp() {
+        kafkaCluster = provisionWith(EmbeddedKafkaClusterConfig.defaultClusterConfig());
+        kafkaCluster.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        kafkaCluster.stop();
+    }
+
+    @Test
+    void shouldSendBatchAndRecordMetrics() throws InterruptedException {
+        final String topic = "producer-pool-topic";
+        kafkaCluster.createTopic(TopicConfig.withName(topic).useDefaults());
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final KafkaProducerPool pool = new KafkaProducerPool(new KafkaConfig(kafkaCluster.getBrokerList(), "dummy"),
+            new KafkaProducerConfig(), Optional.of(registry));
+
+        final List<KeyValuePair<String, Long>> pairs = IntStream.range(0, 1_200)
+            .mapToObj(i -> new KeyValuePair<>("key-" + i, (long) i))
+            .collect(Collectors.toList());
+
+        final List<RecordMetadata> metadata =
+            pool.send(topic, pairs, new StringSerializer(), new LongSerializer()).blockingGet();
+        pool.close();
+
+        assertThat(metadata).hasSize(pairs.size()).allSatisfy(meta -> assertThat(meta.hasOffset()).isTrue());
+        final List<KeyValue<String, Long>> records = kafkaCluster.read(ReadKeyValues.from(topic, String.class,
+                Long.class)
+            .with(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class)
+            .with(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, LongDeserializer.class)
+            .withLimit(2_000)
+            .build());
+        assertThat(records).hasSize(pairs.size());
+        assertThat(registry.get("quick.producer.records").tag("topic", topic).counter().count())
+            .isEqualTo(pairs.size());
+    }
+
+    @Test
+    void shouldEnqueueRecords() throws InterruptedException {
+        final String topic = "producer-pool-enqueue-topic";
+        kafkaCluster.createTopic(TopicConfig.withName(topic).useDefaults());
+        final KafkaProducerPool pool = new KafkaProducerPool(new KafkaConfig(kafkaCluster.getBrokerList(), "dummy"));
+
+        final List<KeyValuePair<String, Long>> pairs = List.of(new KeyValuePair<>("foo", 1L));
+        pool.enqueue(topic, pairs, new StringSerializer(), new LongSerializer()).blockingAwait();
+        // closing the producers flushes the records handed to them
+        pool.close();
+
+        assertThat(kafkaCluster.read(ReadKeyValues.from(topic, String.class, Long.class)
+            .with(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class)
+            .with(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, LongDeserializer.class)
+            .build()))
+            .containsExactly(new KeyValue<>("foo", 1L));
+    }
+
+    @Test
+    void shouldCreatePositionFromMetadata() {
+        final String topic = "producer-pool-position-topic";
+        kafkaCluster.createTopic(TopicConfig.withName(topic).useDefaults());
+        final KafkaProducerPool pool = new KafkaProducerPool(new KafkaConfig(kafkaCluster.getBrokerList(), "dummy"));
+
+        final List<KeyValuePair<String, Long>> pairs = List.of(new KeyValuePair<>("foo", 1L),
+            new KeyValuePair<>("foo", 2L));
+        final List<RecordMetadata> metadata =
+            pool.send(topic, pairs, new StringSerializer(), new LongSerializer()).blockingGet();
+        pool.close();
+
+        assertThat(TopicPosition.fromMetadata(topic, metadata))
+            .isEqualTo(new TopicPosition(topic, Map.of(0, 1L)));
+    }
+
+    @Test
+    void shouldSendTombstones() throws InterruptedException {
+        final String topic = "producer-pool-tombstone-topic";
+        kafkaCluster.createTopic(TopicConfig.withName(topic).useDefaults());
+        final KafkaProducerPool pool = new KafkaProducerPool(new KafkaConfig(kafkaCluster.getBrokerList(), "dummy"));
+
+        final List<KeyValuePair<String, Long>> pairs = List.of(new KeyValuePair<>("foo", null));
+        pool.send(topic, pairs, new StringSerializer(), new LongSerializer()).blockingGet();
+        pool.close();
+
+        assertThat(kafkaCluster.read(ReadKeyValues.from(topic, String.class, Long.class)
+            .with(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class)
+            .with(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, LongDeserializer.class)
+            .build()))
+            .containsExactly(new KeyValue<>("foo", null));
+    }
+}
@@ -17,8 +17,17 @@
 package com.bakdata.quick.common.resolver;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.bakdata.quick.testutil.ChartRecord;
+import com.bakdata.quick.testutil.Person;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
 import org.apache.avro.generic.GenericRecord;
 import org.junit.jupiter.api.Test;
 
@@ -37,4 +46,61 @@ class GenericAvroResolverTest {
         assertThat(genericRecord.get("fieldId")).isEqualTo(EXPECTED_FIELD_ID);
         assertThat(genericRecord.get("countPlays")).isEqualTo(EXPECTED_COUNT_PLAYS);
     }
+
+    @Test
+    void shouldReadAvroFromMap() {
+        final GenericAvroResolver resolver = new GenericAvroResolver(ChartRecord.getClassSchema());
+        final GenericRecord genericRecord = resolver.fromObject(Map.of("fieldId", 5, "countPlays", 10L));
+        assertThat(genericRecord.getSchema()).isEqualTo(this.chartRecord.getSchema());
+        assertThat(genericRecord.get("fieldId")).isEqualTo(EXPECTED_FIELD_ID);
+        assertThat(genericRecord.get("countPlays")).isEqualTo(EXPECTED_COUNT_PLAYS);
+    }
+
+    @Test
+    void shouldReadNestedAvroFromMap() {
+        final GenericAvroResolver resolver = new GenericAvroResolver(Person.getClassSchema());
+        final Map<String, Object> input = Map.of(
+            "firstname", "Jane",
+            "lastname", "Doe",
+            "address", Map.of("streetaddress", "Main Street", "city", "Berlin")
+        );
+        final GenericRecord genericRecord = resolver.fromObject(input);
+        assertThat(genericRecord.get("firstname")).isEqualTo("Jane");
+        assertThat(((GenericRecord) genericRecord.get("address")).get("city")).isEqualTo("Berlin");
+    }
+
+    @Test
+    void shouldReadProjectedAvroFromString() {
+        final TypeResolver<GenericRecord> resolver = new GenericAvroResolver(Person.getClassSchema())
+            .forProjection(FieldProjection.parse("firstname,address/city"));
+        final String json = "{\"firstname\":\"Jane\",\"address\":{\"city\":\"Berlin\"}}";
+        final GenericRecord genericRecord = resolver.fromString(json);
+        assertThat(genericRecord.getSchema().getFields()).extracting(Schema.Field::name)
+            .containsExactly("firstname", "address");
+        assertThat(genericRecord.get("firstname")).hasToString("Jane");
+        assertThat(((GenericRecord) genericRecord.get("address")).get("city")).hasToString("Berlin");
+    }
+
+    @Test
+    void shouldReadBytesFromAvroJsonEncoding() {
+        final Schema schema = SchemaBuilder.record("Payload").fields().requiredBytes("data").endRecord();
+        final GenericAvroResolver resolver = new GenericAvroResolver(schema);
+        final GenericRecord genericRecord = resolver.fromObject(Map.of("data", "\u0000\u00ff"));
+        assertThat(genericRecord.get("data")).isEqualTo(ByteBuffer.wrap(new byte[] {0, (byte) 0xff}));
+    }
+
+    @Test
+    void shouldFailForBytesOfNonString() {
+        final Schema schema = SchemaBuilder.record("Payload").fields().requiredBytes("data").endRecord();
+        final GenericAvroResolver resolver = new GenericAvroResolver(schema);
+        assertThatExceptionOfType(AvroRuntimeException.class)
+            .isThrownBy(() -> resolver.fromObject(Map.of("data", List.of(1, 2))));
+    }
+
+    @Test
+    void shouldFailForMissingRequiredField() {
+        final GenericAvroResolver resolver = new GenericAvroResolver(ChartRecord.getClassSchema());
+        assertThatExceptionOfType(AvroRuntimeException.class)
+            .isThrownBy(() -> resolver.fromObject(Map.of("fieldId", 5L)));
+    }
 }
@@ -17,10 +17,17 @@
 package com.bakdata.quick.common.resolver;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import com.bakdata.quick.testutil.ComplexProtoTestRecord;
 import com.bakdata.quick.testutil.ProtoTestRecord;
+import com.bakdata.quick.testutil.PurchaseListProto;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.Message;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class ProtobufResolverTest {
@@ -44,4 +51,45 @@ class ProtobufResolverTest {
         assertThat(genericRecord.getField(valueField)).isEqualTo(EXPECTED_COUNT_PLAYS);
     }
 
+    @Test
+    void shouldReadProtoFromMap() {
+        final Descriptors.Descriptor descriptor = ComplexProtoTestRecord.getDescriptor();
+        final ProtobufResolver resolver = new ProtobufResolver(descriptor);
+
+        final Message message = resolver.fromObject(
+            Map.of("id", "complex", "protoTestRecord", Map.of("id", EXPECTED_FIELD_ID, "value", EXPECTED_COUNT_PLAYS)));
+        final Message nested = (Message) message.getField(
+            descriptor.findFieldByNumber(ComplexProtoTestRecord.PROTOTESTRECORD_FIELD_NUMBER));
+        assertThat(message.getField(descriptor.findFieldByNumber(ComplexProtoTestRecord.ID_FIELD_NUMBER)))
+            .isEqualTo("complex");
+        assertThat(nested.getField(ProtoTestRecord.getDescriptor().findFieldByNumber(ProtoTestRecord.ID_FIELD_NUMBER)))
+            .isEqualTo(EXPECTED_FIELD_ID);
+    }
+
+    @Test
+    void shouldReadRepeatedProtoFieldFromMap() {
+        final Descriptors.Descriptor descriptor = PurchaseListProto.getDescriptor();
+        final ProtobufResolver resolver = new ProtobufResolver(descriptor);
+
+        final Message message = resolver.fromObject(Map.of("id", "list", "productIds", List.of(1, 2, 3)));
+        assertThat(message.getField(descriptor.findFieldByNumber(PurchaseListProto.PRODUCTIDS_FIELD_NUMBER)))
+            .isEqualTo(List.of(1, 2, 3));
+    }
+
+    @Test
+    void shouldReadBytesFromBase64() {
+        final Descriptors.Descriptor descriptor = BytesValue.getDescriptor();
+        final ProtobufResolver resolver = new ProtobufResolver(descriptor);
+
+        final Message message = resolver.fromObject(Map.of("value", "AP8="));
+        assertThat(message.getField(descriptor.findFieldByNumber(BytesValue.VALUE_FIELD_NUMBER)))
+            .isEqualTo(ByteString.copyFrom(new byte[] {0, (byte) 0xff}));
+    }
+
+    @Test
+    void shouldFailForBytesNotInBase64() {
+        final ProtobufResolver resolver = new ProtobufResolver(BytesValue.getDescriptor());
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> resolver.fromObject(Map.of("value", "not base64!")));
+    }
 }
@@ -30,6 +30,8 @@ import io.confluent.kafka.schemaregistry.avro.AvroSchemaProvider;
 import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchema;
 import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchemaProvider;
 import io.reactivex.Single;
+import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
@@ -75,6 +77,47 @@ class SchemaRegistryFetcherTest {
             .assertErrorMessage("Not Found");
     }
 
+    @Test
+    void shouldCacheLatestSchema() {
+        final SchemaFetcher schemaFetcher = this.createSchemaFetcher(new AvroSchemaProvider());
+        this.srMock.registerValueSchema(TOPIC, Person.getClassSchema());
+        final ParsedSchema schema = schemaFetcher.getValueSchema(TOPIC).blockingGet();
+
+        // a new version is only picked up after the TTL
+        this.srMock.registerValueSchema(TOPIC, Person.getClassSchema().getField("address").schema());
+        assertThat(schemaFetcher.getValueSchema(TOPIC).blockingGet()).isSameAs(schema);
+    }
+
+    @Test
+    void shouldReuseParsedSchemaWithSameId() {
+        final SchemaFetcher schemaFetcher = new SchemaRegistryFetcher(new HttpClient(),
+            new KafkaConfig("dummy:123", this.srMock.getUrl()), new AvroSchemaProvider(), Duration.ZERO);
+        this.srMock.registerValueSchema(TOPIC, Person.getClassSchema());
+        final ParsedSchema schema = schemaFetcher.getValueSchema(TOPIC).blockingGet();
+        assertThat(schemaFetcher.getValueSchema(TOPIC).blockingGet()).isSameAs(schema);
+    }
+
+    @Test
+    void shouldPickUpNewVersionAfterTtl() {
+        final SchemaFetcher schemaFetcher = new SchemaRegistryFetcher(new HttpClient(),
+            new KafkaConfig("dummy:123", this.srMock.getUrl()), new AvroSchemaProvider(), Duration.ZERO);
+        this.srMock.registerValueSchema(TOPIC, Person.getClassSchema());
+        assertThat(schemaFetcher.getValueSchema(TOPIC).blockingGet().rawSchema()).isEqualTo(Person.getClassSchema());
+
+        final org.apache.avro.Schema newSchema = Person.getClassSchema().getField("address").schema();
+        this.srMock.registerValueSchema(TOPIC, newSchema);
+        assertThat(schemaFetcher.getValueSchema(TOPIC).blockingGet().rawSchema()).isEqualTo(newSchema);
+    }
+
+    @Test
+    void shouldPrefetchExistingSchemas() {
+        final SchemaFetcher schemaFetcher = this.createSchemaFetcher(new AvroSchemaProvider());
+        this.srMock.registerValueSchema(TOPIC, Person.getClassSchema());
+        schemaFetcher.prefetchSchemas(List.of(TOPIC + "-value", "missing-topic-value")).test()
+            .awaitTerminalEvent();
+        assertThat(schemaFetcher.getValueSchema(TOPIC).blockingGet().rawSchema()).isEqualTo(Person.getClassSchema());
+    }
+
     private SchemaFetcher createSchemaFetcher(final SchemaProvider schemaProvider) {
         return new SchemaRegistryFetcher(new HttpClient(), new KafkaConfig("dummy:123", this.srMock.getUrl()),
             schemaProvider);
@@ -17,6 +17,13 @@
 package com.bakdata.quick.common.type.registry;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import com.bakdata.quick.common.TestTopicRegistryClient;
 import com.bakdata.quick.common.api.client.HttpClient;
@@ -25,6 +32,7 @@ import com.bakdata.quick.common.api.model.TopicData;
 import com.bakdata.quick.common.api.model.TopicWriteType;
 import com.bakdata.quick.common.config.KafkaConfig;
 import com.bakdata.quick.common.config.SchemaConfig;
+import com.bakdata.quick.common.exception.NotFoundException;
 import com.bakdata.quick.common.schema.SchemaFetcher;
 import com.bakdata.quick.common.schema.SchemaFormat;
 import com.bakdata.quick.common.schema.SchemaRegistryFetcher;
@@ -42,13 +50,16 @@ import io.confluent.kafka.schemaregistry.avro.AvroSchemaProvider;
 import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchema;
 import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchemaProvider;
 import io.reactivex.Single;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -105,6 +116,108 @@ class QuickTopicTypeServiceTest {
         assertThat(keyData.getSerde()).isNotNull();
     }
 
+    @Test
+    void shouldCacheMissingTopics() {
+        final TopicRegistryClient registryClient = mock(TopicRegistryClient.class);
+        when(registryClient.getTopicData("missing"))
+            .thenReturn(Single.error(new NotFoundException("Topic missing not found in topic registry")));
+        final TopicTypeService typeService = this.createTopicTypeService(registryClient);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(NotFoundException.class)
+                .isThrownBy(() -> typeService.getTopicData("missing").blockingGet());
+        }
+        verify(registryClient, times(1)).getTopicData("missing");
+    }
+
+    @Test
+    void shouldReloadTopicDataAtPositionOnRefresh() {
+        final TopicRegistryClient registryClient = mock(TopicRegistryClient.class);
+        when(registryClient.getTopicData("test")).thenReturn(
+            Single.just(new TopicData("test", TopicWriteType.MUTABLE, QuickTopicType.STRING, QuickTopicType.STRING,
+                null)));
+        when(registryClient.getTopicData("test", "0:5")).thenReturn(
+            Single.just(new TopicData("test", TopicWriteType.MUTABLE, QuickTopicType.STRING, QuickTopicType.LONG,
+                null)));
+        final QuickTopicTypeService typeService = this.createTopicTypeService(registryClient);
+
+        assertThat(typeService.getTopicData("test").blockingGet().getValueData().getType())
+            .isEqualTo(QuickTopicType.STRING);
+        typeService.refresh("test", "0:5");
+        await().atMost(Duration.ofSeconds(5))
+            .untilAsserted(() -> assertThat(typeService.getTopicData("test").blockingGet().getValueData().getType())
+                .isEqualTo(QuickTopicType.LONG));
+        verify(registryClient, times(1)).getTopicData("test");
+        verify(registryClient).getTopicData("test", "0:5");
+    }
+
+    @Test
+    void shouldInvalidateTopicDataWhenRefreshFails() {
+        final TopicRegistryClient registryClient = mock(TopicRegistryClient.class);
+        when(registryClient.getTopicData("test")).thenReturn(
+            Single.just(new TopicData("test", TopicWriteType.MUTABLE, QuickTopicType.STRING, QuickTopicType.STRING,
+                null)),
+            Single.just(new TopicData("test", TopicWriteType.MUTABLE, QuickTopicType.STRING, QuickTopicType.LONG,
+                null)));
+        when(registryClient.getTopicData("test", "0:5"))
+            .thenReturn(Single.error(new IllegalStateException("Position not reached")));
+        final QuickTopicTypeService typeService = this.createTopicTypeService(registryClient);
+
+        assertThat(typeService.getTopicData("test").blockingGet().getValueData().getType())
+            .isEqualTo(QuickTopicType.STRING);
+        typeService.refresh("test", "0:5");
+        await().atMost(Duration.ofSeconds(5))
+            .untilAsserted(() -> assertThat(typeService.getTopicData("test").blockingGet().getValueData().getType())
+                .isEqualTo(QuickTopicType.LONG));
+        verify(registryClient, times(2)).getTopicData("test");
+    }
+
+    @Test
+    void shouldNotifyListenersWhenTopicDataChanges() {
+        final TopicRegistryClient registryClient = mock(TopicRegistryClient.class);
+        when(registryClient.getTopicData("test")).thenReturn(
+            Single.just(new TopicData("test", TopicWriteType.MUTABLE, QuickTopicType.STRING, QuickTopicType.STRING,
+                null)));
+        when(registryClient.getTopicData("test", "0:5")).thenReturn(
+            Single.just(new TopicData("test", TopicWriteType.MUTABLE, QuickTopicType.STRING, QuickTopicType.LONG,
+                null)));
+        final QuickTopicTypeService typeService = this.createTopicTypeService(registryClient);
+        final List<String> changedTopics = new CopyOnWriteArrayList<>();
+        typeService.addTopicDataListener(changedTopics::add);
+
+        typeService.getTopicData("test").blockingGet();
+        typeService.refresh("test", "0:5");
+        await().atMost(Duration.ofSeconds(5))
+            .untilAsserted(() -> assertThat(changedTopics).containsExactly("test"));
+    }
+
+    @Test
+    void shouldNotNotifyListenersWhenTopicDataIsUnchanged() {
+        final TopicRegistryClient registryClient = mock(TopicRegistryClient.class);
+        final TopicData topicData =
+            new TopicData("test", TopicWriteType.MUTABLE, QuickTopicType.STRING, QuickTopicType.STRING, null);
+        when(registryClient.getTopicData("test")).thenReturn(Single.just(topicData));
+        when(registryClient.getTopicData("test", "0:5")).thenReturn(Single.just(topicData));
+        final QuickTopicTypeService typeService = this.createTopicTypeService(registryClient);
+        final List<String> changedTopics = new CopyOnWriteArrayList<>();
+        typeService.addTopicDataListener(changedTopics::add);
+
+        typeService.getTopicData("test").blockingGet();
+        typeService.refresh("test", "0:5");
+        await().pollDelay(Duration.ofMillis(500)).atMost(Duration.ofSeconds(5))
+            .untilAsserted(() -> verify(registryClient).getTopicData("test", "0:5"));
+        assertThat(changedTopics).isEmpty();
+    }
+
+    @Test
+    void shouldNotLoadUncachedTopicsOnRefresh() {
+        final TopicRegistryClient registryClient = mock(TopicRegistryClient.class);
+        final QuickTopicTypeService typeService = this.createTopicTypeService(registryClient);
+
+        typeService.refresh("test", "0:5");
+        verifyNoInteractions(registryClient);
+    }
+
     private static Stream<Arguments> topicDataValueArguments() {
         return topicDataArguments(
             type -> new TopicData("test", TopicWriteType.MUTABLE, QuickTopicType.STRING, type, null)
@@ -130,6 +243,14 @@ class QuickTopicTypeServiceTest {
         );
     }
 
+    private QuickTopicTypeService createTopicTypeService(final TopicRegistryClient registryClient) {
+        final KafkaConfig kafkaConfig = new KafkaConfig("dummy:123", this.schemaRegistryMock.getUrl());
+        final SchemaConfig schemaConfig = new SchemaConfig(Optional.of(SchemaFormat.AVRO), Optional.empty());
+        final SchemaFetcher schemaFetcher = mock(SchemaFetcher.class);
+        final DefaultConversionProvider conversionProvider = new DefaultConversionProvider(kafkaConfig, schemaConfig);
+        return new QuickTopicTypeService(schemaFetcher, registryClient, conversionProvider);
+    }
+
     private TopicTypeService createTopicTypeService(final SchemaProvider schemaProvider) {
         final KafkaConfig kafkaConfig = new KafkaConfig("dummy:123", this.schemaRegistryMock.getUrl());
         final SchemaConfig schemaConfig = new SchemaConfig(Optional.of(SchemaFormat.AVRO), Optional.empty());
@@ -0,0 +1,86 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.bakdata.quick.common.type.registry;
+
+import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.bakdata.quick.common.config.KafkaConfig;
+import com.bakdata.quick.common.tags.IntegrationTest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import net.mguenther.kafka.junit.EmbeddedKafkaCluster;
+import net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig;
+import net.mguenther.kafka.junit.KeyValue;
+import net.mguenther.kafka.junit.SendKeyValues;
+import net.mguenther.kafka.junit.TopicConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+@IntegrationTest
+class TopicRegistryWatcherTest {
+    private static final String REGISTRY_TOPIC = "__topic-registry";
+    private static EmbeddedKafkaCluster kafkaCluster = null;
+
+    @BeforeAll
+    static void setUp() {
+        kafkaCluster = provisionWith(EmbeddedKafkaClusterConfig.defaultClusterConfig());
+        kafkaCluster.start();
+        kafkaCluster.createTopic(TopicConfig.withName(REGISTRY_TOPIC).useDefaults());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        kafkaCluster.stop();
+    }
+
+    @Test
+    void shouldNotifyAboutChangedTopics() throws InterruptedException {
+        final List<String> changedTopics = new CopyOnWriteArrayList<>();
+        final List<String> positions = new CopyOnWriteArrayList<>();
+        final KafkaConfig kafkaConfig = new KafkaConfig(kafkaCluster.getBrokerList(), "dummy");
+
+        try (final TopicRegistryWatcher watcher =
+            new TopicRegistryWatcher(kafkaConfig, REGISTRY_TOPIC, (topic, position) -> {
+                changedTopics.add(topic);
+                positions.add(position);
+            })) {
+            watcher.start();
+            // the watcher only reports changes after it started; send until the first change was picked up
+            await().atMost(Duration.ofSeconds(30)).pollInterval(Duration.ofSeconds(1)).untilAsserted(() -> {
+                sendChange("first-topic");
+                assertThat(changedTopics).contains("first-topic");
+            });
+
+            sendChange("second-topic");
+            await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(changedTopics).contains("second-topic"));
+            // each change is reported with the partition and offset of its record
+            assertThat(positions).allMatch(position -> position.matches("0:\\d+"));
+        }
+    }
+
+    private static void sendChange(final String topic) throws InterruptedException {
+        kafkaCluster.send(SendKeyValues.to(REGISTRY_TOPIC, List.of(new KeyValue<>(topic, "data")))
+            .with(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class)
+            .with(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class));
+    }
+}
@@ -60,6 +60,11 @@ public class TestTopicRegistryClient implements TopicRegistryClient {
         return Single.just(this.store.get(name));
     }
 
+    @Override
+    public Single<TopicData> getTopicData(final String name, final String minPosition) {
+        return this.getTopicData(name);
+    }
+
     @Override
     public Single<Boolean> topicDataExists(final String name) {
         return Single.just(this.store.containsKey(name));
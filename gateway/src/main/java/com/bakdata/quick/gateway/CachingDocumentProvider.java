@@ -0,0 +1,119 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Caches parsed and validated query documents by the SHA-256 hash of their query.
+ *
+ * <p>
+ * If Automatic Persisted Queries are enabled, clients can send the hash in the {@code persistedQuery} extension instead
+ * of the query. When the hash is unknown, the client receives a {@code PersistedQueryNotFound} error and resends the
+ * query together with its hash. This follows Apollo's protocol.
+ *
+ * <p>
+ * A document is only valid for the schema it was validated against. Therefore, each GraphQL schema gets its own
+ * provider.
+ */
+public class CachingDocumentProvider implements PreparsedDocumentProvider {
+    public static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    private static final String HASH_FIELD = "sha256Hash";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final boolean persistedQueries;
+
+    /**
+     * Default constructor.
+     *
+     * @param config configuration of the cache
+     */
+    public CachingDocumentProvider(final QueryCacheConfig config) {
+        this.documents = Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .build();
+        this.persistedQueries = config.isPersistedQueries();
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(final ExecutionInput executionInput,
+        final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        final String query = executionInput.getQuery();
+        final String persistedHash = this.persistedQueries ? getPersistedHash(executionInput) : null;
+        if (persistedHash != null && isMissing(query)) {
+            final PreparsedDocumentEntry entry = this.documents.getIfPresent(persistedHash);
+            return entry != null ? entry : missingQuery(persistedHash);
+        }
+
+        final String hash = hash(query);
+        if (persistedHash != null && !persistedHash.equalsIgnoreCase(hash)) {
+            return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .message("Hash %s of the persisted query does not match the query", persistedHash)
+                .build());
+        }
+
+        final PreparsedDocumentEntry cached = this.documents.getIfPresent(hash);
+        if (cached != null) {
+            return cached;
+        }
+        final PreparsedDocumentEntry entry = parseAndValidateFunction.apply(executionInput);
+        // invalid queries are not cached so that they cannot be used as persisted queries
+        if (!entry.hasErrors()) {
+            this.documents.put(hash, entry);
+        }
+        return entry;
+    }
+
+    @Nullable
+    private static String getPersistedHash(final ExecutionInput executionInput) {
+        final Object extension = executionInput.getExtensions().get(PERSISTED_QUERY_EXTENSION);
+        if (!(extension instanceof Map)) {
+            return null;
+        }
+        final Object hash = ((Map<?, ?>) extension).get(HASH_FIELD);
+        return hash instanceof String ? (String) hash : null;
+    }
+
+    private static boolean isMissing(final String query) {
+        return query.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query);
+    }
+
+    private static String hash(final String query) {
+        return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+    }
+
+    private static PreparsedDocumentEntry missingQuery(final String hash) {
+        final PersistedQueryNotFound notFound = new PersistedQueryNotFound(hash);
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+            .errorType(notFound)
+            .message(notFound.getMessage())
+            .extensions(notFound.getExtensions())
+            .build());
+    }
+}
@@ -18,6 +18,8 @@ package com.bakdata.quick.gateway;
 
 import io.micronaut.context.annotation.ConfigurationInject;
 import io.micronaut.context.annotation.ConfigurationProperties;
+import java.time.Duration;
+import java.util.Optional;
 import lombok.Getter;
 
 /**
@@ -26,10 +28,28 @@ import lombok.Getter;
 @Getter
 @ConfigurationProperties("quick.schema")
 public class GatewayConfig {
+    public static final Duration DEFAULT_WARM_UP_TIMEOUT = Duration.ofSeconds(30);
+
     private final String path;
 
-    @ConfigurationInject
+    /**
+     * Maximum time to wait for the warm-up of a new schema before it is applied.
+     */
+    private final Duration warmUpTimeout;
+
     public GatewayConfig(final String path) {
+        this(path, Optional.empty());
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param path          location of the schema file
+     * @param warmUpTimeout maximum time to wait for the warm-up of a new schema
+     */
+    @ConfigurationInject
+    public GatewayConfig(final String path, final Optional<Duration> warmUpTimeout) {
         this.path = path;
+        this.warmUpTimeout = warmUpTimeout.orElse(DEFAULT_WARM_UP_TIMEOUT);
     }
 }
@@ -29,6 +29,7 @@ import io.micronaut.http.annotation.Post;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.reactivex.Completable;
+import io.reactivex.schedulers.Schedulers;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 
@@ -61,7 +62,7 @@ public class GatewayController {
             } catch (final GraphQLException graphQLException) {
                 throw new BadArgumentException(graphQLException.getMessage());
             }
-        });
+        }).subscribeOn(Schedulers.io()); // the warm-up of the new schema blocks
     }
 
     /**
@@ -28,6 +28,11 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Class for reading an existing schema.graphql from file.
+ *
+ * <p>
+ * The gateway is not ready before the initializer has applied the schema of the file or found that there is none.
+ *
+ * @see WarmUpHealthIndicator
  */
 @Singleton
 @Slf4j
@@ -35,11 +40,13 @@ public class GatewayInitializer implements ApplicationEventListener<StartupEvent
 
     private final QuickGraphQLContext context;
     private final GatewayConfig gatewayConfig;
+    private volatile boolean initialized;
 
     @Inject
     public GatewayInitializer(final QuickGraphQLContext context, final GatewayConfig gatewayConfig) {
         this.context = context;
         this.gatewayConfig = gatewayConfig;
+        this.initialized = false;
     }
 
     @Override
@@ -48,6 +55,7 @@ public class GatewayInitializer implements ApplicationEventListener<StartupEvent
 
         if (!Files.exists(gatewayConfigPath)) {
             log.warn("No schema file found");
+            this.initialized = true;
             return;
         }
         try {
@@ -58,9 +66,17 @@ public class GatewayInitializer implements ApplicationEventListener<StartupEvent
                 log.info("Read schema from file: {}", schema);
                 this.context.updateFromSchemaString(schema);
             }
+            this.initialized = true;
         } catch (final IOException e) {
             // something went seriously wrong, shut down
             throw new UncheckedIOException("Something went wrong while reading the schema", e);
         }
     }
+
+    /**
+     * Returns whether the schema of the file is applied, or there is no schema to apply.
+     */
+    public boolean isInitialized() {
+        return this.initialized;
+    }
 }
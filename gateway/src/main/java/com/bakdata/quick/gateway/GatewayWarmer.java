@@ -0,0 +1,159 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Eagerly initializes the resources required by the data fetchers of a new GraphQL schema.
+ *
+ * <p>
+ * Data fetchers resolve their topic data and mirror clients lazily. Without warming them up, the first query of each
+ * topic would have to wait for the topic registry, the schema registry and the mirror's partition information. Thus,
+ * the data fetchers register their initializations here, and {@link QuickGraphQLContext} runs all of them in parallel
+ * before a new schema goes live.
+ *
+ * <p>
+ * Failing initializations are only logged. They are retried lazily by the first query that needs them.
+ */
+@Singleton
+@Slf4j
+public class GatewayWarmer {
+    private static final int MAX_CONCURRENCY = 32;
+
+    private final Queue<Runnable> pending;
+    private final Duration timeout;
+    private final AtomicInteger total;
+    private final AtomicInteger completed;
+    private final AtomicInteger failed;
+    private volatile boolean warming;
+    private volatile boolean warmedUp;
+
+    /**
+     * Constructor with the default timeout.
+     */
+    public GatewayWarmer() {
+        this(GatewayConfig.DEFAULT_WARM_UP_TIMEOUT);
+    }
+
+    @Inject
+    public GatewayWarmer(final GatewayConfig gatewayConfig) {
+        this(gatewayConfig.getWarmUpTimeout());
+    }
+
+    private GatewayWarmer(final Duration timeout) {
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.timeout = timeout;
+        this.total = new AtomicInteger();
+        this.completed = new AtomicInteger();
+        this.failed = new AtomicInteger();
+        this.warming = false;
+        this.warmedUp = false;
+    }
+
+    /**
+     * Registers an initialization that is run during the next warm-up.
+     */
+    public void register(final Runnable initialization) {
+        this.pending.add(initialization);
+    }
+
+    /**
+     * Runs all registered initializations in parallel.
+     *
+     * <p>
+     * This blocks until all initializations are done or the timeout is exceeded. Initializations still running after
+     * the timeout continue in the background.
+     */
+    public synchronized void warmUp() {
+        final List<Runnable> initializations = new ArrayList<>();
+        Runnable initialization;
+        while ((initialization = this.pending.poll()) != null) {
+            initializations.add(initialization);
+        }
+        if (initializations.isEmpty()) {
+            return;
+        }
+
+        this.total.set(initializations.size());
+        this.completed.set(0);
+        this.failed.set(0);
+        this.warming = true;
+        log.info("Warming up {} data fetcher resources", initializations.size());
+        try {
+            final boolean finished = Flowable.fromIterable(initializations)
+                .flatMapCompletable(this::initialize, false, MAX_CONCURRENCY)
+                .blockingAwait(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (finished) {
+                log.info("Warm-up finished: {} of {} resources initialized", this.completed.get(), this.total.get());
+            } else {
+                log.warn("Warm-up did not finish within {}: Remaining resources are initialized in the background",
+                    this.timeout);
+            }
+        } finally {
+            this.warming = false;
+            this.warmedUp = true;
+        }
+    }
+
+    /**
+     * Returns whether the gateway is ready to serve queries.
+     *
+     * <p>
+     * The gateway is not ready while it warms up its first schema. Later warm-ups don't affect the readiness because
+     * the previous schema stays live until the new one is warmed up.
+     */
+    public boolean isReady() {
+        return !this.warming || this.warmedUp;
+    }
+
+    /**
+     * Returns the progress of the latest warm-up.
+     */
+    public Map<String, Object> getProgress() {
+        return Map.of(
+            "warming", this.warming,
+            "total", this.total.get(),
+            "completed", this.completed.get(),
+            "failed", this.failed.get()
+        );
+    }
+
+    private Completable initialize(final Runnable initialization) {
+        return Completable.fromRunnable(initialization)
+            .subscribeOn(Schedulers.io())
+            .doOnComplete(this.completed::incrementAndGet)
+            .doOnError(error -> {
+                this.failed.incrementAndGet();
+                log.warn("Could not warm up data fetcher resource", error);
+            })
+            .onErrorComplete();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import com.bakdata.quick.common.api.client.mirror.HeaderConstants;
+import com.bakdata.quick.gateway.fetcher.MinPositions;
+import graphql.ExecutionInput;
+import graphql.GraphQLContext;
+import io.micronaut.http.HttpRequest;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the minimum positions of a GraphQL request from its headers.
+ *
+ * <p>
+ * Clients can require that the mirror reads of a query reflect their writes. For this, they send the position
+ * returned by the ingest service as {@code X-Quick-Min-Position: <topic>=<position>}, once per topic. The positions
+ * are stored in the {@link GraphQLContext}, from which the data fetchers pass them on to the mirrors.
+ *
+ * @see MinPositions
+ */
+@Slf4j
+public final class MinPositionHeaders {
+    private static final char TOPIC_SEPARATOR = '=';
+
+    private MinPositionHeaders() {
+    }
+
+    /**
+     * Stores the minimum positions of the request in the context of the execution input.
+     *
+     * @param executionInput input of the query execution
+     * @param httpRequest    request containing the query
+     */
+    public static void addToContext(final ExecutionInput executionInput, final HttpRequest<?> httpRequest) {
+        final Map<String, String> minPositions = read(httpRequest);
+        if (!minPositions.isEmpty() && executionInput.getContext() instanceof GraphQLContext) {
+            ((GraphQLContext) executionInput.getContext()).put(MinPositions.CONTEXT_KEY, minPositions);
+        }
+    }
+
+    /**
+     * Reads the minimum positions of the request.
+     *
+     * @param httpRequest request containing the query
+     * @return map from topic name to position token
+     */
+    static Map<String, String> read(final HttpRequest<?> httpRequest) {
+        final Map<String, String> minPositions = new HashMap<>();
+        for (final String header : httpRequest.getHeaders().getAll(HeaderConstants.MIN_POSITION_HEADER)) {
+            final int separator = header.indexOf(TOPIC_SEPARATOR);
+            if (separator <= 0) {
+                log.warn("Ignoring {} header without topic: {}", HeaderConstants.MIN_POSITION_HEADER, header);
+                continue;
+            }
+            minPositions.put(header.substring(0, separator).trim(), header.substring(separator + 1).trim());
+        }
+        return minPositions;
+    }
+}
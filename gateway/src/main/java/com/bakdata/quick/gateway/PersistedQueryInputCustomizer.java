@@ -0,0 +1,101 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.ExecutionInput;
+import io.micronaut.configuration.graphql.DefaultGraphQLExecutionInputCustomizer;
+import io.micronaut.configuration.graphql.GraphQLExecutionInputCustomizer;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+
+/**
+ * Adds the {@code persistedQuery} extension and the minimum positions of a GraphQL request to its execution input.
+ *
+ * <p>
+ * Micronaut only passes the query, operation name and variables to GraphQL. However, Automatic Persisted Queries
+ * require the {@code persistedQuery} extension. It is read from the JSON body of POST requests and the
+ * {@code extensions} parameter of GET requests.
+ *
+ * @see CachingDocumentProvider
+ * @see MinPositionHeaders
+ */
+@Singleton
+@Slf4j
+@Replaces(DefaultGraphQLExecutionInputCustomizer.class)
+public class PersistedQueryInputCustomizer implements GraphQLExecutionInputCustomizer {
+    private static final String EXTENSIONS = "extensions";
+
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public PersistedQueryInputCustomizer(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Publisher<ExecutionInput> customize(final ExecutionInput executionInput, final HttpRequest httpRequest,
+        @Nullable final MutableHttpResponse<String> httpResponse) {
+        MinPositionHeaders.addToContext(executionInput, httpRequest);
+        final Map<String, Object> extensions = this.readExtensions(httpRequest);
+        if (extensions == null) {
+            return Publishers.just(executionInput);
+        }
+        return Publishers.just(executionInput.transform(builder -> builder.extensions(extensions)));
+    }
+
+    @Nullable
+    private Map<String, Object> readExtensions(final HttpRequest<?> httpRequest) {
+        final boolean isGet = httpRequest.getMethod() == HttpMethod.GET;
+        final String json = isGet
+            ? httpRequest.getParameters().get(EXTENSIONS)
+            : httpRequest.getBody(String.class).orElse(null);
+        // avoid parsing the request for every query without persisted query
+        if (json == null || !json.contains(CachingDocumentProvider.PERSISTED_QUERY_EXTENSION)) {
+            return null;
+        }
+        try {
+            final JsonNode node = this.objectMapper.readTree(json);
+            // GET requests contain only the extensions, POST requests the whole GraphQL request
+            final JsonNode extensions = isGet ? node : node.path(EXTENSIONS);
+            final JsonNode persistedQuery = extensions.path(CachingDocumentProvider.PERSISTED_QUERY_EXTENSION);
+            if (!persistedQuery.isObject()) {
+                return null;
+            }
+            // the extension only consists of scalar fields, i.e., the version and the hash
+            final Map<String, Object> fields = new HashMap<>();
+            persistedQuery.fields().forEachRemaining(field -> fields.put(field.getKey(),
+                field.getValue().isNumber() ? field.getValue().numberValue() : field.getValue().asText()));
+            return Map.of(CachingDocumentProvider.PERSISTED_QUERY_EXTENSION, fields);
+        } catch (final JsonProcessingException e) {
+            log.debug("Could not read extensions of GraphQL request", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import io.micronaut.context.annotation.ConfigurationInject;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Configuration for the cache of parsed and validated GraphQL queries.
+ *
+ * @see CachingDocumentProvider
+ */
+@ConfigurationProperties("quick.query-cache")
+@Getter
+public class QueryCacheConfig {
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    /**
+     * Maximum number of cached query documents.
+     */
+    private final long maximumSize;
+
+    /**
+     * Whether clients may send only the hash of a query they sent before (Automatic Persisted Queries).
+     */
+    private final boolean persistedQueries;
+
+    /**
+     * Constructor setting defaults.
+     */
+    public QueryCacheConfig() {
+        this(Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param maximumSize      maximum number of cached query documents
+     * @param persistedQueries whether automatic persisted queries are enabled
+     */
+    @ConfigurationInject
+    public QueryCacheConfig(final Optional<Long> maximumSize, final Optional<Boolean> persistedQueries) {
+        this.maximumSize = maximumSize.orElse(DEFAULT_MAXIMUM_SIZE);
+        this.persistedQueries = persistedQueries.orElse(true);
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.bakdata.quick.gateway;
 
+import com.bakdata.quick.gateway.fetcher.FetcherFactory;
+import com.bakdata.quick.gateway.fetcher.subscription.SubscriptionEventInstrumentation;
 import graphql.GraphQL;
 import graphql.Scalars;
 import graphql.schema.GraphQLFieldDefinition;
@@ -23,13 +25,19 @@ import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
 import io.micronaut.context.annotation.Factory;
 import jakarta.inject.Singleton;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Simple wrapper around GraphQL implementation to make swapping schema easier.
+ *
+ * <p>
+ * The schema and its GraphQL instance are published together, so that a request never sees a mix of two schemas.
  */
+@Slf4j
 @Singleton
 public class QuickGraphQLContext {
     private static final GraphQLSchema EMPTY_SCHEMA = GraphQLSchema.newSchema()
@@ -39,56 +47,106 @@ public class QuickGraphQLContext {
         .build();
 
     private final GraphQLSchemaGenerator schemaGenerator;
-
+    private final GatewayWarmer warmer;
+    private final SchemaPrefetcher schemaPrefetcher;
+    private final QueryCacheConfig queryCacheConfig;
+    private final FetcherFactory fetcherFactory;
 
     /**
      * Functions that are called whenever the GraphQL schema is updated.
      */
     private final List<Consumer<QuickGraphQLContext>> updateCallbacks;
 
-    private GraphQL graphQL;
-    private GraphQLSchema graphQLSchema;
+    private volatile State state;
 
     /**
      * Standard constructor.
      *
-     * @param schemaGenerator generator for creating a GraphQLSchema from a string
+     * @param schemaGenerator  generator for creating a GraphQLSchema from a string
+     * @param warmer           warmer initializing the data fetchers of a new schema
+     * @param schemaPrefetcher prefetcher loading the schemas of all topics in a new schema
+     * @param queryCacheConfig configuration of the cache for parsed and validated queries
+     * @param fetcherFactory   factory whose clients are reused by the data fetchers of a new schema
      */
-    public QuickGraphQLContext(final GraphQLSchemaGenerator schemaGenerator) {
-        this.updateCallbacks = new ArrayList<>();
+    public QuickGraphQLContext(final GraphQLSchemaGenerator schemaGenerator, final GatewayWarmer warmer,
+        final SchemaPrefetcher schemaPrefetcher, final QueryCacheConfig queryCacheConfig,
+        final FetcherFactory fetcherFactory) {
+        this.updateCallbacks = new CopyOnWriteArrayList<>();
         this.schemaGenerator = schemaGenerator;
-        this.graphQLSchema = EMPTY_SCHEMA;
-        this.graphQL = GraphQL.newGraphQL(EMPTY_SCHEMA).build();
+        this.warmer = warmer;
+        this.schemaPrefetcher = schemaPrefetcher;
+        this.queryCacheConfig = queryCacheConfig;
+        this.fetcherFactory = fetcherFactory;
+        this.state = new State("", EMPTY_SCHEMA, GraphQL.newGraphQL(EMPTY_SCHEMA).build());
     }
 
     /**
      * Updates the GraphQLSchema.
+     *
+     * <p>
+     * Each schema gets a new cache for parsed and validated queries, because they must be validated against it again.
+     * The clients of topics no longer used by the schema are discarded.
      */
-    public void update(final GraphQLSchema schema) {
-        this.graphQLSchema = schema;
-        this.graphQL = GraphQL.newGraphQL(schema).build();
-        this.updateCallbacks.forEach(consumer -> consumer.accept(this));
+    public synchronized void update(final GraphQLSchema schema) {
+        this.update("", schema);
     }
 
     /**
      * Creates a new GraphQLSchema from a schema string and updates it.
+     *
+     * <p>
+     * Nothing happens if the schema string equals the current one. Otherwise, the data fetchers of the new schema are
+     * warmed up before it replaces the current one. They reuse the clients of topics that are part of the current
+     * schema, while the clients of topics no longer used are discarded afterwards.
      */
-    public void updateFromSchemaString(final String schemaString) {
-        this.update(this.schemaGenerator.create(schemaString));
+    public synchronized void updateFromSchemaString(final String schemaString) {
+        if (schemaString.equals(this.state.getDefinition())) {
+            log.info("Schema is unchanged: Skip update");
+            return;
+        }
+        final GraphQLSchema schema = this.schemaGenerator.create(schemaString);
+        // the schemas are fetched in parallel to the initialization of the data fetchers
+        this.warmer.register(() -> this.schemaPrefetcher.prefetch(schema).blockingAwait());
+        this.warmer.warmUp();
+        this.update(schemaString, schema);
     }
 
     public GraphQL getGraphQL() {
-        return this.graphQL;
+        return this.state.getGraphQL();
     }
 
     public GraphQLSchema getGraphQLSchema() {
-        return this.graphQLSchema;
+        return this.state.getSchema();
     }
 
     public void addGraphQLUpdateCallback(final Consumer<QuickGraphQLContext> callback) {
         this.updateCallbacks.add(callback);
     }
 
+    private void update(final String definition, final GraphQLSchema schema) {
+        final GraphQL graphQL = GraphQL.newGraphQL(schema)
+            .preparsedDocumentProvider(new CachingDocumentProvider(this.queryCacheConfig))
+            .instrumentation(new SubscriptionEventInstrumentation())
+            .build();
+        this.state = new State(definition, schema, graphQL);
+        this.fetcherFactory.retainTopics(SchemaPrefetcher.collectTopicNames(schema));
+        this.updateCallbacks.forEach(consumer -> consumer.accept(this));
+    }
+
+    /**
+     * Schema that is currently served.
+     */
+    @Value
+    @SuppressWarnings("ObjectToString") // Lombok does that for us
+    private static class State {
+        /**
+         * Schema string the schema was created from, or empty if it was set directly.
+         */
+        String definition;
+        GraphQLSchema schema;
+        GraphQL graphQL;
+    }
+
     /**
      * This simply creates an empty GraphQL Bean to satisfy the requirement imposed by {@link
      * io.micronaut.configuration.graphql.ws.RequiresGraphQLWs}. If no GraphQL beans exists, micronaut's graphql-ws
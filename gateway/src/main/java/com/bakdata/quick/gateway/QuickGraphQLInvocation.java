@@ -36,7 +36,7 @@ import org.reactivestreams.Publisher;
 @Singleton
 @Replaces(DefaultGraphQLInvocation.class)
 public class QuickGraphQLInvocation implements GraphQLInvocation {
-    private DefaultGraphQLInvocation invocation;
+    private volatile DefaultGraphQLInvocation invocation;
 
     /**
      * Default constructor.
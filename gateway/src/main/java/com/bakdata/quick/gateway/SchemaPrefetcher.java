@@ -0,0 +1,92 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import static com.bakdata.quick.common.api.model.KeyValueEnum.KEY;
+import static com.bakdata.quick.common.api.model.KeyValueEnum.VALUE;
+
+import com.bakdata.quick.common.schema.SchemaFetcher;
+import com.bakdata.quick.gateway.directives.topic.TopicDirective;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import io.reactivex.Completable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the key and value schemas of all topics referenced in the gateway's GraphQL schema.
+ *
+ * <p>
+ * Schemas are fetched in parallel while a new GraphQL schema is warmed up, so that the first queries don't have to wait
+ * for the schema registry one topic after another.
+ */
+@Singleton
+@Slf4j
+public class SchemaPrefetcher {
+    private final SchemaFetcher schemaFetcher;
+
+    @Inject
+    public SchemaPrefetcher(final SchemaFetcher schemaFetcher) {
+        this.schemaFetcher = schemaFetcher;
+    }
+
+    /**
+     * Fetches the key and value schemas of all topics in the given GraphQL schema.
+     *
+     * <p>
+     * Subjects whose schema cannot be retrieved are skipped.
+     */
+    public Completable prefetch(final GraphQLSchema schema) {
+        final Set<String> topics = collectTopicNames(schema);
+        if (topics.isEmpty()) {
+            return Completable.complete();
+        }
+        final List<String> subjects = topics.stream()
+            .flatMap(topic -> List.of(KEY.asSubject(topic), VALUE.asSubject(topic)).stream())
+            .collect(Collectors.toList());
+        log.info("Prefetching schemas of {} topics", topics.size());
+        return this.schemaFetcher.prefetchSchemas(subjects)
+            .doOnComplete(() -> log.debug("Prefetched schemas of topics {}", topics));
+    }
+
+    /**
+     * Collects the names of all topics referenced by a topic directive in the given schema.
+     */
+    static Set<String> collectTopicNames(final GraphQLSchema schema) {
+        final Set<String> topics = new TreeSet<>();
+        for (final GraphQLType type : schema.getAllTypesAsList()) {
+            if (!(type instanceof GraphQLObjectType)) {
+                continue;
+            }
+            for (final GraphQLFieldDefinition field : ((GraphQLObjectType) type).getFieldDefinitions()) {
+                final GraphQLDirective directive = field.getDirective(TopicDirective.DIRECTIVE_NAME);
+                if (directive != null) {
+                    topics.add(TopicDirective.fromArguments(directive.getArguments()).getTopicName());
+                }
+            }
+        }
+        return topics;
+    }
+}
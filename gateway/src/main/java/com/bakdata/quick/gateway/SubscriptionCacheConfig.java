@@ -0,0 +1,98 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import io.micronaut.context.annotation.ConfigurationInject;
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Configuration for the field cache of subscriptions over multiple topics.
+ *
+ * <p>
+ * The configuration is set per type that a subscription returns, e.g., {@code quick.subscription.cache.statistics}
+ * for a subscription of the type {@code Statistics}.
+ *
+ * @see com.bakdata.quick.gateway.fetcher.subscription.MultiSubscriptionFetcher
+ */
+@EachProperty("quick.subscription.cache")
+@Getter
+public class SubscriptionCacheConfig {
+    public static final long DEFAULT_MAXIMUM_SIZE = 5_000;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final Duration DEFAULT_BATCH_DELAY = Duration.ofMillis(10);
+
+    /**
+     * Name of the subscription type.
+     */
+    private final String name;
+
+    /**
+     * Maximum number of cached field values.
+     */
+    private final long maximumSize;
+
+    /**
+     * Time after which a cached field value is loaded again, empty if values don't expire.
+     */
+    private final Optional<Duration> expireAfterWrite;
+
+    /**
+     * Maximum number of records whose missing fields are loaded together.
+     */
+    private final int batchSize;
+
+    /**
+     * Maximum time to wait for more records of a batch.
+     */
+    private final Duration batchDelay;
+
+    /**
+     * Constructor setting defaults.
+     *
+     * @param name name of the subscription type
+     */
+    public SubscriptionCacheConfig(final String name) {
+        this(name, Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param name             name of the subscription type
+     * @param maximumSize      maximum number of cached field values
+     * @param expireAfterWrite time after which a cached field value expires
+     * @param batchSize        maximum number of records whose missing fields are loaded together
+     * @param batchDelay       maximum time to wait for more records of a batch
+     */
+    @ConfigurationInject
+    public SubscriptionCacheConfig(@Parameter final String name, final Optional<Long> maximumSize,
+        final Optional<Duration> expireAfterWrite, final Optional<Integer> batchSize,
+        final Optional<Duration> batchDelay) {
+        this.name = name;
+        this.maximumSize = maximumSize.orElse(DEFAULT_MAXIMUM_SIZE);
+        this.expireAfterWrite = expireAfterWrite;
+        this.batchSize = batchSize.orElse(DEFAULT_BATCH_SIZE);
+        this.batchDelay = batchDelay.orElse(DEFAULT_BATCH_DELAY);
+        if (this.batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size of subscriptions should be positive");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import io.micronaut.health.HealthStatus;
+import io.micronaut.management.health.indicator.HealthIndicator;
+import io.micronaut.management.health.indicator.HealthResult;
+import io.micronaut.management.health.indicator.annotation.Readiness;
+import io.reactivex.Flowable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reports the gateway as not ready until its first schema is applied and its data fetchers are warmed up.
+ *
+ * <p>
+ * The first schema is the one read from file on startup. The progress of the latest warm-up is part of the details of
+ * {@code /health/readiness}.
+ *
+ * @see GatewayInitializer
+ * @see GatewayWarmer
+ */
+@Singleton
+@Readiness
+public class WarmUpHealthIndicator implements HealthIndicator {
+    private static final String NAME = "warm-up";
+
+    private final GatewayWarmer warmer;
+    private final GatewayInitializer initializer;
+
+    @Inject
+    public WarmUpHealthIndicator(final GatewayWarmer warmer, final GatewayInitializer initializer) {
+        this.warmer = warmer;
+        this.initializer = initializer;
+    }
+
+    @Override
+    public Publisher<HealthResult> getResult() {
+        final boolean initialized = this.initializer.isInitialized();
+        final HealthStatus status = initialized && this.warmer.isReady() ? HealthStatus.UP : HealthStatus.DOWN;
+        final Map<String, Object> details = new HashMap<>(this.warmer.getProgress());
+        details.put("initialized", initialized);
+        return Flowable.just(HealthResult.builder(NAME, status).details(details).build());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.custom.type;
+
+import graphql.language.Description;
+import graphql.language.FieldDefinition;
+import graphql.language.NonNullType;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import jakarta.inject.Singleton;
+import java.util.List;
+
+/**
+ * Custom type for the results of aggregation queries.
+ *
+ * <p>
+ * Corresponds to the following GraphQL definition:
+ * <pre>{@code
+ * type QuickAggregate {
+ *     count: Long!
+ *     sum: Float
+ *     min: Float
+ *     max: Float
+ *     avg: Float
+ * }
+ * }</pre>
+ *
+ * <p>
+ * A query returning this type is answered by the mirror's aggregate endpoints, so that only the aggregate is
+ * transferred instead of all values.
+ *
+ * @see com.bakdata.quick.common.api.model.mirror.Aggregate
+ * @see com.bakdata.quick.gateway.directives.topic.TopicDirective
+ */
+@Singleton
+public class QuickAggregateType implements QuickGraphQLType<ObjectTypeDefinition> {
+    public static final ObjectTypeDefinition DEFINITION;
+    public static final String TYPE_NAME = "QuickAggregate";
+    public static final String TYPE_DESCRIPTION = "Aggregate over the values of a topic or a range.";
+
+    private static final List<String> NUMERIC_FIELDS = List.of("sum", "min", "max", "avg");
+
+    static {
+        final ObjectTypeDefinition.Builder builder = ObjectTypeDefinition.newObjectTypeDefinition()
+            .name(TYPE_NAME)
+            // sourceLocation and multiline aren't used anywhere anyway
+            .description(new Description(TYPE_DESCRIPTION, null, false))
+            .fieldDefinition(field("count", new NonNullType(new TypeName("Long"))));
+
+        for (final String numericField : NUMERIC_FIELDS) {
+            builder.fieldDefinition(field(numericField, new TypeName("Float")));
+        }
+
+        DEFINITION = builder.build();
+    }
+
+    @Override
+    public ObjectTypeDefinition getDefinition() {
+        return DEFINITION;
+    }
+
+    private static FieldDefinition field(final String name, final Type<?> type) {
+        return FieldDefinition.newFieldDefinition()
+            .name(name)
+            .type(type)
+            .build();
+    }
+}
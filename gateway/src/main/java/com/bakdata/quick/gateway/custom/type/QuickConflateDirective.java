@@ -0,0 +1,104 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.custom.type;
+
+import static graphql.introspection.Introspection.DirectiveLocation.FIELD;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.execution.directives.QueryDirectives;
+import graphql.language.DirectiveDefinition;
+import graphql.language.DirectiveLocation;
+import graphql.language.InputValueDefinition;
+import graphql.language.NonNullType;
+import graphql.language.TypeName;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom directive for conflating the records of subscriptions.
+ *
+ * <p>
+ * Corresponds to the following GraphQL definition:
+ * <pre>{@code
+ * directive @conflate(window: Int!) on FIELD
+ * }</pre>
+ *
+ * <p>
+ * Clients opt in with the directive on a subscription field, e.g., {@code subscription { prices @conflate(window:
+ * 500) { price } }}. The window is given in milliseconds and may be set through a variable. Within each window, only
+ * the newest record per key is executed and sent.
+ *
+ * @see com.bakdata.quick.gateway.fetcher.subscription.RecordConflation
+ */
+@Singleton
+public class QuickConflateDirective implements QuickGraphQLType<DirectiveDefinition> {
+    public static final DirectiveDefinition DEFINITION;
+    public static final String DIRECTIVE_NAME = "conflate";
+
+    private static final String WINDOW_ARG_NAME = "window";
+
+    static {
+        DEFINITION = DirectiveDefinition.newDirectiveDefinition()
+            .name(DIRECTIVE_NAME)
+            .inputValueDefinition(
+                InputValueDefinition.newInputValueDefinition()
+                    .name(WINDOW_ARG_NAME)
+                    .type(new NonNullType(new TypeName("Int")))
+                    .build())
+            .directiveLocation(
+                DirectiveLocation.newDirectiveLocation()
+                    .name(FIELD.name())
+                    .build())
+            .build();
+    }
+
+    @Override
+    public DirectiveDefinition getDefinition() {
+        return DEFINITION;
+    }
+
+    /**
+     * Extracts the conflation window the client requested for the current field.
+     *
+     * @param environment environment of the current request
+     * @return the window, or empty if the records should not be conflated
+     */
+    public static Optional<Duration> getWindow(final DataFetchingEnvironment environment) {
+        @Nullable final QueryDirectives queryDirectives = environment.getQueryDirectives();
+        if (queryDirectives == null) {
+            return Optional.empty();
+        }
+        final List<GraphQLDirective> directives = queryDirectives.getImmediateDirective(DIRECTIVE_NAME);
+        if (directives == null || directives.isEmpty()) {
+            return Optional.empty();
+        }
+        final GraphQLArgument window = directives.get(0).getArgument(WINDOW_ARG_NAME);
+        if (window == null || !(window.getValue() instanceof Number)) {
+            return Optional.empty();
+        }
+        final long windowMillis = ((Number) window.getValue()).longValue();
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("The conflation window should be positive");
+        }
+        return Optional.of(Duration.ofMillis(windowMillis));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.gateway.custom.type;
+
+import graphql.language.Description;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.InputValueDefinition;
+import graphql.language.ListType;
+import graphql.language.NonNullType;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import jakarta.inject.Singleton;
+import java.util.List;
+
+/**
+ * Custom input type for filtering the values of list and range queries.
+ *
+ * <p>
+ * Corresponds to the following GraphQL definition:
+ * <pre>{@code
+ * input QuickFilter {
+ *     and: [QuickFilter!]
+ *     or: [QuickFilter!]
+ *     not: QuickFilter
+ *     field: String
+ *     eq: String
+ *     ne: String
+ *     lt: String
+ *     lte: String
+ *     gt: String
+ *     gte: String
+ *     in: [String!]
+ * }
+ * }</pre>
+ *
+ * <p>
+ * The filter is evaluated by the mirror, which converts the literals to the types of the fields.
+ *
+ * @see com.bakdata.quick.common.api.model.mirror.ValueFilter
+ * @see com.bakdata.quick.gateway.directives.topic.TopicDirective
+ */
+@Singleton
+public class QuickFilterType implements QuickGraphQLType<InputObjectTypeDefinition> {
+    public static final InputObjectTypeDefinition DEFINITION;
+    public static final String TYPE_NAME = "QuickFilter";
+    public static final String TYPE_DESCRIPTION = "Filter on the values of list and range queries.";
+
+    private static final List<String> COMPARISONS = List.of("eq", "ne", "lt", "lte", "gt", "gte");
+
+    static {
+        final TypeName filterType = new TypeName(TYPE_NAME);
+        final TypeName stringType = new TypeName("String");
+        final ListType filterList = new ListType(new NonNullType(filterType));
+
+        final InputObjectTypeDefinition.Builder builder = InputObjectTypeDefinition.newInputObjectDefinition()
+            .name(TYPE_NAME)
+            // sourceLocation and multiline aren't used anywhere anyway
+            .description(new Description(TYPE_DESCRIPTION, null, false))
+            .inputValueDefinition(field("and", filterList))
+            .inputValueDefinition(field("or", filterList))
+            .inputValueDefinition(field("not", filterType))
+            .inputValueDefinition(field("field", stringType));
+
+        for (final String comparison : COMPARISONS) {
+            builder.inputValueDefinition(field(comparison, stringType));
+        }
+        builder.inputValueDefinition(field("in", new ListType(new NonNullType(stringType))));
+
+        DEFINITION = builder.build();
+    }
+
+    @Override
+    public InputObjectTypeDefinition getDefinition() {
+        return DEFINITION;
+    }
+
+    private static InputValueDefinition field(final String name, final Type<?> type) {
+        return InputValueDefinition.newInputValueDefinition()
+            .name(name)
+            .type(type)
+            .build();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.custom.type;
+
+import static graphql.introspection.Introspection.DirectiveLocation.FIELD;
+
+import com.bakdata.quick.gateway.fetcher.subscription.ResumeToken;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.execution.directives.QueryDirectives;
+import graphql.language.DirectiveDefinition;
+import graphql.language.DirectiveLocation;
+import graphql.language.InputValueDefinition;
+import graphql.language.TypeName;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom directive for resuming subscriptions.
+ *
+ * <p>
+ * Corresponds to the following GraphQL definition:
+ * <pre>{@code
+ * directive @resume(token: String, timestamp: String) on FIELD
+ * }</pre>
+ *
+ * <p>
+ * Clients opt in with the directive on a subscription field, e.g., {@code subscription { prices @resume { price } }}.
+ * Each result then carries a token in its extensions. After a reconnect, the client passes the last token it received,
+ * e.g., {@code prices @resume(token: $token)}, and only the records it missed are replayed. Alternatively, a
+ * subscription can start at an ISO-8601 timestamp, e.g., {@code prices @resume(timestamp: "2022-08-01T10:00:00Z")}.
+ *
+ * @see ResumeToken
+ */
+@Singleton
+public class QuickResumeDirective implements QuickGraphQLType<DirectiveDefinition> {
+    public static final DirectiveDefinition DEFINITION;
+    public static final String DIRECTIVE_NAME = "resume";
+
+    private static final String TOKEN_ARG_NAME = "token";
+    private static final String TIMESTAMP_ARG_NAME = "timestamp";
+
+    static {
+        DEFINITION = DirectiveDefinition.newDirectiveDefinition()
+            .name(DIRECTIVE_NAME)
+            .inputValueDefinition(
+                InputValueDefinition.newInputValueDefinition()
+                    .name(TOKEN_ARG_NAME)
+                    .type(new TypeName("String"))
+                    .build())
+            .inputValueDefinition(
+                InputValueDefinition.newInputValueDefinition()
+                    .name(TIMESTAMP_ARG_NAME)
+                    .type(new TypeName("String"))
+                    .build())
+            .directiveLocation(
+                DirectiveLocation.newDirectiveLocation()
+                    .name(FIELD.name())
+                    .build())
+            .build();
+    }
+
+    @Override
+    public DirectiveDefinition getDefinition() {
+        return DEFINITION;
+    }
+
+    /**
+     * Checks whether the client requested resume tokens for the current field.
+     *
+     * @param environment environment of the current request
+     * @return true if the directive is set on the field
+     */
+    public static boolean isPresent(final DataFetchingEnvironment environment) {
+        return getDirective(environment).isPresent();
+    }
+
+    /**
+     * Extracts the position the client wants to resume the current field from.
+     *
+     * @param environment environment of the current request
+     * @return the position, or empty if the subscription starts with the latest records
+     */
+    public static Optional<ResumeToken> getStart(final DataFetchingEnvironment environment) {
+        final Optional<GraphQLDirective> directive = getDirective(environment);
+        if (directive.isEmpty()) {
+            return Optional.empty();
+        }
+        final String token = getStringArgument(directive.get(), TOKEN_ARG_NAME);
+        final String timestamp = getStringArgument(directive.get(), TIMESTAMP_ARG_NAME);
+        if (token != null && timestamp != null) {
+            throw new IllegalArgumentException("Either a resume token or a timestamp can be set, but not both");
+        }
+        if (token != null) {
+            return Optional.of(ResumeToken.decode(token));
+        }
+        if (timestamp != null) {
+            try {
+                return Optional.of(ResumeToken.fromTimestamp(Instant.parse(timestamp).toEpochMilli()));
+            } catch (final DateTimeParseException exception) {
+                throw new IllegalArgumentException("Invalid resume timestamp: " + timestamp, exception);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<GraphQLDirective> getDirective(final DataFetchingEnvironment environment) {
+        @Nullable final QueryDirectives queryDirectives = environment.getQueryDirectives();
+        if (queryDirectives == null) {
+            return Optional.empty();
+        }
+        final List<GraphQLDirective> directives = queryDirectives.getImmediateDirective(DIRECTIVE_NAME);
+        if (directives == null || directives.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(directives.get(0));
+    }
+
+    @Nullable
+    private static String getStringArgument(final GraphQLDirective directive, final String name) {
+        final GraphQLArgument argument = directive.getArgument(name);
+        if (argument == null || !(argument.getValue() instanceof String)) {
+            return null;
+        }
+        return (String) argument.getValue();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.custom.type;
+
+import static graphql.introspection.Introspection.DirectiveLocation.FIELD;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.execution.directives.QueryDirectives;
+import graphql.language.DirectiveDefinition;
+import graphql.language.DirectiveLocation;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLDirective;
+import jakarta.inject.Singleton;
+import java.util.List;
+
+/**
+ * Custom directive for starting subscriptions with the current state of the mirror.
+ *
+ * <p>
+ * Corresponds to the following GraphQL definition:
+ * <pre>{@code
+ * directive @snapshot on FIELD
+ * }</pre>
+ *
+ * <p>
+ * Clients opt in with the directive on a subscription field with a key argument, e.g.,
+ * {@code subscription { price(id: 123) @snapshot { price } }}. The subscription first emits the value the mirror
+ * currently holds for the key and then continues with the records written after it. In contrast to running a query
+ * before subscribing, there is neither a gap nor a duplicate between both.
+ */
+@Singleton
+public class QuickSnapshotDirective implements QuickGraphQLType<DirectiveDefinition> {
+    public static final DirectiveDefinition DEFINITION;
+    public static final String DIRECTIVE_NAME = "snapshot";
+
+    static {
+        DEFINITION = DirectiveDefinition.newDirectiveDefinition()
+            .name(DIRECTIVE_NAME)
+            .directiveLocation(
+                DirectiveLocation.newDirectiveLocation()
+                    .name(FIELD.name())
+                    .build())
+            .build();
+    }
+
+    @Override
+    public DirectiveDefinition getDefinition() {
+        return DEFINITION;
+    }
+
+    /**
+     * Checks whether the client requested a snapshot for the current field.
+     *
+     * @param environment environment of the current request
+     * @return true if the directive is set on the field
+     */
+    public static boolean isPresent(final DataFetchingEnvironment environment) {
+        @Nullable final QueryDirectives queryDirectives = environment.getQueryDirectives();
+        if (queryDirectives == null) {
+            return false;
+        }
+        final List<GraphQLDirective> directives = queryDirectives.getImmediateDirective(DIRECTIVE_NAME);
+        return directives != null && !directives.isEmpty();
+    }
+}
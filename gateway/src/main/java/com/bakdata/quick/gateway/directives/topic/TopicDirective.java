@@ -39,7 +39,9 @@ import lombok.Getter;
  *     keyArgument: String,
  *     keyField: String,
  *     rangeFrom: String,
- *     rangeTo: String
+ *     rangeTo: String,
+ *     whereArgument: String,
+ *     aggregateField: String
  * ) on FIELD_DEFINITION
  * }</pre>
  */
@@ -53,6 +55,8 @@ public final class TopicDirective implements QuickDirective {
     private static final String KEY_FIELD_ARG_NAME = "keyField";
     private static final String RANGE_FROM_ARG_NAME = "rangeFrom";
     private static final String RANGE_TO_ARG_NAME = "rangeTo";
+    private static final String WHERE_ARGUMENT_ARG_NAME = "whereArgument";
+    private static final String AGGREGATE_FIELD_ARG_NAME = "aggregateField";
 
     static {
         DEFINITION = DirectiveDefinition.newDirectiveDefinition()
@@ -82,6 +86,16 @@ public final class TopicDirective implements QuickDirective {
                     .name(RANGE_TO_ARG_NAME)
                     .type(STRING)
                     .build())
+            .inputValueDefinition(
+                InputValueDefinition.newInputValueDefinition()
+                    .name(WHERE_ARGUMENT_ARG_NAME)
+                    .type(STRING)
+                    .build())
+            .inputValueDefinition(
+                InputValueDefinition.newInputValueDefinition()
+                    .name(AGGREGATE_FIELD_ARG_NAME)
+                    .type(STRING)
+                    .build())
             .directiveLocation(
                 DirectiveLocation.newDirectiveLocation()
                     .name(FIELD_DEFINITION.name())
@@ -98,15 +112,22 @@ public final class TopicDirective implements QuickDirective {
     private final String rangeFrom;
     @Nullable
     private final String rangeTo;
+    @Nullable
+    private final String whereArgument;
+    @Nullable
+    private final String aggregateField;
 
     private TopicDirective(final String topicName, @Nullable final String keyArgument,
-        @Nullable final String keyField, @Nullable final String rangeFrom, @Nullable final String rangeTo) {
+        @Nullable final String keyField, @Nullable final String rangeFrom, @Nullable final String rangeTo,
+        @Nullable final String whereArgument, @Nullable final String aggregateField) {
         Objects.requireNonNull(topicName);
         this.topicName = topicName;
         this.keyArgument = keyArgument;
         this.keyField = keyField;
         this.rangeFrom = rangeFrom;
         this.rangeTo = rangeTo;
+        this.whereArgument = whereArgument;
+        this.aggregateField = aggregateField;
     }
 
     /**
@@ -119,7 +140,10 @@ public final class TopicDirective implements QuickDirective {
         final String keyField = QuickDirective.extractArgument(arguments, KEY_FIELD_ARG_NAME);
         final String rangeFrom = QuickDirective.extractArgument(arguments, RANGE_FROM_ARG_NAME);
         final String rangeTo = QuickDirective.extractArgument(arguments, RANGE_TO_ARG_NAME);
-        return new TopicDirective(topicName, keyArgument, keyField, rangeFrom, rangeTo);
+        final String whereArgument = QuickDirective.extractArgument(arguments, WHERE_ARGUMENT_ARG_NAME);
+        final String aggregateField = QuickDirective.extractArgument(arguments, AGGREGATE_FIELD_ARG_NAME);
+        return new TopicDirective(topicName, keyArgument, keyField, rangeFrom, rangeTo, whereArgument,
+            aggregateField);
     }
 
     public boolean hasKeyArgument() {
@@ -137,4 +161,12 @@ public final class TopicDirective implements QuickDirective {
     public boolean hasRangeTo() {
         return this.rangeTo != null;
     }
+
+    public boolean hasWhereArgument() {
+        return this.whereArgument != null;
+    }
+
+    public boolean hasAggregateField() {
+        return this.aggregateField != null;
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.bakdata.quick.gateway.directives.topic;
 
+import com.bakdata.quick.gateway.custom.type.QuickAggregateType;
 import com.bakdata.quick.gateway.directives.QuickDirectiveException;
 import com.bakdata.quick.gateway.fetcher.FetcherFactory;
 import graphql.schema.GraphQLFieldDefinition;
@@ -35,6 +36,7 @@ public class TopicDirectiveContext {
     boolean isListType;
     boolean isNullable;
     boolean hasNullableElements;
+    boolean isAggregateType;
     String parentContainerName;
     GraphQLOutputType type;
     FetcherFactory fetcherFactory;
@@ -56,5 +58,6 @@ public class TopicDirectiveContext {
         this.isListType = GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(this.type));
         this.isNullable = GraphQLTypeUtil.isNullable(this.type);
         this.hasNullableElements = GraphQLTypeUtil.isNullable(GraphQLTypeUtil.unwrapAll(this.type));
+        this.isAggregateType = GraphQLTypeUtil.unwrapAll(this.type).getName().equals(QuickAggregateType.TYPE_NAME);
     }
 }
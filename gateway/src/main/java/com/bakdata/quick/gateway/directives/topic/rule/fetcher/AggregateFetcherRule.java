@@ -0,0 +1,85 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.directives.topic.rule.fetcher;
+
+import com.bakdata.quick.common.graphql.GraphQLUtils;
+import com.bakdata.quick.gateway.DataFetcherSpecification;
+import com.bakdata.quick.gateway.directives.topic.TopicDirective;
+import com.bakdata.quick.gateway.directives.topic.TopicDirectiveContext;
+import graphql.language.TypeName;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Rule for aggregate query fetcher.
+ *
+ * <p>
+ * <h2>Example:</h2>
+ * <pre>{@code
+ * type Query {
+ *     purchaseCount: QuickAggregate @topic(name: "purchase-topic") # <- query aggregate fetcher
+ *     userRequestStats(
+ *         userId: Int
+ *         timestampFrom: Int
+ *         timestampTo: Int
+ *     ): QuickAggregate @topic(name: "user-request-range",
+ *                              keyArgument: "userId",
+ *                              rangeFrom: "timestampFrom",
+ *                              rangeTo: "timestampTo",
+ *                              aggregateField: "requests") # <- range aggregate fetcher
+ * }
+ * }</pre>
+ *
+ * @see com.bakdata.quick.gateway.fetcher.QueryAggregateFetcher
+ * @see com.bakdata.quick.gateway.fetcher.RangeAggregateFetcher
+ */
+public class AggregateFetcherRule implements DataFetcherRule {
+    @Override
+    public List<DataFetcherSpecification> extractDataFetchers(final TopicDirectiveContext context) {
+        final TopicDirective topicDirective = context.getTopicDirective();
+        final DataFetcher<?> dataFetcher;
+        if (topicDirective.hasRangeFrom() && topicDirective.hasRangeTo()) {
+            final String keyArgument = Objects.requireNonNull(topicDirective.getKeyArgument());
+            final TypeName typeName = this.extractKeyArgumentType(context, keyArgument);
+            dataFetcher = context.getFetcherFactory().rangeAggregateFetcher(
+                topicDirective.getTopicName(),
+                keyArgument,
+                Objects.requireNonNull(topicDirective.getRangeFrom()),
+                Objects.requireNonNull(topicDirective.getRangeTo()),
+                typeName,
+                topicDirective.getAggregateField(),
+                topicDirective.getWhereArgument()
+            );
+        } else {
+            dataFetcher = context.getFetcherFactory().queryAggregateFetcher(
+                topicDirective.getTopicName(),
+                topicDirective.getAggregateField(),
+                topicDirective.getWhereArgument()
+            );
+        }
+        final FieldCoordinates coordinates = this.currentCoordinates(context);
+        return List.of(DataFetcherSpecification.of(coordinates, dataFetcher));
+    }
+
+    @Override
+    public boolean isValid(final TopicDirectiveContext context) {
+        return context.isAggregateType()
+            && context.getParentContainerName().equals(GraphQLUtils.QUERY_TYPE);
+    }
+}
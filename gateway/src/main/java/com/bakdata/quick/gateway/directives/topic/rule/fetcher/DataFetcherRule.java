@@ -29,7 +29,11 @@ import graphql.language.ObjectTypeDefinition;
 import graphql.language.Type;
 import graphql.language.TypeName;
 import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLSchemaElement;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -66,6 +70,28 @@ public interface DataFetcherRule extends TopicDirectiveRule {
             .map(coords -> DataFetcherSpecification.of(coords, FetcherFactory.deferFetcher()));
     }
 
+    /**
+     * Extracts the type of the key argument, which is defined on the field itself.
+     */
+    default TypeName extractKeyArgumentType(final TopicDirectiveContext context, final String keyArgument) {
+        final GraphQLSchemaElement graphQLSchemaElement = context.getEnvironment()
+            .getElementParentTree()
+            .getElement();
+
+        final List<GraphQLArgument> arguments = ((GraphQLFieldDefinition) graphQLSchemaElement).getArguments();
+        final Optional<GraphQLArgument> graphQLKeyArgument = arguments.stream()
+            .filter(inputValueDefinition -> inputValueDefinition.getName().equals(keyArgument))
+            .findFirst();
+
+        if (graphQLKeyArgument.isEmpty()) {
+            final String errorMessage = String.format(
+                "Could not find the keyArgument %s in the parent type definition. Please check your schema.",
+                keyArgument);
+            throw new QuickDirectiveException(errorMessage);
+        }
+        return this.extractTypeName(graphQLKeyArgument.get().getDefinition().getType());
+    }
+
     /**
      * Extracts name of given type.
      */
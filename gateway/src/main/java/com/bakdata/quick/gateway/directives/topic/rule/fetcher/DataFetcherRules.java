@@ -36,7 +36,8 @@ public class DataFetcherRules implements TopicDirectiveRules {
             new ModificationRule(),
             new ModificationListRule(),
             new MutationRule(),
-            new RangeFetcherRule()
+            new RangeFetcherRule(),
+            new AggregateFetcherRule()
         );
     }
 
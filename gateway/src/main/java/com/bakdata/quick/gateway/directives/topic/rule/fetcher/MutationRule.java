@@ -49,10 +49,14 @@ import lombok.extern.slf4j.Slf4j;
  *
  * type Mutation {
  *  setProduct(id: ID, product: ProductInput): Product @topic(name: "product-topic")
+ *  setProducts(ids: [ID], products: [ProductInput]): [Product] @topic(name: "product-topic")
  * }
  *
  * }</pre>
  *
+ * <p>
+ * If both arguments are lists, as in {@code setProducts}, all pairs are ingested as one batch.
+ *
  * @see com.bakdata.quick.gateway.fetcher.MutationFetcher
  */
 @Slf4j
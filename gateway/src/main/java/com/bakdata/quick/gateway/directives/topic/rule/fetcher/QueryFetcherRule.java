@@ -67,6 +67,7 @@ public class QueryFetcherRule implements DataFetcherRule {
     public boolean isValid(final TopicDirectiveContext context) {
         return context.getTopicDirective().hasKeyArgument()
             && !context.isListType()
+            && !context.isAggregateType()
             && !context.getParentContainerName().equals(GraphQLUtils.SUBSCRIPTION_TYPE);
     }
 }
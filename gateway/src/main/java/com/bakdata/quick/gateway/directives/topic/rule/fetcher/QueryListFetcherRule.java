@@ -50,7 +50,8 @@ public class QueryListFetcherRule implements DataFetcherRule {
         final DataFetcher<?> dataFetcher = context.getFetcherFactory().queryListFetcher(
             context.getTopicDirective().getTopicName(),
             context.isNullable(),
-            context.isHasNullableElements()
+            context.isHasNullableElements(),
+            context.getTopicDirective().getWhereArgument()
         );
         final FieldCoordinates coordinates = this.currentCoordinates(context);
 
@@ -63,6 +64,7 @@ public class QueryListFetcherRule implements DataFetcherRule {
     public boolean isValid(final TopicDirectiveContext context) {
         return !context.getTopicDirective().hasKeyArgument()
             && context.isListType()
-            && !context.getParentContainerName().equals(GraphQLUtils.SUBSCRIPTION_TYPE);
+            && !context.getParentContainerName().equals(GraphQLUtils.SUBSCRIPTION_TYPE)
+            && !context.getParentContainerName().equals(GraphQLUtils.MUTATION_TYPE);
     }
 }
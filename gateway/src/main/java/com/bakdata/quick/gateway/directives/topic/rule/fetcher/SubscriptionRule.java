@@ -32,6 +32,7 @@ import java.util.List;
  * <pre>{@code
  * type Subscription {
  *     getURL(id: ID): String @topic(name: "url-topic") # <- subscription fetcher
+ *     getURLs(where: QuickFilter): URL @topic(name: "url-topic", whereArgument: "where") # <- filtered
  * }
  * }</pre>
  *
@@ -43,7 +44,8 @@ public class SubscriptionRule implements DataFetcherRule {
         final DataFetcher<?> dataFetcher = context.getFetcherFactory().subscriptionFetcher(
             context.getTopicDirective().getTopicName(),
             context.getEnvironment().getElement().getName(),
-            context.getTopicDirective().getKeyArgument()
+            context.getTopicDirective().getKeyArgument(),
+            context.getTopicDirective().getWhereArgument()
         );
         final FieldCoordinates coordinates = this.currentCoordinates(context);
         return List.of(DataFetcherSpecification.of(coordinates, dataFetcher));
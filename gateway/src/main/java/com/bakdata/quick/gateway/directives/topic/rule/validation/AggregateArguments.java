@@ -0,0 +1,66 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.directives.topic.rule.validation;
+
+import com.bakdata.quick.common.graphql.GraphQLUtils;
+import com.bakdata.quick.gateway.custom.type.QuickAggregateType;
+import com.bakdata.quick.gateway.directives.topic.TopicDirective;
+import com.bakdata.quick.gateway.directives.topic.TopicDirectiveContext;
+import java.util.Optional;
+
+/**
+ * Validation for aggregate queries.
+ *
+ * <p>
+ * These rules should apply:
+ * <ol>
+ * <li> The aggregateField is only set on fields returning QuickAggregate
+ * <li> The parent container should be a Query and not Mutation/Subscription
+ * <li> The query aggregates all values of a topic or a range, i.e., it has no key information otherwise
+ * </ol>
+ *
+ * <p>
+ * <h2>Valid schema:</h2>
+ * <pre>{@code
+ * type Query {
+ *     purchaseStats(where: QuickFilter): QuickAggregate @topic(name: "purchase-topic",
+ *                                                              aggregateField: "price/total",
+ *                                                              whereArgument: "where")
+ * }
+ * }</pre>
+ */
+public class AggregateArguments implements ValidationRule {
+    @Override
+    public Optional<String> validate(final TopicDirectiveContext context) {
+        final TopicDirective topicDirective = context.getTopicDirective();
+        if (!context.isAggregateType()) {
+            if (topicDirective.hasAggregateField()) {
+                return Optional.of(String.format("The aggregateField requires the return type %s.",
+                    QuickAggregateType.TYPE_NAME));
+            }
+            return Optional.empty();
+        }
+        if (!context.getParentContainerName().equals(GraphQLUtils.QUERY_TYPE)) {
+            return Optional.of("Aggregations are only supported on Query types.");
+        }
+        final boolean isRange = topicDirective.hasRangeFrom() && topicDirective.hasRangeTo();
+        if (topicDirective.hasKeyField() || (topicDirective.hasKeyArgument() && !isRange)) {
+            return Optional.of("Aggregations are only supported on all values of a topic or a range.");
+        }
+        return Optional.empty();
+    }
+}
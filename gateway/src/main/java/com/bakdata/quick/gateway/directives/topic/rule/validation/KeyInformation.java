@@ -73,6 +73,7 @@ public class KeyInformation implements ValidationRule {
         return !context.getParentContainerName().equals(GraphQLUtils.MUTATION_TYPE)
             && !context.getParentContainerName().equals(GraphQLUtils.SUBSCRIPTION_TYPE)
             && !context.isListType()
+            && !context.isAggregateType()
             && !context.getTopicDirective().hasKeyArgument()
             && !context.getTopicDirective().hasKeyField();
     }
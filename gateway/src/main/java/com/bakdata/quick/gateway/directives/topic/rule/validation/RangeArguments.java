@@ -29,7 +29,7 @@ import java.util.Optional;
  * <li> The Parent container should be a Query and not Mutation/Subscription
  * <li> Both rangeFrom and rangeTo fields should exist in the topic directive
  * <li> A valid keyArgument should exist in the topic directive
- * <li> The return type of the query should be list
+ * <li> The return type of the query should be list, or QuickAggregate for aggregating the range
  * </ol>
  *
  * <p>
@@ -63,7 +63,7 @@ public class RangeArguments implements ValidationRule {
                 return Optional.of("Range queries are only supported on Query types.");
             } else if (!context.getTopicDirective().hasKeyArgument()) {
                 return Optional.of("You must define a keyArgument.");
-            } else if (!context.isListType()) {
+            } else if (!context.isListType() && !context.isAggregateType()) {
                 return Optional.of("The return type of range queries should be a list.");
             }
             return ValidationUtility.makeCheckForKeyArgument(context);
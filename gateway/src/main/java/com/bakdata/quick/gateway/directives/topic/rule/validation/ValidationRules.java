@@ -34,7 +34,9 @@ public class ValidationRules implements TopicDirectiveRules {
             new ExclusiveArguments(),
             new KeyInformation(),
             new MutationRequiresTwoArguments(),
-            new RangeArguments()
+            new RangeArguments(),
+            new WhereArgument(),
+            new AggregateArguments()
         );
     }
 
@@ -0,0 +1,81 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.directives.topic.rule.validation;
+
+import com.bakdata.quick.common.graphql.GraphQLUtils;
+import com.bakdata.quick.gateway.custom.type.QuickFilterType;
+import com.bakdata.quick.gateway.directives.topic.TopicDirective;
+import com.bakdata.quick.gateway.directives.topic.TopicDirectiveContext;
+import graphql.language.InputValueDefinition;
+import graphql.schema.idl.TypeUtil;
+import java.util.Optional;
+
+/**
+ * Validation for filters of list and range queries, and subscriptions.
+ *
+ * <p>
+ * These rules should apply:
+ * <ol>
+ * <li> The parent container should be a Query or Subscription and not Mutation
+ * <li> A query returns or aggregates all values of a topic or a range
+ * <li> The whereArgument references an argument of type QuickFilter
+ * </ol>
+ *
+ * <p>
+ * <h2>Valid schema:</h2>
+ * <pre>{@code
+ * type Query {
+ *     products(where: QuickFilter): [Product] @topic(name: "product-topic", whereArgument: "where")
+ * }
+ *
+ * type Subscription {
+ *     productUpdates(where: QuickFilter): Product @topic(name: "product-topic", whereArgument: "where")
+ * }
+ *
+ * type Product {
+ *     productId: Long
+ *     name: String
+ * }
+ * }</pre>
+ */
+public class WhereArgument implements ValidationRule {
+    @Override
+    public Optional<String> validate(final TopicDirectiveContext context) {
+        final TopicDirective topicDirective = context.getTopicDirective();
+        if (!topicDirective.hasWhereArgument()) {
+            return Optional.empty();
+        }
+        final boolean isRange = topicDirective.hasRangeFrom() && topicDirective.hasRangeTo();
+        final boolean returnsValues = context.isListType() || context.isAggregateType();
+        final boolean isFilterableQuery = context.getParentContainerName().equals(GraphQLUtils.QUERY_TYPE)
+            && returnsValues && (!topicDirective.hasKeyArgument() || isRange);
+        if (!isFilterableQuery && !context.getParentContainerName().equals(GraphQLUtils.SUBSCRIPTION_TYPE)) {
+            return Optional.of("Filters are only supported on list, range, and aggregate queries, and subscriptions.");
+        }
+        final boolean hasFilterArgument = context.getEnvironment().getElement().getDefinition()
+            .getInputValueDefinitions()
+            .stream()
+            .filter(argument -> argument.getName().equals(topicDirective.getWhereArgument()))
+            .map(InputValueDefinition::getType)
+            .anyMatch(type -> TypeUtil.unwrapAll(type).getName().equals(QuickFilterType.TYPE_NAME));
+        if (!hasFilterArgument) {
+            return Optional.of(String.format("The whereArgument must be an argument of type %s.",
+                QuickFilterType.TYPE_NAME));
+        }
+        return Optional.empty();
+    }
+}
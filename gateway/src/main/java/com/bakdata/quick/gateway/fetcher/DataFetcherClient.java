@@ -16,6 +16,10 @@
 
 package com.bakdata.quick.gateway.fetcher;
 
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.bakdata.quick.common.api.model.mirror.PositionedValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
 import com.fasterxml.jackson.core.type.TypeReference;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.List;
@@ -65,4 +69,121 @@ public interface DataFetcherClient<K, V> {
 
     @Nullable
     List<V> fetchRange(final K id, final String from, final String to);
+
+    /**
+     * Fetches a single value from the given id, only including the fields of the projection.
+     *
+     * <p>
+     * By default, the projection is ignored and the complete value is fetched.
+     *
+     * @param id         resource to fetch from
+     * @param projection fields of the value that are required
+     * @return parsed json as Map
+     */
+    @Nullable
+    default V fetchResult(final K id, final FieldProjection projection) {
+        return this.fetchResult(id);
+    }
+
+    /**
+     * Fetches a single value from the given id, only including the fields of the projection, from a state that
+     * reflects at least the given position.
+     *
+     * @param id          resource to fetch from
+     * @param projection  fields of the value that are required
+     * @param minPosition position token the state must have reached
+     * @return parsed json as Map
+     */
+    @Nullable
+    V fetchResult(final K id, final FieldProjection projection, final String minPosition);
+
+    /**
+     * Fetches a single value from the given id together with the position of the state it was read from.
+     *
+     * <p>
+     * By default, positions are not supported.
+     *
+     * @param id resource to fetch from
+     * @return the value, which is null if the id does not exist, and its position
+     */
+    default PositionedValue<V> fetchResultWithPosition(final K id) {
+        throw new UnsupportedOperationException("Positions are not supported by " + this.getClass().getName());
+    }
+
+    /**
+     * Fetches a list of values from multiple ids, only including the fields of the projection.
+     *
+     * @see #fetchResult(Object, FieldProjection)
+     */
+    @Nullable
+    default List<V> fetchResults(final List<K> ids, final FieldProjection projection) {
+        return this.fetchResults(ids);
+    }
+
+    /**
+     * Fetches a list of values from multiple ids, only including the fields of the projection, from a state that
+     * reflects at least the given position.
+     *
+     * @see #fetchResult(Object, FieldProjection, String)
+     */
+    @Nullable
+    List<V> fetchResults(final List<K> ids, final FieldProjection projection, final String minPosition);
+
+    /**
+     * Fetches all values matching the filter, only including the fields of the projection.
+     *
+     * <p>
+     * The filter is evaluated by the resource, so that only matching values are transferred.
+     *
+     * @see #fetchResult(Object, FieldProjection)
+     */
+    @Nullable
+    List<V> fetchList(final FieldProjection projection, @Nullable final ValueFilter filter);
+
+    /**
+     * Fetches a range of values matching the filter, only including the fields of the projection.
+     *
+     * @see #fetchList(FieldProjection, ValueFilter)
+     */
+    @Nullable
+    List<V> fetchRange(final K id, final String from, final String to, final FieldProjection projection,
+        @Nullable final ValueFilter filter);
+
+    /**
+     * Aggregates all values matching the filter.
+     *
+     * <p>
+     * The values are aggregated by the resource, so that only the aggregate is transferred.
+     *
+     * @param field  optional numeric field to aggregate, if null the values are only counted
+     * @param filter optional filter on the aggregated values
+     * @return the aggregate of the matching values
+     */
+    Aggregate aggregateList(@Nullable final String field, @Nullable final ValueFilter filter);
+
+    /**
+     * Aggregates a range of values matching the filter.
+     *
+     * @see #aggregateList(String, ValueFilter)
+     */
+    Aggregate aggregateRange(final K id, final String from, final String to, @Nullable final String field,
+        @Nullable final ValueFilter filter);
+
+    /**
+     * Eagerly initializes everything required for fetching values, e.g., the routing information of the mirror.
+     *
+     * <p>
+     * By default, nothing is initialized.
+     */
+    default void initialize() {
+    }
+
+    /**
+     * Discards everything derived from the topic data, so that the next request uses the current topic data.
+     *
+     * <p>
+     * By default, nothing is discarded.
+     */
+    default void reset() {
+    }
 }
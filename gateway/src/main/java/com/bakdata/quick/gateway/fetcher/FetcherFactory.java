@@ -18,17 +18,20 @@ package com.bakdata.quick.gateway.fetcher;
 
 import com.bakdata.quick.common.api.client.HttpClient;
 import com.bakdata.quick.common.api.client.mirror.PartitionedMirrorClientFactory;
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
 import com.bakdata.quick.common.config.KafkaConfig;
 import com.bakdata.quick.common.type.ConversionProvider;
 import com.bakdata.quick.common.type.QuickTopicData;
 import com.bakdata.quick.common.type.QuickTopicType;
 import com.bakdata.quick.common.type.TopicTypeService;
 import com.bakdata.quick.common.util.Lazy;
+import com.bakdata.quick.gateway.GatewayWarmer;
 import com.bakdata.quick.gateway.fetcher.subscription.KafkaSubscriptionProvider;
-import com.bakdata.quick.gateway.fetcher.subscription.SubscriptionFetcher;
+import com.bakdata.quick.gateway.fetcher.subscription.KafkaSubscriptionProvider.OffsetStrategy;
+import com.bakdata.quick.gateway.fetcher.subscription.ResumableSubscriptionFetcher;
+import com.bakdata.quick.gateway.fetcher.subscription.SubscriptionHub;
 import com.bakdata.quick.gateway.fetcher.subscription.SubscriptionProvider;
 import com.bakdata.quick.gateway.ingest.KafkaIngestService;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import graphql.Scalars;
@@ -37,12 +40,18 @@ import graphql.language.NamedNode;
 import graphql.language.TypeName;
 import graphql.scalars.ExtendedScalars;
 import graphql.schema.DataFetcher;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.reactivex.Single;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.serialization.Serde;
 import org.reactivestreams.Publisher;
@@ -54,10 +63,20 @@ import org.reactivestreams.Publisher;
 @Slf4j
 public class FetcherFactory {
     private final KafkaConfig kafkaConfig;
-    private final ObjectMapper objectMapper;
     private final ClientSupplier clientSupplier;
     private final TopicTypeService topicTypeService;
     private final ConversionProvider conversionProvider;
+    private final KafkaIngestService ingestService;
+    private final GatewayWarmer warmer;
+    private final Optional<MeterRegistry> meterRegistry;
+
+    /**
+     * Topic data, clients, and subscription hubs shared by all data fetchers of a topic, even across schema updates.
+     * They are reset when the topic data of their topic changes.
+     */
+    private final Map<String, Lazy<?>> topicData;
+    private final Map<ClientKey, DataFetcherClient<?, ?>> clients;
+    private final Map<String, SubscriptionHub<?, ?>> subscriptionHubs;
 
     private static final Map<String, QuickTopicType> typeMap = Map.of(
         Scalars.GraphQLInt.getName(), QuickTopicType.INTEGER,
@@ -68,16 +87,33 @@ public class FetcherFactory {
 
     /**
      * Visible for testing.
+     *
+     * <p>
+     * The ingest service is owned by the caller, so that its producers are closed with it.
      */
     @VisibleForTesting
-    public FetcherFactory(final KafkaConfig kafkaConfig, final ObjectMapper objectMapper,
-        final TopicTypeService topicTypeService,
-        final ClientSupplier clientSupplier, final ConversionProvider conversionProvider) {
+    public FetcherFactory(final KafkaConfig kafkaConfig, final TopicTypeService topicTypeService,
+        final ClientSupplier clientSupplier, final ConversionProvider conversionProvider,
+        final KafkaIngestService ingestService) {
+        this(kafkaConfig, topicTypeService, clientSupplier, conversionProvider, ingestService, new GatewayWarmer(),
+            Optional.empty());
+    }
+
+    private FetcherFactory(final KafkaConfig kafkaConfig, final TopicTypeService topicTypeService,
+        final ClientSupplier clientSupplier, final ConversionProvider conversionProvider,
+        final KafkaIngestService ingestService, final GatewayWarmer warmer,
+        final Optional<MeterRegistry> meterRegistry) {
         this.kafkaConfig = kafkaConfig;
-        this.objectMapper = objectMapper;
         this.topicTypeService = topicTypeService;
         this.clientSupplier = clientSupplier;
         this.conversionProvider = conversionProvider;
+        this.ingestService = ingestService;
+        this.warmer = warmer;
+        this.meterRegistry = meterRegistry;
+        this.topicData = new ConcurrentHashMap<>();
+        this.clients = new ConcurrentHashMap<>();
+        this.subscriptionHubs = new ConcurrentHashMap<>();
+        topicTypeService.addTopicDataListener(this::refreshTopic);
     }
 
     /**
@@ -87,17 +123,19 @@ public class FetcherFactory {
      */
     @Inject
     public FetcherFactory(final KafkaConfig kafkaConfig, final HttpClient client,
-        final TopicTypeService topicTypeService, final ConversionProvider conversionProvider) {
-        this(kafkaConfig, client.objectMapper(), topicTypeService,
-            new DefaultClientSupplier(client, new PartitionedMirrorClientFactory()), conversionProvider);
+        final TopicTypeService topicTypeService, final ConversionProvider conversionProvider,
+        final KafkaIngestService ingestService, final GatewayWarmer warmer,
+        final Optional<MeterRegistry> meterRegistry) {
+        this(kafkaConfig, topicTypeService,
+            new DefaultClientSupplier(client, new PartitionedMirrorClientFactory()), conversionProvider,
+            ingestService, warmer, meterRegistry);
     }
 
     /**
      * Creates a {@link QueryKeyArgumentFetcher}.
      */
     public <K, V> DataFetcher<V> queryFetcher(final String topic, final String argument, final boolean isNullable) {
-        final Lazy<QuickTopicData<K, V>> topicData = this.getTopicData(topic);
-        final DataFetcherClient<K, V> client = this.clientSupplier.createClient(topic, topicData);
+        final DataFetcherClient<K, V> client = this.getClient(topic);
         return new QueryKeyArgumentFetcher<>(argument, client, isNullable);
     }
 
@@ -105,9 +143,9 @@ public class FetcherFactory {
      * Creates a {@link QueryListFetcher}.
      */
     public <K, V> DataFetcher<List<V>> queryListFetcher(final String topic, final boolean isNullable,
-        final boolean hasNullableElements) {
-        final DataFetcherClient<K, V> client = this.clientSupplier.createClient(topic, this.getTopicData(topic));
-        return new QueryListFetcher<>(client, isNullable, hasNullableElements);
+        final boolean hasNullableElements, @Nullable final String whereArgument) {
+        final DataFetcherClient<K, V> client = this.getClient(topic);
+        return new QueryListFetcher<>(client, isNullable, hasNullableElements, whereArgument);
     }
 
     /**
@@ -115,7 +153,7 @@ public class FetcherFactory {
      */
     public <K, V> DataFetcher<List<V>> listArgumentFetcher(final String topic, final String argument,
         final boolean isNullable, final boolean hasNullableElements) {
-        final DataFetcherClient<K, V> client = this.clientSupplier.createClient(topic, this.getTopicData(topic));
+        final DataFetcherClient<K, V> client = this.getClient(topic);
         return new ListArgumentFetcher<>(argument, client, isNullable, hasNullableElements);
     }
 
@@ -123,27 +161,46 @@ public class FetcherFactory {
      * Creates a {@link RangeQueryFetcher}.
      */
     public <K, V> DataFetcher<List<V>> rangeFetcher(final String topic, final String argument, final String rangeFrom,
-        final String rangeTo, final boolean isNullable, final NamedNode<TypeName> type) {
+        final String rangeTo, final boolean isNullable, final NamedNode<TypeName> type,
+        @Nullable final String whereArgument) {
         final QuickTopicType quickTopicType = Objects.requireNonNull(typeMap.get(type.getName()));
 
-        final Serde<K> keySerde = this.conversionProvider.getSerde(quickTopicType, true);
-        final Lazy<QuickTopicData<Object, V>> topicData = this.getTopicData(topic);
-        final DataFetcherClient<K, V> client = this.clientSupplier.createClient(topic, keySerde, topicData);
-        return new RangeQueryFetcher<>(argument, client, rangeFrom, rangeTo, isNullable);
+        final DataFetcherClient<K, V> client = this.getRangeClient(topic, quickTopicType);
+        return new RangeQueryFetcher<>(argument, client, rangeFrom, rangeTo, isNullable, whereArgument);
+    }
+
+    /**
+     * Creates a {@link QueryAggregateFetcher}.
+     */
+    public <K, V> DataFetcher<Aggregate> queryAggregateFetcher(final String topic,
+        @Nullable final String aggregateField, @Nullable final String whereArgument) {
+        final DataFetcherClient<K, V> client = this.getClient(topic);
+        return new QueryAggregateFetcher<>(client, aggregateField, whereArgument);
+    }
+
+    /**
+     * Creates a {@link RangeAggregateFetcher}.
+     */
+    public <K, V> DataFetcher<Aggregate> rangeAggregateFetcher(final String topic, final String argument,
+        final String rangeFrom, final String rangeTo, final NamedNode<TypeName> type,
+        @Nullable final String aggregateField, @Nullable final String whereArgument) {
+        final QuickTopicType quickTopicType = Objects.requireNonNull(typeMap.get(type.getName()));
+
+        final DataFetcherClient<K, V> client = this.getRangeClient(topic, quickTopicType);
+        return new RangeAggregateFetcher<>(argument, client, rangeFrom, rangeTo, aggregateField, whereArgument);
     }
 
     /**
      * Creates a {@link MutationFetcher}.
      */
-    public <K, V> DataFetcher<V> mutationFetcher(final String topic, final String keyArgumentName,
+    public <K, V> DataFetcher<CompletableFuture<?>> mutationFetcher(final String topic, final String keyArgumentName,
         final String valueArgumentName) {
         final Lazy<QuickTopicData<K, V>> data = this.getTopicData(topic);
         return new MutationFetcher<>(topic,
             keyArgumentName,
             valueArgumentName,
             data,
-            new KafkaIngestService(this.topicTypeService, this.kafkaConfig),
-            this.objectMapper
+            this.ingestService
         );
     }
 
@@ -151,24 +208,23 @@ public class FetcherFactory {
      * Creates a {@link ListFieldFetcher}.
      */
     public <V> DataFetcher<List<V>> listFieldFetcher(final String topic, final String keyFieldName) {
-        return new ListFieldFetcher<>(keyFieldName, this.clientSupplier.createClient(topic, this.getTopicData(topic)));
+        return new ListFieldFetcher<>(keyFieldName, this.getClient(topic));
     }
 
     /**
      * Creates a {@link KeyFieldFetcher}.
      */
     public DataFetcher<Object> keyFieldFetcher(final String topic, final String keyFieldName, final TypeName type) {
-        return new KeyFieldFetcher<>(this.objectMapper, keyFieldName,
-            this.clientSupplier.createClient(topic, this.getTopicData(topic)), type);
+        return new KeyFieldFetcher<>(keyFieldName, this.getClient(topic), type);
     }
 
     /**
-     * Creates a {@link SubscriptionFetcher}.
+     * Creates a {@link ResumableSubscriptionFetcher}.
      */
-    public <K, V> DataFetcher<Publisher<V>> subscriptionFetcher(final String topic, final String operationName,
-        @Nullable final String argument) {
-        final Lazy<QuickTopicData<K, V>> topicData = this.getTopicData(topic);
-        return new SubscriptionFetcher<>(this.kafkaConfig, topicData, operationName, argument);
+    public <K, V> DataFetcher<Publisher<?>> subscriptionFetcher(final String topic, final String operationName,
+        @Nullable final String argument, @Nullable final String whereArgument) {
+        return new ResumableSubscriptionFetcher<>(
+            this.<K, V>subscriptionProvider(topic, operationName, argument, whereArgument));
     }
 
     /**
@@ -176,14 +232,23 @@ public class FetcherFactory {
      */
     public <K, V> SubscriptionProvider<K, V> subscriptionProvider(final String topic, final String operationName,
         @Nullable final String argument) {
-        return new KafkaSubscriptionProvider<>(this.kafkaConfig, this.getTopicData(topic), operationName, argument);
+        return this.subscriptionProvider(topic, operationName, argument, null);
     }
 
     /**
-     * Creates a {@link DataFetcherClient}.
+     * Creates a {@link KafkaSubscriptionProvider} filtering the values with the filter of the given argument.
+     */
+    public <K, V> SubscriptionProvider<K, V> subscriptionProvider(final String topic, final String operationName,
+        @Nullable final String argument, @Nullable final String whereArgument) {
+        return new KafkaSubscriptionProvider<>(this.<K, V>getSubscriptionHub(topic), operationName, argument,
+            whereArgument, this.getClient(topic));
+    }
+
+    /**
+     * Returns the {@link DataFetcherClient} of a topic.
      */
     public <K, V> DataFetcherClient<K, V> dataFetcherClient(final String topic) {
-        return this.clientSupplier.createClient(topic, this.getTopicData(topic));
+        return this.getClient(topic);
     }
 
     /**
@@ -193,11 +258,92 @@ public class FetcherFactory {
         return new DeferFetcher();
     }
 
-    private <K, V> Lazy<QuickTopicData<K, V>> getTopicData(final String topic) {
-        return new Lazy<>(() -> {
-            final Single<QuickTopicData<K, V>> topicData = this.topicTypeService.getTopicData(topic);
-            log.debug("Requesting topic data from topic {}", topic);
-            return topicData.blockingGet();
+    /**
+     * Discards the clients, topic data, and subscription hubs of all topics except the given ones.
+     *
+     * <p>
+     * This is called after a new schema is applied, so that later schemas only reuse clients of topics that are still
+     * in use. Discarded hubs stop consuming once their last subscription is canceled.
+     */
+    public void retainTopics(final Collection<String> topics) {
+        this.topicData.keySet().retainAll(topics);
+        this.subscriptionHubs.keySet().retainAll(topics);
+        this.clients.keySet().removeIf(key -> !topics.contains(key.getTopic()));
+    }
+
+    /**
+     * Resets the topic data, clients, and subscription hub of a topic after its topic data changed.
+     *
+     * <p>
+     * The data fetchers of the current schema keep using them, so that they are reset instead of replaced.
+     */
+    private void refreshTopic(final String topic) {
+        final Lazy<?> data = this.topicData.get(topic);
+        if (data == null) {
+            return;
+        }
+        log.info("Topic data of topic {} changed: Reset its clients and subscriptions", topic);
+        data.reset();
+        this.clients.forEach((key, client) -> {
+            if (key.getTopic().equals(topic)) {
+                client.reset();
+            }
         });
+        final SubscriptionHub<?, ?> hub = this.subscriptionHubs.get(topic);
+        if (hub != null) {
+            hub.refresh();
+        }
+    }
+
+    @SuppressWarnings("unchecked") // all clients of a topic share its key and value types
+    private <K, V> DataFetcherClient<K, V> getClient(final String topic) {
+        final DataFetcherClient<?, ?> client = this.clients.computeIfAbsent(new ClientKey(topic, null),
+            key -> this.clientSupplier.createClient(topic, this.<Object, Object>getTopicData(topic)));
+        this.warmer.register(client::initialize);
+        return (DataFetcherClient<K, V>) client;
+    }
+
+    @SuppressWarnings("unchecked") // the key type is determined by the range's key type
+    private <K, V> DataFetcherClient<K, V> getRangeClient(final String topic, final QuickTopicType keyType) {
+        final DataFetcherClient<?, ?> client = this.clients.computeIfAbsent(new ClientKey(topic, keyType), key -> {
+            final Serde<Object> keySerde = this.conversionProvider.getSerde(keyType, true);
+            return this.clientSupplier.createClient(topic, keySerde, this.<Object, Object>getTopicData(topic));
+        });
+        this.warmer.register(client::initialize);
+        return (DataFetcherClient<K, V>) client;
+    }
+
+    @SuppressWarnings("unchecked") // all subscriptions of a topic share its key and value types
+    private <K, V> SubscriptionHub<K, V> getSubscriptionHub(final String topic) {
+        final SubscriptionHub<?, ?> hub = this.subscriptionHubs.computeIfAbsent(topic,
+            name -> SubscriptionHub.create(name, this.kafkaConfig, this.<Object, Object>getTopicData(name),
+                OffsetStrategy.LATEST, this.meterRegistry));
+        return (SubscriptionHub<K, V>) hub;
+    }
+
+    @SuppressWarnings("unchecked") // the topic data of a topic is the same for all its fetchers
+    private <K, V> Lazy<QuickTopicData<K, V>> getTopicData(final String topic) {
+        final Lazy<?> topicData = this.topicData.computeIfAbsent(topic, name -> new Lazy<>(() -> {
+            final Single<QuickTopicData<Object, Object>> data = this.topicTypeService.getTopicData(name);
+            log.debug("Requesting topic data from topic {}", name);
+            return data.blockingGet();
+        }));
+        // registered on every use, so that failed initializations are retried with a new schema
+        this.warmer.register(topicData::get);
+        return (Lazy<QuickTopicData<K, V>>) topicData;
+    }
+
+    /**
+     * Identifies a client.
+     *
+     * <p>
+     * Range queries may use another key type than the topic, so that they require their own client.
+     */
+    @Value
+    @SuppressWarnings("ObjectToString") // Lombok does that for us
+    private static class ClientKey {
+        String topic;
+        @Nullable
+        QuickTopicType rangeKeyType;
     }
 }
@@ -0,0 +1,99 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.gateway.fetcher;
+
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.bakdata.quick.gateway.directives.rest.RestDirective;
+import com.bakdata.quick.gateway.directives.topic.TopicDirective;
+import graphql.introspection.Introspection;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.SelectedField;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Derives the fields required from a mirror from the selection set of a query.
+ *
+ * <p>
+ * Fields resolved by other fetchers are not requested. Fields with the topic directive only require the key field of
+ * their parent, and fields with the rest directive only use their own arguments.
+ */
+final class FieldProjections {
+    private static final String PATH_SEPARATOR = "/";
+
+    private FieldProjections() {
+    }
+
+    /**
+     * Creates the projection of the fields selected in the environment.
+     *
+     * @param environment environment of the fetcher querying the mirror
+     * @return projection of the selected fields or all fields if they cannot be determined
+     */
+    static FieldProjection fromSelectionSet(final DataFetchingEnvironment environment) {
+        final DataFetchingFieldSelectionSet selectionSet = environment.getSelectionSet();
+        if (selectionSet == null) {
+            return FieldProjection.all();
+        }
+        final List<String> paths = new ArrayList<>();
+        if (!collectPaths(selectionSet, "", paths)) {
+            return FieldProjection.all();
+        }
+        return FieldProjection.fromPaths(paths);
+    }
+
+    /**
+     * Adds the paths of the immediate fields of the selection set and recurses into their selections.
+     *
+     * @return false if all fields of the selection set's parent are required
+     */
+    private static boolean collectPaths(final DataFetchingFieldSelectionSet selectionSet, final String prefix,
+        final List<String> paths) {
+        final List<SelectedField> fields = selectionSet.getImmediateFields();
+        if (fields.isEmpty()) {
+            return false;
+        }
+        for (final SelectedField field : fields) {
+            if (Introspection.TypeNameMetaFieldDef.getName().equals(field.getName())) {
+                continue;
+            }
+            final GraphQLFieldDefinition definition = field.getFieldDefinition();
+            final GraphQLDirective topicDirective = definition.getDirective(TopicDirective.DIRECTIVE_NAME);
+            if (topicDirective != null) {
+                final String keyField = TopicDirective.fromArguments(topicDirective.getArguments()).getKeyField();
+                if (keyField != null) {
+                    // the key field may be nested deeper in the value if it is not part of the type
+                    if (field.getObjectType().getFieldDefinition(keyField) == null) {
+                        return false;
+                    }
+                    paths.add(prefix + keyField);
+                }
+            } else if (definition.getDirective(RestDirective.DIRECTIVE_NAME) == null) {
+                final String path = prefix + field.getName();
+                final DataFetchingFieldSelectionSet nested = field.getSelectionSet();
+                if (nested == null || !collectPaths(nested, path + PATH_SEPARATOR, paths)) {
+                    paths.add(path);
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.gateway.fetcher;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor.JavaType;
+import com.google.protobuf.Message;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.generic.GenericEnumSymbol;
+import org.apache.avro.generic.GenericRecord;
+
+/**
+ * Extracts the value of a field from Avro records, protobuf messages and JSON maps.
+ *
+ * <p>
+ * The field is searched depth-first, so that it may also be nested in another record. For Avro and protobuf, the path
+ * to the field is computed once per schema or descriptor. It is then followed with {@link GenericRecord#get(int)} and
+ * {@link Message#getField(FieldDescriptor)} respectively, without converting the whole parent.
+ */
+class KeyFieldExtractor {
+    private final String fieldName;
+    // an empty path means that the type has no such field
+    private final Map<Schema, List<Field>> avroPaths;
+    private final Map<Descriptor, List<FieldDescriptor>> protobufPaths;
+
+    KeyFieldExtractor(final String fieldName) {
+        this.fieldName = fieldName;
+        this.avroPaths = new ConcurrentHashMap<>();
+        this.protobufPaths = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the value of the field or null if the source has no value for it.
+     *
+     * <p>
+     * Avro strings and enums are returned as {@link CharSequence}, as well as 64-bit protobuf integers, which protobuf
+     * represents as strings in JSON.
+     */
+    @Nullable
+    Object extract(final Object source) {
+        if (source instanceof GenericRecord) {
+            return this.extractFromRecord((GenericRecord) source);
+        }
+        if (source instanceof Message) {
+            return this.extractFromMessage((Message) source);
+        }
+        if (source instanceof Map) {
+            return this.extractFromJson(source);
+        }
+        throw new IllegalArgumentException(
+            String.format("Cannot extract field %s from %s", this.fieldName, source.getClass().getName()));
+    }
+
+    @Nullable
+    private Object extractFromRecord(final GenericRecord record) {
+        final List<Field> path = this.avroPaths.computeIfAbsent(record.getSchema(),
+            schema -> this.findAvroPath(schema, new HashSet<>()));
+        if (path.isEmpty()) {
+            return null;
+        }
+        Object current = record;
+        for (final Field field : path) {
+            if (!(current instanceof GenericRecord)) {
+                return null;
+            }
+            final GenericRecord currentRecord = (GenericRecord) current;
+            // nested records of a union may have another schema than the one the path was computed for
+            final Field currentField = currentRecord.getSchema().getField(field.name());
+            if (currentField == null) {
+                return null;
+            }
+            current = currentRecord.get(currentField.pos());
+        }
+        if (current instanceof GenericEnumSymbol || current instanceof Enum) {
+            return current.toString();
+        }
+        return current;
+    }
+
+    private List<Field> findAvroPath(final Schema schema, final Set<String> visitedRecords) {
+        if (schema.getType() == Schema.Type.UNION) {
+            for (final Schema type : schema.getTypes()) {
+                final List<Field> path = this.findAvroPath(type, visitedRecords);
+                if (!path.isEmpty()) {
+                    return path;
+                }
+            }
+            return List.of();
+        }
+        if (schema.getType() != Schema.Type.RECORD || !visitedRecords.add(schema.getFullName())) {
+            return List.of();
+        }
+        for (final Field field : schema.getFields()) {
+            if (field.name().equals(this.fieldName)) {
+                return List.of(field);
+            }
+            final List<Field> nestedPath = this.findAvroPath(field.schema(), visitedRecords);
+            if (!nestedPath.isEmpty()) {
+                final List<Field> path = new ArrayList<>(nestedPath.size() + 1);
+                path.add(field);
+                path.addAll(nestedPath);
+                return List.copyOf(path);
+            }
+        }
+        return List.of();
+    }
+
+    @Nullable
+    private Object extractFromMessage(final Message message) {
+        final List<FieldDescriptor> path = this.protobufPaths.computeIfAbsent(message.getDescriptorForType(),
+            descriptor -> this.findProtobufPath(descriptor, new HashSet<>()));
+        if (path.isEmpty()) {
+            return null;
+        }
+        Message current = message;
+        Object value = null;
+        for (final FieldDescriptor field : path) {
+            // like the JSON representation, skip unset messages and oneof fields instead of returning their defaults
+            if ((field.getJavaType() == JavaType.MESSAGE || field.getContainingOneof() != null)
+                && !current.hasField(field)) {
+                return null;
+            }
+            value = current.getField(field);
+            if (value instanceof Message) {
+                current = (Message) value;
+            }
+        }
+        if (value instanceof EnumValueDescriptor) {
+            return ((EnumValueDescriptor) value).getName();
+        }
+        if (value instanceof Long) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private List<FieldDescriptor> findProtobufPath(final Descriptor descriptor, final Set<String> visitedMessages) {
+        if (!visitedMessages.add(descriptor.getFullName())) {
+            return List.of();
+        }
+        for (final FieldDescriptor field : descriptor.getFields()) {
+            if (field.getName().equals(this.fieldName) || field.getJsonName().equals(this.fieldName)) {
+                return List.of(field);
+            }
+            if (field.getJavaType() != JavaType.MESSAGE || field.isRepeated()) {
+                continue;
+            }
+            final List<FieldDescriptor> nestedPath = this.findProtobufPath(field.getMessageType(), visitedMessages);
+            if (!nestedPath.isEmpty()) {
+                final List<FieldDescriptor> path = new ArrayList<>(nestedPath.size() + 1);
+                path.add(field);
+                path.addAll(nestedPath);
+                return List.copyOf(path);
+            }
+        }
+        return List.of();
+    }
+
+    @Nullable
+    private Object extractFromJson(final Object json) {
+        if (json instanceof Map) {
+            final Map<?, ?> object = (Map<?, ?>) json;
+            for (final Map.Entry<?, ?> entry : object.entrySet()) {
+                if (this.fieldName.equals(entry.getKey())) {
+                    return entry.getValue();
+                }
+                final Object nestedValue = this.extractFromJson(entry.getValue());
+                if (nestedValue != null) {
+                    return nestedValue;
+                }
+            }
+        } else if (json instanceof List) {
+            for (final Object element : (List<?>) json) {
+                final Object nestedValue = this.extractFromJson(element);
+                if (nestedValue != null) {
+                    return nestedValue;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -16,22 +16,15 @@
 
 package com.bakdata.quick.gateway.fetcher;
 
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.bakdata.quick.common.exception.BadArgumentException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.protobuf.Message;
-import com.google.protobuf.util.JsonFormat;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import graphql.Scalars;
 import graphql.language.TypeName;
 import graphql.scalars.ExtendedScalars;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
-import java.io.IOException;
-import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.avro.generic.GenericRecord;
-import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
 
 /**
  * A Data Fetcher that resolves a field from a previous request.
@@ -62,29 +55,28 @@ import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
  * <p>
  * It is important to know the {@link TypeName} of the keyField, because it is possible to distinguish between the
  * integer and long type in the response JSON of the Mirror.
+ *
+ * <p>
+ * The key field is read directly from the parent, see {@link KeyFieldExtractor}.
  */
 @Slf4j
 public class KeyFieldFetcher<K, V> implements DataFetcher<Object> {
-    private final ObjectMapper objectMapper;
     private final String argument;
     private final DataFetcherClient<K, V> client;
-    private final JsonAvroConverter converter;
+    private final KeyFieldExtractor extractor;
     private final TypeName typeName;
 
     /**
      * Constructor.
      *
-     * @param objectMapper json handler
      * @param argument name of the argument to extract key from
      * @param client underlying HTTP mirror client
      * @param typeName the type name of the keyField field
      */
-    public KeyFieldFetcher(final ObjectMapper objectMapper, final String argument, final DataFetcherClient<K, V> client,
-        final TypeName typeName) {
-        this.objectMapper = objectMapper;
+    public KeyFieldFetcher(final String argument, final DataFetcherClient<K, V> client, final TypeName typeName) {
         this.argument = argument;
         this.client = client;
-        this.converter = new JsonAvroConverter();
+        this.extractor = new KeyFieldExtractor(argument);
         this.typeName = typeName;
     }
 
@@ -92,58 +84,40 @@ public class KeyFieldFetcher<K, V> implements DataFetcher<Object> {
     @Nullable
     public V get(final DataFetchingEnvironment environment) {
         final K keyArguments = this.findKeyArgument(environment);
-        return this.client.fetchResult(keyArguments);
+        final FieldProjection projection = FieldProjections.fromSelectionSet(environment);
+        final String minPosition = MinPositions.fromEnvironment(environment);
+        return minPosition == null
+            ? this.client.fetchResult(keyArguments, projection)
+            : this.client.fetchResult(keyArguments, projection, minPosition);
     }
 
+    @SuppressWarnings("unchecked")
     private K findKeyArgument(final DataFetchingEnvironment environment) {
-        final JsonNode parentJson;
-        try {
-            parentJson = this.extractJson(environment);
-            log.debug("Extracted the parent JSON: {}", parentJson);
-        } catch (final IOException e) {
-            throw new RuntimeException("Could not convert source for extracting key", e);
-        }
-        // parse json and try to find the value for our argument
-        final JsonNode node = parentJson.findValue(this.argument);
-        log.debug("Found JSON object for field {} with value {}", this.argument, node);
-        if (node == null) {
+        final Object value = this.extractor.extract(environment.getSource());
+        log.debug("Found value {} for field {}", value, this.argument);
+        if (value == null) {
             throw new IllegalArgumentException(
-                String.format("Field + %s could not be found in source.", this.argument));
+                String.format("Field %s could not be found in source.", this.argument));
         }
-        return (K) this.extractCorrectType(node);
+        return (K) this.extractCorrectType(value);
     }
 
-    private Object extractCorrectType(final JsonNode jsonNode) {
-        if (this.typeName.getName().equals(Scalars.GraphQLInt.getName())) {
-            return jsonNode.asInt();
-        } else if (jsonNode.isDouble()) {
-            return jsonNode.asDouble();
-        } else if (this.typeName.getName().equals(ExtendedScalars.GraphQLLong.getName())) {
-            return jsonNode.asLong();
-        } else if (jsonNode.isBoolean()) {
-            return jsonNode.asBoolean();
-        } else if (jsonNode.isTextual()) {
-            return jsonNode.textValue();
-        } else {
-            throw new BadArgumentException("Provided argument is not supported.");
-        }
-    }
-
-    private JsonNode extractJson(final DataFetchingEnvironment environment) throws IOException {
-        // TODO work on JSON everywhere:
-        //  1. Do not convert back to real types in MirrorDataFetcherClient
-        //  2. Immediately convert to JSON in SubscriptionFetcher
-        if (environment.getSource() instanceof GenericRecord) {
-            final GenericRecord record = environment.getSource();
-            return this.objectMapper.readTree(this.converter.convertToJson(record));
-        }
-
-        if (environment.getSource() instanceof Message) {
-            final Message source = environment.getSource();
-            return this.objectMapper.readTree(JsonFormat.printer().includingDefaultValueFields().print(source));
+    private Object extractCorrectType(final Object value) {
+        try {
+            if (this.typeName.getName().equals(Scalars.GraphQLInt.getName())) {
+                return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString());
+            } else if (value instanceof Double || value instanceof Float) {
+                return ((Number) value).doubleValue();
+            } else if (this.typeName.getName().equals(ExtendedScalars.GraphQLLong.getName())) {
+                return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString());
+            } else if (value instanceof Boolean) {
+                return value;
+            } else if (value instanceof CharSequence) {
+                return value.toString();
+            }
+        } catch (final NumberFormatException e) {
+            throw new BadArgumentException(String.format("Provided argument %s is not a number.", value));
         }
-
-        final Map<String, Object> value = environment.getSource();
-        return this.objectMapper.valueToTree(value);
+        throw new BadArgumentException("Provided argument is not supported.");
     }
 }
@@ -16,6 +16,7 @@
 
 package com.bakdata.quick.gateway.fetcher;
 
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
@@ -79,7 +80,11 @@ public class ListArgumentFetcher<K, V> implements DataFetcher<List<V>> {
         if (arguments instanceof List) {
             final List<K> stringArgument = new ArrayList<>(((Collection<K>) arguments));
             log.trace("Preparing list arguments {} to fetch from the data fetcher client (Mirror)", stringArgument);
-            results = this.dataFetcherClient.fetchResults(stringArgument);
+            final FieldProjection projection = FieldProjections.fromSelectionSet(environment);
+            final String minPosition = MinPositions.fromEnvironment(environment);
+            results = minPosition == null
+                ? this.dataFetcherClient.fetchResults(stringArgument, projection)
+                : this.dataFetcherClient.fetchResults(stringArgument, projection, minPosition);
         }
 
         if (results == null && !this.isNullable) {
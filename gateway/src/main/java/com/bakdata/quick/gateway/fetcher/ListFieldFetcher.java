@@ -16,6 +16,7 @@
 
 package com.bakdata.quick.gateway.fetcher;
 
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.bakdata.quick.common.exception.MirrorTopologyException;
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.Message;
@@ -47,7 +48,11 @@ public class ListFieldFetcher<K, V> implements DataFetcher<List<V>> {
     @Nullable
     public List<V> get(final DataFetchingEnvironment environment) {
         final List<K> keys = this.findKeys(environment);
-        return this.client.fetchResults(keys);
+        final FieldProjection projection = FieldProjections.fromSelectionSet(environment);
+        final String minPosition = MinPositions.fromEnvironment(environment);
+        return minPosition == null
+            ? this.client.fetchResults(keys, projection)
+            : this.client.fetchResults(keys, projection, minPosition);
     }
 
     private List<K> findKeys(final DataFetchingEnvironment environment) {
@@ -0,0 +1,62 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher;
+
+import com.bakdata.quick.gateway.directives.topic.TopicDirective;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLDirective;
+import java.util.Map;
+
+/**
+ * Looks up the minimum position a mirror's state must have reached for a query.
+ *
+ * <p>
+ * Clients pass the positions returned by the ingest service to the gateway, so that their queries reflect their own
+ * writes. The positions are kept per topic in the {@link GraphQLContext} of the request.
+ */
+public final class MinPositions {
+    /**
+     * Key of the map from topic name to position token in the {@link GraphQLContext}.
+     */
+    public static final String CONTEXT_KEY = "quick.minPositions";
+
+    private MinPositions() {
+    }
+
+    /**
+     * Finds the minimum position of the topic the field of the environment reads from.
+     *
+     * @param environment environment of the fetcher querying the mirror
+     * @return position token or null if the request does not require a position for the topic
+     */
+    @Nullable
+    static String fromEnvironment(final DataFetchingEnvironment environment) {
+        final Object context = environment.getContext();
+        if (!(context instanceof GraphQLContext)) {
+            return null;
+        }
+        final Map<String, String> minPositions = ((GraphQLContext) context).get(CONTEXT_KEY);
+        final GraphQLDirective topicDirective = environment.getFieldDefinition()
+            .getDirective(TopicDirective.DIRECTIVE_NAME);
+        if (minPositions == null || topicDirective == null) {
+            return null;
+        }
+        return minPositions.get(TopicDirective.fromArguments(topicDirective.getArguments()).getTopicName());
+    }
+}
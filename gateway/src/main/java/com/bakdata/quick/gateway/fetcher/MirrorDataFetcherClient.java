@@ -17,6 +17,10 @@
 package com.bakdata.quick.gateway.fetcher;
 
 import com.bakdata.quick.common.api.client.mirror.MirrorClient;
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.bakdata.quick.common.api.model.mirror.PositionedValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
 import com.bakdata.quick.common.util.Lazy;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.List;
@@ -44,6 +48,12 @@ public class MirrorDataFetcherClient<K, V> implements DataFetcherClient<K, V> {
         return this.mirrorClient.get().fetchValue(id);
     }
 
+    @Override
+    public PositionedValue<V> fetchResultWithPosition(final K id) {
+        log.trace("Preparing to send request for fetching a key {} with its position to Mirror", id);
+        return this.mirrorClient.get().fetchValueWithPosition(id);
+    }
+
     @Override
     @Nullable
     public List<V> fetchResults(final List<K> ids) {
@@ -66,4 +76,90 @@ public class MirrorDataFetcherClient<K, V> implements DataFetcherClient<K, V> {
             to);
         return this.mirrorClient.get().fetchRange(id, from, to);
     }
+
+    @Override
+    @Nullable
+    public V fetchResult(final K id, final FieldProjection projection) {
+        if (projection.isAll()) {
+            return this.fetchResult(id);
+        }
+        log.trace("Preparing to send request for fetching the fields {} of key {} to Mirror", projection, id);
+        return this.mirrorClient.get().fetchValue(id, projection);
+    }
+
+    @Override
+    @Nullable
+    public List<V> fetchResults(final List<K> ids, final FieldProjection projection) {
+        if (projection.isAll()) {
+            return this.fetchResults(ids);
+        }
+        log.trace("Preparing to send request for fetching the fields {} of ids {} to Mirror", projection, ids);
+        return this.mirrorClient.get().fetchValues(ids, projection);
+    }
+
+    @Override
+    @Nullable
+    public V fetchResult(final K id, final FieldProjection projection, final String minPosition) {
+        log.trace("Preparing to send request for fetching the fields {} of key {} at position {} to Mirror",
+            projection, id, minPosition);
+        return this.mirrorClient.get().fetchValue(id, projection, minPosition);
+    }
+
+    @Override
+    @Nullable
+    public List<V> fetchResults(final List<K> ids, final FieldProjection projection, final String minPosition) {
+        log.trace("Preparing to send request for fetching the fields {} of ids {} at position {} to Mirror",
+            projection, ids, minPosition);
+        return this.mirrorClient.get().fetchValues(ids, projection, minPosition);
+    }
+
+    @Override
+    @Nullable
+    public List<V> fetchList(final FieldProjection projection, @Nullable final ValueFilter filter) {
+        if (projection.isAll() && filter == null) {
+            return this.fetchList();
+        }
+        log.trace("Preparing to send request for fetching the fields {} of all keys matching {} from the Mirror",
+            projection, filter);
+        return this.mirrorClient.get().fetchAll(projection, filter);
+    }
+
+    @Override
+    @Nullable
+    public List<V> fetchRange(final K id, final String from, final String to, final FieldProjection projection,
+        @Nullable final ValueFilter filter) {
+        if (projection.isAll() && filter == null) {
+            return this.fetchRange(id, from, to);
+        }
+        log.trace("Preparing to send request for fetching the fields {} of key {} in range from {} to {} matching {}",
+            projection, id, from, to, filter);
+        return this.mirrorClient.get().fetchRange(id, from, to, projection, filter);
+    }
+
+    @Override
+    public Aggregate aggregateList(@Nullable final String field, @Nullable final ValueFilter filter) {
+        log.trace("Preparing to send request for aggregating field {} of all keys matching {} in the Mirror",
+            field, filter);
+        return this.mirrorClient.get().aggregateAll(field, filter);
+    }
+
+    @Override
+    public Aggregate aggregateRange(final K id, final String from, final String to, @Nullable final String field,
+        @Nullable final ValueFilter filter) {
+        log.trace("Preparing to send request for aggregating field {} of key {} in range from {} to {} matching {}",
+            field, id, from, to, filter);
+        return this.mirrorClient.get().aggregateRange(id, from, to, field, filter);
+    }
+
+    @Override
+    @SuppressWarnings("unused") // creating the client resolves the topic data and the partition routing
+    public void initialize() {
+        final MirrorClient<K, V> client = this.mirrorClient.get();
+    }
+
+    @Override
+    public void reset() {
+        // the mirror client holds the serdes and the partition routing of the previous topic data
+        this.mirrorClient.reset();
+    }
 }
@@ -17,34 +17,38 @@
 package com.bakdata.quick.gateway.fetcher;
 
 import com.bakdata.quick.common.api.model.KeyValuePair;
+import com.bakdata.quick.common.resolver.TypeResolver;
 import com.bakdata.quick.common.type.QuickTopicData;
 import com.bakdata.quick.common.util.Lazy;
 import com.bakdata.quick.gateway.ingest.KafkaIngestService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import edu.umd.cs.findbugs.annotations.Nullable;
 import graphql.GraphQLException;
 import graphql.GraphqlErrorException;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import io.reactivex.disposables.Disposable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * The data fetcher here is responsible for executing the mutation, which in our case is ingesting the data into the
  * topic. According to the GraphQL documents the mutation should return the newly updated values. See <a
  * href="https://graphql.org/learn/queries/#mutations">GraphQL Mutations</a>
+ *
+ * <p>
+ * If both the key and the value argument are lists, all pairs are ingested as a single batch and the list of values
+ * is returned. The fetcher does not wait for Kafka's acknowledgement but returns a future completing with it.
  */
 @Slf4j
-public class MutationFetcher<K, V> implements DataFetcher<V> {
+public class MutationFetcher<K, V> implements DataFetcher<CompletableFuture<?>> {
 
     private final String topic;
     private final String keyInputArgumentName;
     private final String valueInputArgumentName;
     private final Lazy<QuickTopicData<K, V>> topicData;
     private final KafkaIngestService kafkaIngestService;
-    private final ObjectMapper objectMapper;
 
     /**
      * Default Constructor.
@@ -59,51 +63,70 @@ public class MutationFetcher<K, V> implements DataFetcher<V> {
                            final String keyInputArgumentName,
                            final String valueInputArgumentName,
                            final Lazy<QuickTopicData<K, V>> quickTopicData,
-                           final KafkaIngestService kafkaIngestService,
-                           final ObjectMapper objectMapper) {
+                           final KafkaIngestService kafkaIngestService) {
 
         this.topic = topic;
         this.keyInputArgumentName = keyInputArgumentName;
         this.valueInputArgumentName = valueInputArgumentName;
         this.topicData = quickTopicData;
         this.kafkaIngestService = kafkaIngestService;
-        this.objectMapper = objectMapper;
     }
 
     @Override
-    @Nullable
-    public V get(final DataFetchingEnvironment environment) throws JsonProcessingException {
+    public CompletableFuture<?> get(final DataFetchingEnvironment environment) {
         log.debug("Incoming request: Ingest payload for topic {}", this.topic);
 
         final Optional<?> keyInputArgument = DeferFetcher.getArgument(this.keyInputArgumentName, environment);
         final Optional<?> valueInputArgument = DeferFetcher.getArgument(this.valueInputArgumentName, environment);
 
         if (keyInputArgument.isEmpty() || valueInputArgument.isEmpty()) {
-            throw GraphqlErrorException.newErrorException()
-                .message("key input in the mutation field should not be empty")
-                .sourceLocation(environment.getFieldDefinition().getArgument(this.keyInputArgumentName).getDefinition()
-                    .getSourceLocation())
-                .build();
+            throw this.emptyInputError(environment);
         }
 
-        // We only support conversion from String and therefore have to convert it back
-        final Object rawObject = valueInputArgument.get();
-        final String value;
-        if (rawObject instanceof Number || rawObject instanceof String) {
-            value = rawObject.toString();
-        } else {
-            value = this.objectMapper.writeValueAsString(rawObject);
-        }
-        final V resolvedValue = this.topicData.get().getValueData().getResolver().fromString(value);
+        final TypeResolver<V> resolver = this.topicData.get().getValueData().getResolver();
+        final Object keyInput = keyInputArgument.get();
+        final Object valueInput = valueInputArgument.get();
 
-        final KeyValuePair<?, ?> keyValuePair = new KeyValuePair<>(keyInputArgument.get(), resolvedValue);
+        if (keyInput instanceof List && valueInput instanceof List) {
+            final List<?> keys = (List<?>) keyInput;
+            final List<?> values = (List<?>) valueInput;
+            if (keys.size() != values.size()) {
+                throw GraphqlErrorException.newErrorException()
+                    .message(String.format("Got %d keys but %d values in the mutation field", keys.size(),
+                        values.size()))
+                    .build();
+            }
+            final List<KeyValuePair<Object, V>> keyValuePairs = new ArrayList<>(keys.size());
+            final List<V> resolvedValues = new ArrayList<>(values.size());
+            for (int i = 0; i < keys.size(); i++) {
+                if (keys.get(i) == null || values.get(i) == null) {
+                    throw this.emptyInputError(environment);
+                }
+                final V resolvedValue = resolver.fromObject(values.get(i));
+                keyValuePairs.add(new KeyValuePair<>(keys.get(i), resolvedValue));
+                resolvedValues.add(resolvedValue);
+            }
+            return this.send(keyValuePairs, resolvedValues);
+        }
 
-        final Throwable throwable = this.kafkaIngestService.sendData(this.topic, List.of(keyValuePair)).blockingGet();
+        final V resolvedValue = resolver.fromObject(valueInput);
+        return this.send(List.of(new KeyValuePair<>(keyInput, resolvedValue)), resolvedValue);
+    }
 
-        if (throwable != null) {
-            throw new GraphQLException(throwable);
-        }
+    @SuppressWarnings("unused") // nothing we can do with the disposable; the result will be in the future
+    private <T> CompletableFuture<T> send(final List<KeyValuePair<Object, V>> keyValuePairs, final T result) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Disposable disposable = this.kafkaIngestService.sendData(this.topic, keyValuePairs)
+            .subscribe(() -> future.complete(result),
+                throwable -> future.completeExceptionally(new GraphQLException(throwable)));
+        return future;
+    }
 
-        return resolvedValue;
+    private GraphqlErrorException emptyInputError(final DataFetchingEnvironment environment) {
+        return GraphqlErrorException.newErrorException()
+            .message("key input in the mutation field should not be empty")
+            .sourceLocation(environment.getFieldDefinition().getArgument(this.keyInputArgumentName).getDefinition()
+                .getSourceLocation())
+            .build();
     }
 }
@@ -0,0 +1,53 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher;
+
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * Data Fetcher that aggregates all values of a topic in the mirror.
+ */
+public class QueryAggregateFetcher<K, V> implements DataFetcher<Aggregate> {
+    private final DataFetcherClient<K, V> dataFetcherClient;
+    @Nullable
+    private final String aggregateField;
+    @Nullable
+    private final String whereArgument;
+
+    /**
+     * Standard constructor.
+     *
+     * @param dataFetcherClient underlying HTTP mirror client
+     * @param aggregateField    path of the numeric field to aggregate, or null for only counting the values
+     * @param whereArgument     name of the argument containing the filter
+     */
+    public QueryAggregateFetcher(final DataFetcherClient<K, V> dataFetcherClient,
+        @Nullable final String aggregateField, @Nullable final String whereArgument) {
+        this.dataFetcherClient = dataFetcherClient;
+        this.aggregateField = aggregateField;
+        this.whereArgument = whereArgument;
+    }
+
+    @Override
+    public Aggregate get(final DataFetchingEnvironment environment) {
+        return this.dataFetcherClient.aggregateList(this.aggregateField,
+            ValueFilters.fromArgument(this.whereArgument, environment));
+    }
+}
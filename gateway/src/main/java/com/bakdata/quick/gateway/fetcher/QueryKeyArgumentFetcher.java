@@ -16,6 +16,7 @@
 
 package com.bakdata.quick.gateway.fetcher;
 
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import graphql.execution.NonNullableFieldWasNullException;
 import graphql.schema.DataFetcher;
@@ -49,7 +50,12 @@ public class QueryKeyArgumentFetcher<K, T> implements DataFetcher<T> {
     public T get(final DataFetchingEnvironment environment) {
         final Object argumentValue = DeferFetcher.getArgument(this.argument, environment)
             .orElseThrow(() -> new RuntimeException("Could not find argument " + this.argument));
-        final T value = this.dataFetcherClient.fetchResult((K) argumentValue);
+        final K key = (K) argumentValue;
+        final FieldProjection projection = FieldProjections.fromSelectionSet(environment);
+        final String minPosition = MinPositions.fromEnvironment(environment);
+        final T value = minPosition == null
+            ? this.dataFetcherClient.fetchResult(key, projection)
+            : this.dataFetcherClient.fetchResult(key, projection, minPosition);
         if (value == null && !this.isNullable) {
             throw new NonNullableFieldWasNullException(environment.getExecutionStepInfo(),
                 environment.getExecutionStepInfo().getPath());
@@ -38,12 +38,14 @@ import java.util.stream.Collectors;
  *
  * <p>
  * There, the gateway must fetch all purchases from the corresponding mirror as there is no argument. This is done by
- * this data fetcher.
+ * this data fetcher. If the topic directive defines a whereArgument, the mirror only returns the matching purchases.
  */
 public class QueryListFetcher<K, T> implements DataFetcher<List<T>> {
     private final DataFetcherClient<K, T> dataFetcherClient;
     private final boolean isNullable;
     private final boolean hasNullableElements;
+    @Nullable
+    private final String whereArgument;
 
     /**
      * Standard constructor.
@@ -54,15 +56,30 @@ public class QueryListFetcher<K, T> implements DataFetcher<List<T>> {
      */
     public QueryListFetcher(final DataFetcherClient<K, T> dataFetcherClient, final boolean isNullable,
         final boolean hasNullableElements) {
+        this(dataFetcherClient, isNullable, hasNullableElements, null);
+    }
+
+    /**
+     * Constructor for filtered queries.
+     *
+     * @param dataFetcherClient mirror http client
+     * @param isNullable true if list itself can be null
+     * @param hasNullableElements true if list elements can be null
+     * @param whereArgument name of the argument containing the filter
+     */
+    public QueryListFetcher(final DataFetcherClient<K, T> dataFetcherClient, final boolean isNullable,
+        final boolean hasNullableElements, @Nullable final String whereArgument) {
         this.dataFetcherClient = dataFetcherClient;
         this.isNullable = isNullable;
         this.hasNullableElements = hasNullableElements;
+        this.whereArgument = whereArgument;
     }
 
     @Override
     @Nullable
     public List<T> get(final DataFetchingEnvironment environment) {
-        final List<T> values = this.dataFetcherClient.fetchList();
+        final List<T> values = this.dataFetcherClient.fetchList(FieldProjections.fromSelectionSet(environment),
+            ValueFilters.fromArgument(this.whereArgument, environment));
 
         // got null but schema doesn't allow null
         // semantically, there is no difference between null and an empty list for us in this case
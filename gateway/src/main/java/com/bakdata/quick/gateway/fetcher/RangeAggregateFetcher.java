@@ -0,0 +1,71 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher;
+
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * Data Fetcher that takes the query's key, rangeFrom, and rangeTo arguments and aggregates the values of the range in
+ * the mirror.
+ */
+public class RangeAggregateFetcher<K, V> implements DataFetcher<Aggregate> {
+    private final String argument;
+    private final String rangeFrom;
+    private final String rangeTo;
+    private final DataFetcherClient<K, V> dataFetcherClient;
+    @Nullable
+    private final String aggregateField;
+    @Nullable
+    private final String whereArgument;
+
+    /**
+     * Standard constructor.
+     *
+     * @param argument          name of the argument to extract key from
+     * @param dataFetcherClient underlying HTTP mirror client
+     * @param rangeFrom         name of the range from field
+     * @param rangeTo           name of the range to field
+     * @param aggregateField    path of the numeric field to aggregate, or null for only counting the values
+     * @param whereArgument     name of the argument containing the filter
+     */
+    public RangeAggregateFetcher(final String argument, final DataFetcherClient<K, V> dataFetcherClient,
+        final String rangeFrom, final String rangeTo, @Nullable final String aggregateField,
+        @Nullable final String whereArgument) {
+        this.argument = argument;
+        this.dataFetcherClient = dataFetcherClient;
+        this.rangeFrom = rangeFrom;
+        this.rangeTo = rangeTo;
+        this.aggregateField = aggregateField;
+        this.whereArgument = whereArgument;
+    }
+
+    @Override
+    public Aggregate get(final DataFetchingEnvironment environment) {
+        final Object argumentValue = DeferFetcher.getArgument(this.argument, environment)
+            .orElseThrow(() -> new RuntimeException("Could not find argument " + this.argument));
+        final String rangeFromValue = DeferFetcher.getArgument(this.rangeFrom, environment)
+            .orElseThrow(() -> new RuntimeException("Could not find argument " + this.rangeFrom)).toString();
+        final String rangeToValue = DeferFetcher.getArgument(this.rangeTo, environment)
+            .orElseThrow(() -> new RuntimeException("Could not find argument " + this.rangeTo)).toString();
+
+        return this.dataFetcherClient.aggregateRange((K) argumentValue, rangeFromValue, rangeToValue,
+            this.aggregateField, ValueFilters.fromArgument(this.whereArgument, environment));
+    }
+}
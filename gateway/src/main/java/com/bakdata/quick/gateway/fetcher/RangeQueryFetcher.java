@@ -32,6 +32,8 @@ public class RangeQueryFetcher<K, V> implements DataFetcher<List<V>> {
     private final String rangeTo;
     private final DataFetcherClient<K, V> dataFetcherClient;
     private final boolean isNullable;
+    @Nullable
+    private final String whereArgument;
 
     /**
      * Standard constructor.
@@ -45,11 +47,28 @@ public class RangeQueryFetcher<K, V> implements DataFetcher<List<V>> {
     public RangeQueryFetcher(final String argument,
         final DataFetcherClient<K, V> dataFetcherClient,
         final String rangeFrom, final String rangeTo, final boolean isNullable) {
+        this(argument, dataFetcherClient, rangeFrom, rangeTo, isNullable, null);
+    }
+
+    /**
+     * Constructor for filtered range queries.
+     *
+     * @param argument name of the argument to extract key from
+     * @param dataFetcherClient underlying HTTP mirror client
+     * @param rangeFrom name of the range from field
+     * @param rangeTo name of the range to field
+     * @param isNullable true if list itself can be null
+     * @param whereArgument name of the argument containing the filter
+     */
+    public RangeQueryFetcher(final String argument,
+        final DataFetcherClient<K, V> dataFetcherClient,
+        final String rangeFrom, final String rangeTo, final boolean isNullable, @Nullable final String whereArgument) {
         this.dataFetcherClient = dataFetcherClient;
         this.argument = argument;
         this.rangeFrom = rangeFrom;
         this.rangeTo = rangeTo;
         this.isNullable = isNullable;
+        this.whereArgument = whereArgument;
     }
 
     @Override
@@ -62,7 +81,8 @@ public class RangeQueryFetcher<K, V> implements DataFetcher<List<V>> {
         final String rangeToValue = DeferFetcher.getArgument(this.rangeTo, environment)
             .orElseThrow(() -> new RuntimeException("Could not find argument " + this.rangeTo)).toString();
 
-        final List<V> results = this.dataFetcherClient.fetchRange((K) argumentValue, rangeFromValue, rangeToValue);
+        final List<V> results = this.dataFetcherClient.fetchRange((K) argumentValue, rangeFromValue, rangeToValue,
+            FieldProjections.fromSelectionSet(environment), ValueFilters.fromArgument(this.whereArgument, environment));
 
         // got null but schema doesn't allow null
         // semantically, there is no difference between null and an empty list for us in this case
@@ -0,0 +1,50 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package com.bakdata.quick.gateway.fetcher;
+
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * Reads {@link ValueFilter} from arguments of type {@link com.bakdata.quick.gateway.custom.type.QuickFilterType}.
+ */
+public final class ValueFilters {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ValueFilters() {
+    }
+
+    /**
+     * Converts the value of the filter argument.
+     *
+     * @param argument    name of the filter argument, or null if the field cannot be filtered
+     * @param environment environment of the fetcher
+     * @return the filter, or null if no filter is set
+     */
+    @Nullable
+    public static ValueFilter fromArgument(@Nullable final String argument, final DataFetchingEnvironment environment) {
+        if (argument == null) {
+            return null;
+        }
+        return DeferFetcher.getArgument(argument, environment)
+            .map(value -> MAPPER.convertValue(value, ValueFilter.class))
+            .orElse(null);
+    }
+}
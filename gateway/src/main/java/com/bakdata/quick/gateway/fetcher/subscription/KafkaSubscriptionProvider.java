@@ -16,37 +16,47 @@
 
 package com.bakdata.quick.gateway.fetcher.subscription;
 
-import static org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG;
-import static org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG;
-import static org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG;
-
+import com.bakdata.quick.common.api.model.TopicPosition;
+import com.bakdata.quick.common.api.model.mirror.PositionedValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
 import com.bakdata.quick.common.config.KafkaConfig;
+import com.bakdata.quick.common.filter.ValueFilterPredicate;
 import com.bakdata.quick.common.type.QuickTopicData;
 import com.bakdata.quick.common.util.Lazy;
+import com.bakdata.quick.gateway.fetcher.DataFetcherClient;
+import com.bakdata.quick.gateway.fetcher.ValueFilters;
 import graphql.schema.DataFetchingEnvironment;
-import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.Properties;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
-import reactor.kafka.receiver.KafkaReceiver;
-import reactor.kafka.receiver.ReceiverOptions;
 
 /**
  * A subscription provider for Kafka topics.
  *
  * <p>
- * This creates a consumer for a given Kafka topic. It will push all elements written into this topic into the
- * subscription.
+ * This subscribes to the records of a given Kafka topic. It will push all elements written into this topic into the
+ * subscription. If a key argument is set, only elements with the requested key are pushed.
+ *
+ * <p>
+ * The records are consumed by a {@link SubscriptionHub}, which shares a single consumer between all subscriptions of
+ * the topic and routes each record only to the subscriptions interested in its key.
+ *
+ * <p>
+ * If a where argument is set, the filter it contains is compiled once per subscription and its fields are checked
+ * against the schema of the topic's values. It is evaluated on the deserialized values, so that records not matching
+ * it are dropped before GraphQL executes the selection set.
  *
  * <p>
- * The implementation relies on {@link KafkaReceiver}, a reactive Kafka consumer. The receiver does not
- * support multiple subscriber. Therefore, the results emitted by the receiver must be published as a hot observable.
+ * If a client for the topic's mirror is set, subscriptions with a key can start with the mirror's current value. The
+ * mirror responds with the position of its state, so that the subscription continues right after it.
  *
  * @param <K> kafka record's key type
  * @param <V> kafka record's value type
@@ -55,22 +65,48 @@ import reactor.kafka.receiver.ReceiverOptions;
 public class KafkaSubscriptionProvider<K, V> implements SubscriptionProvider<K, V> {
 
     private static final OffsetStrategy DEFAULT_AUTO_OFFSET = OffsetStrategy.LATEST;
-    private final KafkaConfig kafkaConfig;
+    private final SubscriptionHub<K, V> hub;
     @Nullable
     private final String key;
-    private final Lazy<QuickTopicData<K, V>> info;
     private final String queryName;
-    private final OffsetStrategy autoOffset;
-    private final AtomicInteger numberSubscriber;
-    // publisher emitting values for subscription
-    // initialized when subscription is first executed (which is later than applying the definition)
-    // TODO: cache correctly; should be aware of key (move key selection into fetcher)
     @Nullable
-    private Flux<ConsumerRecord<K, V>> publisher;
+    private final String whereArgument;
+    @Nullable
+    private final DataFetcherClient<K, V> snapshotClient;
+
+    /**
+     * Creates a new KafkaSubscriptionProvider with a shared hub.
+     *
+     * @param hub            hub consuming the topic
+     * @param queryName      name of the query the subscription is for
+     * @param key            key to filter on - can be null.
+     * @param whereArgument  name of the argument containing the filter on the values - can be null.
+     * @param snapshotClient client of the topic's mirror for snapshots - can be null.
+     */
+    public KafkaSubscriptionProvider(final SubscriptionHub<K, V> hub, final String queryName,
+        @Nullable final String key, @Nullable final String whereArgument,
+        @Nullable final DataFetcherClient<K, V> snapshotClient) {
+        this.hub = hub;
+        this.key = key;
+        this.queryName = queryName;
+        this.whereArgument = whereArgument;
+        this.snapshotClient = snapshotClient;
+    }
 
+    /**
+     * Creates a new KafkaSubscriptionProvider with a shared hub and without snapshots.
+     *
+     * @param hub       hub consuming the topic
+     * @param queryName name of the query the subscription is for
+     * @param key       key to filter on - can be null.
+     */
+    public KafkaSubscriptionProvider(final SubscriptionHub<K, V> hub, final String queryName,
+        @Nullable final String key) {
+        this(hub, queryName, key, null, null);
+    }
 
     /**
-     * Creates a new SubscriptionFetcher.
+     * Creates a new KafkaSubscriptionProvider with its own hub.
      *
      * @param kafkaConfig settings concerning bootstrap server and schema registry url
      * @param info        topic information
@@ -80,13 +116,7 @@ public class KafkaSubscriptionProvider<K, V> implements SubscriptionProvider<K,
      */
     public KafkaSubscriptionProvider(final KafkaConfig kafkaConfig, final Lazy<QuickTopicData<K, V>> info,
         final String queryName, final OffsetStrategy autoOffset, @Nullable final String key) {
-        this.kafkaConfig = kafkaConfig;
-        this.key = key;
-        this.info = info;
-        this.queryName = queryName;
-        this.autoOffset = autoOffset;
-        this.numberSubscriber = new AtomicInteger();
-        this.publisher = null;
+        this(SubscriptionHub.create(queryName, kafkaConfig, info, autoOffset, Optional.empty()), queryName, key);
     }
 
     public KafkaSubscriptionProvider(final KafkaConfig kafkaConfig, final Lazy<QuickTopicData<K, V>> info,
@@ -96,76 +126,94 @@ public class KafkaSubscriptionProvider<K, V> implements SubscriptionProvider<K,
 
     @Override
     public Flux<ConsumerRecord<K, V>> getElementStream(final DataFetchingEnvironment environment) {
-        // this method gets called for each new session, therefore we create the publisher once and then use it
-        if (this.publisher != null && this.numberSubscriber.get() > 0) {
-            log.debug("Use active publisher for query {}", this.queryName);
-            return this.publisher;
-        }
-
-        // setup properties for consumer
-        final Properties fetchingProps = new Properties();
-        fetchingProps.putAll(this.kafkaConfig.asProps());
-        fetchingProps.setProperty(CommonClientConfigs.GROUP_ID_CONFIG,
-            "subscription-" + this.queryName + "-" + System.currentTimeMillis());
-        fetchingProps.setProperty(KEY_DESERIALIZER_CLASS_CONFIG, getDeserializerName(this.info.get().getKeyData()));
-        fetchingProps.setProperty(VALUE_DESERIALIZER_CLASS_CONFIG, getDeserializerName(this.info.get().getValueData()));
-        fetchingProps.setProperty(AUTO_OFFSET_RESET_CONFIG, this.autoOffset.toString());
-        final String topic = this.info.get().getName();
-
-        // create a reactive kafka receiver. The used implementation handles a lot of non-trivial stuff like
-        // multi-threaded access and rebalancing operations.
-        final ReceiverOptions<K, V> options = ReceiverOptions.<K, V>create(fetchingProps)
-            .subscription(List.of(topic));
-        Flux<ConsumerRecord<K, V>> recordFlux = KafkaReceiver.create(options)
-            .receiveAutoAck()
-            .flatMap(flux -> flux);
+        // this method gets called for each new session, the hub shares the consumer between them
+        return this.filterValues(environment, this.hub.subscribe(this.getRequestedKey(environment)));
+    }
 
-        // handle filtering based on keys
-        if (this.key != null) {
-            final Object requestedKeyValue = Optional.ofNullable(environment.getArgument(this.key))
-                .orElseThrow(() -> new IllegalArgumentException("Could not get argument"));
+    @Override
+    public Flux<ConsumerRecord<K, V>> getElementStream(final DataFetchingEnvironment environment,
+        final ResumeToken start) {
+        log.debug("Resume query {} from {}", this.queryName, start);
+        return this.filterValues(environment, this.hub.resume(this.getRequestedKey(environment), start));
+    }
 
-            recordFlux = recordFlux.filter(consumerRecord -> consumerRecord.key().equals(requestedKeyValue));
+    @Override
+    public Flux<ConsumerRecord<K, V>> getElementStreamWithSnapshot(final DataFetchingEnvironment environment) {
+        final Object requestedKey = this.getRequestedKey(environment);
+        final DataFetcherClient<K, V> client = this.snapshotClient;
+        if (requestedKey == null || client == null) {
+            throw new IllegalArgumentException("Snapshots are only supported for subscriptions with a key argument");
         }
-        // Do NOT cache the results of the publisher
-        // this may lead to sending elements downstream multiple times if a subscriber renews the subscription
-        final Flux<ConsumerRecord<K, V>> consumerRecordFlux = recordFlux
-            .filter(this::removeNull)
-            .subscribeOn(Schedulers.single()); // run on a different thread since polling blocks
-
-        // this allows us to share the publisher between multiple subscribers
-        // only if there are 0 reference counts, it gets canceled
-        final Flux<ConsumerRecord<K, V>> hotPublisher = consumerRecordFlux.publish(1).refCount();
-
-        // we manually track the number of subscribers to ensure we don't accidentally reuse canceled flux
-        this.publisher = hotPublisher
-            .doOnSubscribe(sub -> this.addSubscriber())
-            .doFinally(reason -> this.removeSubscriber());
-
-        // Run hot publisher
-        return this.publisher;
+        log.debug("Start query {} with snapshot of key {}", this.queryName, requestedKey);
+        final Flux<ConsumerRecord<K, V>> records =
+            Mono.fromCallable(() -> client.fetchResultWithPosition(castKey(requestedKey)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(snapshot -> this.continueAfter(requestedKey, snapshot));
+        return this.filterValues(environment, records);
     }
 
-    private static String getDeserializerName(final QuickTopicData.QuickData<?> quickData) {
-        return quickData.getSerde().deserializer().getClass().getName();
+    /**
+     * Emits the snapshot and the records the mirror had not processed when reading it.
+     *
+     * <p>
+     * The position holds the last offset the mirror processed in the key's partition. Hence, the records start at the
+     * following offset, which avoids both gaps and duplicates. Only this gap is read with a short-lived consumer; all
+     * later records come from the consumer the hub shares between subscriptions. All other partitions can't contain the
+     * key and are read from now on.
+     */
+    private Flux<ConsumerRecord<K, V>> continueAfter(final Object requestedKey, final PositionedValue<V> snapshot) {
+        final String position = snapshot.getPosition();
+        if (position == null) {
+            throw new IllegalStateException("Mirror did not respond with the position of the snapshot");
+        }
+        final Map<Integer, Long> offsets = TopicPosition.fromToken(this.hub.getName(), position).getOffsets();
+        if (offsets.size() != 1) {
+            throw new IllegalStateException("Position of a snapshot must refer to the key's partition: " + position);
+        }
+        final Map<Integer, Long> nextOffsets = offsets.entrySet().stream()
+            .collect(Collectors.toMap(Entry::getKey, entry -> entry.getValue() + 1));
+        final Flux<ConsumerRecord<K, V>> updates =
+            this.hub.resume(requestedKey, new ResumeToken(System.currentTimeMillis(), nextOffsets));
+
+        final V value = snapshot.getValue();
+        if (value == null) {
+            return updates;
+        }
+        final Entry<Integer, Long> partitionOffset = offsets.entrySet().iterator().next();
+        final ConsumerRecord<K, V> snapshotRecord = new ConsumerRecord<>(this.hub.getName(), partitionOffset.getKey(),
+            partitionOffset.getValue(), castKey(requestedKey), value);
+        return updates.startWith(snapshotRecord);
     }
 
-    private void removeSubscriber() {
-        final int updatedSubscriber = this.numberSubscriber.decrementAndGet();
-        log.debug("Removed subscriber: Query {} has {} subscriber", this.queryName, updatedSubscriber);
+    private Flux<ConsumerRecord<K, V>> filterValues(final DataFetchingEnvironment environment,
+        final Flux<ConsumerRecord<K, V>> records) {
+        final ValueFilter filter = ValueFilters.fromArgument(this.whereArgument, environment);
+        if (filter == null) {
+            return records;
+        }
+        final Predicate<V> predicate = ValueFilterPredicate.compile(filter, RecordFieldLookup.INSTANCE);
+        // an unknown field would otherwise only fail the subscription once the first record arrives
+        this.hub.getValueSchema().ifPresent(schema -> ValueFilterPredicate.fieldPaths(filter)
+            .forEach(path -> RecordFieldLookup.validate(path, schema)));
+        return records.filter(consumerRecord -> predicate.test(consumerRecord.value()));
     }
 
-    private void addSubscriber() {
-        final int updatedSubscriber = this.numberSubscriber.incrementAndGet();
-        log.debug("New subscriber: Query {} has {} subscriber", this.queryName, updatedSubscriber);
+    @SuppressWarnings("unchecked") // the argument's type is derived from the topic's key type
+    private static <K> K castKey(final Object requestedKey) {
+        return (K) requestedKey;
     }
 
-    private boolean removeNull(final ConsumerRecord<K, V> consumerRecord) {
-        if (consumerRecord == null || consumerRecord.key() == null || consumerRecord.value() == null) {
-            log.warn("null in query {}", this.queryName);
-            return false;
+    @Nullable
+    private Object getRequestedKey(final DataFetchingEnvironment environment) {
+        if (this.key == null) {
+            return null;
         }
-        return true;
+
+        // handle filtering based on keys
+        final Object requestedKeyValue = Optional.ofNullable(environment.getArgument(this.key))
+            .orElseThrow(() -> new IllegalArgumentException("Could not get argument"));
+        log.debug("Subscribe to key {} for query {}", requestedKeyValue, this.queryName);
+        return requestedKeyValue;
     }
 
     /**
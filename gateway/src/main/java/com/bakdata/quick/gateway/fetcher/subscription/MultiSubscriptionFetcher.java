@@ -16,18 +16,28 @@
 
 package com.bakdata.quick.gateway.fetcher.subscription;
 
+import com.bakdata.quick.gateway.SubscriptionCacheConfig;
+import com.bakdata.quick.gateway.custom.type.QuickConflateDirective;
 import com.bakdata.quick.gateway.fetcher.DataFetcherClient;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.SelectedField;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
@@ -44,11 +54,16 @@ import reactor.core.publisher.Mono;
  * This data fetcher works by subscribing to multiple topics with a {@link KafkaSubscriptionProvider}. When a new query
  * comes in, it subscribes to the Kafka Subscriber for all selected fields. Whenever a subscriber emits an event, the
  * data for the other selected fields is fetched through the mirror.
+ *
+ * <p>
+ * The events are processed in small batches. The missing fields of all events in a batch are loaded together with one
+ * request per field, see {@link FieldLoader}.
  */
 @Slf4j
 public class MultiSubscriptionFetcher<K> implements DataFetcher<Publisher<Map<String, Object>>> {
+    private static final String DEFAULT_CACHE_NAME = "default";
+    private static final String CACHE_METRICS_PREFIX = "subscription-";
 
-    public static final int CACHE_SIZE = 5_000;
     private final Map<String, DataFetcherClient<K, ?>> fieldDataFetcherClients;
     /**
      * A cache for all field values.
@@ -60,6 +75,8 @@ public class MultiSubscriptionFetcher<K> implements DataFetcher<Publisher<Map<St
     private final AsyncLoadingCache<FieldKey<K>, Object> fieldCache;
     private final Map<String, SubscriptionProvider<K, ?>> fieldSubscriptionProviders;
     private final FieldSelector fieldSelector;
+    private final int batchSize;
+    private final Duration batchDelay;
 
     /**
      * Default constructor.
@@ -69,7 +86,23 @@ public class MultiSubscriptionFetcher<K> implements DataFetcher<Publisher<Map<St
      */
     public MultiSubscriptionFetcher(final Map<String, DataFetcherClient<K, ?>> fieldDataFetcherClients,
         final Map<String, SubscriptionProvider<K, ?>> fieldSubscriptionProviders) {
-        this(fieldDataFetcherClients, fieldSubscriptionProviders, MultiSubscriptionFetcher::getSelectedFields);
+        this(fieldDataFetcherClients, fieldSubscriptionProviders, new SubscriptionCacheConfig(DEFAULT_CACHE_NAME),
+            Optional.empty());
+    }
+
+    /**
+     * Constructor with a configured field cache.
+     *
+     * @param fieldDataFetcherClients map of fields to their fetching clients
+     * @param fieldSubscriptionProviders map of field to their subscription providers
+     * @param cacheConfig configuration of the field cache
+     * @param meterRegistry registry for the cache metrics, empty if metrics are disabled
+     */
+    public MultiSubscriptionFetcher(final Map<String, DataFetcherClient<K, ?>> fieldDataFetcherClients,
+        final Map<String, SubscriptionProvider<K, ?>> fieldSubscriptionProviders,
+        final SubscriptionCacheConfig cacheConfig, final Optional<MeterRegistry> meterRegistry) {
+        this(fieldDataFetcherClients, fieldSubscriptionProviders, MultiSubscriptionFetcher::getSelectedFields,
+            cacheConfig, meterRegistry);
     }
 
     /**
@@ -83,18 +116,36 @@ public class MultiSubscriptionFetcher<K> implements DataFetcher<Publisher<Map<St
     MultiSubscriptionFetcher(final Map<String, DataFetcherClient<K, ?>> fieldDataFetcherClients,
         final Map<String, SubscriptionProvider<K, ?>> fieldSubscriptionProviders,
         final FieldSelector fieldSelector) {
+        this(fieldDataFetcherClients, fieldSubscriptionProviders, fieldSelector,
+            new SubscriptionCacheConfig(DEFAULT_CACHE_NAME), Optional.empty());
+    }
+
+    private MultiSubscriptionFetcher(final Map<String, DataFetcherClient<K, ?>> fieldDataFetcherClients,
+        final Map<String, SubscriptionProvider<K, ?>> fieldSubscriptionProviders,
+        final FieldSelector fieldSelector, final SubscriptionCacheConfig cacheConfig,
+        final Optional<MeterRegistry> meterRegistry) {
         this.fieldDataFetcherClients = fieldDataFetcherClients;
         this.fieldSubscriptionProviders = fieldSubscriptionProviders;
         this.fieldSelector = fieldSelector;
-        this.fieldCache = Caffeine.newBuilder().maximumSize(CACHE_SIZE).buildAsync(this::loadField);
+        this.batchSize = cacheConfig.getBatchSize();
+        this.batchDelay = cacheConfig.getBatchDelay();
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(cacheConfig.getMaximumSize());
+        cacheConfig.getExpireAfterWrite().ifPresent(cacheBuilder::expireAfterWrite);
+        if (meterRegistry.isPresent()) {
+            cacheBuilder.recordStats();
+        }
+        this.fieldCache = cacheBuilder.buildAsync(new FieldLoader());
+        meterRegistry.ifPresent(registry -> monitor(registry, this.fieldCache,
+            CACHE_METRICS_PREFIX + cacheConfig.getName()));
     }
 
     @Override
     public Publisher<Map<String, Object>> get(final DataFetchingEnvironment environment) {
         final List<String> selectedFields = this.fieldSelector.selectFields(environment);
-        final Flux<? extends NamedRecord<K, ?>> combinedElementsStream =
-            this.combineElementStreams(selectedFields, environment);
-        return combinedElementsStream.flatMap(namedRecord -> this.createComplexType(namedRecord, selectedFields));
+        return this.combineElementStreams(selectedFields, environment)
+            .bufferTimeout(this.batchSize, this.batchDelay)
+            .concatMap(batch -> this.createComplexTypes(batch, selectedFields));
     }
 
     /**
@@ -117,41 +168,67 @@ public class MultiSubscriptionFetcher<K> implements DataFetcher<Publisher<Map<St
     }
 
     /**
-     * Adds all values except the one we got from Kafka.
+     * Binds the metrics of the field cache, replacing the meters of a previous cache with the same name.
+     *
+     * <p>
+     * Each schema update creates new fetchers and thereby new caches. Micrometer keeps the meters registered first, so
+     * that they would otherwise still report the cache of the outdated fetcher.
+     */
+    private static void monitor(final MeterRegistry registry, final AsyncLoadingCache<?, ?> cache,
+        final String cacheName) {
+        registry.getMeters().stream()
+            .filter(meter -> cacheName.equals(meter.getId().getTag("cache")))
+            .forEach(registry::remove);
+        CaffeineCacheMetrics.monitor(registry, cache, cacheName);
+    }
+
+    /**
+     * Adds all values except the one we got from Kafka to each record of the batch.
      *
      * <p>
      * There are two cases:
      * <ol>
      *     <il>We already got a value for this field from Kafka: We know this is the latest because of at-least once
      *     guarantees. Therefore we can add it from the cache.</il>
-     *     <il>We haven't seen one yet: We need to fetch it from Kafka.
-     *     We can also cache it since we get all updates.</il>
+     *     <il>We haven't seen one yet: We need to fetch it from the mirror. The missing fields of all records in the
+     *     batch are loaded together. We can also cache them since we get all updates.</il>
      * </ol>
      *
-     * @param namedRecord the record we got from Kafka
+     * @param batch the records we got from Kafka
      * @param selectedFields the fields selected by this query
-     * @return a map representing the selected object
+     * @return maps representing the selected object of each record
      */
-    private Mono<Map<String, Object>> createComplexType(final NamedRecord<K, ?> namedRecord,
+    private Flux<Map<String, Object>> createComplexTypes(final List<NamedRecord<K, ?>> batch,
         final List<String> selectedFields) {
+        for (final NamedRecord<K, ?> namedRecord : batch) {
+            this.updateFieldCache(namedRecord.getFieldName(), namedRecord.getConsumerRecord());
+        }
 
+        final Set<FieldKey<K>> fieldKeysToPopulate = batch.stream()
+            .flatMap(namedRecord -> selectedFields.stream()
+                .filter(fieldName -> !fieldName.equals(namedRecord.getFieldName()))
+                .map(fieldName -> new FieldKey<>(fieldName, namedRecord.getConsumerRecord().key())))
+            .collect(Collectors.toSet());
+
+        return Mono.fromFuture(this.fieldCache.getAll(fieldKeysToPopulate))
+            .flatMapIterable(fieldValues -> batch.stream()
+                .map(namedRecord -> createComplexType(namedRecord, selectedFields, fieldValues))
+                .collect(Collectors.toList()));
+    }
+
+    private static <K> Map<String, Object> createComplexType(final NamedRecord<K, ?> namedRecord,
+        final List<String> selectedFields, final Map<FieldKey<K>, Object> fieldValues) {
         final ConsumerRecord<K, ?> record = namedRecord.getConsumerRecord();
         // map holding the data for current key
         final Map<String, Object> complexType = new HashMap<>();
         complexType.put(namedRecord.getFieldName(), record.value());
-
-        this.updateFieldCache(namedRecord.getFieldName(), record);
-
-        final Flux<? extends FieldKey<K>> fieldKeysToPopulate = Flux.fromIterable(selectedFields)
-            .filter(fieldName -> !fieldName.equals(namedRecord.getFieldName()))
-            .map(fieldName -> new FieldKey<>(fieldName, record.key()));
-
-        final Flux<FieldValue<Object>> fieldValues = fieldKeysToPopulate.flatMap(this::getValueForKey);
-
-        return fieldValues.reduce(complexType, (map, fieldValue) -> {
-            map.put(fieldValue.getFieldName(), fieldValue.getValue());
-            return map;
-        });
+        for (final String fieldName : selectedFields) {
+            final Object value = fieldValues.get(new FieldKey<>(fieldName, record.key()));
+            if (!fieldName.equals(namedRecord.getFieldName()) && value != null) {
+                complexType.put(fieldName, value);
+            }
+        }
+        return complexType;
     }
 
     private void updateFieldCache(final String fieldName, final ConsumerRecord<K, ?> record) {
@@ -159,31 +236,16 @@ public class MultiSubscriptionFetcher<K> implements DataFetcher<Publisher<Map<St
         final CompletableFuture<?> recordValue =
             CompletableFuture.completedFuture(record.value());
 
-        log.info("Update field cache with polled record: Key {} has value {}", key, record.value());
+        log.trace("Update field cache with polled record of key {}", key);
         this.fieldCache.put(key, recordValue);
     }
 
-    /**
-     * Get the latest value from the {@link MultiSubscriptionFetcher#fieldCache}.
-     */
-    private Mono<FieldValue<Object>> getValueForKey(final FieldKey<K> fieldKey) {
-        return Mono.fromFuture(this.fieldCache.get(fieldKey))
-            .map(value -> new FieldValue<>(fieldKey.getFieldName(), value));
-    }
-
-    @Nullable
-    private Object loadField(final FieldKey<K> fieldKey) {
-        final DataFetcherClient<K, ?> client = this.fieldDataFetcherClients.get(fieldKey.getFieldName());
-        Objects.requireNonNull(client, () -> "No client found for field " + fieldKey.getFieldName());
-        return client.fetchResult(fieldKey.getKey());
-    }
-
     /**
      * Create one Flux that streams the elements of ALL topics selected by the user query.
      */
-    private Flux<? extends NamedRecord<K, ?>> combineElementStreams(final List<String> selectedFields,
+    private Flux<NamedRecord<K, ?>> combineElementStreams(final List<String> selectedFields,
         final DataFetchingEnvironment env) {
-        final List<Flux<? extends NamedRecord<K, ?>>> fluxes = selectedFields.stream()
+        final List<Flux<NamedRecord<K, ?>>> fluxes = selectedFields.stream()
             .map(name -> this.createSubscriptionFlux(env, name)).collect(Collectors.toList());
         return Flux.merge(fluxes);
     }
@@ -194,14 +256,89 @@ public class MultiSubscriptionFetcher<K> implements DataFetcher<Publisher<Map<St
      * <p>
      * The field name points to a topics for which a {@link SubscriptionProvider} emits the consumed records.
      */
-    private Flux<? extends NamedRecord<K, ?>> createSubscriptionFlux(final DataFetchingEnvironment env,
+    private Flux<NamedRecord<K, ?>> createSubscriptionFlux(final DataFetchingEnvironment env,
         final String name) {
         final SubscriptionProvider<K, ?> kafkaSubscriber = Objects.requireNonNull(
             this.fieldSubscriptionProviders.get(name),
             () -> "No subscription provider found for field " + name
         );
-        final Flux<? extends ConsumerRecord<K, ?>> elementStream = kafkaSubscriber.getElementStream(env);
-        return elementStream.map(consumerRecord -> new NamedRecord<>(name, consumerRecord));
+        return this.conflate(kafkaSubscriber, env)
+            .map(consumerRecord -> new NamedRecord<>(name, consumerRecord));
+    }
+
+    /**
+     * Conflates the records of each field separately, so that the field cache always receives the newest value.
+     */
+    private <V> Flux<ConsumerRecord<K, V>> conflate(final SubscriptionProvider<K, V> kafkaSubscriber,
+        final DataFetchingEnvironment env) {
+        final Flux<ConsumerRecord<K, V>> elementStream = kafkaSubscriber.getElementStream(env);
+        return QuickConflateDirective.getWindow(env)
+            .map(window -> RecordConflation.conflate(elementStream, window))
+            .orElse(elementStream);
+    }
+
+    /**
+     * Loads the values of fields missing in the cache from the mirror.
+     *
+     * <p>
+     * Missing fields are loaded with one request per field. The mirror returns the values in the order of the keys,
+     * with null for each missing key. If the values still can't be matched with their keys, they are loaded key by key.
+     */
+    private final class FieldLoader implements AsyncCacheLoader<FieldKey<K>, Object> {
+        @Override
+        public CompletableFuture<?> asyncLoad(final FieldKey<K> key, final Executor executor) {
+            return CompletableFuture.supplyAsync(() -> this.loadField(key.getFieldName(), key.getKey()), executor);
+        }
+
+        @Override
+        public CompletableFuture<? extends Map<? extends FieldKey<K>, ?>> asyncLoadAll(
+            final Set<? extends FieldKey<K>> keys, final Executor executor) {
+            final Map<String, List<K>> keysByField = keys.stream()
+                .collect(Collectors.groupingBy(FieldKey::getFieldName,
+                    Collectors.mapping(FieldKey::getKey, Collectors.toList())));
+            final List<CompletableFuture<Map<FieldKey<K>, Object>>> loads = new ArrayList<>();
+            keysByField.forEach((fieldName, fieldKeys) -> loads.add(
+                CompletableFuture.supplyAsync(() -> this.loadFields(fieldName, fieldKeys), executor)));
+            return CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    final Map<FieldKey<K>, Object> values = new HashMap<>();
+                    loads.forEach(load -> values.putAll(load.join()));
+                    return values;
+                });
+        }
+
+        private Map<FieldKey<K>, Object> loadFields(final String fieldName, final List<K> keys) {
+            final Map<FieldKey<K>, Object> values = new HashMap<>();
+            final List<?> fetchedValues = keys.size() == 1 ? null : this.getClient(fieldName).fetchResults(keys);
+            if (fetchedValues != null && fetchedValues.size() == keys.size()) {
+                for (int i = 0; i < keys.size(); i++) {
+                    putIfNotNull(values, new FieldKey<>(fieldName, keys.get(i)), fetchedValues.get(i));
+                }
+                return values;
+            }
+            log.debug("Load {} values of field {} key by key", keys.size(), fieldName);
+            for (final K key : keys) {
+                putIfNotNull(values, new FieldKey<>(fieldName, key), this.loadField(fieldName, key));
+            }
+            return values;
+        }
+
+        @Nullable
+        private Object loadField(final String fieldName, final K key) {
+            return this.getClient(fieldName).fetchResult(key);
+        }
+
+        private DataFetcherClient<K, ?> getClient(final String fieldName) {
+            final DataFetcherClient<K, ?> client = MultiSubscriptionFetcher.this.fieldDataFetcherClients.get(fieldName);
+            return Objects.requireNonNull(client, () -> "No client found for field " + fieldName);
+        }
+
+        private void putIfNotNull(final Map<FieldKey<K>, Object> values, final FieldKey<K> key,
+            @Nullable final Object value) {
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
     }
 
     /**
@@ -222,10 +359,4 @@ public class MultiSubscriptionFetcher<K> implements DataFetcher<Publisher<Map<St
         String fieldName;
         K key;
     }
-
-    @Value
-    private static class FieldValue<V> {
-        String fieldName;
-        V value;
-    }
 }
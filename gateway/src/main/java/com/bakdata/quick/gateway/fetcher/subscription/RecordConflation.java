@@ -0,0 +1,54 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import reactor.core.publisher.Flux;
+
+/**
+ * Utility for conflating the records of a subscription per key.
+ *
+ * @see com.bakdata.quick.gateway.custom.type.QuickConflateDirective
+ */
+public final class RecordConflation {
+    private RecordConflation() {
+    }
+
+    /**
+     * Emits only the newest record per key within each window.
+     *
+     * <p>
+     * The records of a window are emitted once it closes, in the order the keys first appeared in the window.
+     *
+     * @param records records of a subscription
+     * @param window  duration of a window
+     * @param <K>     type of the key
+     * @param <V>     type of the value
+     * @return flux with at most one record per key and window
+     */
+    public static <K, V> Flux<ConsumerRecord<K, V>> conflate(final Flux<ConsumerRecord<K, V>> records,
+        final Duration window) {
+        return records.window(window)
+            .concatMap(windowRecords -> windowRecords
+                .collect(LinkedHashMap<K, ConsumerRecord<K, V>>::new,
+                    (latestRecords, consumerRecord) -> latestRecords.put(consumerRecord.key(), consumerRecord))
+                .flatMapIterable(Map::values));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import com.bakdata.quick.common.exception.BadArgumentException;
+import com.bakdata.quick.common.filter.FieldLookup;
+import com.bakdata.quick.common.filter.FieldPath;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor.JavaType;
+import com.google.protobuf.Message;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchema;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+/**
+ * Looks up fields of the deserialized values of subscriptions, i.e., Avro records, Protobuf messages, and JSON maps.
+ */
+final class RecordFieldLookup implements FieldLookup {
+    static final FieldLookup INSTANCE = new RecordFieldLookup();
+
+    private RecordFieldLookup() {
+    }
+
+    @Override
+    @Nullable
+    public Object get(final Object value, final String field) {
+        if (value instanceof GenericRecord) {
+            final GenericRecord record = (GenericRecord) value;
+            final Schema.Field schemaField = record.getSchema().getField(field);
+            if (schemaField == null) {
+                throw new IllegalArgumentException(String.format("Could not find field with name %s", field));
+            }
+            return record.get(schemaField.pos());
+        }
+        if (value instanceof Message) {
+            final Message message = (Message) value;
+            final FieldDescriptor descriptor = message.getDescriptorForType().findFieldByName(field);
+            if (descriptor == null) {
+                throw new IllegalArgumentException(String.format("Could not find field with name %s", field));
+            }
+            return message.getField(descriptor);
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).get(field);
+        }
+        throw new IllegalArgumentException(
+            String.format("Could not find field %s in %s", field, value.getClass().getName()));
+    }
+
+    /**
+     * Checks that a path only consists of fields of the values' schema.
+     *
+     * <p>
+     * This rejects a filter before the subscription starts instead of failing it with the first record. JSON values
+     * have no fixed fields, so that their paths are not checked.
+     *
+     * @param path   path of a field in a filter
+     * @param schema schema of the values
+     * @throws BadArgumentException if one of the fields does not exist
+     */
+    static void validate(final FieldPath path, final ParsedSchema schema) {
+        if (schema instanceof AvroSchema) {
+            Schema current = ((AvroSchema) schema).rawSchema();
+            for (final String field : path.getFields()) {
+                final Schema record = findRecord(current);
+                final Schema.Field schemaField = record == null ? null : record.getField(field);
+                if (schemaField == null) {
+                    throw new BadArgumentException(String.format("Could not find field %s", path));
+                }
+                current = schemaField.schema();
+            }
+        } else if (schema instanceof ProtobufSchema) {
+            Descriptor current = ((ProtobufSchema) schema).toDescriptor();
+            for (final String field : path.getFields()) {
+                final FieldDescriptor descriptor = current == null ? null : current.findFieldByName(field);
+                if (descriptor == null) {
+                    throw new BadArgumentException(String.format("Could not find field %s", path));
+                }
+                current = descriptor.getJavaType() == JavaType.MESSAGE ? descriptor.getMessageType() : null;
+            }
+        }
+    }
+
+    /**
+     * Returns the record schema of a possibly optional field.
+     */
+    @Nullable
+    private static Schema findRecord(final Schema schema) {
+        if (schema.getType() == Schema.Type.RECORD) {
+            return schema;
+        }
+        if (schema.getType() == Schema.Type.UNION) {
+            return schema.getTypes().stream()
+                .filter(type -> type.getType() == Schema.Type.RECORD)
+                .findFirst()
+                .orElse(null);
+        }
+        return null;
+    }
+}
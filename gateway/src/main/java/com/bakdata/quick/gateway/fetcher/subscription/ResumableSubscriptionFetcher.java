@@ -0,0 +1,100 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import com.bakdata.quick.gateway.custom.type.QuickConflateDirective;
+import com.bakdata.quick.gateway.custom.type.QuickResumeDirective;
+import com.bakdata.quick.gateway.custom.type.QuickSnapshotDirective;
+import graphql.execution.DataFetcherResult;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+/**
+ * A subscription fetcher that can be resumed.
+ *
+ * <p>
+ * The fetcher emits the value of each record together with a {@link SubscriptionEvent} holding the record's key.
+ * Without the {@link QuickResumeDirective}, the records are fetched by a {@link SubscriptionFetcher}. With it, the
+ * fetcher starts at the requested position and the event also holds the {@link ResumeToken} continuing after the
+ * record. The {@link SubscriptionEventInstrumentation} adds the token to the extensions of the result. Combined with
+ * the {@link QuickSnapshotDirective}, the first token continues right after the snapshot.
+ *
+ * @param <K> kafka record's key type
+ * @param <V> kafka record's value type
+ */
+public class ResumableSubscriptionFetcher<K, V> implements DataFetcher<Publisher<?>> {
+    private final SubscriptionProvider<K, V> subscriptionProvider;
+    private final SubscriptionFetcher<K, V> subscriptionFetcher;
+
+    /**
+     * Creates a new ResumableSubscriptionFetcher.
+     *
+     * @param subscriptionProvider provider of the elements, e.g., sharing a hub with other subscriptions of the topic
+     */
+    public ResumableSubscriptionFetcher(final SubscriptionProvider<K, V> subscriptionProvider) {
+        this.subscriptionProvider = subscriptionProvider;
+        this.subscriptionFetcher = new SubscriptionFetcher<>(subscriptionProvider);
+    }
+
+    @Override
+    public Publisher<?> get(final DataFetchingEnvironment environment) {
+        if (!QuickResumeDirective.isPresent(environment)) {
+            return this.subscriptionFetcher.getRecords(environment)
+                .map(consumerRecord -> DataFetcherResult.<V>newResult()
+                    .data(consumerRecord.value())
+                    .localContext(new SubscriptionEvent(consumerRecord.key(), null))
+                    .build());
+        }
+        if (QuickConflateDirective.getWindow(environment).isPresent()) {
+            // conflation reorders records, so that a token could skip records that have not been sent yet
+            throw new IllegalArgumentException("Resumable subscriptions can't be conflated");
+        }
+
+        final Optional<ResumeToken> start = QuickResumeDirective.getStart(environment);
+        final Flux<ConsumerRecord<K, V>> records;
+        if (QuickSnapshotDirective.isPresent(environment)) {
+            if (start.isPresent()) {
+                throw new IllegalArgumentException("Subscriptions can't start with a snapshot and resume at once");
+            }
+            records = this.subscriptionProvider.getElementStreamWithSnapshot(environment);
+        } else {
+            records = start
+                .map(token -> this.subscriptionProvider.getElementStream(environment, token))
+                .orElseGet(() -> this.subscriptionProvider.getElementStream(environment));
+        }
+        // partitions without records sent to the client are resumed from the time the subscription started
+        final ResumeToken initialToken = start.orElseGet(() -> ResumeToken.fromTimestamp(System.currentTimeMillis()));
+        return withResumeTokens(records, initialToken);
+    }
+
+    private static <K, V> Flux<DataFetcherResult<V>> withResumeTokens(final Flux<ConsumerRecord<K, V>> records,
+        final ResumeToken initialToken) {
+        return Flux.defer(() -> {
+            final AtomicReference<ResumeToken> token = new AtomicReference<>(initialToken);
+            return records.map(consumerRecord -> DataFetcherResult.<V>newResult()
+                .data(consumerRecord.value())
+                .localContext(new SubscriptionEvent(consumerRecord.key(),
+                    token.updateAndGet(current -> current.advance(consumerRecord))))
+                .build());
+        });
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.Value;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Position in a topic from which a subscription can be resumed.
+ *
+ * <p>
+ * The token holds the offset of the next record to read for each partition a record was sent from. Partitions without
+ * such a record are read from the timestamp the subscription started at.
+ *
+ * <p>
+ * Clients receive the token as an opaque string with each result and send it back when they reconnect. Then, only the
+ * records they missed are replayed.
+ *
+ * @see com.bakdata.quick.gateway.custom.type.QuickResumeDirective
+ */
+@Value
+@SuppressWarnings("ObjectToString") // Lombok does that for us
+public class ResumeToken {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String TIMESTAMP_SEPARATOR = ";";
+    private static final String PARTITION_SEPARATOR = ",";
+    private static final String OFFSET_SEPARATOR = "=";
+
+    long timestamp;
+    Map<Integer, Long> offsets;
+
+    /**
+     * Creates a token reading all partitions from the given timestamp.
+     *
+     * @param timestamp timestamp in milliseconds since epoch
+     */
+    public static ResumeToken fromTimestamp(final long timestamp) {
+        return new ResumeToken(timestamp, Collections.emptyMap());
+    }
+
+    /**
+     * Returns a token that continues after the given record.
+     */
+    public ResumeToken advance(final ConsumerRecord<?, ?> consumerRecord) {
+        final Map<Integer, Long> nextOffsets = new TreeMap<>(this.offsets);
+        nextOffsets.merge(consumerRecord.partition(), consumerRecord.offset() + 1, Math::max);
+        return new ResumeToken(this.timestamp, Collections.unmodifiableMap(nextOffsets));
+    }
+
+    /**
+     * Encodes this token as an opaque string.
+     */
+    public String encode() {
+        final String offsetString = this.offsets.entrySet().stream()
+            .map(entry -> entry.getKey() + OFFSET_SEPARATOR + entry.getValue())
+            .collect(Collectors.joining(PARTITION_SEPARATOR));
+        final String token = this.timestamp + TIMESTAMP_SEPARATOR + offsetString;
+        return ENCODER.encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param encodedToken the opaque string a client sent
+     * @return the decoded token
+     * @throws IllegalArgumentException if the string is no valid token
+     */
+    public static ResumeToken decode(final String encodedToken) {
+        try {
+            final String token = new String(DECODER.decode(encodedToken), StandardCharsets.UTF_8);
+            final String[] parts = token.split(TIMESTAMP_SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected timestamp and offsets");
+            }
+            final Map<Integer, Long> offsets = new TreeMap<>();
+            if (!parts[1].isEmpty()) {
+                for (final String partitionOffset : parts[1].split(PARTITION_SEPARATOR)) {
+                    final String[] entry = partitionOffset.split(OFFSET_SEPARATOR, -1);
+                    if (entry.length != 2) {
+                        throw new IllegalArgumentException("Expected partition and offset: " + partitionOffset);
+                    }
+                    offsets.put(Integer.parseInt(entry[0]), Long.parseLong(entry[1]));
+                }
+            }
+            return new ResumeToken(Long.parseLong(parts[0]), Collections.unmodifiableMap(offsets));
+        } catch (final IllegalArgumentException exception) {
+            // also covers invalid base64 and numbers
+            throw new IllegalArgumentException("Invalid resume token: " + encodedToken, exception);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.FetchedValue;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import lombok.Value;
+
+/**
+ * Adds the record key and the {@link ResumeToken} of a subscription event to the extensions of its result.
+ *
+ * <p>
+ * The {@link ResumableSubscriptionFetcher} emits a {@link SubscriptionEvent} as local context of each event. Events are
+ * executed concurrently and their results may complete in a different order. Therefore, the result of each event is
+ * matched with its context by the identity of the completed subscription field.
+ *
+ * <p>
+ * The record key is only used internally, e.g., for conflating pending results of the same key. It must be removed
+ * before the result is sent to the client.
+ */
+public class SubscriptionEventInstrumentation extends SimpleInstrumentation {
+    public static final String RESUME_TOKEN_EXTENSION = "resumeToken";
+    public static final String RECORD_KEY_EXTENSION = "quick.recordKey";
+
+    @Override
+    public InstrumentationState createState() {
+        return new PendingEvents();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginFieldComplete(
+        final InstrumentationFieldCompleteParameters parameters) {
+        // nested fields inherit the local context, but only the subscription field itself is of interest
+        if (parameters.getExecutionStepInfo().getPath().getLevel() != 1
+            || !(parameters.getFetchedValue() instanceof FetchedValue)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        final Object localContext = ((FetchedValue) parameters.getFetchedValue()).getLocalContext();
+        if (!(localContext instanceof SubscriptionEvent)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        final PendingEvents pendingEvents = parameters.getInstrumentationState();
+        return SimpleInstrumentationContext.whenDispatched(
+            fieldResult -> pendingEvents.add(new PendingEvent(fieldResult, (SubscriptionEvent) localContext)));
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(final ExecutionResult executionResult,
+        final InstrumentationExecutionParameters parameters) {
+        final PendingEvents pendingEvents = parameters.getInstrumentationState();
+        final SubscriptionEvent event = pendingEvents.remove(executionResult);
+        if (event == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        final Map<Object, Object> extensions = new LinkedHashMap<>();
+        if (executionResult.getExtensions() != null) {
+            extensions.putAll(executionResult.getExtensions());
+        }
+        extensions.put(RECORD_KEY_EXTENSION, event.getKey());
+        final ResumeToken resumeToken = event.getResumeToken();
+        if (resumeToken != null) {
+            extensions.put(RESUME_TOKEN_EXTENSION, resumeToken.encode());
+        }
+        return CompletableFuture.completedFuture(
+            new ExecutionResultImpl(executionResult.getData(), executionResult.getErrors(), extensions));
+    }
+
+    @Value
+    @SuppressWarnings("ObjectToString") // Lombok does that for us
+    private static class PendingEvent {
+        CompletableFuture<ExecutionResult> fieldResult;
+        SubscriptionEvent event;
+    }
+
+    /**
+     * Events of an execution whose results have not been instrumented yet.
+     */
+    private static class PendingEvents implements InstrumentationState {
+        // guarded by this
+        private final List<PendingEvent> events = new ArrayList<>();
+
+        synchronized void add(final PendingEvent pendingEvent) {
+            this.events.add(pendingEvent);
+        }
+
+        @Nullable
+        synchronized SubscriptionEvent remove(final ExecutionResult executionResult) {
+            // the result of an event holds the data of the subscription field as only entry
+            final Object data = executionResult.getData();
+            if (!(data instanceof Map) || ((Map<?, ?>) data).size() != 1) {
+                return null;
+            }
+            final Object fieldData = ((Map<?, ?>) data).values().iterator().next();
+
+            @Nullable SubscriptionEvent event = null;
+            final Iterator<PendingEvent> iterator = this.events.iterator();
+            while (iterator.hasNext()) {
+                final PendingEvent pendingEvent = iterator.next();
+                final CompletableFuture<ExecutionResult> fieldResult = pendingEvent.getFieldResult();
+                if (fieldResult.isCompletedExceptionally()) {
+                    // results of failed events are never instrumented
+                    iterator.remove();
+                } else if (event == null && fieldResult.isDone()
+                    && Objects.requireNonNull(fieldResult.join()).getData() == fieldData) {
+                    iterator.remove();
+                    event = pendingEvent.getEvent();
+                }
+            }
+            return event;
+        }
+    }
+}
@@ -21,11 +21,14 @@ import static com.bakdata.quick.gateway.fetcher.subscription.KafkaSubscriptionPr
 import com.bakdata.quick.common.config.KafkaConfig;
 import com.bakdata.quick.common.type.QuickTopicData;
 import com.bakdata.quick.common.util.Lazy;
+import com.bakdata.quick.gateway.custom.type.QuickConflateDirective;
+import com.bakdata.quick.gateway.custom.type.QuickSnapshotDirective;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 
 /**
  * A SubscriptionFetcher fetches data directly from Kafka.
@@ -59,8 +62,29 @@ public class SubscriptionFetcher<K, V> implements DataFetcher<Publisher<V>> {
         this.subscriptionProvider = new KafkaSubscriptionProvider<>(kafkaConfig, info, queryName, key);
     }
 
+    /**
+     * Creates a new SubscriptionFetcher.
+     *
+     * @param subscriptionProvider provider of the elements, e.g., sharing a hub with other subscriptions of the topic
+     */
+    public SubscriptionFetcher(final SubscriptionProvider<K, V> subscriptionProvider) {
+        this.subscriptionProvider = subscriptionProvider;
+    }
+
     @Override
     public Publisher<V> get(final DataFetchingEnvironment environment) {
-        return this.subscriptionProvider.getElementStream(environment).map(ConsumerRecord::value);
+        return this.getRecords(environment).map(ConsumerRecord::value);
+    }
+
+    /**
+     * Returns the records of the subscription, which are the source of the values emitted by {@link #get}.
+     */
+    Flux<ConsumerRecord<K, V>> getRecords(final DataFetchingEnvironment environment) {
+        final Flux<ConsumerRecord<K, V>> records = QuickSnapshotDirective.isPresent(environment)
+            ? this.subscriptionProvider.getElementStreamWithSnapshot(environment)
+            : this.subscriptionProvider.getElementStream(environment);
+        return QuickConflateDirective.getWindow(environment)
+            .map(window -> RecordConflation.conflate(records, window))
+            .orElse(records);
     }
 }
@@ -0,0 +1,495 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import static org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG;
+
+import com.bakdata.quick.common.config.KafkaConfig;
+import com.bakdata.quick.common.type.QuickTopicData;
+import com.bakdata.quick.common.util.Lazy;
+import com.bakdata.quick.gateway.fetcher.subscription.KafkaSubscriptionProvider.OffsetStrategy;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.FluxSink.OverflowStrategy;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverPartition;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Shares a single Kafka consumer of a topic between all its subscriptions.
+ *
+ * <p>
+ * Subscriptions register with the key they are interested in. The hub routes each record only to the subscriptions
+ * registered for the record's key, which is a single lookup in a hash map. Subscriptions without a key receive all
+ * records.
+ *
+ * <p>
+ * The consumer only deserializes the keys. A value is deserialized once a record has at least one interested
+ * subscription, so that records dropped by the key routing are never decoded.
+ *
+ * <p>
+ * The consumer is started with the first subscription and closed once the last subscription is canceled.
+ *
+ * <p>
+ * Subscriptions resuming from an earlier position first read the records they missed with their own consumer, which
+ * starts at the position of its {@link ResumeToken}. The consumer is assigned the partitions of the topic without
+ * joining a consumer group and stops once it has caught up with the end of the topic. Then, the subscription
+ * continues with the records of the shared consumer.
+ *
+ * <p>
+ * If a {@link MeterRegistry} is available, the metrics of the hub's consumers, e.g., their lag, and the number of
+ * records dropped because of a null key or value are recorded per topic.
+ *
+ * @param <K> kafka record's key type
+ * @param <V> kafka record's value type
+ */
+@Slf4j
+public class SubscriptionHub<K, V> {
+    /**
+     * Maximum number of records buffered for a subscription that does not keep up with the consumer.
+     *
+     * <p>
+     * A subscription falling further behind fails after receiving the buffered records.
+     */
+    static final int MAX_BUFFERED_RECORDS = 10_000;
+
+    private final String name;
+    private final Function<Runnable, Flux<ConsumerRecord<K, byte[]>>> recordSource;
+    private final Function<ResumeToken, Flux<ConsumerRecord<K, byte[]>>> resumedRecordSource;
+    private final Lazy<Deserializer<V>> valueDeserializer;
+    private final Supplier<Optional<ParsedSchema>> valueSchema;
+    private final SubscriptionHubMetrics metrics;
+    private final Map<Object, Set<FluxSink<ConsumerRecord<K, V>>>> keySubscribers;
+    private final Set<FluxSink<ConsumerRecord<K, V>>> wildcardSubscribers;
+    // guarded by this
+    private int numberSubscriber;
+    @Nullable
+    private Disposable consumer;
+    private Sinks.Empty<Void> assignment;
+
+    /**
+     * Creates a new hub for the records of a source that reports when it is assigned its partitions.
+     *
+     * @param name                name of the hub used for logging and metrics, e.g., the topic
+     * @param recordSource        supplies the records with serialized values; it is subscribed once for all
+     *                            subscriptions and runs the given callback once its partitions are assigned
+     * @param resumedRecordSource supplies the records with serialized values starting at a position until the end of
+     *                            the topic at the time it is subscribed; it is subscribed once per resumed subscription
+     * @param valueDeserializer   supplies the deserializer for the values
+     * @param valueSchema         supplies the schema of the values, empty if it is unknown
+     * @param metrics             metrics of the hub
+     */
+    SubscriptionHub(final String name, final Function<Runnable, Flux<ConsumerRecord<K, byte[]>>> recordSource,
+        final Function<ResumeToken, Flux<ConsumerRecord<K, byte[]>>> resumedRecordSource,
+        final Supplier<Deserializer<V>> valueDeserializer, final Supplier<Optional<ParsedSchema>> valueSchema,
+        final SubscriptionHubMetrics metrics) {
+        this.name = name;
+        this.recordSource = recordSource;
+        this.resumedRecordSource = resumedRecordSource;
+        this.valueDeserializer = new Lazy<>(valueDeserializer);
+        this.valueSchema = valueSchema;
+        this.metrics = metrics;
+        this.keySubscribers = new ConcurrentHashMap<>();
+        this.wildcardSubscribers = ConcurrentHashMap.newKeySet();
+        this.numberSubscriber = 0;
+        this.consumer = null;
+        this.assignment = Sinks.empty();
+    }
+
+    /**
+     * Creates a new hub consuming a Kafka topic.
+     *
+     * @param name          name of the hub used for logging and metrics, e.g., the topic
+     * @param kafkaConfig   settings concerning bootstrap server and schema registry url
+     * @param info          topic information
+     * @param autoOffset    offset strategy
+     * @param meterRegistry registry for consumer metrics, empty if metrics are disabled
+     */
+    public static <K, V> SubscriptionHub<K, V> create(final String name, final KafkaConfig kafkaConfig,
+        final Lazy<QuickTopicData<K, V>> info, final OffsetStrategy autoOffset,
+        final Optional<MeterRegistry> meterRegistry) {
+        final SubscriptionHubMetrics metrics = meterRegistry
+            .map(registry -> SubscriptionHubMetrics.create(registry, name))
+            .orElseGet(SubscriptionHubMetrics::local);
+        // the topic data is resolved when the consumer starts, outside the hub's lock and the caller's thread
+        return new SubscriptionHub<>(name,
+            onAssigned -> Flux.defer(() -> createReceiverFlux(kafkaConfig, info.get(), autoOffset, onAssigned, metrics))
+                .subscribeOn(Schedulers.boundedElastic()),
+            start -> Flux.defer(() -> createResumedReceiverFlux(kafkaConfig, info.get(), start, metrics))
+                .subscribeOn(Schedulers.boundedElastic()),
+            () -> info.get().getValueData().getSerde().deserializer(),
+            () -> Optional.ofNullable(info.get().getValueData().getParsedSchema()), metrics);
+    }
+
+    /**
+     * Returns the records of the topic with the given key.
+     *
+     * @param key key to filter on - if null, all records are returned
+     */
+    public Flux<ConsumerRecord<K, V>> subscribe(@Nullable final Object key) {
+        // the shared consumer can't wait for a single subscription, so that its records are buffered instead
+        final Flux<ConsumerRecord<K, V>> records = Flux.create(sink -> {
+            this.register(key, sink);
+            sink.onDispose(() -> this.unregister(key, sink));
+        }, OverflowStrategy.IGNORE);
+        return records.onBackpressureBuffer(MAX_BUFFERED_RECORDS, dropped -> log.warn(
+            "Subscription of hub {} does not keep up: Cancel it after {} buffered records", this.name,
+            MAX_BUFFERED_RECORDS), BufferOverflowStrategy.ERROR);
+    }
+
+    /**
+     * Returns the records of the topic with the given key, starting at a position.
+     *
+     * <p>
+     * The subscription registers with the hub before it reads the records it missed. Records the hub delivers in the
+     * meantime are buffered and emitted once the missed records are read, except those that were already emitted.
+     *
+     * @param key   key to filter on - if null, all records are returned
+     * @param start position to start from
+     */
+    public Flux<ConsumerRecord<K, V>> resume(@Nullable final Object key, final ResumeToken start) {
+        return Flux.defer(() -> {
+            final Sinks.Many<ConsumerRecord<K, V>> hubRecords = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<ConsumerRecord<K, V>>get(MAX_BUFFERED_RECORDS).get());
+            final Disposable hubSubscription = this.subscribe(key).subscribe(consumerRecord -> {
+                if (hubRecords.tryEmitNext(consumerRecord).isFailure()) {
+                    hubRecords.tryEmitError(Exceptions.failWithOverflow(
+                        "Resumed subscription of hub " + this.name + " does not catch up"));
+                }
+            }, hubRecords::tryEmitError);
+            // the missed records are read up to the end of the topic after the hub's consumer has started at the
+            // latest at that position, so that no record is lost in between
+            final Map<Integer, Long> nextOffsets = new ConcurrentHashMap<>(start.getOffsets());
+            final Flux<ConsumerRecord<K, V>> missedRecords = this.awaitAssignment()
+                .thenMany(Flux.defer(() -> this.resumedRecordSource.apply(start)))
+                .doOnNext(rawRecord -> nextOffsets.merge(rawRecord.partition(), rawRecord.offset() + 1, Math::max))
+                .filter(rawRecord -> !this.isNull(rawRecord) && (key == null || key.equals(rawRecord.key())))
+                .map(this::deserializeValue)
+                .filter(consumerRecord -> !this.isNull(consumerRecord));
+            return missedRecords
+                .doOnComplete(() -> log.debug("Resumed subscription of hub {} caught up", this.name))
+                .concatWith(hubRecords.asFlux().filter(consumerRecord ->
+                    consumerRecord.offset() >= nextOffsets.getOrDefault(consumerRecord.partition(), 0L)))
+                .doFinally(signal -> hubSubscription.dispose());
+        });
+    }
+
+    /**
+     * Discards the value deserializer and restarts a running consumer, so that both use the current topic data.
+     *
+     * <p>
+     * The subscriptions are kept. Records written while the consumer restarts may be missed by them.
+     */
+    public synchronized void refresh() {
+        this.valueDeserializer.reset();
+        if (this.consumer != null) {
+            log.debug("Restart consuming {}", this.name);
+            this.consumer.dispose();
+            this.startConsumer();
+        }
+    }
+
+    /**
+     * Returns the name of the hub, e.g., the topic.
+     */
+    String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the schema of the topic's values, empty if it has none, e.g., for primitive values.
+     */
+    Optional<ParsedSchema> getValueSchema() {
+        return this.valueSchema.get();
+    }
+
+    private synchronized void register(@Nullable final Object key, final FluxSink<ConsumerRecord<K, V>> sink) {
+        if (key == null) {
+            this.wildcardSubscribers.add(sink);
+        } else {
+            this.keySubscribers.computeIfAbsent(key, ignored -> ConcurrentHashMap.newKeySet()).add(sink);
+        }
+        this.numberSubscriber++;
+        log.debug("New subscriber: Hub {} has {} subscriber", this.name, this.numberSubscriber);
+
+        if (this.consumer == null) {
+            log.debug("Start consuming {}", this.name);
+            this.startConsumer();
+        }
+    }
+
+    // guarded by this
+    private void startConsumer() {
+        final Sinks.Empty<Void> consumerAssignment = Sinks.empty();
+        this.assignment = consumerAssignment;
+        this.consumer = this.recordSource.apply(consumerAssignment::tryEmitEmpty).subscribe(this::dispatch, this::fail);
+    }
+
+    /**
+     * Completes once the running consumer is assigned its partitions and has determined its positions.
+     */
+    private synchronized Mono<Void> awaitAssignment() {
+        return this.assignment.asMono();
+    }
+
+    private synchronized void unregister(@Nullable final Object key, final FluxSink<ConsumerRecord<K, V>> sink) {
+        final Set<FluxSink<ConsumerRecord<K, V>>> sinks =
+            key == null ? this.wildcardSubscribers : this.keySubscribers.get(key);
+        if (sinks == null || !sinks.remove(sink)) {
+            return;
+        }
+        if (key != null && sinks.isEmpty()) {
+            this.keySubscribers.remove(key);
+        }
+        this.numberSubscriber--;
+        log.debug("Removed subscriber: Hub {} has {} subscriber", this.name, this.numberSubscriber);
+
+        if (this.numberSubscriber == 0 && this.consumer != null) {
+            log.debug("Stop consuming {}", this.name);
+            this.consumer.dispose();
+            this.consumer = null;
+        }
+    }
+
+    private void dispatch(final ConsumerRecord<K, byte[]> rawRecord) {
+        if (this.isNull(rawRecord)) {
+            return;
+        }
+        final Set<FluxSink<ConsumerRecord<K, V>>> sinks = this.keySubscribers.get(rawRecord.key());
+        if (sinks == null && this.wildcardSubscribers.isEmpty()) {
+            // no subscription is interested in the record, so we skip deserializing the value
+            return;
+        }
+
+        final ConsumerRecord<K, V> consumerRecord = this.deserializeValue(rawRecord);
+        if (this.isNull(consumerRecord)) {
+            return;
+        }
+        this.wildcardSubscribers.forEach(sink -> sink.next(consumerRecord));
+        if (sinks != null) {
+            sinks.forEach(sink -> sink.next(consumerRecord));
+        }
+    }
+
+    /**
+     * Checks whether the key or value of the record is null, which drops the record.
+     */
+    private boolean isNull(final ConsumerRecord<K, ?> consumerRecord) {
+        if (consumerRecord.key() != null && consumerRecord.value() != null) {
+            return false;
+        }
+        log.warn("null in {}", this.name);
+        this.metrics.droppedNull();
+        return true;
+    }
+
+    private ConsumerRecord<K, V> deserializeValue(final ConsumerRecord<K, byte[]> rawRecord) {
+        final V value =
+            this.valueDeserializer.get().deserialize(rawRecord.topic(), rawRecord.headers(), rawRecord.value());
+        return new ConsumerRecord<>(rawRecord.topic(), rawRecord.partition(), rawRecord.offset(),
+            rawRecord.timestamp(), rawRecord.timestampType(), rawRecord.serializedKeySize(),
+            rawRecord.serializedValueSize(), rawRecord.key(), value, rawRecord.headers(), rawRecord.leaderEpoch());
+    }
+
+    private void fail(final Throwable throwable) {
+        log.error("Consuming {} failed", this.name, throwable);
+        final List<FluxSink<ConsumerRecord<K, V>>> sinks;
+        synchronized (this) {
+            // the consumer has terminated; the next subscription starts a new one
+            this.consumer = null;
+            this.assignment.tryEmitError(throwable);
+            sinks = new ArrayList<>(this.wildcardSubscribers);
+            this.keySubscribers.values().forEach(sinks::addAll);
+        }
+        sinks.forEach(sink -> sink.error(throwable));
+    }
+
+    private static <K> Flux<ConsumerRecord<K, byte[]>> createReceiverFlux(final KafkaConfig kafkaConfig,
+        final QuickTopicData<K, ?> info, final OffsetStrategy autoOffset, final Runnable onAssigned,
+        final SubscriptionHubMetrics metrics) {
+        final Properties properties = createConsumerProperties(kafkaConfig, info,
+            "subscription-" + info.getName() + "-" + System.currentTimeMillis(), autoOffset);
+        final ReceiverOptions<K, byte[]> options = ReceiverOptions.<K, byte[]>create(properties)
+            .subscription(List.of(info.getName()))
+            .addAssignListener(partitions -> {
+                // the position of each partition is determined lazily; resumed subscriptions rely on it being fixed
+                partitions.forEach(ReceiverPartition::position);
+                onAssigned.run();
+            });
+        // create a reactive kafka receiver. The used implementation handles a lot of non-trivial stuff like
+        // multi-threaded access and rebalancing operations.
+        return metrics.monitorConsumer(options, receiver -> receiver.receiveAutoAck().flatMap(flux -> flux))
+            .subscribeOn(Schedulers.single()); // run on a different thread since polling blocks
+    }
+
+    /**
+     * Reads the records from the start position until the end of the topic at the time the flux is subscribed.
+     *
+     * <p>
+     * The consumer is only assigned the partitions with records to read instead of joining a consumer group, so that it
+     * neither causes rebalances nor commits offsets. It is closed as soon as it has caught up.
+     */
+    private static <K> Flux<ConsumerRecord<K, byte[]>> createResumedReceiverFlux(final KafkaConfig kafkaConfig,
+        final QuickTopicData<K, ?> info, final ResumeToken start, final SubscriptionHubMetrics metrics) {
+        final Properties properties = createConsumerProperties(kafkaConfig, info,
+            "subscription-resume-" + info.getName() + "-" + UUID.randomUUID(), OffsetStrategy.LATEST);
+        // looking up the offsets blocks, so it must not run on the thread that emits the assignment of the hub
+        return Mono.fromCallable(() -> findMissedRecords(properties, info.getName(), start))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMapMany(missedRecords -> readMissedRecords(properties, missedRecords, metrics));
+    }
+
+    private static <K> Flux<ConsumerRecord<K, byte[]>> readMissedRecords(final Properties properties,
+        final MissedRecords missedRecords, final SubscriptionHubMetrics metrics) {
+        final Map<TopicPartition, Long> startOffsets = missedRecords.getStartOffsets();
+        if (startOffsets.isEmpty()) {
+            return Flux.empty();
+        }
+        // end offsets of the partitions that have not been caught up with yet
+        final Map<TopicPartition, Long> endOffsets = new ConcurrentHashMap<>(missedRecords.getEndOffsets());
+        final ReceiverOptions<K, byte[]> options = ReceiverOptions.<K, byte[]>create(properties)
+            .assignment(startOffsets.keySet())
+            .addAssignListener(partitions -> {
+                for (final ReceiverPartition partition : partitions) {
+                    final Long startOffset = startOffsets.get(partition.topicPartition());
+                    if (startOffset != null) {
+                        partition.seek(startOffset);
+                    }
+                }
+            });
+        // the records are not acknowledged, so that no offsets are committed
+        return metrics.monitorConsumer(options, receiver -> receiver.receive()
+                .<ConsumerRecord<K, byte[]>>handle((receiverRecord, sink) -> {
+                    sink.next(receiverRecord);
+                    final TopicPartition partition =
+                        new TopicPartition(receiverRecord.topic(), receiverRecord.partition());
+                    endOffsets.computeIfPresent(partition,
+                        (ignored, endOffset) -> receiverRecord.offset() + 1 >= endOffset ? null : endOffset);
+                    if (endOffsets.isEmpty()) {
+                        sink.complete();
+                    }
+                }))
+            .subscribeOn(Schedulers.single()); // run on a different thread since polling blocks
+    }
+
+    /**
+     * Looks up which records of the topic come after the start position.
+     *
+     * <p>
+     * Partitions without an offset in the token are read from its timestamp. A partition is skipped entirely if it has
+     * no record at or after that position, e.g., all partitions except the key's one when continuing a snapshot.
+     */
+    private static MissedRecords findMissedRecords(final Properties properties, final String topic,
+        final ResumeToken start) {
+        try (final KafkaConsumer<byte[], byte[]> consumer =
+                 new KafkaConsumer<>(properties, new ByteArrayDeserializer(), new ByteArrayDeserializer())) {
+            final List<TopicPartition> partitions = consumer.partitionsFor(topic).stream()
+                .map(partitionInfo -> new TopicPartition(topic, partitionInfo.partition()))
+                .collect(Collectors.toList());
+            final Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+            final Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            final Map<TopicPartition, Long> timestamps = partitions.stream()
+                .filter(partition -> !start.getOffsets().containsKey(partition.partition()))
+                .collect(Collectors.toMap(Function.identity(), partition -> start.getTimestamp()));
+            final Map<TopicPartition, OffsetAndTimestamp> timestampOffsets =
+                timestamps.isEmpty() ? Map.of() : consumer.offsetsForTimes(timestamps);
+
+            final Map<TopicPartition, Long> startOffsets = new HashMap<>();
+            final Map<TopicPartition, Long> missedEndOffsets = new HashMap<>();
+            for (final TopicPartition partition : partitions) {
+                final Long tokenOffset = start.getOffsets().get(partition.partition());
+                final OffsetAndTimestamp timestampOffset = timestampOffsets.get(partition);
+                final long position;
+                if (tokenOffset != null) {
+                    position = tokenOffset;
+                } else if (timestampOffset != null) {
+                    position = timestampOffset.offset();
+                } else {
+                    // there is no record at or after the timestamp
+                    continue;
+                }
+                // records may have been deleted in the meantime
+                final long startOffset = Math.max(position, beginningOffsets.getOrDefault(partition, 0L));
+                final Long endOffset = endOffsets.get(partition);
+                if (endOffset != null && startOffset < endOffset) {
+                    startOffsets.put(partition, startOffset);
+                    missedEndOffsets.put(partition, endOffset);
+                }
+            }
+            return new MissedRecords(startOffsets, missedEndOffsets);
+        }
+    }
+
+    private static Properties createConsumerProperties(final KafkaConfig kafkaConfig, final QuickTopicData<?, ?> info,
+        final String groupId, final OffsetStrategy autoOffset) {
+        // setup properties for consumer
+        final Properties fetchingProps = new Properties();
+        fetchingProps.putAll(kafkaConfig.asProps());
+        fetchingProps.setProperty(CommonClientConfigs.GROUP_ID_CONFIG, groupId);
+        fetchingProps.setProperty(KEY_DESERIALIZER_CLASS_CONFIG, getDeserializerName(info.getKeyData()));
+        // values are deserialized by the hub only if a subscription is interested in them
+        fetchingProps.setProperty(VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        fetchingProps.setProperty(AUTO_OFFSET_RESET_CONFIG, autoOffset.toString());
+        return fetchingProps;
+    }
+
+    private static String getDeserializerName(final QuickTopicData.QuickData<?> quickData) {
+        return quickData.getSerde().deserializer().getClass().getName();
+    }
+
+    /**
+     * Offsets of the records a resumed subscription missed, only containing partitions with at least one such record.
+     */
+    @Value
+    @SuppressWarnings("ObjectToString") // Lombok does that for us
+    private static class MissedRecords {
+        Map<TopicPartition, Long> startOffsets;
+        Map<TopicPartition, Long> endOffsets;
+    }
+}
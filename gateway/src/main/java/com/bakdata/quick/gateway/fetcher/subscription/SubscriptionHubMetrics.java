@@ -0,0 +1,151 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.kafka.KafkaClientMetrics;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import reactor.core.publisher.Flux;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+
+/**
+ * Metrics of the consumers of a single {@link SubscriptionHub}.
+ */
+@Slf4j
+final class SubscriptionHubMetrics {
+    private static final String TOPIC_TAG = "topic";
+
+    @Nullable
+    private final MeterRegistry registry;
+    private final Tags tags;
+    @Nullable
+    private final Counter nullRecords;
+
+    private SubscriptionHubMetrics(@Nullable final MeterRegistry registry, final Tags tags,
+        @Nullable final Counter nullRecords) {
+        this.registry = registry;
+        this.tags = tags;
+        this.nullRecords = nullRecords;
+    }
+
+    /**
+     * Creates metrics that are not tracked.
+     */
+    static SubscriptionHubMetrics local() {
+        return new SubscriptionHubMetrics(null, Tags.empty(), null);
+    }
+
+    /**
+     * Creates metrics registered in the registry.
+     *
+     * @param registry registry of the meters
+     * @param topic    name of the consumed topic
+     */
+    static SubscriptionHubMetrics create(final MeterRegistry registry, final String topic) {
+        final Tags tags = Tags.of(TOPIC_TAG, topic);
+        final Counter nullRecords = Counter.builder("quick.subscription.records.null")
+            .description("Number of records of the topic dropped because their key or value is null")
+            .tags(tags)
+            .register(registry);
+        return new SubscriptionHubMetrics(registry, tags, nullRecords);
+    }
+
+    /**
+     * Records that a record was dropped because its key or value is null.
+     */
+    void droppedNull() {
+        if (this.nullRecords != null) {
+            this.nullRecords.increment();
+        }
+    }
+
+    /**
+     * Creates a receiver and registers the metrics of its Kafka consumer, e.g., its lag per partition, while its
+     * records are consumed.
+     *
+     * <p>
+     * The metrics are registered as soon as the consumer is assigned its partitions, so that they are available even
+     * if no record arrives.
+     *
+     * @param options options of the receiver
+     * @param receive receives the records of the receiver
+     * @param <K>     key type
+     * @return the records, which remove the metrics of the consumer once they terminate
+     */
+    <K> Flux<ConsumerRecord<K, byte[]>> monitorConsumer(final ReceiverOptions<K, byte[]> options,
+        final Function<KafkaReceiver<K, byte[]>, Flux<ConsumerRecord<K, byte[]>>> receive) {
+        final MeterRegistry meterRegistry = this.registry;
+        if (meterRegistry == null) {
+            return receive.apply(KafkaReceiver.create(options));
+        }
+        final ConsumerBinding binding = new ConsumerBinding();
+        // the listener needs the receiver, which in turn is created from the options containing the listener
+        final AtomicReference<KafkaReceiver<K, byte[]>> receiverReference = new AtomicReference<>();
+        final KafkaReceiver<K, byte[]> receiver = KafkaReceiver.create(options.addAssignListener(partitions -> {
+            final KafkaReceiver<K, byte[]> assignedReceiver = receiverReference.get();
+            if (assignedReceiver != null && binding.requestBinding()) {
+                // runs on the consumer's thread after the listener returned
+                assignedReceiver.doOnConsumer(consumer -> new KafkaClientMetrics(consumer, this.tags))
+                    .subscribe(consumerMetrics -> binding.bind(consumerMetrics, meterRegistry),
+                        error -> log.debug("Could not register consumer metrics", error));
+            }
+        }));
+        receiverReference.set(receiver);
+        return receive.apply(receiver)
+            .doFinally(signal -> binding.close());
+    }
+
+    /**
+     * Binding of the consumer metrics, which are removed once the consumer is closed.
+     */
+    private static final class ConsumerBinding {
+        private final AtomicBoolean requested = new AtomicBoolean();
+        // guarded by this
+        @Nullable
+        private KafkaClientMetrics consumerMetrics;
+        private boolean closed;
+
+        boolean requestBinding() {
+            return this.requested.compareAndSet(false, true);
+        }
+
+        synchronized void bind(final KafkaClientMetrics metrics, final MeterRegistry registry) {
+            if (this.closed) {
+                metrics.close();
+                return;
+            }
+            metrics.bindTo(registry);
+            this.consumerMetrics = metrics;
+        }
+
+        synchronized void close() {
+            this.closed = true;
+            if (this.consumerMetrics != null) {
+                this.consumerMetrics.close();
+                this.consumerMetrics = null;
+            }
+        }
+    }
+}
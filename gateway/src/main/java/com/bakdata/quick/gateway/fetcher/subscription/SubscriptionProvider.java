@@ -28,4 +28,32 @@ import reactor.core.publisher.Flux;
  */
 public interface SubscriptionProvider<K, V> {
     Flux<ConsumerRecord<K, V>> getElementStream(final DataFetchingEnvironment environment);
+
+    /**
+     * Provides the elements starting at the given position.
+     *
+     * <p>
+     * Resuming is not supported by default.
+     *
+     * @param environment environment of the current request
+     * @param start       position to start from
+     * @return stream of elements after the position
+     */
+    default Flux<ConsumerRecord<K, V>> getElementStream(final DataFetchingEnvironment environment,
+        final ResumeToken start) {
+        throw new UnsupportedOperationException("Resuming is not supported by " + this.getClass().getName());
+    }
+
+    /**
+     * Provides the current state of the requested elements followed by all later elements.
+     *
+     * <p>
+     * Snapshots are not supported by default.
+     *
+     * @param environment environment of the current request
+     * @return stream of the current elements and the elements after them
+     */
+    default Flux<ConsumerRecord<K, V>> getElementStreamWithSnapshot(final DataFetchingEnvironment environment) {
+        throw new UnsupportedOperationException("Snapshots are not supported by " + this.getClass().getName());
+    }
 }
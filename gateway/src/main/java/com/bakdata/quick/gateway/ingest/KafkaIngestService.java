@@ -16,16 +16,11 @@
 
 package com.bakdata.quick.gateway.ingest;
 
-import static org.apache.kafka.clients.producer.ProducerConfig.BOOTSTRAP_SERVERS_CONFIG;
-import static org.apache.kafka.clients.producer.ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG;
-import static org.apache.kafka.clients.producer.ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG;
-
 import com.bakdata.quick.common.api.model.KeyValuePair;
 import com.bakdata.quick.common.config.KafkaConfig;
+import com.bakdata.quick.common.kafka.KafkaProducerPool;
 import com.bakdata.quick.common.type.QuickTopicData;
 import com.bakdata.quick.common.type.TopicTypeService;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import io.reactivex.Completable;
 import io.reactivex.Scheduler;
 import io.reactivex.Single;
@@ -33,19 +28,10 @@ import io.reactivex.schedulers.Schedulers;
 import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import java.time.Duration;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.Properties;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.Producer;
-import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.serialization.Serializer;
 
 /**
@@ -53,37 +39,50 @@ import org.apache.kafka.common.serialization.Serializer;
  */
 @Singleton
 @Slf4j
-public class KafkaIngestService implements IngestService {
-    /**
-     * The retention time of the cache used for the kafka producers.
-     *
-     * <p>
-     * For now, it is not possible to invalidate a producer when a topic is deleted. Therefore, we can not set the
-     * retention time too high as a topic might have an incompatible kafka producer.
-     */
-    private static final int PRODUCER_CACHE_RETENTION = 2;
-
-    private final Properties properties;
+public class KafkaIngestService implements IngestService, AutoCloseable {
     private final TopicTypeService typeService;
-    private final Cache<String, Producer<?, ?>> producerMap;
+    private final KafkaProducerPool producerPool;
     private final Scheduler threadPool;
+    private final boolean ownsProducerPool;
 
     /**
-     * Injectable constructor.
+     * Constructor creating its own {@link KafkaProducerPool} with default settings, which is closed with the service.
      *
      * @param typeService service for getting topic types
      * @param kafkaConfig configuration for kafka
      */
-    @Inject
     public KafkaIngestService(final TopicTypeService typeService, final KafkaConfig kafkaConfig) {
+        this(typeService, new KafkaProducerPool(kafkaConfig), true);
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param typeService  service for getting topic types
+     * @param producerPool producers shared by all topics
+     */
+    @Inject
+    public KafkaIngestService(final TopicTypeService typeService, final KafkaProducerPool producerPool) {
+        this(typeService, producerPool, false);
+    }
+
+    private KafkaIngestService(final TopicTypeService typeService, final KafkaProducerPool producerPool,
+        final boolean ownsProducerPool) {
         this.typeService = typeService;
-        this.properties = new Properties();
-        this.properties.setProperty(BOOTSTRAP_SERVERS_CONFIG, kafkaConfig.getBootstrapServer());
-        this.properties.setProperty("schema.registry.url", kafkaConfig.getSchemaRegistryUrl());
-        this.producerMap = Caffeine.newBuilder()
-            .expireAfterAccess(Duration.ofMinutes(PRODUCER_CACHE_RETENTION)) // keep if used recently
-            .build();
+        this.producerPool = producerPool;
         this.threadPool = Schedulers.from(Executors.newWorkStealingPool());
+        this.ownsProducerPool = ownsProducerPool;
+    }
+
+    /**
+     * Closes the producer pool if the service created it. A shared pool is closed by its owner.
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        if (this.ownsProducerPool) {
+            this.producerPool.close();
+        }
     }
 
     @Override
@@ -110,38 +109,6 @@ public class KafkaIngestService implements IngestService {
         final QuickTopicData<K, V> info) {
         final Serializer<K> keySerializer = info.getKeyData().getSerde().serializer();
         final Serializer<V> valueSerializer = info.getValueData().getSerde().serializer();
-        final Producer<K, V> producer = this.getProducer(topic, keySerializer, valueSerializer);
-        final Collection<Completable> futures = new ArrayList<>();
-        for (final KeyValuePair<K, V> pair : data) {
-            final ProducerRecord<K, V> producerRecord = new ProducerRecord<>(topic, pair.getKey(), pair.getValue());
-            final Future<RecordMetadata> metadataFuture = producer.send(producerRecord);
-            futures.add(Completable.fromFuture(metadataFuture));
-        }
-
-        return Completable.mergeDelayError(futures);
-    }
-
-    @SuppressWarnings("unchecked")
-    private <K, V> Producer<K, V> getProducer(final String topic, final Serializer<K> keySerializer,
-        final Serializer<V> valueSerializer) {
-        // producer are closed in post construct
-        return (Producer<K, V>) this.producerMap
-            .get(topic, topicName -> this.createProducer(keySerializer, valueSerializer, topicName));
-    }
-
-    private <K, V> Producer<K, V> createProducer(final Serializer<K> keySerializer,
-        final Serializer<V> valueSerializer, final String topic) {
-        log.debug("No producer cached for topic {}, creating new one", topic);
-        this.properties.setProperty(KEY_SERIALIZER_CLASS_CONFIG, keySerializer.getClass().getName());
-        this.properties.setProperty(VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer.getClass().getName());
-        return new KafkaProducer<>(this.properties);
-    }
-
-    @PreDestroy
-    private void tearDown() {
-        // close all cached producers and invalidate cache
-        log.debug("Teardown ingest: Invalidate producer cache");
-        this.producerMap.asMap().values().forEach(Producer::close);
-        this.producerMap.invalidateAll();
+        return this.producerPool.send(topic, data, keySerializer, valueSerializer).ignoreElement();
     }
 }
@@ -35,13 +35,14 @@ import io.reactivex.Flowable;
 import jakarta.inject.Singleton;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
 
 /**
  * Handles the messages send over the websocket.
  *
- * Changes to original code: Support for filters
+ * Changes to original code: Support for filters and sharing identical subscription operations between sessions
  *
  * @author Gerard Klijs
  * @since 1.3
@@ -144,6 +145,13 @@ public class GraphQLWsMessageHandler {
 
     private Publisher<GraphQLWsResponse> executeRequest(final String operationId, final GraphQLRequestBody payload,
         final WebSocketSession session) {
+        final Optional<OperationKey> operationKey = OperationKey.of(payload);
+        final Optional<Publisher<SerializedResult>> broadcast = operationKey.flatMap(this.state::findBroadcast);
+        if (broadcast.isPresent()) {
+            log.debug("Join shared operation {} in session {}", operationId, session.getId());
+            return this.responseSender.subscribe(operationId, operationKey.get(), broadcast.get(), session);
+        }
+
         final GraphQLInvocationData invocationData =
             new GraphQLInvocationData(payload.getQuery(), payload.getOperationName(), payload.getVariables());
         final HttpRequest<?> httpRequest = session.get(HTTP_REQUEST_KEY, HttpRequest.class)
@@ -153,6 +161,6 @@ public class GraphQLWsMessageHandler {
         final Publisher<GraphQLResponseBody> responseBody =
             this.graphQLExecutionResultHandler.handleExecutionResult(executionResult);
         return Flowable.fromPublisher(responseBody)
-            .flatMap(body -> this.responseSender.send(operationId, body, session));
+            .flatMap(body -> this.responseSender.send(operationId, operationKey.orElse(null), body, session));
     }
 }
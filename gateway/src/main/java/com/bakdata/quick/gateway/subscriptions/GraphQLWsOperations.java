@@ -95,4 +95,11 @@ class GraphQLWsOperations {
             .map(this.activeOperations::containsKey)
             .orElse(false);
     }
+
+    /**
+     * Returns the number of active operations.
+     */
+    int size() {
+        return this.activeOperations.size();
+    }
 }
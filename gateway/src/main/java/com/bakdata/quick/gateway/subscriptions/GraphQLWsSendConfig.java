@@ -0,0 +1,92 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.subscriptions;
+
+import io.micronaut.context.annotation.ConfigurationInject;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Configuration for sending subscription results over web sockets.
+ *
+ * @see GraphQLWsSender
+ */
+@ConfigurationProperties("quick.subscription.send")
+@Getter
+public class GraphQLWsSendConfig {
+    public static final int DEFAULT_BUFFER_SIZE = 1000;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * Maximum number of pending results per session.
+     */
+    private final int bufferSize;
+
+    /**
+     * Maximum number of pending messages written to the session before waiting for their completion.
+     */
+    private final int batchSize;
+
+    /**
+     * What to do with a new result if the buffer of the session is full.
+     */
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Constructor setting defaults.
+     */
+    public GraphQLWsSendConfig() {
+        this(Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param bufferSize     maximum number of pending results per session
+     * @param batchSize      maximum number of messages written at once
+     * @param overflowPolicy policy applied if the buffer is full
+     */
+    @ConfigurationInject
+    public GraphQLWsSendConfig(final Optional<Integer> bufferSize, final Optional<Integer> batchSize,
+        final Optional<OverflowPolicy> overflowPolicy) {
+        this.bufferSize = bufferSize.orElse(DEFAULT_BUFFER_SIZE);
+        this.batchSize = batchSize.orElse(DEFAULT_BATCH_SIZE);
+        this.overflowPolicy = overflowPolicy.orElse(OverflowPolicy.DROP_OLDEST);
+        if (this.bufferSize <= 0 || this.batchSize <= 0) {
+            throw new IllegalArgumentException("The buffer and batch size of subscriptions should be positive");
+        }
+    }
+
+    /**
+     * Policies for sessions that can't keep up with their subscriptions.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drops the oldest pending result of the session.
+         */
+        DROP_OLDEST,
+        /**
+         * Replaces the oldest pending result of the same operation, so that the client receives the newest one.
+         */
+        CONFLATE,
+        /**
+         * Closes the session.
+         */
+        DISCONNECT
+    }
+}
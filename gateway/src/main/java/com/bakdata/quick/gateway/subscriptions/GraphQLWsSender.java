@@ -17,37 +17,57 @@
 package com.bakdata.quick.gateway.subscriptions;
 
 
+import static com.bakdata.quick.gateway.fetcher.subscription.SubscriptionEventInstrumentation.RECORD_KEY_EXTENSION;
 import static io.micronaut.configuration.graphql.ws.GraphQLWsResponse.ServerType.GQL_COMPLETE;
 import static io.micronaut.configuration.graphql.ws.GraphQLWsResponse.ServerType.GQL_DATA;
 import static io.micronaut.configuration.graphql.ws.GraphQLWsResponse.ServerType.GQL_ERROR;
 
+import edu.umd.cs.findbugs.annotations.Nullable;
 import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micronaut.configuration.graphql.GraphQLJsonSerializer;
 import io.micronaut.configuration.graphql.GraphQLResponseBody;
 import io.micronaut.configuration.graphql.ws.GraphQLWsResponse;
+import io.micronaut.configuration.graphql.ws.GraphQLWsResponse.ServerType;
 import io.micronaut.core.async.subscriber.CompletionAwareSubscriber;
+import io.micronaut.websocket.CloseReason;
 import io.micronaut.websocket.WebSocketSession;
 import io.reactivex.Flowable;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
 
 /**
  * Sends the GraphQL response(s) to the client.
  *
+ * <p>
+ * Changes to original code: Subscription results are sent asynchronously through a bounded queue per session, see
+ * {@link SessionSendQueue}. If a {@link MeterRegistry} is available, the queue depth and the number of dropped
+ * results are recorded per subscription field. Identical subscription operations of different sessions share a single
+ * execution, whose results are serialized once, see {@link GraphQLWsState#shareBroadcast}.
+ *
  * @author Gerard Klijs
  * @since 1.3
  */
 @Singleton
 @Slf4j
 public class GraphQLWsSender {
-
-
     private final GraphQLWsState state;
     private final GraphQLJsonSerializer graphQLJsonSerializer;
+    private final GraphQLWsSendConfig sendConfig;
+    private final Optional<MeterRegistry> meterRegistry;
+    private final Map<String, OperationSendMetrics> fieldMetrics;
 
     /**
      * Default constructor.
@@ -56,24 +76,53 @@ public class GraphQLWsSender {
      * @param graphQLJsonSerializer the {@link GraphQLJsonSerializer} instance
      */
     public GraphQLWsSender(final GraphQLWsState state, final GraphQLJsonSerializer graphQLJsonSerializer) {
+        this(state, graphQLJsonSerializer, new GraphQLWsSendConfig(), Optional.empty());
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param state                 the {@link GraphQLWsState} instance
+     * @param graphQLJsonSerializer the {@link GraphQLJsonSerializer} instance
+     * @param sendConfig            configuration of the send queues
+     * @param meterRegistry         registry for send metrics, empty if metrics are disabled
+     */
+    @Inject
+    public GraphQLWsSender(final GraphQLWsState state, final GraphQLJsonSerializer graphQLJsonSerializer,
+        final GraphQLWsSendConfig sendConfig, final Optional<MeterRegistry> meterRegistry) {
         this.state = state;
         this.graphQLJsonSerializer = graphQLJsonSerializer;
+        this.sendConfig = sendConfig;
+        this.meterRegistry = meterRegistry;
+        this.fieldMetrics = new ConcurrentHashMap<>();
     }
 
     /**
      * Transform the result from the a websocket request to a message that can be send to the client.
      *
-     * @param operationId  Sting value of the operation id
-     * @param responseBody GraphQLResponseBody of the executed operation
-     * @param session      the websocket session by which the operation was executed
+     * <p>
+     * The results of a subscription are shared with all sessions that subscribe to the same operation later on, unless
+     * its results depend on the session, see {@link OperationKey}.
+     *
+     * @param operationId   Sting value of the operation id
+     * @param operationKey  key of the operation for sharing its results, null if it isn't a subscription
+     * @param responseBody  GraphQLResponseBody of the executed operation
+     * @param session       the websocket session by which the operation was executed
      * @return GraphQLWsOperationMessage
      */
     @SuppressWarnings("unchecked")
-    Flowable<GraphQLWsResponse> send(final String operationId, final GraphQLResponseBody responseBody,
-        final WebSocketSession session) {
+    Flowable<GraphQLWsResponse> send(final String operationId, @Nullable final OperationKey operationKey,
+        final GraphQLResponseBody responseBody, final WebSocketSession session) {
         final Object dataObject = responseBody.getSpecification().get("data");
         if (dataObject instanceof Publisher) {
-            return this.startSubscription(operationId, (Publisher<ExecutionResult>) dataObject, session);
+            final Flux<SerializedResult> results = Flux.from((Publisher<ExecutionResult>) dataObject)
+                .map(this::serialize);
+            if (operationKey == null) {
+                final OperationSendMetrics metrics = this.getMetrics(OperationKey.UNKNOWN_FIELD);
+                return this.startSubscription(operationId, results, session, metrics);
+            }
+            final Publisher<SerializedResult> broadcast = this.state.shareBroadcast(operationKey, results);
+            return this.subscribe(operationId, operationKey, broadcast, session);
         } else {
             return Flowable.just(
                 this.toGraphQLWsResponse(operationId, responseBody),
@@ -81,6 +130,40 @@ public class GraphQLWsSender {
         }
     }
 
+    /**
+     * Sends the shared results of a subscription operation to the client.
+     *
+     * @param operationId  Sting value of the operation id
+     * @param operationKey key of the shared operation
+     * @param broadcast    serialized results of the operation
+     * @param session      the websocket session by which the operation was started
+     * @return GraphQLWsOperationMessage
+     */
+    Flowable<GraphQLWsResponse> subscribe(final String operationId, final OperationKey operationKey,
+        final Publisher<SerializedResult> broadcast, final WebSocketSession session) {
+        final OperationSendMetrics metrics = this.getMetrics(operationKey.getRootField());
+        return this.startSubscription(operationId, broadcast, session, metrics);
+    }
+
+    private SerializedResult serialize(final ExecutionResult executionResult) {
+        final Map<Object, Object> extensions = executionResult.getExtensions();
+        if (extensions == null || !extensions.containsKey(RECORD_KEY_EXTENSION)) {
+            return this.serialize(executionResult, null);
+        }
+        // the record key is only used for conflating results and must not be sent to the client
+        final Map<Object, Object> clientExtensions = new LinkedHashMap<>(extensions);
+        final Object recordKey = clientExtensions.remove(RECORD_KEY_EXTENSION);
+        final ExecutionResult clientResult = new ExecutionResultImpl(executionResult.getData(),
+            executionResult.getErrors(), clientExtensions.isEmpty() ? null : clientExtensions);
+        return this.serialize(clientResult, recordKey);
+    }
+
+    private SerializedResult serialize(final ExecutionResult executionResult, @Nullable final Object recordKey) {
+        final GraphQLResponseBody responseBody = new GraphQLResponseBody(executionResult.toSpecification());
+        final ServerType type = this.hasErrors(responseBody) ? GQL_ERROR : GQL_DATA;
+        return new SerializedResult(type, this.graphQLJsonSerializer.serialize(responseBody), recordKey);
+    }
+
     private GraphQLWsResponse toGraphQLWsResponse(final String operationId, final GraphQLResponseBody responseBody) {
         if (this.hasErrors(responseBody)) {
             return new GraphQLWsResponse(GQL_ERROR, operationId, responseBody);
@@ -99,34 +182,67 @@ public class GraphQLWsSender {
         }
     }
 
-    private Function<String, Subscription> starter(final Publisher<ExecutionResult> publisher,
-        final WebSocketSession session) {
+    private Function<String, Subscription> starter(final Publisher<SerializedResult> publisher,
+        final WebSocketSession session, final OperationSendMetrics metrics) {
         return operationId -> {
-            final SendSubscriber subscriber = new SendSubscriber(operationId, session);
+            final SendSubscriber subscriber =
+                new SendSubscriber(operationId, session, this.getSendQueue(session), metrics);
             publisher.subscribe(subscriber);
             return subscriber.getSubscription();
         };
     }
 
     private Flowable<GraphQLWsResponse> startSubscription(final String operationId,
-        final Publisher<ExecutionResult> publisher,
-        final WebSocketSession session) {
-        this.state.saveOperation(operationId, session, this.starter(publisher, session));
+        final Publisher<SerializedResult> publisher,
+        final WebSocketSession session,
+        final OperationSendMetrics metrics) {
+        this.state.saveOperation(operationId, session, this.starter(publisher, session, metrics));
         return Flowable.empty();
     }
 
+    private SessionSendQueue getSendQueue(final WebSocketSession session) {
+        return this.state.getSendQueue(session, this::createSendQueue);
+    }
+
+    private SessionSendQueue createSendQueue(final WebSocketSession session) {
+        return new SessionSendQueue(this.sendConfig.getBufferSize(),
+            this.sendConfig.getBatchSize(), this.sendConfig.getOverflowPolicy(),
+            message -> this.sendAsync(session, message),
+            () -> session.close(CloseReason.TRY_AGAIN_LATER));
+    }
+
+    private CompletableFuture<?> sendAsync(final WebSocketSession session, final String message) {
+        if (!session.isOpen()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return session.sendAsync(message);
+    }
+
+    private OperationSendMetrics getMetrics(final String field) {
+        return this.fieldMetrics.computeIfAbsent(field, name -> this.meterRegistry
+            .map(registry -> OperationSendMetrics.create(registry, name))
+            .orElseGet(OperationSendMetrics::local));
+    }
+
     /**
      * Subscriber to handle the messages, might be cancelled when the client calls stop or when the connection is
      * broken.
      */
-    private final class SendSubscriber extends CompletionAwareSubscriber<ExecutionResult> {
+    private final class SendSubscriber extends CompletionAwareSubscriber<SerializedResult> {
 
         private final String operationId;
+        private final String serializedOperationId;
         private final WebSocketSession session;
+        private final SessionSendQueue sendQueue;
+        private final OperationSendMetrics metrics;
 
-        private SendSubscriber(final String operationId, final WebSocketSession session) {
+        private SendSubscriber(final String operationId, final WebSocketSession session,
+            final SessionSendQueue sendQueue, final OperationSendMetrics metrics) {
             this.operationId = operationId;
+            this.serializedOperationId = GraphQLWsSender.this.graphQLJsonSerializer.serialize(operationId);
             this.session = session;
+            this.sendQueue = sendQueue;
+            this.metrics = metrics;
         }
 
         Subscription getSubscription() {
@@ -136,40 +252,34 @@ public class GraphQLWsSender {
         @Override
         protected void doOnSubscribe(final Subscription subscription) {
             log.info("Subscribed to results for to operation {} in session {}", this.operationId, this.session.getId());
-            subscription.request(1L);
+            // the send queue is bounded and applies the overflow policy, so a slow client never stalls the publisher
+            subscription.request(Long.MAX_VALUE);
         }
 
         @Override
-        protected void doOnNext(final ExecutionResult message) {
+        protected void doOnNext(final SerializedResult message) {
             log.debug("Emit output for {}", this.operationId);
-            this.convertAndSend(message);
-            this.subscription.request(1L);
+            this.sendQueue.offerResult(this.operationId, message.toMessage(this.serializedOperationId),
+                message.getRecordKey(), this.metrics);
         }
 
         @Override
         protected void doOnError(final Throwable t) {
             log.warn("Error in SendSubscriber", t);
-            this.send(new GraphQLWsResponse(GQL_ERROR, this.operationId));
+            this.sendControl(new GraphQLWsResponse(GQL_ERROR, this.operationId));
         }
 
         @Override
         protected void doOnComplete() {
             log.info("Completed results for operation {} in session {}", this.operationId, this.session.getId());
             if (GraphQLWsSender.this.state.removeCompleted(this.operationId, this.session)) {
-                this.send(new GraphQLWsResponse(GQL_COMPLETE, this.operationId));
+                this.sendControl(new GraphQLWsResponse(GQL_COMPLETE, this.operationId));
             }
         }
 
-        private void convertAndSend(final ExecutionResult executionResult) {
-            final GraphQLWsResponse response = GraphQLWsSender.this.toGraphQLWsResponse(
-                this.operationId, new GraphQLResponseBody(executionResult.toSpecification()));
-            this.send(response);
-        }
-
-        private void send(final GraphQLWsResponse response) {
-            if (this.session.isOpen()) {
-                this.session.sendSync(GraphQLWsSender.this.graphQLJsonSerializer.serialize(response));
-            }
+        private void sendControl(final GraphQLWsResponse response) {
+            final String message = GraphQLWsSender.this.graphQLJsonSerializer.serialize(response);
+            this.sendQueue.offerControl(this.operationId, message, this.metrics);
         }
     }
 }
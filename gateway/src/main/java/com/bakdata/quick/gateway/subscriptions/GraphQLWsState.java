@@ -19,21 +19,32 @@ package com.bakdata.quick.gateway.subscriptions;
 
 import static io.micronaut.configuration.graphql.ws.GraphQLWsResponse.ServerType.GQL_COMPLETE;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micronaut.configuration.graphql.ws.GraphQLWsResponse;
 import io.micronaut.websocket.WebSocketSession;
 import io.reactivex.Flowable;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
 
 /**
  * Keeps the state of the web socket subscriptions.
  *
+ * <p>
+ * Changes to original code: If a {@link MeterRegistry} is available, the number of active sessions, operations, and
+ * shared executions are recorded. The send queue of each session is kept until the session is terminated.
+ *
  * @author Gerard Klijs
  * @since 1.3
  */
@@ -43,6 +54,41 @@ class GraphQLWsState {
 
     private final ConcurrentSkipListSet<String> activeSessions = new ConcurrentSkipListSet<>();
     private final ConcurrentHashMap<String, GraphQLWsOperations> activeOperations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<OperationKey, Flux<SerializedResult>> broadcasts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SessionSendQueue> sendQueues = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor.
+     */
+    GraphQLWsState() {
+        this(Optional.empty());
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param meterRegistry registry for state metrics, empty if metrics are disabled
+     */
+    @Inject
+    GraphQLWsState(final Optional<MeterRegistry> meterRegistry) {
+        meterRegistry.ifPresent(this::registerMetrics);
+    }
+
+    private void registerMetrics(final MeterRegistry registry) {
+        Gauge.builder("quick.subscription.sessions.active", this.activeSessions, Collection::size)
+            .description("Number of active web socket sessions")
+            .register(registry);
+        Gauge.builder("quick.subscription.operations.active", this.activeOperations, GraphQLWsState::countOperations)
+            .description("Number of active operations in all web socket sessions")
+            .register(registry);
+        Gauge.builder("quick.subscription.broadcasts.active", this.broadcasts, Map::size)
+            .description("Number of subscription operations executed and shared between sessions")
+            .register(registry);
+    }
+
+    private static int countOperations(final Map<String, GraphQLWsOperations> operations) {
+        return operations.values().stream().mapToInt(GraphQLWsOperations::size).sum();
+    }
 
     /**
      * Sets the session to active.
@@ -85,9 +131,22 @@ class GraphQLWsState {
         this.activeSessions.remove(session.getId());
         Optional.ofNullable(this.activeOperations.remove(session.getId()))
             .ifPresent(GraphQLWsOperations::cancelAll);
+        this.sendQueues.remove(session.getId());
         return Flowable.empty();
     }
 
+    /**
+     * Returns the send queue of the session and creates it if it doesn't exist yet.
+     *
+     * @param session      WebSocketSession
+     * @param queueFactory creates the queue of the session
+     * @return the send queue of the session
+     */
+    SessionSendQueue getSendQueue(final WebSocketSession session,
+        final Function<WebSocketSession, SessionSendQueue> queueFactory) {
+        return this.sendQueues.computeIfAbsent(session.getId(), id -> queueFactory.apply(session));
+    }
+
     /**
      * Saves the operation under the client.id and operation.id so it can be cancelled later.
      *
@@ -139,6 +198,46 @@ class GraphQLWsState {
             .orElse(false);
     }
 
+    /**
+     * Returns the shared results of a subscription operation if another session already executes it.
+     *
+     * @param operationKey key of the operation
+     * @return the shared results, or empty if the operation isn't executed yet or can't be shared
+     */
+    Optional<Publisher<SerializedResult>> findBroadcast(final OperationKey operationKey) {
+        if (!operationKey.isShareable()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(this.broadcasts.get(operationKey));
+    }
+
+    /**
+     * Shares the results of a subscription operation with all sessions subscribing to it.
+     *
+     * <p>
+     * The operation is executed as long as at least one session is subscribed. If another session registered the same
+     * operation in the meantime, its results are returned instead and the given ones are never subscribed. Results of
+     * operations that can't be shared are returned as they are.
+     *
+     * @param operationKey key of the operation
+     * @param results      serialized results of the operation
+     * @return the shared results
+     */
+    Publisher<SerializedResult> shareBroadcast(final OperationKey operationKey, final Flux<SerializedResult> results) {
+        if (!operationKey.isShareable()) {
+            return results;
+        }
+        return this.broadcasts.computeIfAbsent(operationKey, key -> {
+            log.debug("Share results of operation {}", key.getOperationName());
+            final AtomicReference<Flux<SerializedResult>> broadcast = new AtomicReference<>();
+            broadcast.set(results
+                .doFinally(signal -> this.broadcasts.remove(key, broadcast.get()))
+                .publish()
+                .refCount());
+            return broadcast.get();
+        });
+    }
+
     /**
      * Returns whether the operation already exists.
      *
@@ -0,0 +1,117 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.subscriptions;
+
+import com.bakdata.quick.gateway.custom.type.QuickResumeDirective;
+import com.bakdata.quick.gateway.custom.type.QuickSnapshotDirective;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.language.AstPrinter;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
+import graphql.language.OperationDefinition.Operation;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import lombok.Value;
+
+/**
+ * Identifies subscription operations that yield the same results, independent of the session.
+ *
+ * <p>
+ * The query is normalized by printing its parsed document, so that whitespace, comments, and formatting don't matter.
+ * The root field is the name of the field the operation subscribes to. Unlike the client-chosen operation name, the
+ * schema bounds its values, so that it can be used to tag metrics.
+ *
+ * <p>
+ * Operations whose first results depend on when or where they start, i.e., those with a {@link QuickSnapshotDirective}
+ * or {@link QuickResumeDirective}, are not shareable.
+ */
+@Value
+@SuppressWarnings("ObjectToString") // Lombok does that for us
+class OperationKey {
+    static final String UNKNOWN_FIELD = "unknown";
+    private static final Set<String> SESSION_DIRECTIVES =
+        Set.of(QuickSnapshotDirective.DIRECTIVE_NAME, QuickResumeDirective.DIRECTIVE_NAME);
+
+    String query;
+    @Nullable
+    String operationName;
+    Map<String, Object> variables;
+    String rootField;
+    boolean shareable;
+
+    /**
+     * Creates the key of the subscription operation requested by the payload.
+     *
+     * @return the key, or empty if the payload doesn't request a subscription
+     */
+    static Optional<OperationKey> of(final GraphQLRequestBody payload) {
+        final Document document;
+        try {
+            document = new Parser().parseDocument(payload.getQuery());
+        } catch (final InvalidSyntaxException e) {
+            // the invocation reports the error
+            return Optional.empty();
+        }
+        final Map<String, Object> variables = payload.getVariables() == null ? Map.of() : payload.getVariables();
+        return findOperation(document, payload.getOperationName())
+            .filter(operation -> operation.getOperation() == Operation.SUBSCRIPTION)
+            .map(operation -> new OperationKey(AstPrinter.printAstCompact(document), payload.getOperationName(),
+                variables, rootField(operation), !hasSessionDirective(document)));
+    }
+
+    private static Optional<OperationDefinition> findOperation(final Document document,
+        @Nullable final String operationName) {
+        final List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+        return operations.stream()
+            .filter(operation -> operationName == null
+                ? operations.size() == 1
+                : Objects.equals(operationName, operation.getName()))
+            .findFirst();
+    }
+
+    /**
+     * Returns the name of the first root field of the operation.
+     *
+     * <p>
+     * Subscriptions have a single root field. Field names are only bounded by the schema if the operation is valid,
+     * which is the case once it is executed.
+     */
+    private static String rootField(final OperationDefinition operation) {
+        return operation.getSelectionSet().getSelectionsOfType(Field.class).stream()
+            .findFirst()
+            .map(Field::getName)
+            .orElse(UNKNOWN_FIELD);
+    }
+
+    /**
+     * Checks the whole document, as directives may also be set in fragments.
+     */
+    private static boolean hasSessionDirective(final Node<?> node) {
+        if (node instanceof Directive && SESSION_DIRECTIVES.contains(((Directive) node).getName())) {
+            return true;
+        }
+        return node.getChildren().stream().anyMatch(OperationKey::hasSessionDirective);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.subscriptions;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Send metrics of all operations subscribing to the same field across all sessions.
+ *
+ * <p>
+ * The meters are tagged by the subscription field instead of the operation name, because clients choose the latter
+ * freely.
+ */
+final class OperationSendMetrics {
+    private static final String FIELD_TAG = "field";
+
+    private final AtomicInteger queueDepth;
+    @Nullable
+    private final Counter drops;
+    @Nullable
+    private final Timer sendLatency;
+
+    private OperationSendMetrics(final AtomicInteger queueDepth, @Nullable final Counter drops,
+        @Nullable final Timer sendLatency) {
+        this.queueDepth = queueDepth;
+        this.drops = drops;
+        this.sendLatency = sendLatency;
+    }
+
+    /**
+     * Creates metrics that are only tracked locally.
+     */
+    static OperationSendMetrics local() {
+        return new OperationSendMetrics(new AtomicInteger(), null, null);
+    }
+
+    /**
+     * Creates metrics registered in the registry.
+     *
+     * @param registry registry of the meters
+     * @param field    name of the subscription field
+     */
+    static OperationSendMetrics create(final MeterRegistry registry, final String field) {
+        final AtomicInteger queueDepth = new AtomicInteger();
+        Gauge.builder("quick.subscription.queue.depth", queueDepth, AtomicInteger::get)
+            .description("Number of pending results of the field in all sessions")
+            .tag(FIELD_TAG, field)
+            .register(registry);
+        final Counter drops = Counter.builder("quick.subscription.drops")
+            .description("Number of results of the field dropped because a session could not keep up")
+            .tag(FIELD_TAG, field)
+            .register(registry);
+        final Timer sendLatency = Timer.builder("quick.subscription.send.latency")
+            .description("Time from queueing a message of the field until it is written to the session")
+            .tag(FIELD_TAG, field)
+            .register(registry);
+        return new OperationSendMetrics(queueDepth, drops, sendLatency);
+    }
+
+    int getQueueDepth() {
+        return this.queueDepth.get();
+    }
+
+    void enqueued() {
+        this.queueDepth.incrementAndGet();
+    }
+
+    void dequeued() {
+        this.queueDepth.decrementAndGet();
+    }
+
+    /**
+     * Records that a pending result was dropped.
+     */
+    void dropped() {
+        this.queueDepth.decrementAndGet();
+        this.rejected();
+    }
+
+    /**
+     * Records that a result was dropped before it was added to a queue.
+     */
+    void rejected() {
+        if (this.drops != null) {
+            this.drops.increment();
+        }
+    }
+
+    /**
+     * Records that a message was written to its session.
+     *
+     * @param latencyNanos time since the message was queued in nanoseconds
+     */
+    void sent(final long latencyNanos) {
+        if (this.sendLatency != null) {
+            this.sendLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
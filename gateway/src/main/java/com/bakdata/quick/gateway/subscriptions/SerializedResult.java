@@ -0,0 +1,47 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.subscriptions;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.configuration.graphql.ws.GraphQLWsResponse.ServerType;
+import lombok.Value;
+
+/**
+ * Result of a subscription whose payload is serialized once for all sessions it is sent to.
+ *
+ * <p>
+ * The record key identifies the record the result was created from. Pending results of the same key can be conflated.
+ */
+@Value
+@SuppressWarnings("ObjectToString") // Lombok does that for us
+class SerializedResult {
+    ServerType type;
+    String payload;
+    @Nullable
+    Object recordKey;
+
+    /**
+     * Creates the web socket message of an operation.
+     *
+     * @param serializedOperationId JSON string of the operation's id
+     * @return the message as JSON
+     */
+    String toMessage(final String serializedOperationId) {
+        return "{\"type\":\"" + this.type.getType() + "\",\"id\":" + serializedOperationId
+            + ",\"payload\":" + this.payload + "}";
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.subscriptions;
+
+import com.bakdata.quick.gateway.subscriptions.GraphQLWsSendConfig.OverflowPolicy;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded queue of the messages pending for a single web socket session.
+ *
+ * <p>
+ * Messages are written asynchronously, so that a slow client never blocks the publisher of its results. All messages
+ * pending when a write completes are written together as the next batch. If the client can't keep up and the queue
+ * is full, the {@link OverflowPolicy} decides which result is dropped. Control messages, e.g., the completion of an
+ * operation, are never dropped and do not count against the capacity.
+ *
+ * <p>
+ * With {@link OverflowPolicy#CONFLATE}, a result replaces the pending result of the same operation and record key. It
+ * keeps the position of the replaced result, so that keys are sent in the order they first became pending. If the
+ * queue is full and there is no such result, the oldest result of the operation is dropped, and if there is none,
+ * the oldest result of the session.
+ */
+@Slf4j
+final class SessionSendQueue {
+    private final int capacity;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Function<String, CompletableFuture<?>> sender;
+    private final Runnable disconnect;
+    private final Deque<PendingMessage> pending;
+    private final Map<ConflationKey, PendingMessage> pendingByKey;
+    private int pendingResults;
+    private boolean sending;
+    private boolean closed;
+
+    /**
+     * Default constructor.
+     *
+     * @param capacity       maximum number of pending results
+     * @param batchSize      maximum number of messages written at once
+     * @param overflowPolicy policy applied if the queue is full
+     * @param sender         writes a message to the session and completes once it is written
+     * @param disconnect     closes the session
+     */
+    SessionSendQueue(final int capacity, final int batchSize, final OverflowPolicy overflowPolicy,
+        final Function<String, CompletableFuture<?>> sender, final Runnable disconnect) {
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sender = sender;
+        this.disconnect = disconnect;
+        this.pending = new ArrayDeque<>();
+        this.pendingByKey = new HashMap<>();
+    }
+
+    /**
+     * Adds a serialized result of an operation to the queue.
+     */
+    void offerResult(final String operationId, final String message, final OperationSendMetrics metrics) {
+        this.offerResult(operationId, message, null, metrics);
+    }
+
+    /**
+     * Adds a serialized result of an operation to the queue.
+     *
+     * @param recordKey key of the record the result was created from, null if results can't be conflated
+     */
+    void offerResult(final String operationId, final String message, @Nullable final Object recordKey,
+        final OperationSendMetrics metrics) {
+        final ConflationKey conflationKey = recordKey == null || this.overflowPolicy != OverflowPolicy.CONFLATE
+            ? null
+            : new ConflationKey(operationId, recordKey);
+        this.offer(new PendingMessage(operationId, message, conflationKey, true, metrics, System.nanoTime()));
+    }
+
+    /**
+     * Adds a serialized control message of an operation to the queue.
+     */
+    void offerControl(final String operationId, final String message, final OperationSendMetrics metrics) {
+        this.offer(new PendingMessage(operationId, message, null, false, metrics, System.nanoTime()));
+    }
+
+    synchronized int size() {
+        return this.pending.size();
+    }
+
+    private void offer(final PendingMessage message) {
+        final boolean startSending;
+        final boolean disconnectSession;
+        synchronized (this) {
+            if (this.closed || this.conflate(message)) {
+                return;
+            }
+            if (message.isResult() && this.pendingResults >= this.capacity && !this.makeRoom(message)) {
+                this.closed = true;
+                this.pending.forEach(dropped -> dropped.getMetrics().dropped());
+                this.pending.clear();
+                this.pendingByKey.clear();
+                this.pendingResults = 0;
+                message.getMetrics().rejected();
+                startSending = false;
+                disconnectSession = true;
+            } else {
+                this.pending.add(message);
+                if (message.getConflationKey() != null) {
+                    this.pendingByKey.put(message.getConflationKey(), message);
+                }
+                message.getMetrics().enqueued();
+                if (message.isResult()) {
+                    this.pendingResults++;
+                }
+                startSending = !this.sending;
+                this.sending = true;
+                disconnectSession = false;
+            }
+        }
+
+        if (disconnectSession) {
+            log.warn("Closing session because it can't keep up with operation {}", message.getOperationId());
+            this.disconnect.run();
+        } else if (startSending) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Replaces the pending result of the same operation and record key with the message, if there is any.
+     *
+     * @return true if the message replaced a pending result
+     */
+    private boolean conflate(final PendingMessage message) {
+        final ConflationKey conflationKey = message.getConflationKey();
+        if (conflationKey == null) {
+            return false;
+        }
+        final PendingMessage pendingMessage = this.pendingByKey.get(conflationKey);
+        if (pendingMessage == null) {
+            return false;
+        }
+        pendingMessage.getMetrics().dropped();
+        pendingMessage.replace(message);
+        message.getMetrics().enqueued();
+        return true;
+    }
+
+    /**
+     * Drops a pending result according to the overflow policy.
+     *
+     * @return false if the session should be disconnected instead
+     */
+    private boolean makeRoom(final PendingMessage message) {
+        switch (this.overflowPolicy) {
+            case DROP_OLDEST:
+                return this.dropOldestResult(null);
+            case CONFLATE:
+                return this.dropOldestResult(message.getOperationId()) || this.dropOldestResult(null);
+            case DISCONNECT:
+                return false;
+            default:
+                throw new IllegalStateException("Unexpected value: " + this.overflowPolicy);
+        }
+    }
+
+    private boolean dropOldestResult(@Nullable final String operationId) {
+        final Iterator<PendingMessage> iterator = this.pending.iterator();
+        while (iterator.hasNext()) {
+            final PendingMessage message = iterator.next();
+            if (message.isResult() && (operationId == null || operationId.equals(message.getOperationId()))) {
+                iterator.remove();
+                this.removeConflationKey(message);
+                this.pendingResults--;
+                message.getMetrics().dropped();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the pending messages batch by batch until the queue is empty.
+     *
+     * <p>
+     * If a batch completes immediately, the next one is written in the same loop instead of a nested callback.
+     */
+    private void flush() {
+        while (true) {
+            final List<PendingMessage> batch = this.pollBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            final CompletableFuture<?>[] writes = batch.stream()
+                .map(this::write)
+                .toArray(CompletableFuture[]::new);
+            final CompletableFuture<Void> batchWrite = CompletableFuture.allOf(writes);
+            if (!batchWrite.isDone()) {
+                batchWrite.whenComplete((ignored, error) -> this.flush());
+                return;
+            }
+        }
+    }
+
+    private synchronized List<PendingMessage> pollBatch() {
+        final List<PendingMessage> batch = new ArrayList<>(Math.min(this.batchSize, this.pending.size()));
+        while (batch.size() < this.batchSize && !this.pending.isEmpty()) {
+            final PendingMessage message = this.pending.removeFirst();
+            this.removeConflationKey(message);
+            message.getMetrics().dequeued();
+            if (message.isResult()) {
+                this.pendingResults--;
+            }
+            batch.add(message);
+        }
+        if (batch.isEmpty()) {
+            this.sending = false;
+        }
+        return batch;
+    }
+
+    private void removeConflationKey(final PendingMessage message) {
+        if (message.getConflationKey() != null) {
+            this.pendingByKey.remove(message.getConflationKey());
+        }
+    }
+
+    private CompletableFuture<?> write(final PendingMessage message) {
+        try {
+            return this.sender.apply(message.getMessage())
+                .handle((ignored, error) -> {
+                    if (error == null) {
+                        message.getMetrics().sent(System.nanoTime() - message.getQueuedAt());
+                    } else {
+                        log.debug("Could not send message of operation {}", message.getOperationId(), error);
+                    }
+                    return null;
+                });
+        } catch (final RuntimeException e) {
+            log.debug("Could not send message of operation {}", message.getOperationId(), e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Value
+    @SuppressWarnings("ObjectToString") // Lombok does that for us
+    private static class ConflationKey {
+        String operationId;
+        Object recordKey;
+    }
+
+    /**
+     * Pending message, whose content and metrics are replaced when it is conflated. Guarded by the queue.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class PendingMessage {
+        private final String operationId;
+        private String message;
+        @Nullable
+        private final ConflationKey conflationKey;
+        private final boolean result;
+        private OperationSendMetrics metrics;
+        private final long queuedAt;
+
+        void replace(final PendingMessage newerMessage) {
+            this.message = newerMessage.getMessage();
+            this.metrics = newerMessage.getMetrics();
+        }
+    }
+}
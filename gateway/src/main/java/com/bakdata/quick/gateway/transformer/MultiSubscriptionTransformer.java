@@ -18,6 +18,7 @@ package com.bakdata.quick.gateway.transformer;
 
 import com.bakdata.quick.common.graphql.GraphQLUtils;
 import com.bakdata.quick.gateway.DataFetcherSpecification;
+import com.bakdata.quick.gateway.SubscriptionCacheConfig;
 import com.bakdata.quick.gateway.directives.topic.TopicDirective;
 import com.bakdata.quick.gateway.fetcher.DataFetcherClient;
 import com.bakdata.quick.gateway.fetcher.FetcherFactory;
@@ -31,10 +32,12 @@ import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.SchemaGeneratorPostProcessing;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Singleton;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
@@ -64,9 +67,21 @@ import lombok.extern.slf4j.Slf4j;
 @Singleton
 public class MultiSubscriptionTransformer implements SchemaGeneratorPostProcessing {
     private final FetcherFactory fetcherFactory;
+    private final List<SubscriptionCacheConfig> cacheConfigs;
+    private final Optional<MeterRegistry> meterRegistry;
 
-    public MultiSubscriptionTransformer(final FetcherFactory fetcherFactory) {
+    /**
+     * Injectable constructor.
+     *
+     * @param fetcherFactory factory for the clients and subscription providers of the fields
+     * @param cacheConfigs   configured field caches, each named after the type it applies to
+     * @param meterRegistry  registry for the cache metrics, empty if metrics are disabled
+     */
+    public MultiSubscriptionTransformer(final FetcherFactory fetcherFactory,
+        final List<SubscriptionCacheConfig> cacheConfigs, final Optional<MeterRegistry> meterRegistry) {
         this.fetcherFactory = fetcherFactory;
+        this.cacheConfigs = cacheConfigs;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -122,11 +137,19 @@ public class MultiSubscriptionTransformer implements SchemaGeneratorPostProcessi
         }
 
         final DataFetcher<?> multiSubscriptionFetcher =
-            new MultiSubscriptionFetcher<>(dataFetchers, subscriptionProviders);
+            new MultiSubscriptionFetcher<>(dataFetchers, subscriptionProviders,
+                this.getCacheConfig(objectType.getName()), this.meterRegistry);
         final FieldCoordinates coordinates =
             FieldCoordinates.coordinates(GraphQLUtils.SUBSCRIPTION_TYPE, fieldDefinition.getName());
 
         return DataFetcherSpecification.of(coordinates, multiSubscriptionFetcher);
     }
 
+    private SubscriptionCacheConfig getCacheConfig(final String typeName) {
+        return this.cacheConfigs.stream()
+            .filter(config -> config.getName().equalsIgnoreCase(typeName))
+            .findFirst()
+            .orElseGet(() -> new SubscriptionCacheConfig(typeName));
+    }
+
 }
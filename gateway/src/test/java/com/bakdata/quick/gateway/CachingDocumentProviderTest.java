@@ -0,0 +1,111 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class CachingDocumentProviderTest {
+    private static final String QUERY = "{ hello }";
+    private static final String HASH = Hashing.sha256().hashString(QUERY, StandardCharsets.UTF_8).toString();
+
+    private final AtomicInteger parseCount = new AtomicInteger();
+    private final Function<ExecutionInput, PreparsedDocumentEntry> parseFunction = input -> {
+        this.parseCount.incrementAndGet();
+        return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+    };
+
+    @Test
+    void shouldParseQueryOnlyOnce() {
+        final CachingDocumentProvider provider = new CachingDocumentProvider(new QueryCacheConfig());
+        final PreparsedDocumentEntry first = provider.getDocument(input(QUERY, null), this.parseFunction);
+        final PreparsedDocumentEntry second = provider.getDocument(input(QUERY, null), this.parseFunction);
+        assertThat(second).isSameAs(first);
+        assertThat(this.parseCount).hasValue(1);
+    }
+
+    @Test
+    void shouldNotCacheInvalidQueries() {
+        final CachingDocumentProvider provider = new CachingDocumentProvider(new QueryCacheConfig());
+        final Function<ExecutionInput, PreparsedDocumentEntry> invalid = input -> {
+            this.parseCount.incrementAndGet();
+            return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("invalid").build());
+        };
+        provider.getDocument(input(QUERY, null), invalid);
+        provider.getDocument(input(QUERY, null), invalid);
+        assertThat(this.parseCount).hasValue(2);
+    }
+
+    @Test
+    void shouldReturnErrorForUnknownPersistedQuery() {
+        final CachingDocumentProvider provider = new CachingDocumentProvider(new QueryCacheConfig());
+        final PreparsedDocumentEntry entry = provider.getDocument(input("", HASH), this.parseFunction);
+        assertThat(entry.hasErrors()).isTrue();
+        assertThat(entry.getErrors()).first()
+            .extracting(GraphQLError::getMessage)
+            .isEqualTo("PersistedQueryNotFound");
+        assertThat(this.parseCount).hasValue(0);
+    }
+
+    @Test
+    void shouldServePersistedQueryByHash() {
+        final CachingDocumentProvider provider = new CachingDocumentProvider(new QueryCacheConfig());
+        final PreparsedDocumentEntry registered = provider.getDocument(input(QUERY, HASH), this.parseFunction);
+        final PreparsedDocumentEntry persisted = provider.getDocument(input("", HASH), this.parseFunction);
+        assertThat(persisted).isSameAs(registered);
+        assertThat(persisted.hasErrors()).isFalse();
+        assertThat(this.parseCount).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectHashNotMatchingQuery() {
+        final CachingDocumentProvider provider = new CachingDocumentProvider(new QueryCacheConfig());
+        final PreparsedDocumentEntry entry = provider.getDocument(input("{ other }", HASH), this.parseFunction);
+        assertThat(entry.hasErrors()).isTrue();
+        assertThat(this.parseCount).hasValue(0);
+    }
+
+    @Test
+    void shouldIgnoreHashIfPersistedQueriesAreDisabled() {
+        final QueryCacheConfig config = new QueryCacheConfig(Optional.empty(), Optional.of(false));
+        final CachingDocumentProvider provider = new CachingDocumentProvider(config);
+        provider.getDocument(input(QUERY, HASH), this.parseFunction);
+        final PreparsedDocumentEntry entry = provider.getDocument(input(QUERY, "unknown"), this.parseFunction);
+        assertThat(entry.hasErrors()).isFalse();
+        assertThat(this.parseCount).hasValue(1);
+    }
+
+    private static ExecutionInput input(final String query, final String hash) {
+        final ExecutionInput.Builder builder = ExecutionInput.newExecutionInput(query);
+        if (hash != null) {
+            builder.extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.management.health.indicator.HealthResult;
+import io.reactivex.Flowable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GatewayWarmerTest {
+
+    @Test
+    void shouldRunRegisteredInitializationsOnce() {
+        final GatewayWarmer warmer = new GatewayWarmer();
+        final AtomicInteger counter = new AtomicInteger();
+        warmer.register(counter::incrementAndGet);
+        warmer.register(counter::incrementAndGet);
+
+        warmer.warmUp();
+        assertThat(counter).hasValue(2);
+        assertThat(warmer.getProgress()).containsEntry("total", 2).containsEntry("completed", 2);
+
+        warmer.warmUp();
+        assertThat(counter).hasValue(2);
+    }
+
+    @Test
+    void shouldIgnoreFailingInitializations() {
+        final GatewayWarmer warmer = new GatewayWarmer();
+        final AtomicInteger counter = new AtomicInteger();
+        warmer.register(() -> {
+            throw new IllegalStateException("Mirror not reachable");
+        });
+        warmer.register(counter::incrementAndGet);
+
+        warmer.warmUp();
+        assertThat(counter).hasValue(1);
+        assertThat(warmer.getProgress()).containsEntry("completed", 1).containsEntry("failed", 1);
+        assertThat(warmer.isReady()).isTrue();
+    }
+
+    @Test
+    void shouldStopWaitingAfterTimeout() {
+        final GatewayWarmer warmer =
+            new GatewayWarmer(new GatewayConfig("schema.graphql", Optional.of(Duration.ofMillis(100))));
+        final CountDownLatch latch = new CountDownLatch(1);
+        warmer.register(() -> awaitQuietly(latch));
+
+        warmer.warmUp();
+        assertThat(warmer.isReady()).isTrue();
+        assertThat(warmer.getProgress()).containsEntry("completed", 0);
+        latch.countDown();
+    }
+
+    @Test
+    void shouldNotBeReadyBeforeFirstSchemaIsApplied(@TempDir final Path tempDir)
+        throws IOException, InterruptedException {
+        final GatewayWarmer warmer = new GatewayWarmer();
+        final Path schemaFile = Files.writeString(tempDir.resolve("schema.graphql"), "type Query { dummy: Int }");
+        // applying the schema warms up its data fetchers
+        final QuickGraphQLContext context = mock(QuickGraphQLContext.class);
+        doAnswer(invocation -> {
+            warmer.warmUp();
+            return null;
+        }).when(context).updateFromSchemaString(anyString());
+        final GatewayInitializer initializer =
+            new GatewayInitializer(context, new GatewayConfig(schemaFile.toString()));
+        final WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(warmer, initializer);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        warmer.register(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(getStatus(indicator)).isEqualTo(HealthStatus.DOWN);
+
+        final Thread startup = new Thread(() ->
+            initializer.onApplicationEvent(new StartupEvent(mock(ApplicationContext.class))));
+        startup.start();
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(getStatus(indicator)).isEqualTo(HealthStatus.DOWN);
+
+        release.countDown();
+        startup.join();
+        assertThat(getStatus(indicator)).isEqualTo(HealthStatus.UP);
+    }
+
+    @Test
+    void shouldBeReadyWithoutSchemaFile() {
+        final GatewayWarmer warmer = new GatewayWarmer();
+        final GatewayInitializer initializer =
+            new GatewayInitializer(mock(QuickGraphQLContext.class), new GatewayConfig("non-existing"));
+        final WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(warmer, initializer);
+        assertThat(getStatus(indicator)).isEqualTo(HealthStatus.DOWN);
+
+        initializer.onApplicationEvent(new StartupEvent(mock(ApplicationContext.class)));
+        assertThat(getStatus(indicator)).isEqualTo(HealthStatus.UP);
+    }
+
+    private static HealthStatus getStatus(final WarmUpHealthIndicator indicator) {
+        final HealthResult result = Flowable.fromPublisher(indicator.getResult()).blockingFirst();
+        return result.getStatus();
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            final boolean released = latch.await(10, TimeUnit.SECONDS);
+            assertThat(released).isTrue();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -17,13 +17,18 @@
 package com.bakdata.quick.gateway;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.bakdata.quick.common.TestTopicRegistryClient;
 import com.bakdata.quick.common.api.client.mirror.TopicRegistryClient;
 import com.bakdata.quick.common.api.model.TopicData;
 import com.bakdata.quick.common.api.model.TopicWriteType;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.bakdata.quick.common.config.KafkaConfig;
 import com.bakdata.quick.common.type.ConversionProvider;
 import com.bakdata.quick.common.type.QuickTopicType;
@@ -34,7 +39,10 @@ import com.bakdata.quick.gateway.directives.topic.TopicDirectiveWiring;
 import com.bakdata.quick.gateway.fetcher.ClientSupplier;
 import com.bakdata.quick.gateway.fetcher.DataFetcherClient;
 import com.bakdata.quick.gateway.fetcher.FetcherFactory;
+import com.bakdata.quick.gateway.fetcher.MinPositions;
+import com.bakdata.quick.gateway.ingest.KafkaIngestService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.schema.GraphQLSchema;
@@ -122,7 +130,8 @@ class GraphQLQueryExecutionTest {
             UserRequest.builder().userId(1).timestamp(3).requests(8).build()
         );
 
-        when(dataFetcherClient.fetchRange(1, "1", "3")).thenAnswer(invocation -> userRequests);
+        when(dataFetcherClient.fetchRange(eq(1), eq("1"), eq("3"), any(), isNull()))
+            .thenAnswer(invocation -> userRequests);
 
         final ExecutionResult executionResult = graphQL.execute(Files.readString(queryPath));
 
@@ -177,6 +186,43 @@ class GraphQLQueryExecutionTest {
                 .extractingByKey("product")
                 .isNotNull()
             );
+
+        // only the selected fields and the key field of product are requested from the mirrors
+        verify(purchaseClient).fetchResult("purchase1", FieldProjection.parse("productId,purchaseId"));
+        verify(productClient).fetchResult(productId, FieldProjection.parse("name,price/total,productId"));
+    }
+
+    @Test
+    void shouldPassMinPositionOfTopicToMirror() throws IOException {
+        final String name = "shouldExecuteQueryWithSingleFieldAndModification";
+        final Path schemaPath = workingDirectory.resolve(name + ".graphql");
+        final Path queryPath = workingDirectory.resolve(name + "Query.graphql");
+
+        final TestClientSupplier testClientSupplier = new TestClientSupplier();
+        final GraphQL graphQL = this.getGraphQL(schemaPath, testClientSupplier);
+
+        final DataFetcherClient<String, ?> purchaseClient = testClientSupplier.getClient("purchase-topic");
+        final DataFetcherClient<Long, ?> productClient = testClientSupplier.getClient("product-topic");
+
+        final long productId = 123L;
+        final Purchase purchase = Purchase.builder().purchaseId("purchase1").amount(5).productId(productId).build();
+        final FieldProjection purchaseProjection = FieldProjection.parse("productId,purchaseId");
+        when(purchaseClient.fetchResult("purchase1", purchaseProjection, "0:5")).thenAnswer(
+            invocation -> this.mapper.convertValue(purchase, Map.class));
+        when(productClient.fetchResult(productId)).thenAnswer(
+            invocation -> Product.builder().productId(productId).name("product-name")
+                .price(Price.builder().total(5).build()).build());
+
+        final ExecutionInput input = ExecutionInput.newExecutionInput()
+            .query(Files.readString(queryPath))
+            .context(builder -> builder.of(MinPositions.CONTEXT_KEY, Map.of("purchase-topic", "0:5")))
+            .build();
+        final ExecutionResult executionResult = graphQL.execute(input);
+
+        assertThat(executionResult.getErrors()).isEmpty();
+        verify(purchaseClient).fetchResult("purchase1", purchaseProjection, "0:5");
+        // the position only applies to the topic it was written to
+        verify(productClient).fetchResult(productId, FieldProjection.parse("name,price/total,productId"));
     }
 
     @Test
@@ -217,7 +263,7 @@ class GraphQLQueryExecutionTest {
             .price(Price.builder().total(1).build())
             .build();
 
-        when(purchaseClient.fetchList()).thenAnswer(invocation -> purchases);
+        when(purchaseClient.fetchList(any(), isNull())).thenAnswer(invocation -> purchases);
         when(productClient.fetchResult(productId1)).thenAnswer(invocation -> product1);
         when(productClient.fetchResult(productId2)).thenAnswer(invocation -> product2);
 
@@ -255,7 +301,7 @@ class GraphQLQueryExecutionTest {
         final GraphQL graphQL = this.getGraphQL(schemaPath, testClientSupplier);
 
         final DataFetcherClient<String, ?> dataFetcherClient = testClientSupplier.getClient("url-topic");
-        when(dataFetcherClient.fetchList()).thenAnswer(invocation -> List.of("1", "2", "3"));
+        when(dataFetcherClient.fetchList(any(), isNull())).thenAnswer(invocation -> List.of("1", "2", "3"));
 
         final ExecutionResult executionResult = graphQL.execute(Files.readString(queryPath));
 
@@ -362,8 +408,8 @@ class GraphQLQueryExecutionTest {
 
         final ConversionProvider conversionProvider = mock(ConversionProvider.class);
 
-        final FetcherFactory fetcherFactory = new FetcherFactory(kafkaConfig, this.mapper, topicTypeService,
-            clientSupplier, conversionProvider);
+        final FetcherFactory fetcherFactory = new FetcherFactory(kafkaConfig, topicTypeService,
+            clientSupplier, conversionProvider, mock(KafkaIngestService.class));
 
         final QuickDirectiveWiring topicDirectiveWiring = new TopicDirectiveWiring(fetcherFactory);
         final GraphQLSchemaGenerator graphQLSchemaGenerator =
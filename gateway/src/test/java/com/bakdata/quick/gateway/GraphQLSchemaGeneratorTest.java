@@ -27,10 +27,12 @@ import com.bakdata.quick.gateway.directives.QuickDirectiveException;
 import com.bakdata.quick.gateway.fetcher.KeyFieldFetcher;
 import com.bakdata.quick.gateway.fetcher.ListArgumentFetcher;
 import com.bakdata.quick.gateway.fetcher.MutationFetcher;
+import com.bakdata.quick.gateway.fetcher.QueryAggregateFetcher;
 import com.bakdata.quick.gateway.fetcher.QueryKeyArgumentFetcher;
 import com.bakdata.quick.gateway.fetcher.QueryListFetcher;
+import com.bakdata.quick.gateway.fetcher.RangeAggregateFetcher;
 import com.bakdata.quick.gateway.fetcher.subscription.MultiSubscriptionFetcher;
-import com.bakdata.quick.gateway.fetcher.subscription.SubscriptionFetcher;
+import com.bakdata.quick.gateway.fetcher.subscription.ResumableSubscriptionFetcher;
 import graphql.Scalars;
 import graphql.schema.DataFetcher;
 import graphql.schema.GraphQLArgument;
@@ -273,6 +275,33 @@ class GraphQLSchemaGeneratorTest {
         assertThat(rootDataFetcher).isNotNull().isInstanceOf(QueryListFetcher.class);
     }
 
+    @Test
+    void shouldConvertQueryAllWithWhereArgument(final TestInfo testInfo) throws IOException {
+        final Path schemaPath = workingDirectory.resolve(testInfo.getTestMethod().orElseThrow().getName() + ".graphql");
+        final GraphQLSchema schema = this.generator.create(Files.readString(schemaPath));
+
+        assertThat(schema.getType("QuickFilter")).isNotNull();
+        final GraphQLFieldDefinition fieldDefinition = GraphQLTestUtil.getFieldDefinition("Query", "fetchAll", schema);
+        assertThat(fieldDefinition.getArgument("where")).isNotNull();
+
+        final DataFetcher<?> rootDataFetcher = GraphQLTestUtil.getFieldDataFetcher("Query", "fetchAll", schema);
+        assertThat(rootDataFetcher).isNotNull().isInstanceOf(QueryListFetcher.class);
+    }
+
+    @Test
+    void shouldConvertAggregateQueries(final TestInfo testInfo) throws IOException {
+        final Path schemaPath = workingDirectory.resolve(testInfo.getTestMethod().orElseThrow().getName() + ".graphql");
+        final GraphQLSchema schema = this.generator.create(Files.readString(schemaPath));
+
+        assertThat(schema.getType("QuickAggregate")).isNotNull();
+        assertThat(GraphQLTestUtil.getFieldDataFetcher("Query", "requestCount", schema))
+            .isNotNull()
+            .isInstanceOf(QueryAggregateFetcher.class);
+        assertThat(GraphQLTestUtil.getFieldDataFetcher("Query", "userRequestStats", schema))
+            .isNotNull()
+            .isInstanceOf(RangeAggregateFetcher.class);
+    }
+
     @Test
     void shouldConvertQueryAllWithPrimitiveType(final TestInfo testInfo) throws IOException {
         final Path schemaPath = workingDirectory.resolve(testInfo.getTestMethod().orElseThrow().getName() + ".graphql");
@@ -411,7 +440,20 @@ class GraphQLSchemaGeneratorTest {
         final DataFetcher<?> rootDataFetcher = GraphQLTestUtil.getFieldDataFetcher("Subscription", "getURL", schema);
         assertThat(rootDataFetcher)
             .isNotNull()
-            .isInstanceOf(SubscriptionFetcher.class);
+            .isInstanceOf(ResumableSubscriptionFetcher.class);
+    }
+
+    @Test
+    void shouldConvertSubscriptionWithWhereArgument(final TestInfo testInfo) throws IOException {
+        final Path schemaPath = workingDirectory.resolve(testInfo.getTestMethod().orElseThrow().getName() + ".graphql");
+        final GraphQLSchema schema = this.generator.create(Files.readString(schemaPath));
+
+        final GraphQLFieldDefinition fieldDefinition =
+            GraphQLTestUtil.getFieldDefinition("Subscription", "getURLs", schema);
+        assertThat(fieldDefinition.getArgument("where")).isNotNull();
+        assertThat(GraphQLTestUtil.getFieldDataFetcher("Subscription", "getURLs", schema))
+            .isNotNull()
+            .isInstanceOf(ResumableSubscriptionFetcher.class);
     }
 
     @Test
@@ -525,6 +567,30 @@ class GraphQLSchemaGeneratorTest {
         this.assertQuickDirectiveExceptionMessage(testInfo, "The return type of range queries should be a list.");
     }
 
+    @Test
+    void shouldNotConvertIfWhereArgumentIsDefinedOnKeyQuery(final TestInfo testInfo) throws IOException {
+        this.assertQuickDirectiveExceptionMessage(testInfo,
+            "Filters are only supported on list, range, and aggregate queries, and subscriptions.");
+    }
+
+    @Test
+    void shouldNotConvertIfWhereArgumentIsNotQuickFilter(final TestInfo testInfo) throws IOException {
+        this.assertQuickDirectiveExceptionMessage(testInfo,
+            "The whereArgument must be an argument of type QuickFilter.");
+    }
+
+    @Test
+    void shouldNotConvertIfAggregateFieldIsDefinedOnList(final TestInfo testInfo) throws IOException {
+        this.assertQuickDirectiveExceptionMessage(testInfo,
+            "The aggregateField requires the return type QuickAggregate.");
+    }
+
+    @Test
+    void shouldNotConvertIfAggregateQueryHasKeyArgumentWithoutRange(final TestInfo testInfo) throws IOException {
+        this.assertQuickDirectiveExceptionMessage(testInfo,
+            "Aggregations are only supported on all values of a topic or a range.");
+    }
+
     private void registerTopics() {
         this.registryClient.register(
             "purchase-topic",
@@ -16,6 +16,7 @@
 
 package com.bakdata.quick.gateway;
 
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 
 import com.bakdata.quick.common.type.QuickTopicData;
@@ -77,7 +78,8 @@ public final class GraphQLTestUtil {
         @Override
         public <K, V> DataFetcherClient<K, V> createClient(final String topic,
             final Lazy<QuickTopicData<K, V>> quickTopicData) {
-            final DataFetcherClient<K, V> client = mock(DataFetcherClient.class);
+            // the default methods delegate to the stubbed ones
+            final DataFetcherClient<K, V> client = mock(DataFetcherClient.class, CALLS_REAL_METHODS);
             this.clients.put(topic, client);
             return client;
         }
@@ -85,7 +87,8 @@ public final class GraphQLTestUtil {
         @Override
         public <K, V> DataFetcherClient<K, V> createClient(final String topic, final Serde<K> keySerde,
             final Lazy<QuickTopicData<Object, V>> quickTopicData) {
-            final DataFetcherClient<K, V> client = mock(DataFetcherClient.class);
+            // the default methods delegate to the stubbed ones
+            final DataFetcherClient<K, V> client = mock(DataFetcherClient.class, CALLS_REAL_METHODS);
             this.clients.put(topic, client);
             return client;
         }
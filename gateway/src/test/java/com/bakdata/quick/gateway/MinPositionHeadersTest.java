@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.quick.common.api.client.mirror.HeaderConstants;
+import com.bakdata.quick.gateway.fetcher.MinPositions;
+import graphql.ExecutionInput;
+import graphql.GraphQLContext;
+import io.micronaut.http.HttpRequest;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MinPositionHeadersTest {
+    @Test
+    void shouldReadPositionOfEachTopic() {
+        final HttpRequest<?> request = HttpRequest.POST("/graphql", "")
+            .header(HeaderConstants.MIN_POSITION_HEADER, "purchase=0:5")
+            .header(HeaderConstants.MIN_POSITION_HEADER, " click = 0:3,1:7 ");
+
+        assertThat(MinPositionHeaders.read(request)).isEqualTo(Map.of("purchase", "0:5", "click", "0:3,1:7"));
+    }
+
+    @Test
+    void shouldIgnoreHeaderWithoutTopic() {
+        final HttpRequest<?> request = HttpRequest.POST("/graphql", "")
+            .header(HeaderConstants.MIN_POSITION_HEADER, "0:5");
+
+        assertThat(MinPositionHeaders.read(request)).isEmpty();
+    }
+
+    @Test
+    void shouldAddPositionsToContext() {
+        final HttpRequest<?> request = HttpRequest.POST("/graphql", "")
+            .header(HeaderConstants.MIN_POSITION_HEADER, "purchase=0:5");
+        final ExecutionInput executionInput = ExecutionInput.newExecutionInput("{ purchase }").build();
+
+        MinPositionHeaders.addToContext(executionInput, request);
+
+        final Map<String, String> minPositions =
+            ((GraphQLContext) executionInput.getContext()).get(MinPositions.CONTEXT_KEY);
+        assertThat(minPositions).isEqualTo(Map.of("purchase", "0:5"));
+    }
+}
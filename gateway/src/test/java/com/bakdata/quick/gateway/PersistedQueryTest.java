@@ -0,0 +1,81 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.hash.Hashing;
+import graphql.Scalars;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.rxjava2.http.client.RxHttpClient;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+class PersistedQueryTest {
+    private static final String QUERY = "{ hello }";
+    private static final String HASH = Hashing.sha256().hashString(QUERY, StandardCharsets.UTF_8).toString();
+    private static final Map<String, Object> EXTENSIONS =
+        Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", HASH));
+
+    @Client("/")
+    @Inject
+    private RxHttpClient httpClient;
+
+    @Inject
+    private QuickGraphQLContext context;
+
+    @BeforeEach
+    void setUp() {
+        final DataFetcher<String> fetcher = environment -> "world";
+        final GraphQLSchema schema = GraphQLSchema.newSchema()
+            .query(GraphQLObjectType.newObject().name("Query")
+                .field(GraphQLFieldDefinition.newFieldDefinition().name("hello").type(Scalars.GraphQLString)))
+            .codeRegistry(GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Query", "hello"), fetcher)
+                .build())
+            .build();
+        this.context.update(schema);
+    }
+
+    @Test
+    void shouldRequestQueryForUnknownHash() {
+        final String response = this.post(Map.of("extensions", EXTENSIONS));
+        assertThat(response).contains("PersistedQueryNotFound");
+    }
+
+    @Test
+    void shouldExecutePersistedQuery() {
+        assertThat(this.post(Map.of("query", QUERY, "extensions", EXTENSIONS))).contains("world");
+        assertThat(this.post(Map.of("extensions", EXTENSIONS))).contains("world");
+    }
+
+    private String post(final Map<String, Object> body) {
+        return this.httpClient.toBlocking().retrieve(HttpRequest.POST("/graphql", body));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bakdata.quick.common.schema.SchemaFetcher;
+import com.bakdata.quick.gateway.fetcher.FetcherFactory;
+import graphql.Scalars;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import io.reactivex.Completable;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QuickGraphQLContextTest {
+    private static final GraphQLSchema SCHEMA = GraphQLSchema.newSchema()
+        .query(GraphQLObjectType.newObject().name("Query")
+            .field(GraphQLFieldDefinition.newFieldDefinition().name("hello").type(Scalars.GraphQLString)))
+        .build();
+
+    private GraphQLSchemaGenerator generator;
+    private FetcherFactory fetcherFactory;
+    private QuickGraphQLContext context;
+
+    @BeforeEach
+    void setUp() {
+        this.generator = mock(GraphQLSchemaGenerator.class);
+        when(this.generator.create(any())).thenReturn(SCHEMA);
+        final SchemaFetcher schemaFetcher = mock(SchemaFetcher.class);
+        when(schemaFetcher.prefetchSchemas(any())).thenReturn(Completable.complete());
+        this.fetcherFactory = mock(FetcherFactory.class);
+        this.context = new QuickGraphQLContext(this.generator, new GatewayWarmer(),
+            new SchemaPrefetcher(schemaFetcher), new QueryCacheConfig(), this.fetcherFactory);
+    }
+
+    @Test
+    void shouldPublishSchemaWithGraphQL() {
+        this.context.updateFromSchemaString("type Query { hello: String }");
+        assertThat(this.context.getGraphQLSchema()).isSameAs(SCHEMA);
+        assertThat(this.context.getGraphQL().execute("{ hello }").getErrors()).isEmpty();
+        verify(this.fetcherFactory).retainTopics(Set.of());
+    }
+
+    @Test
+    void shouldSkipUnchangedSchema() {
+        this.context.updateFromSchemaString("type Query { hello: String }");
+        this.context.updateFromSchemaString("type Query { hello: String }");
+        verify(this.generator, times(1)).create(any());
+
+        this.context.updateFromSchemaString("type Query { hello: String, world: String }");
+        verify(this.generator, times(2)).create(any());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bakdata.quick.common.TestTopicRegistryClient;
+import com.bakdata.quick.common.api.model.TopicData;
+import com.bakdata.quick.common.api.model.TopicWriteType;
+import com.bakdata.quick.common.schema.SchemaFetcher;
+import com.bakdata.quick.common.type.QuickTopicType;
+import graphql.schema.GraphQLSchema;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.reactivex.Completable;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest(startApplication = false)
+class SchemaPrefetcherTest {
+    private static final Path workingDirectory = Path.of("src", "test", "resources", "schema", "conversion");
+    private final GraphQLSchemaGenerator generator;
+
+    @Inject
+    SchemaPrefetcherTest(final GraphQLSchemaGenerator generator, final TestTopicRegistryClient registryClient) {
+        this.generator = generator;
+        registryClient.register("product-topic",
+            new TopicData("product-topic", TopicWriteType.MUTABLE, QuickTopicType.DOUBLE, QuickTopicType.PROTOBUF, "")
+        ).blockingAwait();
+        registryClient.register("url-topic",
+            new TopicData("url-topic", TopicWriteType.MUTABLE, QuickTopicType.STRING, QuickTopicType.STRING, "")
+        ).blockingAwait();
+    }
+
+    @Test
+    void shouldCollectTopicsOfNestedTypes() throws IOException {
+        final GraphQLSchema schema = this.createSchema("shouldConvertQueryWithMultipleFields.graphql");
+        assertThat(SchemaPrefetcher.collectTopicNames(schema)).containsExactly("product-topic", "url-topic");
+    }
+
+    @Test
+    void shouldCollectTopicsOnlyOnce() throws IOException {
+        final GraphQLSchema schema = this.createSchema("shouldConvertMutation.graphql");
+        assertThat(SchemaPrefetcher.collectTopicNames(schema)).containsExactly("product-topic");
+    }
+
+    @Test
+    void shouldPrefetchKeyAndValueSchemas() throws IOException {
+        final SchemaFetcher schemaFetcher = mock(SchemaFetcher.class);
+        when(schemaFetcher.prefetchSchemas(any())).thenReturn(Completable.complete());
+        final SchemaPrefetcher prefetcher = new SchemaPrefetcher(schemaFetcher);
+
+        prefetcher.prefetch(this.createSchema("shouldConvertQueryWithMultipleFields.graphql")).blockingAwait();
+
+        verify(schemaFetcher).prefetchSchemas(
+            List.of("product-topic-key", "product-topic-value", "url-topic-key", "url-topic-value"));
+    }
+
+    private GraphQLSchema createSchema(final String fileName) throws IOException {
+        return this.generator.create(Files.readString(workingDirectory.resolve(fileName)));
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.quick.common.ConfigUtils;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SubscriptionCacheConfigTest {
+    @Test
+    void shouldCreateConfigPerType() {
+        final Map<String, Object> properties = Map.of(
+            "quick.subscription.cache.statistics.maximum-size", 10,
+            "quick.subscription.cache.statistics.expire-after-write", "1m",
+            "quick.subscription.cache.prices.batch-size", 5
+        );
+        try (final ApplicationContext context = ConfigUtils.createWithProperties(properties)) {
+            final SubscriptionCacheConfig statistics =
+                context.getBean(SubscriptionCacheConfig.class, Qualifiers.byName("statistics"));
+            assertThat(statistics.getMaximumSize()).isEqualTo(10);
+            assertThat(statistics.getExpireAfterWrite()).hasValue(Duration.ofMinutes(1));
+            assertThat(statistics.getBatchSize()).isEqualTo(SubscriptionCacheConfig.DEFAULT_BATCH_SIZE);
+
+            final SubscriptionCacheConfig prices =
+                context.getBean(SubscriptionCacheConfig.class, Qualifiers.byName("prices"));
+            assertThat(prices.getName()).isEqualTo("prices");
+            assertThat(prices.getMaximumSize()).isEqualTo(SubscriptionCacheConfig.DEFAULT_MAXIMUM_SIZE);
+            assertThat(prices.getBatchSize()).isEqualTo(5);
+        }
+    }
+}
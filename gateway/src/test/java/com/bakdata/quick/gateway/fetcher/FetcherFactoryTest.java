@@ -0,0 +1,105 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bakdata.quick.common.api.model.TopicWriteType;
+import com.bakdata.quick.common.config.KafkaConfig;
+import com.bakdata.quick.common.resolver.StringResolver;
+import com.bakdata.quick.common.type.ConversionProvider;
+import com.bakdata.quick.common.type.QuickTopicData;
+import com.bakdata.quick.common.type.QuickTopicData.QuickData;
+import com.bakdata.quick.common.type.QuickTopicType;
+import com.bakdata.quick.common.type.TopicTypeService;
+import com.bakdata.quick.common.util.Lazy;
+import com.bakdata.quick.gateway.ingest.KafkaIngestService;
+import io.reactivex.Single;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.kafka.common.serialization.Serdes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class FetcherFactoryTest {
+    private ClientSupplier clientSupplier;
+    private TopicTypeService topicTypeService;
+    private FetcherFactory fetcherFactory;
+
+    @BeforeEach
+    void setUp() {
+        this.clientSupplier = mock(ClientSupplier.class);
+        when(this.clientSupplier.createClient(any(), any()))
+            .thenAnswer(invocation -> mock(DataFetcherClient.class));
+        this.topicTypeService = mock(TopicTypeService.class);
+        this.fetcherFactory = new FetcherFactory(new KafkaConfig("dummy", "dummy"),
+            this.topicTypeService, this.clientSupplier, mock(ConversionProvider.class),
+            mock(KafkaIngestService.class));
+    }
+
+    @Test
+    void shouldReuseClientOfTopic() {
+        final DataFetcherClient<?, ?> client = this.fetcherFactory.dataFetcherClient("topic");
+        assertThat(this.fetcherFactory.dataFetcherClient("topic")).isSameAs(client);
+        assertThat(this.fetcherFactory.dataFetcherClient("other-topic")).isNotSameAs(client);
+        verify(this.clientSupplier).createClient(eq("topic"), any());
+    }
+
+    @Test
+    void shouldDiscardClientsOfRemovedTopics() {
+        final DataFetcherClient<?, ?> client = this.fetcherFactory.dataFetcherClient("topic");
+        final DataFetcherClient<?, ?> otherClient = this.fetcherFactory.dataFetcherClient("other-topic");
+
+        this.fetcherFactory.retainTopics(List.of("other-topic"));
+
+        assertThat(this.fetcherFactory.dataFetcherClient("other-topic")).isSameAs(otherClient);
+        assertThat(this.fetcherFactory.dataFetcherClient("topic")).isNotSameAs(client);
+        verify(this.clientSupplier, times(2)).createClient(eq("topic"), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldResetClientsWhenTopicDataChanges() {
+        final ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(this.topicTypeService).addTopicDataListener(listener.capture());
+        final ArgumentCaptor<Lazy<QuickTopicData<Object, Object>>> topicData = ArgumentCaptor.forClass(Lazy.class);
+        final QuickData<String> data =
+            new QuickData<>(QuickTopicType.STRING, Serdes.String(), new StringResolver(), null);
+        when(this.topicTypeService.<String, String>getTopicData("topic"))
+            .thenReturn(Single.just(new QuickTopicData<>("topic", TopicWriteType.MUTABLE, data, data)));
+        final DataFetcherClient<?, ?> client = this.fetcherFactory.dataFetcherClient("topic");
+        final DataFetcherClient<?, ?> otherClient = this.fetcherFactory.dataFetcherClient("other-topic");
+        verify(this.clientSupplier).createClient(eq("topic"), topicData.capture());
+        topicData.getValue().get();
+
+        listener.getValue().accept("topic");
+
+        assertThat(this.fetcherFactory.dataFetcherClient("topic")).isSameAs(client);
+        verify(client).reset();
+        verify(otherClient, never()).reset();
+        topicData.getValue().get();
+        verify(this.topicTypeService, times(2)).getTopicData("topic");
+    }
+}
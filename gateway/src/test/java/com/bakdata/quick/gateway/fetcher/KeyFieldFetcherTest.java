@@ -18,6 +18,7 @@
 package com.bakdata.quick.gateway.fetcher;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -27,6 +28,8 @@ import com.bakdata.quick.common.api.client.mirror.PartitionedMirrorClient;
 import com.bakdata.quick.common.util.Lazy;
 import com.bakdata.quick.gateway.fetcher.TestModels.Product;
 import com.bakdata.quick.gateway.fetcher.TestModels.Purchase;
+import com.bakdata.quick.testutil.ComplexProtoTestRecord;
+import com.bakdata.quick.testutil.ProtoTestRecord;
 import com.bakdata.quick.testutil.PurchaseStatsProto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import graphql.Scalars;
@@ -36,6 +39,10 @@ import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingEnvironmentImpl;
 import java.util.Map;
 import java.util.stream.Stream;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -64,7 +71,7 @@ class KeyFieldFetcherTest {
             new MirrorDataFetcherClient<>(new Lazy<>(() -> partitionedMirrorClient));
 
         final KeyFieldFetcher<?, ?> queryFetcher =
-            new KeyFieldFetcher<>(this.mapper, "productId", fetcherClient, typeName);
+            new KeyFieldFetcher<>("productId", fetcherClient, typeName);
 
         final DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
             .source(this.mapper.convertValue(purchase, Map.class))
@@ -94,7 +101,7 @@ class KeyFieldFetcherTest {
             new MirrorDataFetcherClient<>(new Lazy<>(() -> partitionedMirrorClient));
 
         final KeyFieldFetcher<?, ?> queryFetcher =
-            new KeyFieldFetcher<>(this.mapper, "productId", fetcherClient,
+            new KeyFieldFetcher<>("productId", fetcherClient,
                 new TypeName(Scalars.GraphQLInt.getName()));
 
         final DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
@@ -103,6 +110,40 @@ class KeyFieldFetcherTest {
         final Object fetcherResult = queryFetcher.get(env);
         assertThat(fetcherResult).isEqualTo(product);
     }
+
+    @Test
+    void shouldFetchNestedFieldWhenReturnTypeIsAvro() {
+        final Schema productSchema = SchemaBuilder.record("ProductRef").fields()
+            .requiredLong("productId")
+            .endRecord();
+        final Schema purchaseSchema = SchemaBuilder.record("NestedPurchase").fields()
+            .requiredString("id")
+            .name("product").type().optional().type(productSchema)
+            .endRecord();
+        final GenericRecord purchase = new GenericRecordBuilder(purchaseSchema)
+            .set("id", "purchase1")
+            .set("product", new GenericRecordBuilder(productSchema).set("productId", 5L).build())
+            .build();
+
+        final Product<Long> product = Product.<Long>builder()
+            .productId(5L)
+            .build();
+
+        final PartitionedMirrorClient<Long, Product<Long>> partitionedMirrorClient =
+            mock(PartitionedMirrorClient.class);
+        when(partitionedMirrorClient.fetchValue(eq(5L))).thenReturn(product);
+        final DataFetcherClient<Long, Product<Long>> fetcherClient =
+            new MirrorDataFetcherClient<>(new Lazy<>(() -> partitionedMirrorClient));
+
+        final KeyFieldFetcher<?, ?> queryFetcher =
+            new KeyFieldFetcher<>("productId", fetcherClient, new TypeName(ExtendedScalars.GraphQLLong.getName()));
+
+        final DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .source(purchase).build();
+
+        assertThat(queryFetcher.get(env)).isEqualTo(product);
+    }
+
     @Test
     void shouldFetchNestModificationValueWhenReturnTypeIsProto() {
         final int productId = 5;
@@ -123,7 +164,7 @@ class KeyFieldFetcherTest {
             new MirrorDataFetcherClient<>(new Lazy<>(() -> partitionedMirrorClient));
 
         final KeyFieldFetcher<?, ?> queryFetcher =
-            new KeyFieldFetcher<>(this.mapper, "productId", fetcherClient,
+            new KeyFieldFetcher<>("productId", fetcherClient,
                 new TypeName(Scalars.GraphQLInt.getName()));
 
         final DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
@@ -133,6 +174,48 @@ class KeyFieldFetcherTest {
         assertThat(fetcherResult).isEqualTo(product);
     }
 
+    @Test
+    void shouldFetchNestedFieldWhenReturnTypeIsProto() {
+        final ComplexProtoTestRecord record = ComplexProtoTestRecord.newBuilder()
+            .setId("record1")
+            .setProtoTestRecord(ProtoTestRecord.newBuilder().setId("inner").setValue(5).build())
+            .build();
+
+        final Product<Integer> product = Product.<Integer>builder()
+            .productId(5)
+            .build();
+
+        final PartitionedMirrorClient<Integer, Product<Integer>> partitionedMirrorClient =
+            mock(PartitionedMirrorClient.class);
+        when(partitionedMirrorClient.fetchValue(eq(5))).thenReturn(product);
+        final DataFetcherClient<Integer, Product<Integer>> fetcherClient =
+            new MirrorDataFetcherClient<>(new Lazy<>(() -> partitionedMirrorClient));
+
+        final KeyFieldFetcher<?, ?> queryFetcher =
+            new KeyFieldFetcher<>("value", fetcherClient, new TypeName(Scalars.GraphQLInt.getName()));
+
+        final DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .source(record).build();
+
+        assertThat(queryFetcher.get(env)).isEqualTo(product);
+    }
+
+    @Test
+    void shouldThrowWhenFieldIsMissing() {
+        final PartitionedMirrorClient<Integer, Product<Integer>> partitionedMirrorClient =
+            mock(PartitionedMirrorClient.class);
+        final DataFetcherClient<Integer, Product<Integer>> fetcherClient =
+            new MirrorDataFetcherClient<>(new Lazy<>(() -> partitionedMirrorClient));
+        final KeyFieldFetcher<?, ?> queryFetcher =
+            new KeyFieldFetcher<>("productId", fetcherClient, new TypeName(Scalars.GraphQLInt.getName()));
+
+        final DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .source(ProtoTestRecord.newBuilder().setId("record1").build()).build();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> queryFetcher.get(env))
+            .withMessageContaining("productId");
+    }
+
     private static Stream<Arguments> provideValues() {
         return Stream.of(
             Arguments.of(1, new TypeName(Scalars.GraphQLInt.getName())),
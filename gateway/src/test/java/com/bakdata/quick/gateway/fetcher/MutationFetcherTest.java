@@ -19,12 +19,12 @@ package com.bakdata.quick.gateway.fetcher;
 import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
 import static net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig.defaultClusterConfig;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import com.bakdata.quick.common.TestTopicTypeService;
 import com.bakdata.quick.common.TestTypeUtils;
 import com.bakdata.quick.common.api.model.TopicWriteType;
 import com.bakdata.quick.common.config.KafkaConfig;
-import com.bakdata.quick.common.json.AvroJacksonConfiguration;
 import com.bakdata.quick.common.tags.IntegrationTest;
 import com.bakdata.quick.common.type.QuickTopicData;
 import com.bakdata.quick.common.type.QuickTopicData.QuickData;
@@ -34,13 +34,14 @@ import com.bakdata.quick.common.util.Lazy;
 import com.bakdata.quick.gateway.ingest.KafkaIngestService;
 import com.bakdata.quick.testutil.ChartRecord;
 import com.bakdata.schemaregistrymock.SchemaRegistryMock;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingEnvironmentImpl;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 import lombok.Builder;
 import lombok.Data;
@@ -53,9 +54,11 @@ import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.GenericRecordBuilder;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.LongDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -64,14 +67,12 @@ import org.junit.jupiter.params.provider.MethodSource;
 class MutationFetcherTest {
     private static EmbeddedKafkaCluster kafkaCluster = null;
     private static final SchemaRegistryMock schemaRegistry = new SchemaRegistryMock();
-    private static final ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeAll
     static void setup() {
         schemaRegistry.start();
         kafkaCluster = provisionWith(defaultClusterConfig());
         kafkaCluster.start();
-        new AvroJacksonConfiguration().configureObjectMapper(objectMapper);
     }
 
     @AfterAll
@@ -121,10 +122,11 @@ class MutationFetcherTest {
             ),
             // schema
             Arguments.of(
-                TestParameterBuilder.<String, GenericRecord, GenericRecord>builder()
+                TestParameterBuilder.<String, Map<String, Object>, GenericRecord>builder()
                     .topic("schema-test-value-test")
-                    .keyValue(new KeyValue<>(RandomStringUtils.random(1), inputRecord()))
+                    .keyValue(new KeyValue<>(RandomStringUtils.random(1), Map.of("fieldId", 5L, "countPlays", 5L)))
                     .infoType(TestTypeUtils.newAvroData(ChartRecord.getClassSchema()))
+                    .expectedValue(inputRecord())
                     .build()
             )
         );
@@ -204,12 +206,11 @@ class MutationFetcherTest {
                 topicTypeService(QuickTopicType.STRING, valueInfo.getType(), ChartRecord.getClassSchema()),
                 kafkaConfig);
 
-        final DataFetcher<T> mutationFetcher =
+        final DataFetcher<CompletableFuture<?>> mutationFetcher =
             new MutationFetcher<>(topic,
                 "id",
                 "name", new Lazy<>(() -> info),
-                kafkaIngestService,
-                objectMapper
+                kafkaIngestService
             );
 
         final KeyValue<String, V> keyValue = testParameter.getKeyValue();
@@ -217,9 +218,9 @@ class MutationFetcherTest {
             .arguments(Map.of("id", keyValue.getKey(), "name", keyValue.getValue()))
             .build();
 
-        final T actual = mutationFetcher.get(env);
+        final Object actual = mutationFetcher.get(env).get();
 
-        assertThat(actual).isEqualTo(keyValue.getValue());
+        assertThat(actual).isEqualTo(testParameter.expected());
 
         final Optional<KeyValue<String, T>> consumedRecords =
             kafkaCluster.read(ReadKeyValues.from(topic, testParameter.getClassType())
@@ -232,7 +233,7 @@ class MutationFetcherTest {
             .isPresent()
             .get()
             .hasFieldOrPropertyWithValue("key", keyValue.getKey())
-            .hasFieldOrPropertyWithValue("value", keyValue.getValue());
+            .hasFieldOrPropertyWithValue("value", testParameter.expected());
 
     }
 
@@ -257,12 +258,11 @@ class MutationFetcherTest {
         final TopicTypeService typeService = topicTypeService(keyInfo.getType(), QuickTopicType.STRING, null);
         final KafkaIngestService kafkaIngestService = new KafkaIngestService(typeService, kafkaConfig);
 
-        final DataFetcher<String> mutationFetcher =
+        final DataFetcher<CompletableFuture<?>> mutationFetcher =
             new MutationFetcher<>(topic,
                 "id",
                 "name", new Lazy<>(() -> info),
-                kafkaIngestService,
-                objectMapper
+                kafkaIngestService
             );
 
         final KeyValue<K, String> keyValue = testParameter.getKeyValue();
@@ -271,7 +271,7 @@ class MutationFetcherTest {
             .arguments(Map.of("id", keyValue.getKey(), "name", keyValue.getValue()))
             .build();
 
-        final String actual = mutationFetcher.get(env);
+        final Object actual = mutationFetcher.get(env).get();
 
         assertThat(actual).isEqualTo(keyValue.getValue());
 
@@ -289,6 +289,39 @@ class MutationFetcherTest {
 
     }
 
+    @Test
+    void shouldIngestListInputsAsBatch() throws Exception {
+        final String topic = "batch-test";
+        final QuickTopicData<String, Long> info = new QuickTopicData<>(
+            topic,
+            TopicWriteType.MUTABLE,
+            TestTypeUtils.newStringData(),
+            TestTypeUtils.newLongData()
+        );
+        final KafkaConfig kafkaConfig = new KafkaConfig(kafkaCluster.getBrokerList(), schemaRegistry.getUrl());
+        kafkaCluster.createTopic(TopicConfig.withName(topic).useDefaults());
+
+        final KafkaIngestService kafkaIngestService =
+            new KafkaIngestService(topicTypeService(QuickTopicType.STRING, QuickTopicType.LONG, null), kafkaConfig);
+        final DataFetcher<CompletableFuture<?>> mutationFetcher =
+            new MutationFetcher<>(topic, "id", "count", new Lazy<>(() -> info), kafkaIngestService);
+
+        final DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .arguments(Map.of("id", List.of("a", "b", "c"), "count", List.of(1, 2, 3)))
+            .build();
+
+        final Object actual = mutationFetcher.get(env).get();
+
+        assertThat(actual).isEqualTo(List.of(1L, 2L, 3L));
+        final List<KeyValue<String, Long>> consumedRecords =
+            kafkaCluster.read(ReadKeyValues.from(topic, Long.class)
+                .with(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class)
+                .with(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, LongDeserializer.class));
+        assertThat(consumedRecords)
+            .extracting(KeyValue::getKey, KeyValue::getValue)
+            .containsExactly(tuple("a", 1L), tuple("b", 2L), tuple("c", 3L));
+    }
+
     private static TopicTypeService topicTypeService(final QuickTopicType keyType,
         final QuickTopicType valueType, @Nullable final Schema valueSchema) {
         return TestTopicTypeService.builder()
@@ -307,5 +340,11 @@ class MutationFetcherTest {
         private KeyValue<K, V> keyValue;
         private QuickData<T> infoType;
         private Class<T> classType;
+        @Nullable
+        private T expectedValue;
+
+        private Object expected() {
+            return this.expectedValue != null ? this.expectedValue : this.keyValue.getValue();
+        }
     }
 }
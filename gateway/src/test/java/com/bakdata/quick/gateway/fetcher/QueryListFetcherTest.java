@@ -22,6 +22,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.bakdata.quick.common.api.client.mirror.PartitionedMirrorClient;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
 import com.bakdata.quick.common.util.Lazy;
 import com.bakdata.quick.gateway.fetcher.TestModels.Product;
 import graphql.schema.DataFetchingEnvironment;
@@ -107,4 +109,30 @@ class QueryListFetcherTest {
         final List<Product<String>> actual = queryFetcher.get(env);
         assertThat(actual).isEqualTo(purchaseList);
     }
+
+    @Test
+    void shouldPassFilterArgumentToMirror() {
+        final Product<String> product = Product.<String>builder()
+            .productId("testId")
+            .build();
+        final ValueFilter filter = ValueFilter.builder()
+            .field("productId")
+            .eq("testId")
+            .build();
+
+        final PartitionedMirrorClient<String, Product<String>> partitionedMirrorClient =
+            mock(PartitionedMirrorClient.class);
+        when(partitionedMirrorClient.fetchAll(FieldProjection.all(), filter)).thenReturn(List.of(product));
+        final DataFetcherClient<?, Product<String>> fetcherClient =
+            new MirrorDataFetcherClient<>(new Lazy<>(() -> partitionedMirrorClient));
+
+        final QueryListFetcher<?, Product<String>> queryFetcher =
+            new QueryListFetcher<>(fetcherClient, true, true, "where");
+        final Map<String, Object> arguments = Map.of("where", Map.of("field", "productId", "eq", "testId"));
+        final DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .arguments(arguments).build();
+
+        final List<Product<String>> actual = queryFetcher.get(env);
+        assertThat(actual).containsExactly(product);
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bakdata.quick.common.api.client.mirror.PartitionedMirrorClient;
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
+import com.bakdata.quick.common.util.Lazy;
+import com.bakdata.quick.gateway.fetcher.TestModels.Product;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RangeAggregateFetcherTest {
+    @Test
+    void shouldAggregateRangeWithFilter() {
+        final Aggregate aggregate = new Aggregate(2, 7.0, 3.0, 4.0);
+        final ValueFilter filter = ValueFilter.builder().field("name").ne("test").build();
+
+        final PartitionedMirrorClient<Integer, Product<Integer>> partitionedMirrorClient =
+            mock(PartitionedMirrorClient.class);
+        when(partitionedMirrorClient.aggregateRange(eq(1), eq("1"), eq("4"), eq("ratings"), eq(filter)))
+            .thenReturn(aggregate);
+        final DataFetcherClient<Integer, Product<Integer>> fetcherClient =
+            new MirrorDataFetcherClient<>(new Lazy<>(() -> partitionedMirrorClient));
+
+        final RangeAggregateFetcher<Integer, Product<Integer>> rangeAggregateFetcher =
+            new RangeAggregateFetcher<>("productId", fetcherClient, "ratingFrom", "ratingTo", "ratings", "where");
+
+        final Map<String, Object> arguments = Map.of("productId", 1, "ratingFrom", "1", "ratingTo", "4",
+            "where", Map.of("field", "name", "ne", "test"));
+
+        final DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .localContext(arguments).build();
+
+        assertThat(rangeAggregateFetcher.get(env)).isEqualTo(aggregate);
+        assertThat(rangeAggregateFetcher.get(env).getAvg()).isEqualTo(3.5);
+    }
+}
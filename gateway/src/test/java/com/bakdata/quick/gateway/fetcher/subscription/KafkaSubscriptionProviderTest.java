@@ -0,0 +1,200 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bakdata.quick.common.api.model.mirror.PositionedValue;
+import com.bakdata.quick.common.exception.BadArgumentException;
+import com.bakdata.quick.gateway.fetcher.DataFetcherClient;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import graphql.schema.DataFetchingEnvironment;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class KafkaSubscriptionProviderTest {
+    private static final String TOPIC = "topic";
+    private static final String KEY_ARGUMENT = "id";
+    private static final String WHERE_ARGUMENT = "where";
+    private static final Schema PURCHASE_SCHEMA = SchemaBuilder.record("Purchase").fields()
+        .requiredString("status")
+        .requiredLong("amount")
+        .endRecord();
+
+    private final AtomicReference<ResumeToken> requestedStart = new AtomicReference<>();
+    private final SubscriptionHub<String, String> hub =
+        createHub(Flux::empty, this::missedRecords, StringDeserializer::new, null);
+
+    @SuppressWarnings("unchecked")
+    private final DataFetcherClient<String, String> client = mock(DataFetcherClient.class);
+
+    @Test
+    void shouldStartWithSnapshotAndContinueAfterItsPosition() {
+        when(this.client.fetchResultWithPosition("a")).thenReturn(new PositionedValue<>("first", "1:5"));
+        final KafkaSubscriptionProvider<String, String> provider =
+            new KafkaSubscriptionProvider<>(this.hub, "query", KEY_ARGUMENT, null, this.client);
+
+        final List<ConsumerRecord<String, String>> records =
+            provider.getElementStreamWithSnapshot(environmentWithKey("a")).take(3).collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(records)
+            .extracting(ConsumerRecord::value)
+            .containsExactly("first", "second", "third");
+        assertThat(records.get(0))
+            .extracting(ConsumerRecord::partition, ConsumerRecord::offset)
+            .containsExactly(1, 5L);
+        assertThat(this.requestedStart.get().getOffsets()).isEqualTo(Map.of(1, 6L));
+    }
+
+    @Test
+    void shouldOnlyContinueAfterPositionOfMissingKey() {
+        when(this.client.fetchResultWithPosition("a")).thenReturn(new PositionedValue<>(null, "1:-1"));
+        final KafkaSubscriptionProvider<String, String> provider =
+            new KafkaSubscriptionProvider<>(this.hub, "query", KEY_ARGUMENT, null, this.client);
+
+        final List<ConsumerRecord<String, String>> records =
+            provider.getElementStreamWithSnapshot(environmentWithKey("a")).take(2).collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(records)
+            .extracting(ConsumerRecord::value)
+            .containsExactly("second", "third");
+        assertThat(this.requestedStart.get().getOffsets()).isEqualTo(Map.of(1, 0L));
+    }
+
+    @Test
+    void shouldContinueSnapshotWithRecordsOfHubAfterCatchingUp() {
+        final SubscriptionHub<String, String> liveHub = createHub(() -> Flux.just(
+            new ConsumerRecord<>(TOPIC, 1, 8, "a", "third".getBytes(StandardCharsets.UTF_8)),
+            new ConsumerRecord<>(TOPIC, 1, 9, "a", "fourth".getBytes(StandardCharsets.UTF_8)))
+            .concatWith(Flux.never()),
+            this::missedRecords, StringDeserializer::new, null);
+        when(this.client.fetchResultWithPosition("a")).thenReturn(new PositionedValue<>("first", "1:5"));
+        final KafkaSubscriptionProvider<String, String> provider =
+            new KafkaSubscriptionProvider<>(liveHub, "query", KEY_ARGUMENT, null, this.client);
+
+        final List<ConsumerRecord<String, String>> records =
+            provider.getElementStreamWithSnapshot(environmentWithKey("a")).take(4).collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(records)
+            .extracting(ConsumerRecord::value)
+            .containsExactly("first", "second", "third", "fourth");
+    }
+
+    @Test
+    void shouldRejectSnapshotWithoutKey() {
+        final KafkaSubscriptionProvider<String, String> provider =
+            new KafkaSubscriptionProvider<>(this.hub, "query", null, null, this.client);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> provider.getElementStreamWithSnapshot(mock(DataFetchingEnvironment.class)));
+    }
+
+    @Test
+    void shouldOnlyEmitValuesMatchingFilter() {
+        final SubscriptionHub<String, GenericRecord> purchaseHub = createHub(() -> Flux.just(
+            new ConsumerRecord<>(TOPIC, 0, 0, "a", "FAILED:2000".getBytes(StandardCharsets.UTF_8)),
+            new ConsumerRecord<>(TOPIC, 0, 1, "b", "FAILED:10".getBytes(StandardCharsets.UTF_8)),
+            new ConsumerRecord<>(TOPIC, 0, 2, "c", "DONE:5000".getBytes(StandardCharsets.UTF_8)),
+            new ConsumerRecord<>(TOPIC, 0, 3, "d", "FAILED:1001".getBytes(StandardCharsets.UTF_8))),
+            start -> Flux.empty(), () -> (topic, data) -> purchase(new String(data, StandardCharsets.UTF_8)), null);
+        final KafkaSubscriptionProvider<String, GenericRecord> provider =
+            new KafkaSubscriptionProvider<>(purchaseHub, "query", null, WHERE_ARGUMENT, null);
+        final DataFetchingEnvironment environment = mock(DataFetchingEnvironment.class);
+        when(environment.containsArgument(WHERE_ARGUMENT)).thenReturn(true);
+        when(environment.getArgument(WHERE_ARGUMENT)).thenReturn(Map.of("and", List.of(
+            Map.of("field", "status", "eq", "FAILED"),
+            Map.of("field", "amount", "gt", "1000"))));
+
+        final List<ConsumerRecord<String, GenericRecord>> records =
+            provider.getElementStream(environment).take(2).collectList().block(Duration.ofSeconds(5));
+
+        assertThat(records)
+            .extracting(ConsumerRecord::key)
+            .containsExactly("a", "d");
+    }
+
+    private Flux<ConsumerRecord<String, byte[]>> missedRecords(final ResumeToken start) {
+        this.requestedStart.set(start);
+        return Flux.just(
+            new ConsumerRecord<>(TOPIC, 1, 6, "a", "second".getBytes(StandardCharsets.UTF_8)),
+            new ConsumerRecord<>(TOPIC, 1, 7, "b", "other".getBytes(StandardCharsets.UTF_8)),
+            new ConsumerRecord<>(TOPIC, 1, 8, "a", "third".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldRejectFilterWithUnknownFieldBeforeReceivingRecords() {
+        final SubscriptionHub<String, GenericRecord> purchaseHub = createHub(Flux::never, start -> Flux.empty(),
+            () -> (topic, data) -> purchase(new String(data, StandardCharsets.UTF_8)), new AvroSchema(PURCHASE_SCHEMA));
+        final KafkaSubscriptionProvider<String, GenericRecord> provider =
+            new KafkaSubscriptionProvider<>(purchaseHub, "query", null, WHERE_ARGUMENT, null);
+        final DataFetchingEnvironment environment = mock(DataFetchingEnvironment.class);
+        when(environment.containsArgument(WHERE_ARGUMENT)).thenReturn(true);
+        when(environment.getArgument(WHERE_ARGUMENT)).thenReturn(Map.of("or", List.of(
+            Map.of("field", "status", "eq", "FAILED"),
+            Map.of("field", "amount/total", "gt", "1000"))));
+
+        assertThatExceptionOfType(BadArgumentException.class)
+            .isThrownBy(() -> provider.getElementStream(environment))
+            .withMessageContaining("amount/total");
+    }
+
+    private static <V> SubscriptionHub<String, V> createHub(
+        final Supplier<Flux<ConsumerRecord<String, byte[]>>> recordSource,
+        final Function<ResumeToken, Flux<ConsumerRecord<String, byte[]>>> resumedRecordSource,
+        final Supplier<Deserializer<V>> valueDeserializer, @Nullable final ParsedSchema valueSchema) {
+        return new SubscriptionHub<>(TOPIC, onAssigned -> recordSource.get().doOnSubscribe(ignored -> onAssigned.run()),
+            resumedRecordSource, valueDeserializer, () -> Optional.ofNullable(valueSchema),
+            SubscriptionHubMetrics.local());
+    }
+
+    private static GenericRecord purchase(final String statusAndAmount) {
+        final String[] fields = statusAndAmount.split(":");
+        final GenericRecord purchase = new GenericData.Record(PURCHASE_SCHEMA);
+        purchase.put("status", fields[0]);
+        purchase.put("amount", Long.parseLong(fields[1]));
+        return purchase;
+    }
+
+    private static DataFetchingEnvironment environmentWithKey(final String key) {
+        final DataFetchingEnvironment environment = mock(DataFetchingEnvironment.class);
+        when(environment.getArgument(KEY_ARGUMENT)).thenReturn(key);
+        return environment;
+    }
+}
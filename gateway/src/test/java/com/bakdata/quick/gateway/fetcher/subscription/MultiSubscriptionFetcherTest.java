@@ -17,20 +17,49 @@
 package com.bakdata.quick.gateway.fetcher.subscription;
 
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.bakdata.quick.avro.ClickStatsAvro;
 import com.bakdata.quick.avro.PurchaseStatsAvro;
+import com.bakdata.quick.common.api.client.HttpClient;
+import com.bakdata.quick.common.api.client.mirror.DefaultMirrorRequestManager;
+import com.bakdata.quick.common.api.client.mirror.MirrorHost;
+import com.bakdata.quick.common.api.client.mirror.PartitionedMirrorClient;
+import com.bakdata.quick.common.api.client.routing.Router;
+import com.bakdata.quick.common.resolver.StringResolver;
+import com.bakdata.quick.common.util.Lazy;
+import com.bakdata.quick.gateway.SubscriptionCacheConfig;
 import com.bakdata.quick.gateway.fetcher.DataFetcherClient;
+import com.bakdata.quick.gateway.fetcher.MirrorDataFetcherClient;
 import com.bakdata.quick.testutil.ClickStatsProto;
 import com.bakdata.quick.testutil.PurchaseStatsProto;
 import graphql.schema.DataFetchingEnvironmentImpl;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.http.HttpStatus;
 import io.reactivex.subscribers.TestSubscriber;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledIfEnvironmentVariable;
@@ -101,6 +130,82 @@ class MultiSubscriptionFetcherTest {
         Mockito.verifyNoInteractions(field1Client, field2Client);
     }
 
+    @Test
+    void shouldLoadMissingFieldsOfBatchTogether() {
+        final DataFetcherClient<String, ?> field1Client = mock(DataFetcherClient.class);
+        final DataFetcherClient<String, ?> field2Client = mock(DataFetcherClient.class);
+        doAnswer(invocation -> invocation.<List<String>>getArgument(0).stream()
+            .map(key -> "field2" + key)
+            .collect(Collectors.toList()))
+            .when(field2Client).fetchResults(anyList());
+
+        final SubscriptionProvider<?, ?> field1Subscriber = env -> Flux.just(
+            new ConsumerRecord<>("topic1", 0, 0, "key1", "field1key1"),
+            new ConsumerRecord<>("topic1", 0, 1, "key2", "field1key2"));
+        final SubscriptionProvider<?, ?> field2Subscriber = env -> Flux.empty();
+
+        final Map<String, DataFetcherClient<String, ?>> fieldClients =
+            Map.of("field1", field1Client, "field2", field2Client);
+        final Map<String, SubscriptionProvider<?, ?>> fieldSubscribers =
+            Map.of("field1", field1Subscriber, "field2", field2Subscriber);
+
+        final List<String> selectedFields = List.of("field1", "field2");
+        final MultiSubscriptionFetcher fetcher =
+            new MultiSubscriptionFetcher(fieldClients, fieldSubscribers, env -> selectedFields);
+
+        final Publisher<Map<String, Object>> mapPublisher =
+            fetcher.get(DataFetchingEnvironmentImpl.newDataFetchingEnvironment().build());
+
+        final TestSubscriber<Object> testSubscriber = TestSubscriber.create();
+        mapPublisher.subscribe(testSubscriber);
+        testSubscriber.awaitTerminalEvent(2, TimeUnit.SECONDS);
+        testSubscriber.assertComplete();
+        testSubscriber.assertValues(
+            Map.of("field1", "field1key1", "field2", "field2key1"),
+            Map.of("field1", "field1key2", "field2", "field2key2"));
+        verify(field2Client).fetchResults(anyList());
+        verify(field2Client, never()).fetchResult(any());
+    }
+
+    @Test
+    void shouldOmitFieldOfMissingKeyInBatchFromMirror() {
+        // the mirror answers a missing key of a list request with null
+        final MockWebServer server = createMirrorServer(Map.of("key2", "field2key2"), true);
+        final List<Object> values = loadMissingFieldFromMirror(server);
+
+        assertThat(values).containsExactly(
+            Map.of("field1", "field1key1"),
+            Map.of("field1", "field1key2", "field2", "field2key2"));
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLoadFieldsKeyByKeyIfBatchFromMirrorCannotBeMatchedWithKeys() {
+        // the mirror drops missing keys from a list request, so that the values can't be matched with their keys
+        final MockWebServer server = createMirrorServer(Map.of("key2", "field2key2"), false);
+        final List<Object> values = loadMissingFieldFromMirror(server);
+
+        assertThat(values).containsExactly(
+            Map.of("field1", "field1key1"),
+            Map.of("field1", "field1key2", "field2", "field2key2"));
+        assertThat(server.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReportMetricsOfCacheOfLatestFetcher() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final SubscriptionCacheConfig cacheConfig = new SubscriptionCacheConfig("Statistics");
+
+        new MultiSubscriptionFetcher<>(Map.of(), Map.of(), cacheConfig, Optional.of(registry));
+        final Gauge firstGauge = registry.get("cache.size").tag("cache", "subscription-Statistics").gauge();
+        // e.g., after the schema was updated
+        new MultiSubscriptionFetcher<>(Map.of(), Map.of(), cacheConfig, Optional.of(registry));
+        final Gauge secondGauge = registry.get("cache.size").tag("cache", "subscription-Statistics").gauge();
+
+        assertThat(secondGauge).isNotSameAs(firstGauge);
+        assertThat(registry.find("cache.size").tag("cache", "subscription-Statistics").gauges()).hasSize(1);
+    }
+
     @Test
     @DisabledIfEnvironmentVariable(named = "CI", matches = "true", disabledReason = "Flaky on CI")
     void shouldFetchValuesForStringKeyAndAvroValue() {
@@ -214,4 +319,52 @@ class MultiSubscriptionFetcherTest {
     private static PurchaseStatsProto newPurchaseStatsProto(final String id, final long amount) {
         return PurchaseStatsProto.newBuilder().setId(id).setAmount(amount).build();
     }
+
+    private static List<Object> loadMissingFieldFromMirror(final MockWebServer server) {
+        final MirrorHost host = MirrorHost.createWithNoPrefix(server.getHostName() + ":" + server.getPort());
+        final Router<String> router = mock(Router.class);
+        when(router.findHost(any())).thenReturn(host);
+        final HttpClient client = new HttpClient();
+        final DataFetcherClient<String, ?> field2Client = new MirrorDataFetcherClient<>(new Lazy<>(
+            () -> new PartitionedMirrorClient<>(client, new StringResolver(), new DefaultMirrorRequestManager(client),
+                router)));
+
+        final SubscriptionProvider<?, ?> field1Subscriber = env -> Flux.just(
+            new ConsumerRecord<>("topic1", 0, 0, "key1", "field1key1"),
+            new ConsumerRecord<>("topic1", 0, 1, "key2", "field1key2"));
+        final Map<String, DataFetcherClient<String, ?>> fieldClients =
+            Map.of("field1", mock(DataFetcherClient.class), "field2", field2Client);
+        final Map<String, SubscriptionProvider<?, ?>> fieldSubscribers =
+            Map.of("field1", field1Subscriber, "field2", env -> Flux.empty());
+        final MultiSubscriptionFetcher fetcher =
+            new MultiSubscriptionFetcher(fieldClients, fieldSubscribers, env -> List.of("field1", "field2"));
+
+        final TestSubscriber<Object> testSubscriber = TestSubscriber.create();
+        fetcher.get(DataFetchingEnvironmentImpl.newDataFetchingEnvironment().build()).subscribe(testSubscriber);
+        testSubscriber.awaitTerminalEvent(2, TimeUnit.SECONDS);
+        testSubscriber.assertComplete();
+        return testSubscriber.values();
+    }
+
+    private static MockWebServer createMirrorServer(final Map<String, String> values, final boolean keepMissingKeys) {
+        final MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                final HttpUrl url = Objects.requireNonNull(request.getRequestUrl());
+                final String ids = url.queryParameter("ids");
+                if (ids == null) {
+                    final String value = values.get(url.pathSegments().get(url.pathSize() - 1));
+                    return value == null ? new MockResponse().setResponseCode(HttpStatus.NOT_FOUND.getCode())
+                        : new MockResponse().setBody(String.format("{\"value\":\"%s\"}", value));
+                }
+                final String body = Arrays.stream(ids.split(","))
+                    .filter(key -> keepMissingKeys || values.containsKey(key))
+                    .map(key -> values.containsKey(key) ? String.format("\"%s\"", values.get(key)) : "null")
+                    .collect(Collectors.joining(",", "{\"value\":[", "]}"));
+                return new MockResponse().setBody(body);
+            }
+        });
+        return server;
+    }
 }
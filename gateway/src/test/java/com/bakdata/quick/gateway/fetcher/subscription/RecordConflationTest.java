@@ -0,0 +1,62 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class RecordConflationTest {
+    private static final String TOPIC = "topic";
+
+    @Test
+    void shouldEmitNewestRecordPerKey() {
+        final Flux<ConsumerRecord<String, Integer>> records = Flux.just(
+            new ConsumerRecord<>(TOPIC, 0, 0, "a", 1),
+            new ConsumerRecord<>(TOPIC, 0, 1, "b", 2),
+            new ConsumerRecord<>(TOPIC, 0, 2, "a", 3),
+            new ConsumerRecord<>(TOPIC, 0, 3, "c", 4),
+            new ConsumerRecord<>(TOPIC, 0, 4, "b", 5)
+        );
+
+        final List<Integer> values = RecordConflation.conflate(records, Duration.ofMinutes(1))
+            .map(ConsumerRecord::value)
+            .collectList()
+            .block();
+
+        assertThat(values).containsExactly(3, 5, 4);
+    }
+
+    @Test
+    void shouldEmitRecordsOfEachWindow() {
+        final Flux<ConsumerRecord<String, Integer>> records = Flux.concat(
+            Flux.just(new ConsumerRecord<>(TOPIC, 0, 0, "a", 1), new ConsumerRecord<>(TOPIC, 0, 1, "a", 2)),
+            Flux.just(new ConsumerRecord<>(TOPIC, 0, 2, "a", 3)).delaySubscription(Duration.ofMillis(500))
+        );
+
+        final List<Integer> values = RecordConflation.conflate(records, Duration.ofMillis(200))
+            .map(ConsumerRecord::value)
+            .collectList()
+            .block();
+
+        assertThat(values).containsExactly(2, 3);
+    }
+}
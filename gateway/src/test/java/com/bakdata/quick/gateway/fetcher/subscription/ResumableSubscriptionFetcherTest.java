@@ -0,0 +1,151 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+class ResumableSubscriptionFetcherTest {
+    private static final String TOPIC = "topic";
+    private static final String SCHEMA = "directive @resume(token: String, timestamp: String) on FIELD\n"
+        + "directive @conflate(window: Int!) on FIELD\n"
+        + "directive @snapshot on FIELD\n"
+        + "type Query { dummy: Int }\n"
+        + "type Subscription { prices: Int }";
+
+    private final AtomicReference<ResumeToken> requestedStart = new AtomicReference<>();
+
+    @Test
+    void shouldAddResumeTokenToResults() {
+        final List<ExecutionResult> results = this.subscribe("subscription { prices @resume }");
+
+        assertThat(results)
+            .extracting(ExecutionResult::getData)
+            .containsExactly(Map.of("prices", 1), Map.of("prices", 2), Map.of("prices", 3));
+        assertThat(results)
+            .extracting(result -> ResumeToken.decode((String) result.getExtensions().get("resumeToken")))
+            .extracting(ResumeToken::getOffsets)
+            .containsExactly(Map.of(0, 5L), Map.of(0, 5L, 1, 8L), Map.of(0, 6L, 1, 8L));
+        assertThat(this.requestedStart.get()).isNull();
+    }
+
+    @Test
+    void shouldResumeFromToken() {
+        final ResumeToken token = ResumeToken.fromTimestamp(1000L).advance(new ConsumerRecord<>(TOPIC, 0, 3, "a", 0));
+
+        final List<ExecutionResult> results =
+            this.subscribe("subscription { prices @resume(token: \"" + token.encode() + "\") }");
+
+        assertThat(this.requestedStart.get()).isEqualTo(token);
+        assertThat(results)
+            .extracting(result -> ResumeToken.decode((String) result.getExtensions().get("resumeToken")))
+            .last()
+            .isEqualTo(new ResumeToken(1000L, Map.of(0, 6L, 1, 8L)));
+    }
+
+    @Test
+    void shouldResumeFromTimestamp() {
+        this.subscribe("subscription { prices @resume(timestamp: \"1970-01-01T00:00:01Z\") }");
+
+        assertThat(this.requestedStart.get()).isEqualTo(ResumeToken.fromTimestamp(1000L));
+    }
+
+    @Test
+    void shouldContinueResumeTokensAfterSnapshot() {
+        final List<ExecutionResult> results = this.subscribe("subscription { prices @snapshot @resume }");
+
+        assertThat(results)
+            .extracting(ExecutionResult::getData)
+            .first()
+            .isEqualTo(Map.of("prices", 0));
+        assertThat(results)
+            .extracting(result -> ResumeToken.decode((String) result.getExtensions().get("resumeToken")))
+            .extracting(ResumeToken::getOffsets)
+            .first()
+            .isEqualTo(Map.of(0, 4L));
+    }
+
+    @Test
+    void shouldNotAddResumeTokenWithoutDirective() {
+        final List<ExecutionResult> results = this.subscribe("subscription { prices }");
+
+        assertThat(results)
+            .hasSize(3)
+            .allSatisfy(result -> assertThat(result.getExtensions()).doesNotContainKey("resumeToken"));
+    }
+
+    @Test
+    void shouldAddRecordKeyToResults() {
+        final List<ExecutionResult> results = this.subscribe("subscription { prices }");
+
+        assertThat(results)
+            .extracting(result -> result.getExtensions().get(SubscriptionEventInstrumentation.RECORD_KEY_EXTENSION))
+            .containsExactly("a", "b", "a");
+    }
+
+    private List<ExecutionResult> subscribe(final String query) {
+        final SubscriptionProvider<String, Integer> provider = new SubscriptionProvider<>() {
+            @Override
+            public Flux<ConsumerRecord<String, Integer>> getElementStream(final DataFetchingEnvironment environment) {
+                return Flux.just(
+                    new ConsumerRecord<>(TOPIC, 0, 4, "a", 1),
+                    new ConsumerRecord<>(TOPIC, 1, 7, "b", 2),
+                    new ConsumerRecord<>(TOPIC, 0, 5, "a", 3));
+            }
+
+            @Override
+            public Flux<ConsumerRecord<String, Integer>> getElementStream(final DataFetchingEnvironment environment,
+                final ResumeToken start) {
+                ResumableSubscriptionFetcherTest.this.requestedStart.set(start);
+                return this.getElementStream(environment);
+            }
+
+            @Override
+            public Flux<ConsumerRecord<String, Integer>> getElementStreamWithSnapshot(
+                final DataFetchingEnvironment environment) {
+                return this.getElementStream(environment).startWith(new ConsumerRecord<>(TOPIC, 0, 3, "a", 0));
+            }
+        };
+        final RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+            .type("Subscription",
+                builder -> builder.dataFetcher("prices", new ResumableSubscriptionFetcher<>(provider)))
+            .build();
+        final GraphQLSchema schema =
+            new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring);
+        final GraphQL graphQL =
+            GraphQL.newGraphQL(schema).instrumentation(new SubscriptionEventInstrumentation()).build();
+
+        final ExecutionResult executionResult = graphQL.execute(query);
+        assertThat(executionResult.getErrors()).isEmpty();
+        final Publisher<ExecutionResult> results = executionResult.getData();
+        return Flux.from(results).collectList().block();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+class ResumeTokenTest {
+    private static final String TOPIC = "topic";
+
+    @Test
+    void shouldAdvanceOffsetsPerPartition() {
+        final ResumeToken token = ResumeToken.fromTimestamp(1000L)
+            .advance(new ConsumerRecord<>(TOPIC, 0, 4, "a", 1))
+            .advance(new ConsumerRecord<>(TOPIC, 1, 7, "b", 2))
+            .advance(new ConsumerRecord<>(TOPIC, 0, 5, "c", 3));
+
+        assertThat(token.getTimestamp()).isEqualTo(1000L);
+        assertThat(token.getOffsets()).isEqualTo(Map.of(0, 6L, 1, 8L));
+    }
+
+    @Test
+    void shouldDecodeEncodedToken() {
+        final ResumeToken token = ResumeToken.fromTimestamp(1000L)
+            .advance(new ConsumerRecord<>(TOPIC, 0, 4, "a", 1))
+            .advance(new ConsumerRecord<>(TOPIC, 2, 9, "b", 2));
+
+        assertThat(ResumeToken.decode(token.encode())).isEqualTo(token);
+        assertThat(ResumeToken.decode(ResumeToken.fromTimestamp(5L).encode())).isEqualTo(ResumeToken.fromTimestamp(5L));
+    }
+
+    @Test
+    void shouldRejectInvalidToken() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ResumeToken.decode("not a token"));
+        assertThatIllegalArgumentException().isThrownBy(() -> ResumeToken.decode("MTAwMA"));
+    }
+}
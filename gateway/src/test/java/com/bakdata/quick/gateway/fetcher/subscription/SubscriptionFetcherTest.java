@@ -20,6 +20,8 @@ import static net.mguenther.kafka.junit.EmbeddedKafkaCluster.provisionWith;
 import static net.mguenther.kafka.junit.EmbeddedKafkaClusterConfig.defaultClusterConfig;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.bakdata.quick.common.TestTypeUtils;
 import com.bakdata.quick.common.api.model.TopicWriteType;
@@ -27,9 +29,14 @@ import com.bakdata.quick.common.config.KafkaConfig;
 import com.bakdata.quick.common.type.QuickTopicData;
 import com.bakdata.quick.common.type.QuickTopicData.QuickData;
 import com.bakdata.quick.common.util.Lazy;
+import com.bakdata.quick.gateway.custom.type.QuickConflateDirective;
 import com.bakdata.quick.gateway.fetcher.subscription.KafkaSubscriptionProvider.OffsetStrategy;
+import graphql.Scalars;
+import graphql.execution.directives.QueryDirectives;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
 import io.reactivex.subscribers.TestSubscriber;
 import java.time.Duration;
 import java.util.List;
@@ -41,14 +48,17 @@ import net.mguenther.kafka.junit.KeyValue;
 import net.mguenther.kafka.junit.SendKeyValuesTransactional;
 import net.mguenther.kafka.junit.TopicConfig;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 
 class SubscriptionFetcherTest {
     private static final EmbeddedKafkaCluster kafkaCluster = provisionWith(defaultClusterConfig());
@@ -145,6 +155,31 @@ class SubscriptionFetcherTest {
         deleteTopic(topic);
     }
 
+    @Test
+    void shouldConflateRecordsIfRequested() {
+        final SubscriptionFetcher<String, Integer> subscriptionFetcher = new SubscriptionFetcher<>(env -> Flux.just(
+            new ConsumerRecord<>("conflation-test", 0, 0, "a", 1),
+            new ConsumerRecord<>("conflation-test", 0, 1, "a", 2),
+            new ConsumerRecord<>("conflation-test", 0, 2, "b", 3)
+        ));
+        final GraphQLDirective conflateDirective = GraphQLDirective.newDirective()
+            .name(QuickConflateDirective.DIRECTIVE_NAME)
+            .argument(GraphQLArgument.newArgument().name("window").type(Scalars.GraphQLInt).value(100))
+            .build();
+        final QueryDirectives queryDirectives = mock(QueryDirectives.class);
+        when(queryDirectives.getImmediateDirective(QuickConflateDirective.DIRECTIVE_NAME))
+            .thenReturn(List.of(conflateDirective));
+        final DataFetchingEnvironment fetchingEnvironment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .queryDirectives(queryDirectives)
+            .build();
+
+        final TestSubscriber<Integer> testSubscriber = TestSubscriber.create();
+        subscriptionFetcher.get(fetchingEnvironment).subscribe(testSubscriber);
+
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() -> assertThat(testSubscriber.values()).containsExactly(2, 3));
+    }
+
     private static Stream<Arguments> provideValueArguments() {
         return Stream.of(
             // integer
@@ -0,0 +1,216 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.fetcher.subscription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+class SubscriptionHubTest {
+    private static final String TOPIC = "topic";
+
+    private final Sinks.Many<ConsumerRecord<String, byte[]>> source = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private final AtomicInteger cancellations = new AtomicInteger();
+    private final AtomicInteger deserializations = new AtomicInteger();
+    private final SubscriptionHub<String, String> hub = createHub(() -> this.source.asFlux()
+        .doOnSubscribe(subscription -> this.subscriptions.incrementAndGet())
+        .doOnCancel(this.cancellations::incrementAndGet), start -> Flux.empty(), this::createCountingDeserializer,
+        SubscriptionHubMetrics.local());
+
+    @Test
+    void shouldRouteRecordsToSubscribersOfKey() {
+        final TestSubscriber<String> firstSubscriber = TestSubscriber.create();
+        final TestSubscriber<String> secondSubscriber = TestSubscriber.create();
+        final TestSubscriber<String> wildcardSubscriber = TestSubscriber.create();
+        this.hub.subscribe("a").map(ConsumerRecord::value).subscribe(firstSubscriber);
+        this.hub.subscribe("b").map(ConsumerRecord::value).subscribe(secondSubscriber);
+        this.hub.subscribe(null).map(ConsumerRecord::value).subscribe(wildcardSubscriber);
+
+        this.emit("a", "first");
+        this.emit("b", "second");
+        this.emit("c", "third");
+
+        firstSubscriber.assertValues("first");
+        secondSubscriber.assertValues("second");
+        wildcardSubscriber.assertValues("first", "second", "third");
+    }
+
+    @Test
+    void shouldDeserializeValuesOnlyForInterestedSubscribers() {
+        final TestSubscriber<String> firstSubscriber = TestSubscriber.create();
+        final TestSubscriber<String> secondSubscriber = TestSubscriber.create();
+        this.hub.subscribe("a").map(ConsumerRecord::value).subscribe(firstSubscriber);
+        this.hub.subscribe("a").map(ConsumerRecord::value).subscribe(secondSubscriber);
+
+        this.emit("a", "first");
+        this.emit("b", "second");
+        this.emit("c", "third");
+
+        firstSubscriber.assertValues("first");
+        secondSubscriber.assertValues("first");
+        assertThat(this.deserializations).hasValue(1);
+    }
+
+    @Test
+    void shouldShareSourceBetweenSubscribers() {
+        final TestSubscriber<ConsumerRecord<String, String>> firstSubscriber = TestSubscriber.create();
+        final TestSubscriber<ConsumerRecord<String, String>> secondSubscriber = TestSubscriber.create();
+        this.hub.subscribe("a").subscribe(firstSubscriber);
+        this.hub.subscribe("a").subscribe(secondSubscriber);
+        assertThat(this.subscriptions).hasValue(1);
+
+        firstSubscriber.cancel();
+        assertThat(this.cancellations).hasValue(0);
+        secondSubscriber.cancel();
+        assertThat(this.cancellations).hasValue(1);
+
+        this.hub.subscribe("a").subscribe(TestSubscriber.create());
+        assertThat(this.subscriptions).hasValue(2);
+    }
+
+    @Test
+    void shouldSkipRecordsWithNullValue() {
+        final TestSubscriber<ConsumerRecord<String, String>> subscriber = TestSubscriber.create();
+        this.hub.subscribe("a").subscribe(subscriber);
+
+        this.emit("a", null);
+
+        subscriber.assertNoValues();
+    }
+
+    @Test
+    void shouldCountRecordsWithNullValue() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final SubscriptionHub<String, String> countingHub = createHub(this.source::asFlux,
+            start -> Flux.empty(), StringDeserializer::new, SubscriptionHubMetrics.create(registry, TOPIC));
+        countingHub.subscribe("a").subscribe(TestSubscriber.create());
+
+        this.emit("a", null);
+        this.emit("a", "value");
+        this.emit("b", null);
+
+        assertThat(registry.get("quick.subscription.records.null").tag("topic", TOPIC).counter().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void shouldPropagateErrorsToAllSubscribers() {
+        final TestSubscriber<ConsumerRecord<String, String>> firstSubscriber = TestSubscriber.create();
+        final TestSubscriber<ConsumerRecord<String, String>> secondSubscriber = TestSubscriber.create();
+        this.hub.subscribe("a").subscribe(firstSubscriber);
+        this.hub.subscribe(null).subscribe(secondSubscriber);
+
+        this.source.tryEmitError(new IllegalStateException("broken"));
+
+        firstSubscriber.assertError(IllegalStateException.class);
+        secondSubscriber.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldCancelSubscriptionsThatDoNotKeepUp() {
+        final TestSubscriber<ConsumerRecord<String, String>> slowSubscriber = TestSubscriber.create(0);
+        final TestSubscriber<ConsumerRecord<String, String>> otherSubscriber = TestSubscriber.create();
+        this.hub.subscribe("a").subscribe(slowSubscriber);
+        this.hub.subscribe("a").subscribe(otherSubscriber);
+
+        for (int i = 0; i <= SubscriptionHub.MAX_BUFFERED_RECORDS; i++) {
+            this.emit("a", "value");
+        }
+
+        // the buffered records are still delivered before the error
+        slowSubscriber.requestMore(SubscriptionHub.MAX_BUFFERED_RECORDS);
+        slowSubscriber.assertValueCount(SubscriptionHub.MAX_BUFFERED_RECORDS).assertError(IllegalStateException.class);
+        otherSubscriber.assertNoErrors().assertValueCount(SubscriptionHub.MAX_BUFFERED_RECORDS + 1);
+        assertThat(this.cancellations).hasValue(0);
+    }
+
+    @Test
+    void shouldContinueResumedSubscriptionWithRecordsOfHub() {
+        final Sinks.Many<ConsumerRecord<String, byte[]>> missedRecords = Sinks.many().unicast().onBackpressureBuffer();
+        final AtomicInteger resumedSubscriptions = new AtomicInteger();
+        final SubscriptionHub<String, String> resumingHub = createHub(this.source::asFlux,
+            start -> missedRecords.asFlux().doOnSubscribe(subscription -> resumedSubscriptions.incrementAndGet()),
+            StringDeserializer::new, SubscriptionHubMetrics.local());
+        final TestSubscriber<String> subscriber = TestSubscriber.create();
+        resumingHub.resume("a", new ResumeToken(0L, Map.of(0, 1L))).map(ConsumerRecord::value).subscribe(subscriber);
+        assertThat(resumedSubscriptions).hasValue(1);
+
+        missedRecords.tryEmitNext(record(1, "a", "first"));
+        // records of the hub are buffered until the missed records are read
+        this.emit(2, "a", "second");
+        this.emit(3, "a", "third");
+        subscriber.assertValues("first");
+
+        missedRecords.tryEmitNext(record(2, "a", "second"));
+        missedRecords.tryEmitComplete();
+        this.emit(4, "a", "fourth");
+        subscriber.assertValues("first", "second", "third", "fourth").assertNotComplete();
+
+        subscriber.cancel();
+        this.emit(5, "a", "fifth");
+        subscriber.assertValueCount(4);
+    }
+
+    /**
+     * Creates a hub whose source is considered to be assigned its partitions once it is subscribed.
+     */
+    private static <V> SubscriptionHub<String, V> createHub(
+        final Supplier<Flux<ConsumerRecord<String, byte[]>>> recordSource,
+        final Function<ResumeToken, Flux<ConsumerRecord<String, byte[]>>> resumedRecordSource,
+        final Supplier<Deserializer<V>> valueDeserializer, final SubscriptionHubMetrics metrics) {
+        return new SubscriptionHub<>(TOPIC, onAssigned -> recordSource.get().doOnSubscribe(ignored -> onAssigned.run()),
+            resumedRecordSource, valueDeserializer, Optional::empty, metrics);
+    }
+
+    private void emit(final String key, @Nullable final String value) {
+        this.emit(0, key, value);
+    }
+
+    private void emit(final long offset, final String key, @Nullable final String value) {
+        this.source.tryEmitNext(record(offset, key, value));
+    }
+
+    private static ConsumerRecord<String, byte[]> record(final long offset, final String key,
+        @Nullable final String value) {
+        final byte[] serializedValue = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        return new ConsumerRecord<>(TOPIC, 0, offset, key, serializedValue);
+    }
+
+    private Deserializer<String> createCountingDeserializer() {
+        final Deserializer<String> deserializer = new StringDeserializer();
+        return (topic, data) -> {
+            this.deserializations.incrementAndGet();
+            return deserializer.deserialize(topic, data);
+        };
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.subscriptions;
+
+import static io.micronaut.configuration.graphql.ws.GraphQLWsResponse.ServerType.GQL_DATA;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.subscribers.TestSubscriber;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+class GraphQLWsStateTest {
+    private static final OperationKey OPERATION_KEY =
+        new OperationKey("subscription{prices{price}}", null, Map.of(), "prices", true);
+
+    private final GraphQLWsState state = new GraphQLWsState();
+    private final Sinks.Many<SerializedResult> source = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void shouldShareResultsOfIdenticalOperations() {
+        final TestSubscriber<SerializedResult> firstSubscriber = TestSubscriber.create();
+        final TestSubscriber<SerializedResult> secondSubscriber = TestSubscriber.create();
+        this.state.shareBroadcast(OPERATION_KEY, this.createResults()).subscribe(firstSubscriber);
+        this.state.shareBroadcast(OPERATION_KEY, this.createResults()).subscribe(secondSubscriber);
+
+        final SerializedResult result = new SerializedResult(GQL_DATA, "{\"data\":{\"prices\":{\"price\":1}}}", null);
+        this.source.tryEmitNext(result);
+
+        assertThat(this.executions).hasValue(1);
+        firstSubscriber.assertValues(result);
+        secondSubscriber.assertValues(result);
+    }
+
+    @Test
+    void shouldNotShareResultsOfOperationsDependingOnSession() {
+        final OperationKey snapshotKey =
+            new OperationKey("subscription{prices@snapshot{price}}", null, Map.of(), "prices", false);
+        this.state.shareBroadcast(snapshotKey, this.createResults()).subscribe(TestSubscriber.create());
+        this.state.shareBroadcast(snapshotKey, this.createResults()).subscribe(TestSubscriber.create());
+
+        assertThat(this.executions).hasValue(2);
+        assertThat(this.state.findBroadcast(snapshotKey)).isEmpty();
+    }
+
+    @Test
+    void shouldRemoveBroadcastAfterLastSubscriptionIsCanceled() {
+        final TestSubscriber<SerializedResult> firstSubscriber = TestSubscriber.create();
+        final TestSubscriber<SerializedResult> secondSubscriber = TestSubscriber.create();
+        this.state.shareBroadcast(OPERATION_KEY, this.createResults()).subscribe(firstSubscriber);
+        this.state.findBroadcast(OPERATION_KEY).orElseThrow().subscribe(secondSubscriber);
+
+        firstSubscriber.cancel();
+        assertThat(this.state.findBroadcast(OPERATION_KEY)).isPresent();
+        secondSubscriber.cancel();
+        assertThat(this.state.findBroadcast(OPERATION_KEY)).isEmpty();
+    }
+
+    @Test
+    void shouldRecordSharedOperations() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final GraphQLWsState monitoredState = new GraphQLWsState(Optional.of(registry));
+        final TestSubscriber<SerializedResult> subscriber = TestSubscriber.create();
+        monitoredState.shareBroadcast(OPERATION_KEY, this.createResults()).subscribe(subscriber);
+
+        assertThat(registry.get("quick.subscription.broadcasts.active").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("quick.subscription.operations.active").gauge().value()).isZero();
+        subscriber.cancel();
+        assertThat(registry.get("quick.subscription.broadcasts.active").gauge().value()).isZero();
+    }
+
+    private Flux<SerializedResult> createResults() {
+        return this.source.asFlux().doOnSubscribe(subscription -> this.executions.incrementAndGet());
+    }
+}
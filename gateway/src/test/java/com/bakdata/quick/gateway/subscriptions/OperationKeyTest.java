@@ -0,0 +1,69 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.subscriptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class OperationKeyTest {
+
+    @Test
+    void shouldIgnoreFormattingOfQuery() {
+        final GraphQLRequestBody payload = payload("subscription { prices { price } }", Map.of("id", 1));
+        final String formattedQuery = "subscription {\n  # comment\n  prices {\n    price\n  }\n}";
+        final GraphQLRequestBody formattedPayload = payload(formattedQuery, Map.of("id", 1));
+
+        assertThat(OperationKey.of(payload)).isEqualTo(OperationKey.of(formattedPayload));
+    }
+
+    @Test
+    void shouldDistinguishVariables() {
+        final GraphQLRequestBody payload = payload("subscription { prices { price } }", Map.of("id", 1));
+        final GraphQLRequestBody otherPayload = payload("subscription { prices { price } }", Map.of("id", 2));
+
+        assertThat(OperationKey.of(payload)).isNotEqualTo(OperationKey.of(otherPayload));
+    }
+
+    @Test
+    void shouldOnlyCreateKeyForSubscriptions() {
+        assertThat(OperationKey.of(payload("query { prices { price } }", Map.of()))).isEmpty();
+        assertThat(OperationKey.of(payload("subscription { prices { price } ", Map.of()))).isEmpty();
+        assertThat(OperationKey.of(payload("subscription { current: prices { price } }", Map.of())))
+            .hasValueSatisfying(key -> assertThat(key.getRootField()).isEqualTo("prices"));
+    }
+
+    @Test
+    void shouldNotShareOperationsDependingOnSession() {
+        assertThat(OperationKey.of(payload("subscription { prices @snapshot { price } }", Map.of())))
+            .hasValueSatisfying(key -> assertThat(key.isShareable()).isFalse());
+        final String fragmentQuery =
+            "subscription { ...resumed } fragment resumed on Subscription { prices @resume { price } }";
+        assertThat(OperationKey.of(payload(fragmentQuery, Map.of())))
+            .hasValueSatisfying(key -> assertThat(key.isShareable()).isFalse());
+        assertThat(OperationKey.of(payload("subscription { prices @conflate(window: 10) { price } }", Map.of())))
+            .hasValueSatisfying(key -> assertThat(key.isShareable()).isTrue());
+    }
+
+    private static GraphQLRequestBody payload(final String query, final Map<String, Object> variables) {
+        final GraphQLRequestBody payload = new GraphQLRequestBody();
+        payload.setQuery(query);
+        payload.setVariables(variables);
+        return payload;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.subscriptions;
+
+import static io.micronaut.configuration.graphql.ws.GraphQLWsResponse.ServerType.GQL_DATA;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.configuration.graphql.GraphQLJsonSerializer;
+import io.micronaut.configuration.graphql.GraphQLResponseBody;
+import io.micronaut.configuration.graphql.JacksonGraphQLJsonSerializer;
+import io.micronaut.configuration.graphql.ws.GraphQLWsResponse;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SerializedResultTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GraphQLJsonSerializer serializer = new JacksonGraphQLJsonSerializer(this.objectMapper);
+
+    @Test
+    void shouldCreateSameMessageAsResponse() throws Exception {
+        final GraphQLResponseBody body = new GraphQLResponseBody(Map.of("data", Map.of("price", 1)));
+        final GraphQLWsResponse response = new GraphQLWsResponse(GQL_DATA, "operation\"1", body);
+        final SerializedResult result = new SerializedResult(GQL_DATA, this.serializer.serialize(body), null);
+
+        final JsonNode expected = this.objectMapper.readTree(this.serializer.serialize(response));
+        final String serializedOperationId = this.serializer.serialize("operation\"1");
+        final JsonNode message = this.objectMapper.readTree(result.toMessage(serializedOperationId));
+        assertThat(message).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.gateway.subscriptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.quick.gateway.subscriptions.GraphQLWsSendConfig.OverflowPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class SessionSendQueueTest {
+    private static final String OPERATION = "operation";
+    private static final String OTHER_OPERATION = "other-operation";
+    private static final String COMPLETE = "complete";
+
+    private final List<String> sent = new ArrayList<>();
+    private final List<CompletableFuture<?>> writes = new ArrayList<>();
+    private final AtomicBoolean disconnected = new AtomicBoolean();
+    private final OperationSendMetrics metrics = OperationSendMetrics.local();
+
+    @Test
+    void shouldBatchMessagesPendingDuringWrite() {
+        final SessionSendQueue queue = this.createQueue(OverflowPolicy.DROP_OLDEST);
+
+        queue.offerResult(OPERATION, "a", this.metrics);
+        queue.offerResult(OPERATION, "b", this.metrics);
+        queue.offerResult(OPERATION, "c", this.metrics);
+        assertThat(this.sent).containsExactly("a");
+        assertThat(this.metrics.getQueueDepth()).isEqualTo(2);
+
+        this.completeWrites();
+        assertThat(this.sent).containsExactly("a", "b", "c");
+        assertThat(this.writes).hasSize(3);
+        assertThat(this.metrics.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void shouldDropOldestResult() {
+        final SessionSendQueue queue = this.createQueue(OverflowPolicy.DROP_OLDEST);
+
+        queue.offerResult(OPERATION, "a", this.metrics);
+        queue.offerResult(OPERATION, "b", this.metrics);
+        queue.offerResult(OTHER_OPERATION, "c", this.metrics);
+        queue.offerResult(OPERATION, "d", this.metrics);
+        assertThat(queue.size()).isEqualTo(2);
+
+        this.completeWrites();
+        assertThat(this.sent).containsExactly("a", "c", "d");
+    }
+
+    @Test
+    void shouldConflateResultsOfSameOperation() {
+        final SessionSendQueue queue = this.createQueue(OverflowPolicy.CONFLATE);
+
+        queue.offerResult(OPERATION, "a", this.metrics);
+        queue.offerResult(OTHER_OPERATION, "b", this.metrics);
+        queue.offerResult(OPERATION, "c", this.metrics);
+        queue.offerResult(OPERATION, "d", this.metrics);
+
+        this.completeWrites();
+        assertThat(this.sent).containsExactly("a", "b", "d");
+    }
+
+    @Test
+    void shouldKeepNewestResultPerRecordKey() {
+        final SessionSendQueue queue = this.createQueue(OverflowPolicy.CONFLATE);
+
+        queue.offerResult(OPERATION, "a1", "a", this.metrics);
+        queue.offerResult(OPERATION, "b1", "b", this.metrics);
+        queue.offerResult(OPERATION, "a2", "a", this.metrics);
+        queue.offerResult(OPERATION, "b2", "b", this.metrics);
+        queue.offerResult(OPERATION, "a3", "a", this.metrics);
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(this.metrics.getQueueDepth()).isEqualTo(2);
+
+        this.completeWrites();
+        assertThat(this.sent).containsExactly("a1", "b2", "a3");
+        assertThat(this.metrics.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void shouldNotConflateRecordKeysOfDifferentOperations() {
+        final SessionSendQueue queue = this.createQueue(OverflowPolicy.CONFLATE);
+
+        queue.offerResult(OPERATION, "a1", "a", this.metrics);
+        queue.offerResult(OTHER_OPERATION, "a2", "a", this.metrics);
+        queue.offerResult(OPERATION, "a3", "a", this.metrics);
+        queue.offerResult(OTHER_OPERATION, "a4", "a", this.metrics);
+
+        this.completeWrites();
+        assertThat(this.sent).containsExactly("a1", "a4", "a3");
+    }
+
+    @Test
+    void shouldNotDropControlMessages() {
+        final SessionSendQueue queue = this.createQueue(OverflowPolicy.DROP_OLDEST);
+
+        queue.offerResult(OPERATION, "a", this.metrics);
+        queue.offerResult(OPERATION, "b", this.metrics);
+        queue.offerControl(OPERATION, COMPLETE, this.metrics);
+        queue.offerResult(OTHER_OPERATION, "c", this.metrics);
+        queue.offerResult(OTHER_OPERATION, "d", this.metrics);
+
+        this.completeWrites();
+        assertThat(this.sent).containsExactly("a", COMPLETE, "c", "d");
+    }
+
+    @Test
+    void shouldDisconnectIfQueueIsFull() {
+        final SessionSendQueue queue = this.createQueue(OverflowPolicy.DISCONNECT);
+
+        queue.offerResult(OPERATION, "a", this.metrics);
+        queue.offerResult(OPERATION, "b", this.metrics);
+        queue.offerResult(OPERATION, "c", this.metrics);
+        assertThat(this.disconnected).isFalse();
+        queue.offerResult(OPERATION, "d", this.metrics);
+        assertThat(this.disconnected).isTrue();
+        assertThat(queue.size()).isZero();
+        assertThat(this.metrics.getQueueDepth()).isZero();
+
+        queue.offerResult(OPERATION, "e", this.metrics);
+        this.completeWrites();
+        assertThat(this.sent).containsExactly("a");
+    }
+
+    @Test
+    void shouldRecordSendLatencyOfWrittenMessages() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final OperationSendMetrics registeredMetrics = OperationSendMetrics.create(registry, OPERATION);
+        final SessionSendQueue queue = this.createQueue(OverflowPolicy.DROP_OLDEST);
+
+        queue.offerResult(OPERATION, "a", registeredMetrics);
+        queue.offerResult(OPERATION, "b", registeredMetrics);
+        final Timer sendLatency = registry.get("quick.subscription.send.latency").tag("field", OPERATION).timer();
+        assertThat(sendLatency.count()).isZero();
+
+        this.completeWrites();
+        assertThat(sendLatency.count()).isEqualTo(2);
+    }
+
+    private SessionSendQueue createQueue(final OverflowPolicy overflowPolicy) {
+        return new SessionSendQueue(2, 10, overflowPolicy, message -> {
+            this.sent.add(message);
+            final CompletableFuture<?> write = new CompletableFuture<>();
+            this.writes.add(write);
+            return write;
+        }, () -> this.disconnected.set(true));
+    }
+
+    private void completeWrites() {
+        // completing a write may start the next batch, so we iterate over a copy
+        for (final CompletableFuture<?> write : List.copyOf(this.writes)) {
+            write.complete(null);
+        }
+        if (this.writes.stream().anyMatch(write -> !write.isDone())) {
+            this.completeWrites();
+        }
+    }
+}
@@ -16,7 +16,10 @@
 
 package com.bakdata.quick.ingest.controller;
 
+import com.bakdata.quick.common.api.client.mirror.HeaderConstants;
+import com.bakdata.quick.common.api.model.AckMode;
 import com.bakdata.quick.common.api.model.KeyValuePair;
+import com.bakdata.quick.common.api.model.TopicPosition;
 import com.bakdata.quick.common.exception.BadArgumentException;
 import com.bakdata.quick.common.type.QuickTopicData;
 import com.bakdata.quick.common.type.TopicTypeService;
@@ -24,13 +27,16 @@ import com.bakdata.quick.ingest.service.IngestFilter;
 import com.bakdata.quick.ingest.service.IngestFilter.IngestLists;
 import com.bakdata.quick.ingest.service.IngestParser;
 import com.bakdata.quick.ingest.service.IngestService;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Delete;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.reactivex.Completable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 import jakarta.inject.Inject;
 import java.util.List;
@@ -63,41 +69,70 @@ public class IngestController {
 
     /**
      * Ingests data into the topics.
+     *
+     * <p>
+     * The ack mode defines when the request completes. With {@link AckMode#VISIBLE}, the response contains the written
+     * offset per partition.
      */
     @Post("/{topic}")
-    public <K, V> Completable sendData(final String topic, @Body final String payload) {
+    public <K, V> Single<HttpResponse<TopicPosition>> sendData(final String topic, @Body final String payload,
+        @QueryValue(defaultValue = "leader") final AckMode ack) {
         log.debug("Incoming request: Ingest payload for topic {}", topic);
         final Single<QuickTopicData<K, V>> topicInformation = this.typeService.getTopicData(topic);
 
-        return topicInformation.onErrorResumeNext(throwable -> errorDoesNotExistError(topic))
-            .flatMapCompletable(info -> this.convertIngestData(topic, payload, info));
+        final Maybe<TopicPosition> position = topicInformation
+            .onErrorResumeNext(throwable -> errorDoesNotExistError(topic))
+            .flatMapMaybe(info -> this.convertIngestData(topic, payload, info, ack));
+        return toResponse(position, ack);
     }
 
     /**
      * Deletes key from topic.
      */
     @Delete("/{topic}/{rawKey}")
-    public <K, V> Completable deleteValue(final String topic, final String rawKey) {
+    public <K, V> Single<HttpResponse<TopicPosition>> deleteValue(final String topic, final String rawKey,
+        @QueryValue(defaultValue = "leader") final AckMode ack) {
         log.debug("Incoming request: Delete {} for topic {}", rawKey, topic);
         final Single<QuickTopicData<K, V>> topicInformation = this.typeService.getTopicData(topic);
 
-        return topicInformation.onErrorResumeNext(throwable -> errorDoesNotExistError(topic))
+        final Maybe<TopicPosition> position = topicInformation
+            .onErrorResumeNext(throwable -> errorDoesNotExistError(topic))
             .map(info -> info.getKeyData().getResolver().fromString(rawKey))
             .map(List::of)
-            .flatMapCompletable(key -> this.ingestService.deleteData(topic, key));
+            .flatMapMaybe(key -> this.ingestService.deleteData(topic, key, ack));
+        return toResponse(position, ack);
     }
 
     /**
      * Deletes key from topic.
      */
     @Delete("/{topic}")
-    public <K, V> Completable deleteValueFromBody(final String topic, @Body final String rawKey) {
+    public <K, V> Single<HttpResponse<TopicPosition>> deleteValueFromBody(final String topic,
+        @Body final String rawKey, @QueryValue(defaultValue = "leader") final AckMode ack) {
         log.debug("Incoming request: Delete {} for topic {}", rawKey, topic);
         final Single<QuickTopicData<K, V>> topicInformation = this.typeService.getTopicData(topic);
 
-        return topicInformation.onErrorResumeNext(throwable -> errorDoesNotExistError(topic))
+        final Maybe<TopicPosition> position = topicInformation
+            .onErrorResumeNext(throwable -> errorDoesNotExistError(topic))
             .map(info -> this.parser.parseKeyData(rawKey, info))
-            .flatMapCompletable(key -> this.ingestService.deleteData(topic, key));
+            .flatMapMaybe(key -> this.ingestService.deleteData(topic, key, ack));
+        return toResponse(position, ack);
+    }
+
+    /**
+     * Creates the response for a write request.
+     *
+     * <p>
+     * Requests that were only enqueued are answered with 202 Accepted. If a position is present, it is the body of the
+     * response. Its token is also set as X-Quick-Position header, so that clients can pass it on to the gateway.
+     */
+    private static Single<HttpResponse<TopicPosition>> toResponse(final Maybe<TopicPosition> position,
+        final AckMode ack) {
+        final HttpResponse<TopicPosition> emptyResponse = ack == AckMode.NONE ? HttpResponse.accepted()
+            : HttpResponse.ok();
+        return position.<HttpResponse<TopicPosition>>map(value -> HttpResponse.ok(value)
+                .header(HeaderConstants.POSITION_HEADER, value.toToken()))
+            .toSingle(emptyResponse);
     }
 
     /**
@@ -144,12 +179,13 @@ public class IngestController {
      * @param topic   the topic to ingest to
      * @param payload the raw payload
      * @param data    the topic information for the topic
+     * @param ack     the ack mode of the request
      * @param <K>     the key type of the topic
      * @param <V>     the value type of the topic
-     * @return merged completable possibly containing errors from existing keys or the ingest service
+     * @return the written position if requested, possibly containing errors from existing keys or the ingest service
      */
-    private <K, V> Completable convertIngestData(final String topic, final String payload,
-        final QuickTopicData<K, V> data) {
+    private <K, V> Maybe<TopicPosition> convertIngestData(final String topic, final String payload,
+        final QuickTopicData<K, V> data, final AckMode ack) {
 
         final Single<List<KeyValuePair<K, V>>> list = Single.fromCallable(() ->
             this.parser.parseInputData(payload, data)
@@ -157,10 +193,11 @@ public class IngestController {
 
         return list
             .flatMap(pairs -> this.filter.prepareIngest(data, pairs))
-            .flatMapCompletable(pairs -> {
+            .flatMapMaybe(pairs -> {
                 final Completable existingError = createErrorsForExistingKeys(topic, pairs);
-                final Completable ingest = this.ingestService.sendData(topic, pairs.getDataToIngest());
-                return Completable.mergeArrayDelayError(existingError, ingest);
+                final Maybe<TopicPosition> ingest =
+                    this.ingestService.sendData(topic, pairs.getDataToIngest(), ack).cache();
+                return Completable.mergeArrayDelayError(existingError, ingest.ignoreElement()).andThen(ingest);
             });
     }
 }
@@ -16,8 +16,11 @@
 
 package com.bakdata.quick.ingest.service;
 
+import com.bakdata.quick.common.api.model.AckMode;
 import com.bakdata.quick.common.api.model.KeyValuePair;
+import com.bakdata.quick.common.api.model.TopicPosition;
 import io.reactivex.Completable;
+import io.reactivex.Maybe;
 import java.util.List;
 
 /**
@@ -25,22 +28,50 @@ import java.util.List;
  */
 public interface IngestService {
 
+    /**
+     * Ingests data into topic and waits for Kafka's acknowledgement.
+     *
+     * @param topic         name of the topic
+     * @param keyValuePairs list of key value pairs
+     * @param <K>           type of the key
+     * @param <V>           type of the value
+     */
+    default <K, V> Completable sendData(final String topic, final List<KeyValuePair<K, V>> keyValuePairs) {
+        return this.sendData(topic, keyValuePairs, AckMode.LEADER).ignoreElement();
+    }
+
     /**
      * Ingests data into topic.
      *
      * @param topic         name of the topic
      * @param keyValuePairs list of key value pairs
+     * @param ackMode       when the ingest is considered complete
      * @param <K>           type of the key
      * @param <V>           type of the value
+     * @return the written position if the mode is {@link AckMode#VISIBLE}, otherwise empty
      */
-    <K, V> Completable sendData(final String topic, final List<KeyValuePair<K, V>> keyValuePairs);
+    <K, V> Maybe<TopicPosition> sendData(final String topic, final List<KeyValuePair<K, V>> keyValuePairs,
+        final AckMode ackMode);
 
     /**
-     * Deletes keys from topic.
+     * Deletes keys from topic and waits for Kafka's acknowledgement.
      *
      * @param topic name of the topic
      * @param key   list of keys
      * @param <K>   type of the key
      */
-    <K> Completable deleteData(final String topic, final List<K> key);
+    default <K> Completable deleteData(final String topic, final List<K> key) {
+        return this.deleteData(topic, key, AckMode.LEADER).ignoreElement();
+    }
+
+    /**
+     * Deletes keys from topic.
+     *
+     * @param topic   name of the topic
+     * @param key     list of keys
+     * @param ackMode when the deletion is considered complete
+     * @param <K>     type of the key
+     * @return the written position if the mode is {@link AckMode#VISIBLE}, otherwise empty
+     */
+    <K> Maybe<TopicPosition> deleteData(final String topic, final List<K> key, final AckMode ackMode);
 }
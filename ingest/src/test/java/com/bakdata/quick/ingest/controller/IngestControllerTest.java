@@ -32,8 +32,11 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.bakdata.quick.common.api.client.mirror.HeaderConstants;
+import com.bakdata.quick.common.api.model.AckMode;
 import com.bakdata.quick.common.api.model.ErrorMessage;
 import com.bakdata.quick.common.api.model.KeyValuePair;
+import com.bakdata.quick.common.api.model.TopicPosition;
 import com.bakdata.quick.common.api.model.TopicWriteType;
 import com.bakdata.quick.common.type.QuickTopicData;
 import com.bakdata.quick.common.type.QuickTopicData.QuickData;
@@ -61,10 +64,11 @@ import io.micronaut.http.client.annotation.Client;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
-import io.reactivex.Completable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 import jakarta.inject.Inject;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 import lombok.Value;
@@ -211,7 +215,7 @@ class IngestControllerTest {
     <K, V, E> void testValueParsing(final QuickTopicType type, final TestValueArgument<K, V, E> argument) {
         final KeyValuePair<String, V> pair = new KeyValuePair<>("key", argument.getValue());
 
-        when(this.ingestService.sendData(eq(TOPIC), any())).thenReturn(Completable.complete());
+        when(this.ingestService.sendData(eq(TOPIC), any(), eq(AckMode.LEADER))).thenReturn(Maybe.empty());
 
         doReturn(Single.just(argument.getData())).when(this.typeService).getTopicData(TOPIC);
 
@@ -222,7 +226,7 @@ class IngestControllerTest {
 
         assertThat((CharSequence) response.getStatus()).isEqualTo(HttpStatus.OK);
 
-        verify(this.ingestService, times(1)).sendData(TOPIC, List.of(pair));
+        verify(this.ingestService, times(1)).sendData(TOPIC, List.of(pair), AckMode.LEADER);
     }
 
     @ParameterizedTest(name = "[{index}] testKeyParsing for type {0}")
@@ -230,7 +234,7 @@ class IngestControllerTest {
     <K, V, E> void testKeyParsing(final QuickTopicType type, final TestKeyArgument<K, V, E> argument) {
         final KeyValuePair<K, String> pair = new KeyValuePair<>(argument.getKey(), "value");
 
-        when(this.ingestService.sendData(eq(TOPIC), any())).thenReturn(Completable.complete());
+        when(this.ingestService.sendData(eq(TOPIC), any(), eq(AckMode.LEADER))).thenReturn(Maybe.empty());
 
         doReturn(Single.just(argument.getData())).when(this.typeService).getTopicData(TOPIC);
 
@@ -240,33 +244,68 @@ class IngestControllerTest {
         final HttpResponse<?> response = this.client.toBlocking().exchange(HttpRequest.POST("/topic/", pair));
         assertThat((CharSequence) response.getStatus()).isEqualTo(HttpStatus.OK);
 
-        verify(this.ingestService).sendData(TOPIC, List.of(pair));
+        verify(this.ingestService).sendData(TOPIC, List.of(pair), AckMode.LEADER);
+    }
+
+    @Test
+    void shouldReturnPositionWhenAckModeIsVisible() {
+        final KeyValuePair<String, String> pair = new KeyValuePair<>("key", "value");
+        final TopicPosition position = new TopicPosition(TOPIC, Map.of(0, 5L));
+
+        when(this.ingestService.sendData(eq(TOPIC), any(), eq(AckMode.VISIBLE))).thenReturn(Maybe.just(position));
+        doReturn(Single.just(new QuickTopicData<>(TOPIC, TopicWriteType.MUTABLE, newStringData(), newStringData())))
+            .when(this.typeService).getTopicData(TOPIC);
+        doReturn(Single.just(new IngestLists<>(List.of(pair), List.of())))
+            .when(this.ingestFilter).prepareIngest(any(), any());
+
+        final HttpResponse<TopicPosition> response = this.client.toBlocking()
+            .exchange(HttpRequest.POST("/topic/?ack=visible", pair), TopicPosition.class);
+
+        assertThat((CharSequence) response.getStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(response.body()).isEqualTo(position);
+        assertThat(response.header(HeaderConstants.POSITION_HEADER)).isEqualTo("0:5");
+    }
+
+    @Test
+    void shouldAcceptWhenAckModeIsNone() {
+        final KeyValuePair<String, String> pair = new KeyValuePair<>("key", "value");
+
+        when(this.ingestService.sendData(eq(TOPIC), any(), eq(AckMode.NONE))).thenReturn(Maybe.empty());
+        doReturn(Single.just(new QuickTopicData<>(TOPIC, TopicWriteType.MUTABLE, newStringData(), newStringData())))
+            .when(this.typeService).getTopicData(TOPIC);
+        doReturn(Single.just(new IngestLists<>(List.of(pair), List.of())))
+            .when(this.ingestFilter).prepareIngest(any(), any());
+
+        final HttpResponse<?> response = this.client.toBlocking().exchange(HttpRequest.POST("/topic/?ack=none", pair));
+
+        assertThat((CharSequence) response.getStatus()).isEqualTo(HttpStatus.ACCEPTED);
+        verify(this.ingestService).sendData(TOPIC, List.of(pair), AckMode.NONE);
     }
 
     @ParameterizedTest(name = "[{index}] shouldDeleteKeyInPath for type {0}")
     @MethodSource("deleteFromPathProvider")
     <K, V, E> void shouldDeleteKeyInPath(final QuickTopicType type, final TestKeyArgument<K, V, E> argument)
         throws JsonProcessingException {
-        when(this.ingestService.deleteData(eq(TOPIC), any())).thenReturn(Completable.complete());
+        when(this.ingestService.deleteData(eq(TOPIC), any(), eq(AckMode.LEADER))).thenReturn(Maybe.empty());
         doReturn(Single.just(argument.getData())).when(this.typeService).getTopicData(TOPIC);
         final String keyString = argument.getKey().toString();
         final HttpResponse<?> response = this.client.toBlocking().exchange(HttpRequest.DELETE("/topic/" + keyString));
 
         assertThat((CharSequence) response.getStatus()).isEqualTo(HttpStatus.OK);
-        verify(this.ingestService, times(1)).deleteData(TOPIC, List.of(argument.getExpected()));
+        verify(this.ingestService, times(1)).deleteData(TOPIC, List.of(argument.getExpected()), AckMode.LEADER);
     }
 
     @ParameterizedTest(name = "[{index}] shouldDeleteKeyInBody for type {0}")
     @MethodSource("deleteFromBodyProvider")
     <K, V, E> void shouldDeleteKeyInBody(final QuickTopicType type, final TestKeyArgument<K, V, E> argument) {
         final K key = argument.getKey();
-        when(this.ingestService.deleteData(eq(TOPIC), any())).thenReturn(Completable.complete());
+        when(this.ingestService.deleteData(eq(TOPIC), any(), eq(AckMode.LEADER))).thenReturn(Maybe.empty());
         doReturn(Single.just(argument.getData())).when(this.typeService).getTopicData(TOPIC);
         final HttpResponse<?> response =
             this.client.toBlocking().exchange(HttpRequest.DELETE("/topic", key));
 
         assertThat((CharSequence) response.getStatus()).isEqualTo(HttpStatus.OK);
-        verify(this.ingestService).deleteData(TOPIC, List.of(argument.getExpected()));
+        verify(this.ingestService).deleteData(TOPIC, List.of(argument.getExpected()), AckMode.LEADER);
     }
 
     @Test
@@ -325,7 +364,7 @@ class IngestControllerTest {
 
         final KeyValuePair<I, String> pair = new KeyValuePair<>(argument.getKey(), "value");
 
-        when(this.ingestService.sendData(eq(TOPIC), any())).thenReturn(Completable.complete());
+        when(this.ingestService.sendData(eq(TOPIC), any(), eq(AckMode.LEADER))).thenReturn(Maybe.empty());
 
         doReturn(Single.just(argument.getData())).when(this.typeService).getTopicData(TOPIC);
 
@@ -27,6 +27,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.bakdata.quick.common.api.model.AckMode;
 import com.bakdata.quick.common.api.model.KeyValuePair;
 import com.bakdata.quick.common.api.model.TopicWriteType;
 import com.bakdata.quick.common.type.QuickTopicData;
@@ -44,7 +45,7 @@ import io.micronaut.http.client.annotation.Client;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
-import io.reactivex.Completable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
@@ -113,7 +114,7 @@ class ApiKeyTest {
         final QuickTopicData<String, String> topicInfo =
             new QuickTopicData<>(TOPIC, TopicWriteType.MUTABLE, stringInfo, stringInfo);
 
-        when(this.ingestService.sendData(eq(TOPIC), any())).thenReturn(Completable.complete());
+        when(this.ingestService.sendData(eq(TOPIC), any(), eq(AckMode.LEADER))).thenReturn(Maybe.empty());
         doReturn(Single.just(topicInfo)).when(this.typeService).getTopicData(TOPIC);
 
         return this.client.toBlocking().exchange(POST(SECURE_PATH, pair).header(key, "test_key")).getStatus();
@@ -32,6 +32,7 @@ import com.bakdata.quick.mirror.context.MirrorContext;
 import com.bakdata.quick.mirror.context.MirrorContextProvider;
 import com.bakdata.quick.mirror.context.RangeIndexProperties;
 import com.bakdata.quick.mirror.context.RetentionTimeProperties;
+import com.bakdata.quick.mirror.context.RollupProperties;
 import com.bakdata.quick.mirror.range.extractor.SchemaExtractor;
 import com.bakdata.quick.mirror.topology.MirrorTopology;
 import edu.umd.cs.findbugs.annotations.Nullable;
@@ -68,6 +69,7 @@ public class MirrorApplication<K, R, V> extends KafkaStreamsApplication {
     private static final String POINT_STORE = "mirror-store";
     private static final String RETENTION_STORE = "retention-store";
     private static final String RANGE_STORE = "range-store";
+    private static final String ROLLUP_STORE = "rollup-store";
 
     // injectable parameter
     private final SchemaExtractor schemaExtractor;
@@ -95,6 +97,15 @@ public class MirrorApplication<K, R, V> extends KafkaStreamsApplication {
     @Option(names = "--range-field", description = "The field which the Mirror builds its range index on")
     private String rangeField;
 
+    @Nullable
+    @Option(names = "--rollup-bucket-size",
+        description = "The bucket size, in units of the range field, in which the Mirror rolls up its range index")
+    private Long rollupBucketSize;
+
+    @Nullable
+    @Option(names = "--rollup-field", description = "The numeric field which the rollups of the range index aggregate")
+    private String rollupField;
+
     /**
      * Constructor.
      *
@@ -154,6 +165,7 @@ public class MirrorApplication<K, R, V> extends KafkaStreamsApplication {
             .indexInputStream(indexInputStream)
             .storeType(this.storeType)
             .rangeIndexProperties(new RangeIndexProperties(RANGE_STORE, this.rangeField))
+            .rollupProperties(new RollupProperties(ROLLUP_STORE, this.rollupBucketSize, this.rollupField))
             .rangeKey(this.rangeKey)
             .retentionTimeProperties(new RetentionTimeProperties(RETENTION_STORE, this.retentionTime))
             .schemaExtractor(this.schemaExtractor)
@@ -237,6 +249,10 @@ public class MirrorApplication<K, R, V> extends KafkaStreamsApplication {
         // for more info, see https://medium.com/bakdata/queryable-kafka-topics-with-kafka-streams-8d2cca9de33f
         properties.setProperty(StreamsConfig.APPLICATION_SERVER_CONFIG, this.hostConfig.toConnectionString());
 
+        // store positions are only restored after a restart if the changelog carries them
+        // otherwise, snapshots have no position and reads with a minimum position never succeed
+        properties.put(StreamsConfig.InternalConfig.IQ_CONSISTENCY_OFFSET_VECTOR_ENABLED, true);
+
         log.info("Application Server Config: {}", this.hostConfig.toConnectionString());
 
         // cast to int is required, otherwise Kafka's config complains about it
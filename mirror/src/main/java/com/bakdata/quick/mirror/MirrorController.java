@@ -16,70 +16,179 @@
 
 package com.bakdata.quick.mirror;
 
+import com.bakdata.quick.common.api.client.mirror.HeaderConstants;
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.bakdata.quick.common.api.model.mirror.MirrorValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
+import com.bakdata.quick.common.exception.BadArgumentException;
+import com.bakdata.quick.common.json.ProjectedValue;
 import com.bakdata.quick.mirror.service.QueryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.QueryValue;
 import io.reactivex.Single;
 import jakarta.inject.Inject;
 import java.util.List;
+import java.util.function.BiFunction;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * REST API of mirror applications.
  *
+ * <p>
+ * All endpoints accept the optional query parameter {@value FieldProjection#QUERY_PARAMETER}. If it is set, only the
+ * selected fields of the values are returned, see {@link FieldProjection}. The all and range endpoints additionally
+ * accept a filter in the query parameter {@value ValueFilter#QUERY_PARAMETER}, see {@link ValueFilter}.
+ *
+ * <p>
+ * The aggregate endpoints fold over the all and range endpoints' values and only return their {@link Aggregate}.
+ *
  * @param <V> value type
  */
 @Slf4j
 @Controller("/mirror")
 public class MirrorController<V> {
     private final QueryService<V> queryService;
+    private final ObjectMapper objectMapper;
 
     @Inject
-    public MirrorController(final QueryService<V> queryService) {
+    public MirrorController(final QueryService<V> queryService, final ObjectMapper objectMapper) {
         this.queryService = queryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Fetches values for the given key.
+     *
+     * <p>
+     * If a minimum position is set, the response reflects at least the state at this position.
      */
     @Get("/{key}")
-    public Single<HttpResponse<MirrorValue<V>>> get(@PathVariable("key") final String keyString) {
+    public Single<? extends HttpResponse<? extends MirrorValue<?>>> get(@PathVariable("key") final String keyString,
+        @Nullable @Header(HeaderConstants.MIN_POSITION_HEADER) final String minPosition,
+        @Nullable @QueryValue(FieldProjection.QUERY_PARAMETER) final String fields) {
         log.debug("Request for key {}", keyString);
-        return this.queryService.get(keyString);
+        return project(this.queryService.get(keyString, minPosition), fields, ProjectedValue::new);
     }
 
     /**
      * Fetches values for given ids in body.
      *
-     * @param ids the ids to fetch
+     * @param ids         the ids to fetch
+     * @param minPosition optional position the state must have reached
+     * @param fields      optional projection of the values
      * @return list of values for given keys
      */
     @Get("/keys")
-    public Single<HttpResponse<MirrorValue<List<V>>>> getList(@QueryValue() final List<String> ids) {
+    public Single<? extends HttpResponse<? extends MirrorValue<?>>> getList(@QueryValue() final List<String> ids,
+        @Nullable @Header(HeaderConstants.MIN_POSITION_HEADER) final String minPosition,
+        @Nullable @QueryValue(FieldProjection.QUERY_PARAMETER) final String fields) {
         log.debug("Request for keys {}", ids);
-        return this.queryService.getValues(ids);
+        return project(this.queryService.getValues(ids, minPosition), fields, ProjectedValue::ofList);
     }
 
     /**
      * Fetches all values stores by this mirror.
      */
     @Get
-    public Single<HttpResponse<MirrorValue<List<V>>>> getAll() {
+    public Single<? extends HttpResponse<? extends MirrorValue<?>>> getAll(
+        @Nullable @QueryValue(FieldProjection.QUERY_PARAMETER) final String fields,
+        @Nullable @QueryValue(ValueFilter.QUERY_PARAMETER) final String where) {
         log.debug("Request for all existing keys.");
-        return this.queryService.getAll();
+        final Single<HttpResponse<MirrorValue<List<V>>>> values = where == null
+            ? this.queryService.getAll()
+            : this.queryService.getAll(this.parseFilter(where));
+        return project(values, fields, ProjectedValue::ofList);
     }
 
     /**
      * Fetches a range of values over a given key and a range field.
      */
     @Get("/range/{key}")
-    public Single<HttpResponse<MirrorValue<List<V>>>> getRange(@PathVariable("key") final String keyString,
-        @QueryValue final String from, @QueryValue final String to) {
+    public Single<? extends HttpResponse<? extends MirrorValue<?>>> getRange(
+        @PathVariable("key") final String keyString, @QueryValue final String from, @QueryValue final String to,
+        @Nullable @QueryValue(FieldProjection.QUERY_PARAMETER) final String fields,
+        @Nullable @QueryValue(ValueFilter.QUERY_PARAMETER) final String where) {
         log.debug("Request for key {} and range from {} to {}", keyString, from, to);
-        return this.queryService.getRange(keyString, from, to);
+        final Single<HttpResponse<MirrorValue<List<V>>>> values = where == null
+            ? this.queryService.getRange(keyString, from, to)
+            : this.queryService.getRange(keyString, from, to, this.parseFilter(where));
+        return project(values, fields, ProjectedValue::ofList);
+    }
+
+    /**
+     * Aggregates all values stored by this mirror.
+     *
+     * @param field optional numeric field to aggregate, if not set the values are only counted
+     * @param where optional filter on the aggregated values
+     * @return the aggregate of the values
+     */
+    @Get("/aggregate")
+    public Single<HttpResponse<MirrorValue<Aggregate>>> aggregateAll(
+        @Nullable @QueryValue(Aggregate.QUERY_PARAMETER) final String field,
+        @Nullable @QueryValue(ValueFilter.QUERY_PARAMETER) final String where) {
+        log.debug("Request for aggregating field {} of all existing keys.", field);
+        return this.queryService.aggregateAll(field, where == null ? null : this.parseFilter(where));
+    }
+
+    /**
+     * Aggregates a range of values over a given key and a range field.
+     *
+     * @param keyString the key of the range
+     * @param from      lower bound of the range
+     * @param to        upper bound of the range
+     * @param field     optional numeric field to aggregate, if not set the values are only counted
+     * @param where     optional filter on the aggregated values
+     * @return the aggregate of the values in the range
+     */
+    @Get("/range/{key}/aggregate")
+    public Single<HttpResponse<MirrorValue<Aggregate>>> aggregateRange(@PathVariable("key") final String keyString,
+        @QueryValue final String from, @QueryValue final String to,
+        @Nullable @QueryValue(Aggregate.QUERY_PARAMETER) final String field,
+        @Nullable @QueryValue(ValueFilter.QUERY_PARAMETER) final String where) {
+        log.debug("Request for aggregating field {} of key {} and range from {} to {}", field, keyString, from, to);
+        return this.queryService.aggregateRange(keyString, from, to, field,
+            where == null ? null : this.parseFilter(where));
+    }
+
+    private ValueFilter parseFilter(final String where) {
+        try {
+            return this.objectMapper.readValue(where, ValueFilter.class);
+        } catch (final JsonProcessingException e) {
+            throw new BadArgumentException(String.format("Invalid filter %s: %s", where, e.getOriginalMessage()));
+        }
+    }
+
+    /**
+     * Replaces the value of a response with its projection, keeping status and headers.
+     */
+    private static <T> Single<? extends HttpResponse<? extends MirrorValue<?>>> project(
+        final Single<HttpResponse<MirrorValue<T>>> response, @Nullable final String fields,
+        final BiFunction<? super T, FieldProjection, ?> projector) {
+        if (fields == null) {
+            return response;
+        }
+        final FieldProjection projection = FieldProjection.parse(fields);
+        if (projection.isAll()) {
+            return response;
+        }
+        return response.map(original -> {
+            final MirrorValue<T> body = original.body();
+            if (body == null) {
+                return original;
+            }
+            final MutableHttpResponse<MirrorValue<Object>> projected = HttpResponse.<MirrorValue<Object>>status(
+                original.getStatus()).body(new MirrorValue<>(projector.apply(body.getValue(), projection)));
+            original.getHeaders().forEach((name, values) -> values.forEach(value -> projected.header(name, value)));
+            return projected;
+        });
     }
 }
@@ -0,0 +1,62 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.base;
+
+import io.micronaut.context.annotation.ConfigurationInject;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Configuration for reads that require a minimum position of the mirror's state.
+ */
+@ConfigurationProperties("quick.mirror.position")
+@Getter
+public class PositionConfig {
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofMillis(500);
+    public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(10);
+
+    /**
+     * Time a read waits for the state to reach the requested position before it fails.
+     */
+    private final Duration maxWait;
+
+    /**
+     * Time between two checks of the state's position.
+     */
+    private final Duration pollInterval;
+
+    /**
+     * Constructor setting defaults.
+     */
+    public PositionConfig() {
+        this(Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Injectable constructor.
+     *
+     * @param maxWait      maximum time to wait for the requested position
+     * @param pollInterval time between checks of the position
+     */
+    @ConfigurationInject
+    public PositionConfig(final Optional<Duration> maxWait, final Optional<Duration> pollInterval) {
+        this.maxWait = maxWait.orElse(DEFAULT_MAX_WAIT);
+        this.pollInterval = pollInterval.orElse(DEFAULT_POLL_INTERVAL);
+    }
+}
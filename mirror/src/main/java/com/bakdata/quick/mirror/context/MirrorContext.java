@@ -45,6 +45,8 @@ public class MirrorContext<K, V> {
     String pointStoreName;
     RangeIndexProperties rangeIndexProperties;
     RetentionTimeProperties retentionTimeProperties;
+    @Default
+    RollupProperties rollupProperties = RollupProperties.disabled();
     StoreType storeType;
     boolean isCleanup;
     SchemaExtractor schemaExtractor;
@@ -0,0 +1,61 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.context;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.Value;
+
+/**
+ * Contains the properties of the rollups maintained next to the range index.
+ *
+ * <p>
+ * Rollups pre-aggregate the values of each key in buckets of the range field. The bucket size is given in the unit of
+ * the range field, e.g., 3600000 for hourly buckets of a timestamp in milliseconds.
+ */
+@Value
+public class RollupProperties {
+    private static final String DEFAULT_STORE_NAME = "rollup-store";
+
+    String storeName;
+    @Nullable
+    Long bucketSize;
+    @Nullable
+    String field;
+
+    /**
+     * Returns properties that disable the rollups.
+     */
+    public static RollupProperties disabled() {
+        return new RollupProperties(DEFAULT_STORE_NAME, null, null);
+    }
+
+    /**
+     * Checks if the rollups should be built or not.
+     */
+    public boolean isEnabled() {
+        return this.bucketSize != null;
+    }
+
+    /**
+     * Checks if an aggregation of the given field can be answered with the rollups.
+     *
+     * @param aggregateField the aggregated field, or null if the values are only counted
+     */
+    public boolean covers(@Nullable final String aggregateField) {
+        return this.isEnabled() && (aggregateField == null || aggregateField.equals(this.field));
+    }
+}
@@ -16,6 +16,9 @@
 
 package com.bakdata.quick.mirror.range.extractor.value;
 
+import com.bakdata.quick.common.exception.MirrorTopologyException;
+import com.bakdata.quick.common.filter.FieldLookup;
+
 /**
  * An extractor for retrieving values from schemas.
  *
@@ -32,4 +35,18 @@ public interface FieldValueExtractor<V> {
      * @return The value of the field
      */
     <F> F extract(final V complexValue, final String fieldName, final Class<F> fieldClass);
+
+    /**
+     * Returns a lookup of the field values, e.g., for evaluating filters.
+     */
+    @SuppressWarnings("unchecked") // the lookup is only applied to values of the extractor's schema
+    default FieldLookup asFieldLookup() {
+        return (value, field) -> {
+            try {
+                return this.extract((V) value, field, Object.class);
+            } catch (final MirrorTopologyException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        };
+    }
 }
@@ -59,4 +59,9 @@ public class IntPadder implements ZeroPadder<Integer> {
         }
         return intNumber;
     }
+
+    @Override
+    public Integer fromLong(final long number) {
+        return Math.toIntExact(number);
+    }
 }
@@ -59,4 +59,9 @@ public class LongPadder implements ZeroPadder<Long> {
         }
         return longNumber;
     }
+
+    @Override
+    public Long fromLong(final long number) {
+        return number;
+    }
 }
@@ -38,4 +38,10 @@ public interface ZeroPadder<T> {
      * inclusive.
      */
     T getEndOfRange(final String stringValue);
+
+    /**
+     * Converts a long to T. This is used for range field values that are computed instead of extracted, e.g., the
+     * boundaries of rollup buckets.
+     */
+    T fromLong(final long number);
 }
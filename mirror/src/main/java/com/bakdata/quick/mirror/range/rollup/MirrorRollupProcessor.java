@@ -0,0 +1,123 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.range.rollup;
+
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.exception.MirrorTopologyException;
+import com.bakdata.quick.mirror.range.MirrorRangeProcessor;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+/**
+ * Processor for filling up the range store together with the rollup store.
+ *
+ * <p>
+ * The processor writes the range index like the {@link MirrorRangeProcessor} and merges each new value into the rollup
+ * of its bucket. A value replacing an existing entry of the range index cannot be merged, because the minimum and
+ * maximum of the bucket cannot be reverted. Instead, the rollup of the bucket is recomputed from the range store.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+@Slf4j
+public class MirrorRollupProcessor<K, V> implements Processor<K, V, Void, Void> {
+    private final String rangeStoreName;
+    private final String rollupStoreName;
+    private final RollupIndexer<? super K, ? super V, ?> rollupIndexer;
+    private final Function<? super V, Aggregate> fieldAggregator;
+    @Nullable
+    private KeyValueStore<String, V> rangeStore = null;
+    @Nullable
+    private KeyValueStore<String, RangeRollup> rollupStore = null;
+
+    /**
+     * Standard constructor.
+     *
+     * @param rangeStoreName The name of the range store
+     * @param rollupStoreName The name of the rollup store
+     * @param rollupIndexer Creates the range index and the rollup index
+     * @param fieldAggregator Aggregates the rollup field of a single value
+     */
+    public MirrorRollupProcessor(final String rangeStoreName, final String rollupStoreName,
+        final RollupIndexer<? super K, ? super V, ?> rollupIndexer,
+        final Function<? super V, Aggregate> fieldAggregator) {
+        this.rangeStoreName = rangeStoreName;
+        this.rollupStoreName = rollupStoreName;
+        this.rollupIndexer = rollupIndexer;
+        this.fieldAggregator = fieldAggregator;
+    }
+
+    @Override
+    public void init(final ProcessorContext<Void, Void> context) {
+        this.rangeStore = context.getStateStore(this.rangeStoreName);
+        this.rollupStore = context.getStateStore(this.rollupStoreName);
+    }
+
+    @Override
+    public void process(final Record<K, V> record) {
+        final K key = record.key();
+        final V value = record.value();
+
+        if (this.rangeStore == null || this.rollupStore == null) {
+            throw new IllegalStateException("MirrorProcessor was not initialized.");
+        }
+
+        if (value == null) {
+            throw new MirrorTopologyException("The value should not be null. Check you input topic data.");
+        }
+
+        final long rangeValue = this.rollupIndexer.extractRangeValue(value);
+        final String rangeIndex = this.rollupIndexer.createRangeIndex(key, rangeValue);
+        final long bucketStart = this.rollupIndexer.getBucketStart(rangeValue);
+        final String bucketIndex = this.rollupIndexer.createBucketIndex(key, bucketStart);
+
+        final V previous = this.rangeStore.get(rangeIndex);
+        this.rangeStore.put(rangeIndex, value);
+
+        final RangeRollup rollup;
+        if (previous == null) {
+            final RangeRollup current = this.rollupStore.get(bucketIndex);
+            final RangeRollup added = RangeRollup.of(this.fieldAggregator.apply(value));
+            rollup = current == null ? added : current.merge(added);
+        } else {
+            rollup = this.recompute(this.rangeStore, key, bucketStart);
+        }
+
+        log.trace("updating rollup {}: {}", bucketIndex, rollup);
+
+        this.rollupStore.put(bucketIndex, rollup);
+    }
+
+    private RangeRollup recompute(final KeyValueStore<String, V> store, final K key, final long bucketStart) {
+        final long bucketEnd = bucketStart + this.rollupIndexer.getBucketSize() - 1;
+        final String from = this.rollupIndexer.createRangeIndex(key, bucketStart);
+        final String to = this.rollupIndexer.createRangeIndex(key, bucketEnd);
+        RangeRollup rollup = RangeRollup.empty();
+        try (final KeyValueIterator<String, V> iterator = store.range(from, to)) {
+            while (iterator.hasNext()) {
+                rollup = rollup.merge(RangeRollup.of(this.fieldAggregator.apply(iterator.next().value)));
+            }
+        }
+        return rollup;
+    }
+}
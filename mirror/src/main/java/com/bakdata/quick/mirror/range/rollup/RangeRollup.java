@@ -0,0 +1,72 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.range.rollup;
+
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import lombok.Value;
+
+/**
+ * Pre-aggregate of the values of a key in one bucket of the range field.
+ *
+ * <p>
+ * The rollup counts all values of the bucket and aggregates the configured rollup field, so that it answers
+ * aggregations that only count as well as aggregations of the rollup field.
+ */
+@Value
+@SuppressWarnings("ObjectToString") // Lombok does that for us
+public class RangeRollup {
+    private static final RangeRollup EMPTY = new RangeRollup(0, Aggregate.empty());
+
+    long count;
+    Aggregate fieldAggregate;
+
+    /**
+     * Returns the rollup of no values.
+     */
+    public static RangeRollup empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the rollup of a single value.
+     *
+     * @param fieldAggregate the aggregate of the rollup field of the value
+     */
+    public static RangeRollup of(final Aggregate fieldAggregate) {
+        return new RangeRollup(1, fieldAggregate);
+    }
+
+    /**
+     * Combines this rollup with the rollup of other values.
+     */
+    public RangeRollup merge(final RangeRollup other) {
+        return new RangeRollup(this.count + other.count, this.fieldAggregate.merge(other.fieldAggregate));
+    }
+
+    /**
+     * Returns the aggregate of the values as computed by the aggregate endpoints of the mirror.
+     *
+     * @param field the aggregated field, or null if the values are only counted
+     */
+    public Aggregate toAggregate(@Nullable final String field) {
+        if (field == null) {
+            return new Aggregate(this.count, null, null, null);
+        }
+        return this.fieldAggregate;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.range.rollup;
+
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.nio.ByteBuffer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Creates the SerDe of {@link RangeRollup}.
+ *
+ * <p>
+ * A rollup is written as two counts followed by sum, minimum, and maximum of the rollup field. Missing values of the
+ * field aggregate are written as NaN.
+ */
+public final class RangeRollupSerde {
+    private static final int SIZE = 2 * Long.BYTES + 3 * Double.BYTES;
+
+    private RangeRollupSerde() {
+    }
+
+    /**
+     * Returns the SerDe of {@link RangeRollup}.
+     */
+    public static Serde<RangeRollup> create() {
+        final Serializer<RangeRollup> serializer = (topic, rollup) -> rollup == null ? null : serialize(rollup);
+        final Deserializer<RangeRollup> deserializer = (topic, data) -> data == null ? null : deserialize(data);
+        return Serdes.serdeFrom(serializer, deserializer);
+    }
+
+    private static byte[] serialize(final RangeRollup rollup) {
+        final Aggregate aggregate = rollup.getFieldAggregate();
+        return ByteBuffer.allocate(SIZE)
+            .putLong(rollup.getCount())
+            .putLong(aggregate.getCount())
+            .putDouble(toDouble(aggregate.getSum()))
+            .putDouble(toDouble(aggregate.getMin()))
+            .putDouble(toDouble(aggregate.getMax()))
+            .array();
+    }
+
+    private static RangeRollup deserialize(final byte[] data) {
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        final long count = buffer.getLong();
+        final Aggregate aggregate = new Aggregate(buffer.getLong(),
+            fromDouble(buffer.getDouble()),
+            fromDouble(buffer.getDouble()),
+            fromDouble(buffer.getDouble()));
+        return new RangeRollup(count, aggregate);
+    }
+
+    private static double toDouble(@Nullable final Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    @Nullable
+    private static Double fromDouble(final double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.range.rollup;
+
+import com.bakdata.quick.common.exception.MirrorTopologyException;
+import com.bakdata.quick.common.type.QuickTopicType;
+import com.bakdata.quick.mirror.range.extractor.type.FieldTypeExtractor;
+import com.bakdata.quick.mirror.range.extractor.value.FieldValueExtractor;
+import com.bakdata.quick.mirror.range.indexer.RangeIndexer;
+import com.bakdata.quick.mirror.range.padder.EndRange;
+import com.bakdata.quick.mirror.range.padder.LongPadder;
+import com.bakdata.quick.mirror.range.padder.ZeroPadder;
+import com.bakdata.quick.mirror.range.padder.ZeroPadderFactory;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.micronaut.core.util.StringUtils;
+
+/**
+ * Creates the indexes of the range store and the rollup store.
+ *
+ * <p>
+ * The rollup store has one entry per key and bucket of the range field. Its index consists of the key and the zero
+ * padded start of the bucket, e.g., 1_0000000000000003600 for the bucket [3600, 7200) of the key 1. Because the range
+ * store and the rollup store share the order of their indexes, a range of buckets is read with a single range scan.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @param <F> type of the range field
+ */
+public final class RollupIndexer<K, V, F> implements RangeIndexer<K, V> {
+    private final FieldValueExtractor<? super V> fieldValueExtractor;
+    private final ZeroPadder<F> rangePadder;
+    private final ZeroPadder<Long> bucketPadder;
+    private final String rangeField;
+    private final long bucketSize;
+
+    private RollupIndexer(final FieldValueExtractor<? super V> fieldValueExtractor, final ZeroPadder<F> rangePadder,
+        final String rangeField, final long bucketSize) {
+        this.fieldValueExtractor = fieldValueExtractor;
+        this.rangePadder = rangePadder;
+        this.bucketPadder = new LongPadder(EndRange.INCLUSIVE);
+        this.rangeField = rangeField;
+        this.bucketSize = bucketSize;
+    }
+
+    /**
+     * Creates the zero padder for the range field based on the schema type.
+     */
+    public static <K, V, F> RollupIndexer<K, V, F> create(final FieldTypeExtractor fieldTypeExtractor,
+        final FieldValueExtractor<? super V> fieldValueExtractor,
+        final ParsedSchema parsedSchema,
+        final String rangeField,
+        final long bucketSize) {
+        if (bucketSize <= 0) {
+            throw new MirrorTopologyException("The rollup bucket size should be positive");
+        }
+        final QuickTopicType topicType = fieldTypeExtractor.extract(parsedSchema, rangeField);
+        final ZeroPadder<F> zeroPadder = ZeroPadderFactory.create(topicType);
+        return new RollupIndexer<>(fieldValueExtractor, zeroPadder, rangeField, bucketSize);
+    }
+
+    public long getBucketSize() {
+        return this.bucketSize;
+    }
+
+    /**
+     * Extracts the value of the range field.
+     */
+    public long extractRangeValue(final V value) {
+        final F number = this.fieldValueExtractor.extract(value, this.rangeField, this.rangePadder.getPadderClass());
+        return ((Number) number).longValue();
+    }
+
+    /**
+     * Converts the bound of a range query to the inclusive bound of the range field used by the range index.
+     */
+    public long toRangeBound(final String bound) {
+        if (!StringUtils.isDigits(bound)) {
+            throw new MirrorTopologyException("The string value should be a series of digits");
+        }
+        return ((Number) this.rangePadder.getEndOfRange(bound)).longValue();
+    }
+
+    /**
+     * Returns the start of the bucket containing the given value of the range field.
+     */
+    public long getBucketStart(final long rangeValue) {
+        return Math.floorDiv(rangeValue, this.bucketSize) * this.bucketSize;
+    }
+
+    /**
+     * Creates the index of the range store for a key and a value of the range field.
+     *
+     * <p>
+     * The index equals the one created by the {@link com.bakdata.quick.mirror.range.indexer.WriteRangeIndexer}.
+     */
+    public String createRangeIndex(final K key, final long rangeValue) {
+        return this.createRangeIndexFormat(key, this.rangePadder.padZero(this.rangePadder.fromLong(rangeValue)));
+    }
+
+    /**
+     * Creates the index of the rollup store for a key and the start of a bucket.
+     */
+    public String createBucketIndex(final K key, final long bucketStart) {
+        return this.createRangeIndexFormat(key, this.bucketPadder.padZero(bucketStart));
+    }
+
+    /**
+     * Creates the index of the range store for a key and a value.
+     */
+    @Override
+    public String createIndex(final K key, final V value) {
+        return this.createRangeIndex(key, this.extractRangeValue(value));
+    }
+}
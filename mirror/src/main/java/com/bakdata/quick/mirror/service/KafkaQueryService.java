@@ -22,17 +22,28 @@ import com.bakdata.quick.common.api.client.mirror.DefaultMirrorRequestManager;
 import com.bakdata.quick.common.api.client.mirror.HeaderConstants;
 import com.bakdata.quick.common.api.client.mirror.MirrorHost;
 import com.bakdata.quick.common.api.client.mirror.MirrorValueParser;
+import com.bakdata.quick.common.api.model.TopicPosition;
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.bakdata.quick.common.api.model.mirror.MirrorValue;
+import com.bakdata.quick.common.api.model.mirror.PositionedValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
 import com.bakdata.quick.common.exception.InternalErrorException;
 import com.bakdata.quick.common.exception.MirrorException;
 import com.bakdata.quick.common.exception.NotFoundException;
+import com.bakdata.quick.common.exception.ServiceUnavailableException;
+import com.bakdata.quick.common.filter.ValueFilterPredicate;
 import com.bakdata.quick.common.resolver.TypeResolver;
+import com.bakdata.quick.mirror.base.PositionConfig;
 import com.bakdata.quick.mirror.context.MirrorContext;
 import com.bakdata.quick.mirror.context.MirrorContextProvider;
 import com.bakdata.quick.mirror.context.RangeIndexProperties;
+import com.bakdata.quick.mirror.context.RollupProperties;
 import com.bakdata.quick.mirror.range.extractor.SchemaExtractor;
 import com.bakdata.quick.mirror.range.extractor.type.FieldTypeExtractor;
 import com.bakdata.quick.mirror.range.indexer.ReadRangeIndexer;
+import com.bakdata.quick.mirror.range.rollup.RangeRollup;
+import com.bakdata.quick.mirror.range.rollup.RollupIndexer;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.confluent.kafka.schemaregistry.ParsedSchema;
 import io.micronaut.http.HttpResponse;
@@ -47,13 +58,27 @@ import jakarta.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.KeyQueryMetadata;
 import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.query.FailureReason;
+import org.apache.kafka.streams.query.KeyQuery;
+import org.apache.kafka.streams.query.Position;
+import org.apache.kafka.streams.query.PositionBound;
+import org.apache.kafka.streams.query.QueryResult;
+import org.apache.kafka.streams.query.StateQueryRequest;
 import org.apache.kafka.streams.state.HostInfo;
 import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreTypes;
@@ -76,20 +101,27 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
     private final TypeResolver<V> valueResolver;
     private final StoreQueryParameters<ReadOnlyKeyValueStore<K, V>> pointStoreQueryParameters;
     private final RangeIndexProperties rangeIndexProperties;
+    private final RollupProperties rollupProperties;
     private final SchemaExtractor schemaExtractor;
+    private final PositionConfig positionConfig;
     @Nullable
     private StoreQueryParameters<ReadOnlyKeyValueStore<String, V>> rangeStoreQueryParameters;
     @Nullable
     private ReadRangeIndexer<K, ?> rangeIndexer = null;
+    @Nullable
+    private StoreQueryParameters<ReadOnlyKeyValueStore<String, RangeRollup>> rollupStoreQueryParameters;
+    @Nullable
+    private RollupIndexer<K, V, ?> rollupIndexer = null;
 
     /**
      * Injectable constructor.
      */
     @Inject
     public KafkaQueryService(final HttpClient client, final SchemaExtractor schemaExtractor,
-        final MirrorContextProvider<K, V> contextProvider) {
+        final MirrorContextProvider<K, V> contextProvider, final PositionConfig positionConfig) {
         this.client = client;
         this.schemaExtractor = schemaExtractor;
+        this.positionConfig = positionConfig;
 
         this.queryContext = contextProvider.get();
 
@@ -99,6 +131,7 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
         this.keyResolver = this.queryContext.getIndexInputStream().getKeyData().getResolver();
         this.valueResolver = this.queryContext.getIndexInputStream().getValueData().getResolver();
         this.rangeIndexProperties = this.queryContext.getRangeIndexProperties();
+        this.rollupProperties = this.queryContext.getRollupProperties();
 
         log.debug("Initializing KafkaQueryService for point index");
         this.pointStoreQueryParameters =
@@ -111,40 +144,68 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
     }
 
     @Override
-    public Single<HttpResponse<MirrorValue<V>>> get(final String rawKey) {
+    public Single<HttpResponse<MirrorValue<V>>> get(final String rawKey, @Nullable final String minPosition) {
         final K key = this.keyResolver.fromString(rawKey);
         final KeyQueryMetadata metadata = this.getKeyQueryMetadata(key, this.queryContext.getPointStoreName());
 
         // forward request if a different application is responsible for the rawKey
         if (!metadata.activeHost().equals(this.hostInfo) && !metadata.standbyHosts().contains(this.hostInfo)) {
             log.debug("Forward request to {}", metadata.activeHost());
-            return Single.fromCallable(() -> this.fetch(metadata.activeHost(), key)).subscribeOn(Schedulers.io());
+            return Single.fromCallable(() -> this.fetch(metadata.activeHost(), key, minPosition))
+                .subscribeOn(Schedulers.io());
         }
 
-        final ReadOnlyKeyValueStore<K, V> store = this.getReadOnlyKeyValueStore(this.pointStoreQueryParameters);
-
-        final V value = store.get(key);
-        if (value == null) {
-            throw new NotFoundException(String.format("Key %s does not exist in Mirror", rawKey));
+        final int partition = metadata.partition();
+        if (minPosition == null) {
+            final QueryResult<V> result = this.queryPointStore(key, partition, PositionBound.unbounded());
+            return Single.just(this.createPointResponse(partition, result));
         }
-        return Single.just(HttpResponse.created(new MirrorValue<>(value)).status(HttpStatus.OK));
+
+        final TopicPosition position = TopicPosition.fromToken(this.queryContext.getTopicName(), minPosition);
+        final PositionBound bound = PositionBound.at(Position.fromMap(Map.of(position.getTopic(),
+            position.getOffsets())));
+        final Single<HttpResponse<MirrorValue<V>>> response =
+            Flowable.interval(0, this.positionConfig.getPollInterval().toMillis(), TimeUnit.MILLISECONDS)
+                .map(tick -> this.queryPointStore(key, partition, bound))
+                .filter(QueryResult::isSuccess)
+                .firstOrError()
+                .timeout(this.positionConfig.getMaxWait().toMillis(), TimeUnit.MILLISECONDS)
+                .map(result -> this.createPointResponse(partition, result));
+
+        return response.onErrorResumeNext(throwable -> {
+            if (!(throwable instanceof TimeoutException)) {
+                return Single.error(throwable);
+            }
+            // a standby might lag behind, the active replica is the most recent one
+            if (!metadata.activeHost().equals(this.hostInfo)) {
+                log.debug("Position {} not reached, forward request to {}", minPosition, metadata.activeHost());
+                return Single.fromCallable(() -> this.fetch(metadata.activeHost(), key, minPosition))
+                    .subscribeOn(Schedulers.io());
+            }
+            return Single.error(new ServiceUnavailableException(
+                String.format("Mirror did not reach position %s in time", minPosition)));
+        });
     }
 
     @Override
-    public Single<HttpResponse<MirrorValue<List<V>>>> getValues(final List<String> keys) {
+    public Single<HttpResponse<MirrorValue<List<V>>>> getValues(final List<String> keys,
+        @Nullable final String minPosition) {
+        // keep the order of the keys, so that clients can match the values with their keys; missing keys are null
         return Observable.fromIterable(keys)
-            .flatMapSingle(this::get)
+            .concatMapEager(key -> this.get(key, minPosition).toObservable())
             .toList()
             .map(this::transformValuesAndCreateHttpResponse);
     }
 
     @Override
-    public Single<HttpResponse<MirrorValue<List<V>>>> getAll() {
+    public Single<HttpResponse<MirrorValue<List<V>>>> getAll(@Nullable final ValueFilter filter) {
+        final Predicate<V> predicate = this.createPredicate(filter);
         // For now, we only consider the local state!
         final ReadOnlyKeyValueStore<K, V> store =
             this.streams.store(Objects.requireNonNull(this.pointStoreQueryParameters));
         return Flowable.fromIterable(store::all)
             .map(keyValue -> keyValue.value)
+            .filter(predicate::test)
             .toList()
             .map(valuesList -> HttpResponse.created(new MirrorValue<>(valuesList)).status(HttpStatus.OK));
 
@@ -152,13 +213,14 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
 
     @Override
     public Single<HttpResponse<MirrorValue<List<V>>>> getRange(final String rawKey, final String from,
-        final String to) {
+        final String to, @Nullable final ValueFilter filter) {
         if (!this.rangeIndexProperties.isEnabled()) {
             throw new MirrorException("You are trying to query a range. But no range index set.",
                 HttpStatus.BAD_REQUEST);
         }
 
         final K key = this.keyResolver.fromString(rawKey);
+        final Predicate<V> predicate = this.createPredicate(filter);
 
         final String rangeStoreName = this.rangeIndexProperties.getStoreName();
         log.debug("range store name is: {}", rangeStoreName);
@@ -167,20 +229,78 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
         // forward request if a different application is responsible for the rawKey
         if (!metadata.activeHost().equals(this.hostInfo) && !metadata.standbyHosts().contains(this.hostInfo)) {
             log.debug("Forward request to {}", metadata.activeHost());
-            return Single.fromCallable(() -> this.fetchRange(metadata.activeHost(), key, from, to))
+            return Single.fromCallable(() -> this.fetchRange(metadata.activeHost(), key, from, to, filter))
                 .subscribeOn(Schedulers.io());
         }
 
         final ReadOnlyKeyValueStore<String, V> rangeStore =
             this.getReadOnlyKeyValueStore(this.rangeStoreQueryParameters);
 
-        final List<V> values = this.queryRangeStore(key, from, to, rangeStore);
+        final List<V> values = new ArrayList<>();
+        this.scanRangeStore(key, from, to, rangeStore, value -> {
+            if (predicate.test(value)) {
+                values.add(value);
+            }
+        });
 
         log.debug("Fetched range from state store: {}", values);
 
         return Single.just(HttpResponse.created(new MirrorValue<>(values)).status(HttpStatus.OK));
     }
 
+    @Override
+    public Single<HttpResponse<MirrorValue<Aggregate>>> aggregateAll(@Nullable final String field,
+        @Nullable final ValueFilter filter) {
+        final Predicate<V> predicate = this.createPredicate(filter);
+        // For now, we only consider the local state!
+        final ReadOnlyKeyValueStore<K, V> store =
+            this.streams.store(Objects.requireNonNull(this.pointStoreQueryParameters));
+        return Flowable.fromIterable(store::all)
+            .map(keyValue -> keyValue.value)
+            .filter(predicate::test)
+            .collect(() -> this.createAggregator(field), ValueAggregator::accept)
+            .map(aggregator -> HttpResponse.created(new MirrorValue<>(aggregator.toAggregate()))
+                .status(HttpStatus.OK));
+    }
+
+    @Override
+    public Single<HttpResponse<MirrorValue<Aggregate>>> aggregateRange(final String rawKey, final String from,
+        final String to, @Nullable final String field, @Nullable final ValueFilter filter) {
+        if (!this.rangeIndexProperties.isEnabled()) {
+            throw new MirrorException("You are trying to aggregate a range. But no range index set.",
+                HttpStatus.BAD_REQUEST);
+        }
+
+        final K key = this.keyResolver.fromString(rawKey);
+        final Predicate<V> predicate = this.createPredicate(filter);
+        final ValueAggregator<V> aggregator = this.createAggregator(field);
+
+        final KeyQueryMetadata metadata = this.getKeyQueryMetadata(key, this.rangeIndexProperties.getStoreName());
+
+        // forward request if a different application is responsible for the rawKey
+        if (!metadata.activeHost().equals(this.hostInfo) && !metadata.standbyHosts().contains(this.hostInfo)) {
+            log.debug("Forward aggregation to {}", metadata.activeHost());
+            return Single.fromCallable(() -> this.aggregateRange(metadata.activeHost(), key, from, to, field, filter))
+                .subscribeOn(Schedulers.io());
+        }
+
+        final ReadOnlyKeyValueStore<String, V> rangeStore =
+            this.getReadOnlyKeyValueStore(this.rangeStoreQueryParameters);
+        final Aggregate aggregate;
+        if (filter == null && this.rollupIndexer != null && this.rollupProperties.covers(field)) {
+            aggregate = this.aggregateWithRollups(this.rollupIndexer, key, from, to, rangeStore, aggregator);
+        } else {
+            this.scanRangeStore(key, from, to, rangeStore, value -> {
+                if (predicate.test(value)) {
+                    aggregator.accept(value);
+                }
+            });
+            aggregate = aggregator.toAggregate();
+        }
+        log.debug("Aggregated range from state store: {}", aggregate);
+        return Single.just(HttpResponse.created(new MirrorValue<>(aggregate)).status(HttpStatus.OK));
+    }
+
     private void initializeQueryServiceForRange() {
         log.debug("Initializing KafkaQueryService for range index");
         final String rangeStoreName = this.rangeIndexProperties.getStoreName();
@@ -193,27 +313,48 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
         this.rangeIndexer = ReadRangeIndexer.create(fieldTypeExtractor,
             Objects.requireNonNull(parsedSchema),
             Objects.requireNonNull(this.rangeIndexProperties.getRangeField()));
+
+        if (this.rollupProperties.isEnabled()) {
+            log.debug("Initializing KafkaQueryService for rollups");
+            this.rollupStoreQueryParameters = StoreQueryParameters.fromNameAndType(
+                this.rollupProperties.getStoreName(), QueryableStoreTypes.keyValueStore());
+            this.rollupIndexer = RollupIndexer.create(fieldTypeExtractor,
+                this.schemaExtractor.getFieldValueExtractor(),
+                Objects.requireNonNull(parsedSchema),
+                Objects.requireNonNull(this.rangeIndexProperties.getRangeField()),
+                Objects.requireNonNull(this.rollupProperties.getBucketSize()));
+        }
     }
 
-    private HttpResponse<MirrorValue<V>> fetch(final HostInfo replicaHostInfo, final K key) {
+    private HttpResponse<MirrorValue<V>> fetch(final HostInfo replicaHostInfo, final K key,
+        @Nullable final String minPosition) {
         final DefaultMirrorClient<K, V> mirrorClient = this.getDefaultMirrorClient(replicaHostInfo);
 
-        final V value = mirrorClient.fetchValue(key);
+        // the replica has to honor the position as well, e.g., when this standby did not reach it in time
+        final PositionedValue<V> positionedValue = mirrorClient.fetchValueWithPosition(key, minPosition);
+        final V value = positionedValue.getValue();
 
-        if (value == null) {
-            throw new NotFoundException("Key not found");
+        final MutableHttpResponse<MirrorValue<V>> response = value == null
+            ? HttpResponse.status(HttpStatus.NOT_FOUND)
+            : HttpResponse.created(new MirrorValue<>(value)).status(HttpStatus.OK);
+        if (positionedValue.getPosition() != null) {
+            response.header(HeaderConstants.POSITION_HEADER, positionedValue.getPosition());
         }
-        return HttpResponse.created(new MirrorValue<>(value))
-            .header(HeaderConstants.UPDATE_PARTITION_HOST_MAPPING_HEADER, HeaderConstants.HEADER_EXISTS)
-            .status(HttpStatus.OK);
+        return response.header(HeaderConstants.UPDATE_PARTITION_HOST_MAPPING_HEADER, HeaderConstants.HEADER_EXISTS);
     }
 
+    /**
+     * Fetches a range from another replica.
+     *
+     * <p>
+     * The filter is sent along, so that the replica only returns the matching values.
+     */
     private HttpResponse<MirrorValue<List<V>>> fetchRange(final HostInfo replicaHostInfo,
-        final K key, final String from, final String to) {
+        final K key, final String from, final String to, @Nullable final ValueFilter filter) {
         final DefaultMirrorClient<K, V> mirrorClient = this.getDefaultMirrorClient(replicaHostInfo);
 
-        log.debug("Fetching range for key {}, from {}, to {}", key, from, to);
-        final List<V> value = mirrorClient.fetchRange(key, from, to);
+        log.debug("Fetching range for key {}, from {}, to {} matching {}", key, from, to, filter);
+        final List<V> value = mirrorClient.fetchRange(key, from, to, FieldProjection.all(), filter);
 
         if (value == null) {
             throw new NotFoundException("Key not found");
@@ -223,6 +364,80 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
             .status(HttpStatus.OK);
     }
 
+    /**
+     * Aggregates a range on another replica.
+     *
+     * <p>
+     * The replica aggregates the range itself, e.g., with its rollups, so that only the aggregate is transferred.
+     */
+    private HttpResponse<MirrorValue<Aggregate>> aggregateRange(final HostInfo replicaHostInfo, final K key,
+        final String from, final String to, @Nullable final String field, @Nullable final ValueFilter filter) {
+        final DefaultMirrorClient<K, V> mirrorClient = this.getDefaultMirrorClient(replicaHostInfo);
+
+        log.debug("Aggregating range for key {}, from {}, to {} matching {}", key, from, to, filter);
+        final Aggregate aggregate = mirrorClient.aggregateRange(key, from, to, field, filter);
+        return HttpResponse.created(new MirrorValue<>(aggregate))
+            .header(HeaderConstants.UPDATE_PARTITION_HOST_MAPPING_HEADER, HeaderConstants.HEADER_EXISTS)
+            .status(HttpStatus.OK);
+    }
+
+    /**
+     * Queries the point store for a key in the given partition.
+     *
+     * <p>
+     * The returned result is either successful or failed because the store has not reached the position bound yet.
+     */
+    private QueryResult<V> queryPointStore(final K key, final int partition, final PositionBound bound) {
+        final StateQueryRequest<V> request = StateQueryRequest.inStore(this.queryContext.getPointStoreName())
+            .withQuery(KeyQuery.<K, V>withKey(key))
+            .withPartitions(Set.of(partition))
+            .withPositionBound(bound);
+
+        final QueryResult<V> result;
+        try {
+            result = this.streams.query(request).getPartitionResults().get(partition);
+        } catch (final InvalidStateStoreException exception) {
+            throw new InternalErrorException("Store is not running");
+        }
+
+        if (result == null) {
+            throw new InternalErrorException("Store currently not available");
+        }
+        if (result.isFailure() && result.getFailureReason() != FailureReason.NOT_UP_TO_BOUND) {
+            log.error("Querying store failed: {}", result.getFailureMessage());
+            throw new InternalErrorException("Store currently not available");
+        }
+        return result;
+    }
+
+    /**
+     * Creates the response of a point query, which carries the position of the queried partition.
+     *
+     * <p>
+     * Missing keys are answered with a 404 that still has the position, so that clients know which state they have
+     * seen. If the store has not processed any record of the partition yet, its position is -1. A value without the
+     * position of its partition comes from a state whose position is unknown, e.g., one restored without positions.
+     * Its response has no position, as -1 would claim that none of the partition's records are in the state.
+     */
+    private MutableHttpResponse<MirrorValue<V>> createPointResponse(final int partition,
+        final QueryResult<V> result) {
+        final String topic = this.queryContext.getTopicName();
+        final Map<Integer, Long> offsets = new TreeMap<>(result.getPosition().getPartitionPositions(topic));
+        final V value = result.getResult();
+        if (value == null) {
+            offsets.putIfAbsent(partition, -1L);
+            return HttpResponse.<MirrorValue<V>>status(HttpStatus.NOT_FOUND)
+                .header(HeaderConstants.POSITION_HEADER, new TopicPosition(topic, offsets).toToken());
+        }
+        final MutableHttpResponse<MirrorValue<V>> response =
+            HttpResponse.created(new MirrorValue<>(value)).status(HttpStatus.OK);
+        if (!offsets.containsKey(partition)) {
+            log.warn("Position of partition {} of topic {} is unknown", partition, topic);
+            return response;
+        }
+        return response.header(HeaderConstants.POSITION_HEADER, new TopicPosition(topic, offsets).toToken());
+    }
+
     private KeyQueryMetadata getKeyQueryMetadata(final K key, final String storeName) {
         try {
             final KeyQueryMetadata metadata = this.streams.queryMetadataForKey(storeName, key, this.keySerializer);
@@ -239,10 +454,10 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
         }
     }
 
-    private <T> ReadOnlyKeyValueStore<T, V> getReadOnlyKeyValueStore(
-        @Nullable final StoreQueryParameters<? extends ReadOnlyKeyValueStore<T, V>> storeQueryParameters) {
+    private <T, U> ReadOnlyKeyValueStore<T, U> getReadOnlyKeyValueStore(
+        @Nullable final StoreQueryParameters<? extends ReadOnlyKeyValueStore<T, U>> storeQueryParameters) {
 
-        final ReadOnlyKeyValueStore<T, V> rangeStore =
+        final ReadOnlyKeyValueStore<T, U> rangeStore =
             this.streams.store(Objects.requireNonNull(storeQueryParameters));
 
         if (rangeStore == null) {
@@ -264,8 +479,11 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
             new DefaultMirrorRequestManager(this.client));
     }
 
-    private List<V> queryRangeStore(final K key, final String from, final String to,
-        final ReadOnlyKeyValueStore<String, V> rangeStore) {
+    /**
+     * Passes all values of the key's range to the consumer, without collecting them.
+     */
+    private void scanRangeStore(final K key, final String from, final String to,
+        final ReadOnlyKeyValueStore<String, V> rangeStore, final Consumer<? super V> consumer) {
         if (this.rangeIndexer == null) {
             throw new HttpStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not create range indexer");
         }
@@ -276,14 +494,78 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
         log.debug("Index from is: {}", fromIndex);
         log.debug("Index to is: {}", toIndex);
 
-        final List<V> values = new ArrayList<>();
+        try (final KeyValueIterator<String, V> iterator = rangeStore.range(fromIndex, toIndex)) {
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next().value);
+            }
+        }
+    }
+
+    /**
+     * Aggregates a range by combining the rollups of the buckets that lie completely in the range with scans of the
+     * range store at the edges of the range.
+     *
+     * <p>
+     * Instead of all values in the range, this reads at most one bucket per edge and one rollup per bucket.
+     */
+    private Aggregate aggregateWithRollups(final RollupIndexer<K, V, ?> indexer, final K key, final String from,
+        final String to, final ReadOnlyKeyValueStore<String, V> rangeStore, final ValueAggregator<V> aggregator) {
+        final long bucketSize = indexer.getBucketSize();
+        final long lower = indexer.toRangeBound(from);
+        final long upper = indexer.toRangeBound(to);
+        // buckets starting in [firstBucket, endBucket) lie completely in the range
+        final long firstBucket = indexer.getBucketStart(lower + bucketSize - 1);
+        final long endBucket = indexer.getBucketStart(upper + 1);
+
+        if (firstBucket >= endBucket) {
+            scanRangeStore(indexer, key, lower, upper, rangeStore, aggregator);
+            return aggregator.toAggregate();
+        }
+
+        scanRangeStore(indexer, key, lower, firstBucket - 1, rangeStore, aggregator);
+        scanRangeStore(indexer, key, endBucket, upper, rangeStore, aggregator);
+
+        final ReadOnlyKeyValueStore<String, RangeRollup> rollupStore =
+            this.getReadOnlyKeyValueStore(this.rollupStoreQueryParameters);
+        final String fromIndex = indexer.createBucketIndex(key, firstBucket);
+        final String toIndex = indexer.createBucketIndex(key, endBucket - bucketSize);
+        log.debug("Rollup index from {} to {}", fromIndex, toIndex);
+
+        RangeRollup rollup = RangeRollup.empty();
+        try (final KeyValueIterator<String, RangeRollup> iterator = rollupStore.range(fromIndex, toIndex)) {
+            while (iterator.hasNext()) {
+                rollup = rollup.merge(iterator.next().value);
+            }
+        }
+        return aggregator.toAggregate().merge(rollup.toAggregate(this.rollupProperties.getField()));
+    }
 
+    /**
+     * Scans the range store for all values of the range field between the inclusive bounds.
+     */
+    private static <K, V> void scanRangeStore(final RollupIndexer<K, V, ?> indexer, final K key, final long lower,
+        final long upper, final ReadOnlyKeyValueStore<String, V> rangeStore, final Consumer<? super V> consumer) {
+        if (lower > upper) {
+            return;
+        }
+        final String fromIndex = indexer.createRangeIndex(key, lower);
+        final String toIndex = indexer.createRangeIndex(key, upper);
         try (final KeyValueIterator<String, V> iterator = rangeStore.range(fromIndex, toIndex)) {
             while (iterator.hasNext()) {
-                values.add(iterator.next().value);
+                consumer.accept(iterator.next().value);
             }
         }
-        return values;
+    }
+
+    private Predicate<V> createPredicate(@Nullable final ValueFilter filter) {
+        if (filter == null) {
+            return value -> true;
+        }
+        return ValueFilterPredicate.compile(filter, this.schemaExtractor.getFieldValueExtractor().asFieldLookup());
+    }
+
+    private ValueAggregator<V> createAggregator(@Nullable final String field) {
+        return new ValueAggregator<>(field, this.schemaExtractor.getFieldValueExtractor());
     }
 
     /**
@@ -292,6 +574,10 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
      * argument), an HTTP Header that informs about the Cache-Miss is set. Because of this possibility, the function
      * returns MutableHttpResponse and not just HttpResponse.
      *
+     * <p>
+     * The positions of all responses are merged. The values are in the order of the responses, with null for each
+     * key that does not exist.
+     *
      * @param listOfResponses a list of HttpResponses obtained from multiple calls to get(key)
      * @return MutableHttpResponse, possibly with a Cache-Miss Header set
      */
@@ -299,12 +585,19 @@ public class KafkaQueryService<K, V> implements QueryService<V> {
         final Collection<? extends HttpResponse<MirrorValue<V>>> listOfResponses) {
         final boolean headerSet = listOfResponses.stream()
             .anyMatch(response -> response.header(HeaderConstants.UPDATE_PARTITION_HOST_MAPPING_HEADER) != null);
+        // a missing key has a response without body, it keeps its position in the list as null
         final List<V> values = listOfResponses.stream()
-            .filter(response -> response.body() != null)
-            .map(response -> response.body().getValue())
+            .map(response -> response.getBody().map(MirrorValue::getValue).orElse(null))
             .collect(Collectors.toList());
         final MutableHttpResponse<MirrorValue<List<V>>> responseWithoutHeader =
             HttpResponse.created(new MirrorValue<>(values)).status(HttpStatus.OK);
+        listOfResponses.stream()
+            .map(response -> response.header(HeaderConstants.POSITION_HEADER))
+            .filter(Objects::nonNull)
+            .map(token -> TopicPosition.fromToken(this.queryContext.getTopicName(), token))
+            .reduce(TopicPosition::merge)
+            .ifPresent(position ->
+                responseWithoutHeader.header(HeaderConstants.POSITION_HEADER, position.toToken()));
         if (headerSet) {
             return responseWithoutHeader.header(
                 HeaderConstants.UPDATE_PARTITION_HOST_MAPPING_HEADER, HeaderConstants.HEADER_EXISTS);
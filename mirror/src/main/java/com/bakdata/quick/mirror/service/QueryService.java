@@ -16,7 +16,10 @@
 
 package com.bakdata.quick.mirror.service;
 
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
 import com.bakdata.quick.common.api.model.mirror.MirrorValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.micronaut.http.HttpResponse;
 import io.reactivex.Single;
 import java.util.List;
@@ -27,11 +30,72 @@ import java.util.List;
  * @param <V> value type
  */
 public interface QueryService<V> {
-    Single<HttpResponse<MirrorValue<V>>> get(final String key);
+    /**
+     * Fetches the value of a key.
+     *
+     * @param key         the key to fetch
+     * @param minPosition token of the position the state must have reached, or null for reading the current state
+     * @return the value, along with the position of the state it was read from
+     */
+    Single<HttpResponse<MirrorValue<V>>> get(final String key, @Nullable final String minPosition);
 
-    Single<HttpResponse<MirrorValue<List<V>>>> getValues(final List<String> keys);
+    /**
+     * Fetches the values of multiple keys.
+     *
+     * @param keys        the keys to fetch
+     * @param minPosition token of the position the state must have reached, or null for reading the current state
+     * @return the values, along with the merged positions of the states they were read from
+     */
+    Single<HttpResponse<MirrorValue<List<V>>>> getValues(final List<String> keys, @Nullable final String minPosition);
 
-    Single<HttpResponse<MirrorValue<List<V>>>> getAll();
+    default Single<HttpResponse<MirrorValue<List<V>>>> getAll() {
+        return this.getAll(null);
+    }
 
-    Single<HttpResponse<MirrorValue<List<V>>>> getRange(final String key, final String from, final String to);
+    /**
+     * Fetches all values matching the filter.
+     *
+     * @param filter optional filter evaluated while iterating over the store
+     * @return the matching values
+     */
+    Single<HttpResponse<MirrorValue<List<V>>>> getAll(@Nullable final ValueFilter filter);
+
+    default Single<HttpResponse<MirrorValue<List<V>>>> getRange(final String key, final String from, final String to) {
+        return this.getRange(key, from, to, null);
+    }
+
+    /**
+     * Fetches the values of a key in a range that match the filter.
+     *
+     * @param key    the key to fetch
+     * @param from   lower bound of the range
+     * @param to     upper bound of the range
+     * @param filter optional filter evaluated while iterating over the range
+     * @return the matching values
+     */
+    Single<HttpResponse<MirrorValue<List<V>>>> getRange(final String key, final String from, final String to,
+        @Nullable final ValueFilter filter);
+
+    /**
+     * Aggregates all values matching the filter.
+     *
+     * @param field  optional path of the numeric field to aggregate, if null the values are only counted
+     * @param filter optional filter evaluated while iterating over the store
+     * @return the aggregate of the matching values
+     */
+    Single<HttpResponse<MirrorValue<Aggregate>>> aggregateAll(@Nullable final String field,
+        @Nullable final ValueFilter filter);
+
+    /**
+     * Aggregates the values of a key in a range that match the filter.
+     *
+     * @param key    the key to aggregate
+     * @param from   lower bound of the range
+     * @param to     upper bound of the range
+     * @param field  optional path of the numeric field to aggregate, if null the values are only counted
+     * @param filter optional filter evaluated while iterating over the range
+     * @return the aggregate of the matching values
+     */
+    Single<HttpResponse<MirrorValue<Aggregate>>> aggregateRange(final String key, final String from, final String to,
+        @Nullable final String field, @Nullable final ValueFilter filter);
 }
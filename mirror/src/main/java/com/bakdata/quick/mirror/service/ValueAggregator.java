@@ -0,0 +1,114 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.service;
+
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.exception.BadArgumentException;
+import com.bakdata.quick.common.filter.FieldLookup;
+import com.bakdata.quick.common.filter.FieldPath;
+import com.bakdata.quick.mirror.range.extractor.value.FieldValueExtractor;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.function.Consumer;
+
+/**
+ * Folds the values of a mirror into an {@link Aggregate}.
+ *
+ * <p>
+ * The aggregator only keeps the running count, sum, minimum, and maximum, so that values can be aggregated while
+ * iterating over a store without collecting them.
+ *
+ * @param <V> value type
+ */
+public final class ValueAggregator<V> implements Consumer<V> {
+    @Nullable
+    private final FieldPath field;
+    private final FieldLookup lookup;
+    private long count = 0;
+    private double sum = 0;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates a new aggregator.
+     *
+     * @param field     path of the numeric field to aggregate, or null for only counting the values
+     * @param extractor extractor for the field values of Avro records or Protobuf messages
+     */
+    public ValueAggregator(@Nullable final String field, final FieldValueExtractor<Object> extractor) {
+        this.field = field == null ? null : FieldPath.parse(field);
+        this.lookup = extractor.asFieldLookup();
+    }
+
+    /**
+     * Adds a value to the aggregate.
+     *
+     * @throws BadArgumentException if the field does not exist or is not numeric
+     */
+    @Override
+    public void accept(final V value) {
+        if (this.field == null) {
+            this.count++;
+            return;
+        }
+        final Double number = this.extractNumber(this.field, value);
+        if (number == null) {
+            return;
+        }
+        this.count++;
+        this.sum += number;
+        this.min = Math.min(this.min, number);
+        this.max = Math.max(this.max, number);
+    }
+
+    /**
+     * Returns the aggregate of all values added so far.
+     */
+    public Aggregate toAggregate() {
+        if (this.field == null || this.count == 0) {
+            return new Aggregate(this.count, null, null, null);
+        }
+        return new Aggregate(this.count, this.sum, this.min, this.max);
+    }
+
+    /**
+     * Returns the aggregate of a single value without adding it to this aggregator.
+     *
+     * @throws BadArgumentException if the field does not exist or is not numeric
+     */
+    public Aggregate aggregateSingle(final V value) {
+        if (this.field == null) {
+            return new Aggregate(1, null, null, null);
+        }
+        final Double number = this.extractNumber(this.field, value);
+        if (number == null) {
+            return Aggregate.empty();
+        }
+        return new Aggregate(1, number, number, number);
+    }
+
+    @Nullable
+    private Double extractNumber(final FieldPath path, final V value) {
+        final Object actual = path.resolve(value, this.lookup);
+        if (actual == null) {
+            return null;
+        }
+        if (!(actual instanceof Number)) {
+            throw new BadArgumentException(String.format("Field %s cannot be aggregated", path));
+        }
+        return ((Number) actual).doubleValue();
+    }
+}
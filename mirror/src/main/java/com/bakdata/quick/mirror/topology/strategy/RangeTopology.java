@@ -18,11 +18,17 @@ package com.bakdata.quick.mirror.topology.strategy;
 
 import com.bakdata.quick.mirror.StoreType;
 import com.bakdata.quick.mirror.context.MirrorContext;
+import com.bakdata.quick.mirror.context.RollupProperties;
 import com.bakdata.quick.mirror.range.MirrorRangeProcessor;
+import com.bakdata.quick.mirror.range.extractor.SchemaExtractor;
 import com.bakdata.quick.mirror.range.extractor.type.FieldTypeExtractor;
 import com.bakdata.quick.mirror.range.extractor.value.FieldValueExtractor;
 import com.bakdata.quick.mirror.range.indexer.RangeIndexer;
 import com.bakdata.quick.mirror.range.indexer.WriteRangeIndexer;
+import com.bakdata.quick.mirror.range.rollup.MirrorRollupProcessor;
+import com.bakdata.quick.mirror.range.rollup.RangeRollupSerde;
+import com.bakdata.quick.mirror.range.rollup.RollupIndexer;
+import com.bakdata.quick.mirror.service.ValueAggregator;
 import io.confluent.kafka.schemaregistry.ParsedSchema;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +45,7 @@ import org.apache.kafka.streams.state.Stores;
 @Slf4j
 public class RangeTopology implements TopologyStrategy {
     private static final String RANGE_PROCESSOR_NAME = "mirror-range-processor";
+    private static final String ROLLUP_PROCESSOR_NAME = "mirror-rollup-processor";
 
     /**
      * Validates if the range topology should be built.
@@ -65,12 +72,46 @@ public class RangeTopology implements TopologyStrategy {
         streamsBuilder.addStateStore(
             Stores.keyValueStoreBuilder(this.createStore(rangeStoreName, storeType), keySerde, valueSerDe));
 
+        final RollupProperties rollupProperties = mirrorContext.getRollupProperties();
+        if (rollupProperties.isEnabled()) {
+            this.createRollups(mirrorContext, stream, rangeStoreName);
+            return;
+        }
+
         final RangeIndexer<K, V> rangeIndexer = getRangeIndexer(mirrorContext);
 
         stream.process(() -> new MirrorRangeProcessor<>(rangeStoreName, rangeIndexer),
             Named.as(RANGE_PROCESSOR_NAME), rangeStoreName);
     }
 
+    /**
+     * Creates the rollup store and a processor that maintains it together with the range store.
+     */
+    private <K, V> void createRollups(final MirrorContext<?, V> mirrorContext, final KStream<K, V> stream,
+        final String rangeStoreName) {
+        log.info("Setting up the rollups of the range index.");
+        final RollupProperties rollupProperties = mirrorContext.getRollupProperties();
+        final String rollupStoreName = rollupProperties.getStoreName();
+
+        // key serde is string because the store saves the rollup index of key and bucket start as keys
+        mirrorContext.getStreamsBuilder().addStateStore(Stores.keyValueStoreBuilder(
+            this.createStore(rollupStoreName, mirrorContext.getStoreType()), Serdes.String(),
+            RangeRollupSerde.create()));
+
+        final ParsedSchema parsedSchema = Objects.requireNonNull(mirrorContext.getValueSchema());
+        final String rangeField = Objects.requireNonNull(mirrorContext.getRangeIndexProperties().getRangeField());
+        final long bucketSize = Objects.requireNonNull(rollupProperties.getBucketSize());
+        final SchemaExtractor schemaExtractor = mirrorContext.getSchemaExtractor();
+        final RollupIndexer<K, V, ?> rollupIndexer = RollupIndexer.create(schemaExtractor.getFieldTypeExtractor(),
+            schemaExtractor.getFieldValueExtractor(), parsedSchema, rangeField, bucketSize);
+        final ValueAggregator<V> fieldAggregator =
+            new ValueAggregator<>(rollupProperties.getField(), schemaExtractor.getFieldValueExtractor());
+
+        stream.process(() -> new MirrorRollupProcessor<>(rangeStoreName, rollupStoreName, rollupIndexer,
+                fieldAggregator::aggregateSingle),
+            Named.as(ROLLUP_PROCESSOR_NAME), rangeStoreName, rollupStoreName);
+    }
+
     private static <K, V> RangeIndexer<K, V> getRangeIndexer(final MirrorContext<?, V> mirrorContext) {
         final ParsedSchema parsedSchema = Objects.requireNonNull(mirrorContext.getValueSchema());
         final String rangeField =
@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bakdata.quick.common.TestConfigUtils;
+import com.bakdata.quick.common.type.TopicTypeService;
+import com.bakdata.quick.mirror.base.HostConfig;
+import com.bakdata.quick.mirror.context.MirrorContextProvider;
+import com.bakdata.quick.mirror.range.extractor.SchemaExtractor;
+import io.micronaut.context.ApplicationContext;
+import java.util.List;
+import java.util.Properties;
+import org.apache.kafka.streams.StreamsConfig;
+import org.junit.jupiter.api.Test;
+
+class MirrorApplicationTest {
+    @Test
+    void shouldRestorePositionsOfStoresAfterRestart() {
+        final HostConfig hostConfig = mock(HostConfig.class);
+        when(hostConfig.toConnectionString()).thenReturn("127.0.0.1:8080");
+        @SuppressWarnings("unchecked")
+        final MirrorContextProvider<String, String> contextProvider = mock(MirrorContextProvider.class);
+        final MirrorApplication<String, String, String> app = new MirrorApplication<>(
+            mock(SchemaExtractor.class),
+            mock(ApplicationContext.class),
+            mock(TopicTypeService.class),
+            TestConfigUtils.newQuickTopicConfig(),
+            hostConfig,
+            contextProvider,
+            mock(IndexInputStreamBuilder.class)
+        );
+        app.setInputTopics(List.of("input"));
+        app.setBrokers("localhost:9092");
+        app.setSchemaRegistryUrl("http://localhost:8081");
+
+        final Properties properties = app.createKafkaProperties();
+
+        // without the offset vector in the changelog, a restored store reports no position
+        assertThat(properties).containsEntry(StreamsConfig.InternalConfig.IQ_CONSISTENCY_OFFSET_VECTOR_ENABLED, true);
+    }
+}
@@ -21,10 +21,16 @@ import static io.restassured.RestAssured.when;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
+import com.bakdata.quick.common.api.client.mirror.HeaderConstants;
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.api.model.mirror.FieldProjection;
 import com.bakdata.quick.common.api.model.mirror.MirrorValue;
+import com.bakdata.quick.common.api.model.mirror.ValueFilter;
 import com.bakdata.quick.mirror.base.HostConfig;
 import com.bakdata.quick.mirror.service.KafkaQueryService;
 import com.bakdata.quick.mirror.service.QueryService;
@@ -35,6 +41,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.protobuf.Message;
 import io.micronaut.context.annotation.Property;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
@@ -42,6 +49,7 @@ import io.reactivex.Single;
 import jakarta.inject.Inject;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import lombok.Value;
 import org.apache.avro.generic.GenericData.Record;
@@ -65,7 +73,7 @@ class MirrorControllerTest {
     @ParameterizedTest
     @MethodSource("keys")
     <V> void shouldReturnValuesForKey(final Argument<V> value) throws JsonProcessingException {
-        doReturn(Single.just(new MirrorValue<>("test"))).when(this.queryService).get(anyString());
+        doReturn(Single.just(new MirrorValue<>("test"))).when(this.queryService).get(anyString(), isNull());
 
         final String expected = this.objectMapper.writeValueAsString(new MirrorValue<>("test"));
         await().atMost(Duration.ofSeconds(10))
@@ -77,10 +85,26 @@ class MirrorControllerTest {
                     .body(equalTo(expected)));
     }
 
+    @Test
+    void shouldPassMinPositionForKey() throws JsonProcessingException {
+        doReturn(Single.just(new MirrorValue<>("test"))).when(this.queryService).get(anyString(), eq("0:5"));
+
+        final String expected = this.objectMapper.writeValueAsString(new MirrorValue<>("test"));
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() ->
+                given()
+                    .header(HeaderConstants.MIN_POSITION_HEADER, "0:5")
+                    .when()
+                    .get("http://" + this.hostConfig.toConnectionString() + "/mirror/{id}", "key")
+                    .then()
+                    .statusCode(HttpStatus.OK.getCode())
+                    .body(equalTo(expected)));
+    }
+
     @Test
     void shouldReturnValuesForKeys() throws JsonProcessingException {
         doReturn(Single.just(new MirrorValue<>(List.of("test1", "test2", "test3")))).when(this.queryService)
-            .getValues(List.of("1", "2", "3"));
+            .getValues(List.of("1", "2", "3"), null);
 
         final String expected =
             this.objectMapper.writeValueAsString(new MirrorValue<>(List.of("test1", "test2", "test3")));
@@ -97,7 +121,7 @@ class MirrorControllerTest {
     @ParameterizedTest
     @MethodSource("values")
     <V> void shouldReturnValues(final Argument<V> value) throws JsonProcessingException {
-        doReturn(Single.just(new MirrorValue<>(value.getData()))).when(this.queryService).get(anyString());
+        doReturn(Single.just(new MirrorValue<>(value.getData()))).when(this.queryService).get(anyString(), isNull());
 
         final String expected = this.objectMapper.writeValueAsString(new MirrorValue<>(value.getData()));
         await().atMost(Duration.ofSeconds(10))
@@ -151,6 +175,116 @@ class MirrorControllerTest {
             );
     }
 
+    @Test
+    void shouldProjectValueForKey() throws JsonProcessingException {
+        final AvroRangeQueryTest avroRecord = AvroRangeQueryTest.newBuilder().setUserId(1).setTimestamp(2L).build();
+        doReturn(Single.just(HttpResponse.ok(new MirrorValue<>(avroRecord)))).when(this.queryService)
+            .get(anyString(), isNull());
+
+        final String expected = this.objectMapper.writeValueAsString(new MirrorValue<>(Map.of("userId", 1)));
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() ->
+                given()
+                    .queryParam(FieldProjection.QUERY_PARAMETER, "userId")
+                    .when()
+                    .get("http://" + this.hostConfig.toConnectionString() + "/mirror/{id}", "key")
+                    .then()
+                    .statusCode(HttpStatus.OK.getCode())
+                    .body(equalTo(expected)));
+    }
+
+    @Test
+    void shouldProjectListValues() throws JsonProcessingException {
+        final Message protoRecord = newProtoRecord();
+        doReturn(Single.just(HttpResponse.ok(new MirrorValue<>(List.of(protoRecord, protoRecord)))))
+            .when(this.queryService).getAll();
+
+        final List<Map<String, String>> projected = List.of(Map.of("id", "test"), Map.of("id", "test"));
+        final String expected = this.objectMapper.writeValueAsString(new MirrorValue<>(projected));
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() ->
+                given()
+                    .queryParam(FieldProjection.QUERY_PARAMETER, "id")
+                    .when()
+                    .get("http://" + this.hostConfig.toConnectionString() + "/mirror")
+                    .then()
+                    .statusCode(HttpStatus.OK.getCode())
+                    .body(equalTo(expected)));
+    }
+
+    @Test
+    void shouldPassFilterForRange() throws JsonProcessingException {
+        final AvroRangeQueryTest avroRecord = AvroRangeQueryTest.newBuilder().setUserId(1).setTimestamp(2L).build();
+        final MirrorValue<List<GenericRecord>> items = new MirrorValue<>(List.of(avroRecord));
+        final ValueFilter filter = ValueFilter.builder()
+            .or(List.of(ValueFilter.builder().field("timestamp").eq(2).build()))
+            .build();
+        doReturn(Single.just(HttpResponse.ok(items))).when(this.queryService).getRange("1", "1", "3", filter);
+
+        final String expected = this.objectMapper.writeValueAsString(items);
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() ->
+                given()
+                    .queryParam("from", 1)
+                    .queryParam("to", 3)
+                    .queryParam(ValueFilter.QUERY_PARAMETER, "{\"or\":[{\"field\":\"timestamp\",\"eq\":2}]}")
+                    .when()
+                    .get("http://" + this.hostConfig.toConnectionString() + "/mirror/range/{key}", 1)
+                    .then()
+                    .statusCode(HttpStatus.OK.getCode())
+                    .body(equalTo(expected)));
+    }
+
+    @Test
+    void shouldRejectMalformedFilter() {
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() ->
+                given()
+                    .queryParam(ValueFilter.QUERY_PARAMETER, "{\"field\":")
+                    .when()
+                    .get("http://" + this.hostConfig.toConnectionString() + "/mirror")
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.getCode()));
+    }
+
+    @Test
+    void shouldAggregateAll() throws JsonProcessingException {
+        final MirrorValue<Aggregate> aggregate = new MirrorValue<>(new Aggregate(2, 3.0, 1.0, 2.0));
+        doReturn(Single.just(HttpResponse.ok(aggregate))).when(this.queryService).aggregateAll("value", null);
+
+        final String expected = this.objectMapper.writeValueAsString(aggregate);
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() ->
+                given()
+                    .queryParam(Aggregate.QUERY_PARAMETER, "value")
+                    .when()
+                    .get("http://" + this.hostConfig.toConnectionString() + "/mirror/aggregate")
+                    .then()
+                    .statusCode(HttpStatus.OK.getCode())
+                    .body(equalTo(expected)));
+    }
+
+    @Test
+    void shouldAggregateRangeWithFilter() throws JsonProcessingException {
+        final MirrorValue<Aggregate> aggregate = new MirrorValue<>(new Aggregate(1, null, null, null));
+        final ValueFilter filter = ValueFilter.builder().field("timestamp").gt(1).build();
+        doReturn(Single.just(HttpResponse.ok(aggregate))).when(this.queryService)
+            .aggregateRange("1", "1", "3", null, filter);
+
+        final String expected = this.objectMapper.writeValueAsString(aggregate);
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() ->
+                given()
+                    .queryParam("from", 1)
+                    .queryParam("to", 3)
+                    .queryParam(ValueFilter.QUERY_PARAMETER, "{\"field\":\"timestamp\",\"gt\":1}")
+                    .when()
+                    .get("http://" + this.hostConfig.toConnectionString() + "/mirror/range/{key}/aggregate", 1)
+                    .then()
+                    .statusCode(HttpStatus.OK.getCode())
+                    .body(equalTo(expected)));
+    }
+
     @MockBean(KafkaQueryService.class)
     QueryService queryService() {
         return mock(QueryService.class);
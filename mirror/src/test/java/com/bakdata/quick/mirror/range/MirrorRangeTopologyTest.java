@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.bakdata.fluent_kafka_streams_tests.TestTopology;
 import com.bakdata.quick.common.api.model.TopicWriteType;
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
 import com.bakdata.quick.common.config.KafkaConfig;
 import com.bakdata.quick.common.config.SchemaConfig;
 import com.bakdata.quick.common.schema.SchemaFormat;
@@ -39,9 +40,11 @@ import com.bakdata.quick.mirror.context.IndexInputStream;
 import com.bakdata.quick.mirror.context.MirrorContext;
 import com.bakdata.quick.mirror.context.RangeIndexProperties;
 import com.bakdata.quick.mirror.context.RetentionTimeProperties;
+import com.bakdata.quick.mirror.context.RollupProperties;
 import com.bakdata.quick.mirror.range.extractor.AvroExtractor;
 import com.bakdata.quick.mirror.range.extractor.ProtoExtractor;
 import com.bakdata.quick.mirror.range.extractor.SchemaExtractor;
+import com.bakdata.quick.mirror.range.rollup.RangeRollup;
 import com.bakdata.quick.mirror.topology.MirrorTopology;
 import com.bakdata.quick.testutil.AvroRangeQueryTest;
 import com.bakdata.quick.testutil.ProtoRangeQueryTest;
@@ -75,6 +78,8 @@ class MirrorRangeTopologyTest {
     public static final String MIRROR_STORE = "mirror-test-store";
     private static final String RANGE_STORE_NAME = "range-test-store";
     private static final String RETENTION_STORE = "retention-test-store";
+    private static final String ROLLUP_STORE_NAME = "rollup-test-store";
+    private static final String ROLLUP_FIELD = "userId";
     private static final String RANGE_KEY = "userId";
     private static final String RANGE_FIELD = "timestamp";
 
@@ -457,9 +462,80 @@ class MirrorRangeTopologyTest {
         testTopology.stop();
     }
 
+    @Test
+    void shouldWriteRollupsOfRangeStoreWithAvroSchemaValue() {
+        final RollupProperties rollupProperties = new RollupProperties(ROLLUP_STORE_NAME, 10L, ROLLUP_FIELD);
+        final TestTopology<Object, Object> testTopology = new TestTopology<>(properties ->
+            createTopology(properties, newIntegerData(), avroData(), new AvroExtractor(), null, SchemaFormat.AVRO,
+                rollupProperties),
+            setTestProperties(Serdes.Integer(), new GenericAvroSerde())
+        );
+
+        testTopology.start();
+        final AvroRangeQueryTest avroRecord1 = AvroRangeQueryTest.newBuilder().setUserId(1).setTimestamp(1L).build();
+        final AvroRangeQueryTest avroRecord2 = AvroRangeQueryTest.newBuilder().setUserId(2).setTimestamp(2L).build();
+        final AvroRangeQueryTest avroRecord3 = AvroRangeQueryTest.newBuilder().setUserId(3).setTimestamp(12L).build();
+        final AvroRangeQueryTest avroRecord4 = AvroRangeQueryTest.newBuilder().setUserId(4).setTimestamp(1L).build();
+        testTopology.input()
+            .add(1, avroRecord1)
+            .add(1, avroRecord2)
+            .add(1, avroRecord3)
+            .add(2, avroRecord4);
+
+        final KeyValueStore<String, GenericRecord> rangeStore =
+            testTopology.getTestDriver().getKeyValueStore(RANGE_STORE_NAME);
+        assertThat(rangeStore.range("1_0000000000000000000", "1_0000000000000000019")).toIterable()
+            .extracting(keyValue -> keyValue.value.get(RANGE_FIELD))
+            .containsExactly(1L, 2L, 12L);
+
+        final KeyValueStore<String, RangeRollup> rollupStore =
+            testTopology.getTestDriver().getKeyValueStore(ROLLUP_STORE_NAME);
+        assertThat(rollupStore.get("1_0000000000000000000"))
+            .isEqualTo(new RangeRollup(2, new Aggregate(2, 3.0, 1.0, 2.0)));
+        assertThat(rollupStore.get("1_0000000000000000010"))
+            .isEqualTo(new RangeRollup(1, new Aggregate(1, 3.0, 3.0, 3.0)));
+        assertThat(rollupStore.get("2_0000000000000000000"))
+            .isEqualTo(new RangeRollup(1, new Aggregate(1, 4.0, 4.0, 4.0)));
+
+        testTopology.stop();
+    }
+
+    @Test
+    void shouldRecomputeRollupWhenRangeIndexIsOverwritten() {
+        final RollupProperties rollupProperties = new RollupProperties(ROLLUP_STORE_NAME, 10L, ROLLUP_FIELD);
+        final TestTopology<Object, Object> testTopology = new TestTopology<>(properties ->
+            createTopology(properties, newIntegerData(), avroData(), new AvroExtractor(), null, SchemaFormat.AVRO,
+                rollupProperties),
+            setTestProperties(Serdes.Integer(), new GenericAvroSerde())
+        );
+
+        testTopology.start();
+        final AvroRangeQueryTest avroRecord1 = AvroRangeQueryTest.newBuilder().setUserId(1).setTimestamp(1L).build();
+        final AvroRangeQueryTest avroRecord2 = AvroRangeQueryTest.newBuilder().setUserId(9).setTimestamp(2L).build();
+        final AvroRangeQueryTest avroRecord3 = AvroRangeQueryTest.newBuilder().setUserId(5).setTimestamp(2L).build();
+        testTopology.input()
+            .add(1, avroRecord1)
+            .add(1, avroRecord2)
+            .add(1, avroRecord3);
+
+        final KeyValueStore<String, RangeRollup> rollupStore =
+            testTopology.getTestDriver().getKeyValueStore(ROLLUP_STORE_NAME);
+        assertThat(rollupStore.get("1_0000000000000000000"))
+            .isEqualTo(new RangeRollup(2, new Aggregate(2, 6.0, 1.0, 5.0)));
+
+        testTopology.stop();
+    }
+
     private static <K, V> Topology createTopology(final Properties properties, final QuickData<K> quickKeyData,
         final QuickData<V> quickValueData, final SchemaExtractor schemaExtractor, @Nullable final String rangeKey,
         final SchemaFormat schemaFormat) {
+        return createTopology(properties, quickKeyData, quickValueData, schemaExtractor, rangeKey, schemaFormat,
+            RollupProperties.disabled());
+    }
+
+    private static <K, V> Topology createTopology(final Properties properties, final QuickData<K> quickKeyData,
+        final QuickData<V> quickValueData, final SchemaExtractor schemaExtractor, @Nullable final String rangeKey,
+        final SchemaFormat schemaFormat, final RollupProperties rollupProperties) {
 
         final String topic = INPUT_TOPICS.get(0);
 
@@ -493,6 +569,7 @@ class MirrorRangeTopologyTest {
             .rangeKey(rangeKey)
             .storeType(StoreType.INMEMORY)
             .retentionTimeProperties(new RetentionTimeProperties(RETENTION_STORE, null))
+            .rollupProperties(rollupProperties)
             .schemaExtractor(schemaExtractor)
             .build();
 
@@ -0,0 +1,51 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.range.rollup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import org.apache.kafka.common.serialization.Serde;
+import org.junit.jupiter.api.Test;
+
+class RangeRollupSerdeTest {
+    private static final String TOPIC = "rollup";
+    private final Serde<RangeRollup> serde = RangeRollupSerde.create();
+
+    @Test
+    void shouldSerializeRollup() {
+        final RangeRollup rollup = new RangeRollup(3, new Aggregate(2, 5.5, -1.0, 6.5));
+        final byte[] data = this.serde.serializer().serialize(TOPIC, rollup);
+        assertThat(this.serde.deserializer().deserialize(TOPIC, data)).isEqualTo(rollup);
+    }
+
+    @Test
+    void shouldSerializeRollupWithoutFieldAggregate() {
+        final RangeRollup rollup = new RangeRollup(3, Aggregate.empty());
+        final byte[] data = this.serde.serializer().serialize(TOPIC, rollup);
+        assertThat(this.serde.deserializer().deserialize(TOPIC, data)).isEqualTo(rollup);
+    }
+
+    @Test
+    void shouldMergeRollups() {
+        final RangeRollup merged = RangeRollup.of(new Aggregate(1, 2.0, 2.0, 2.0))
+            .merge(RangeRollup.of(Aggregate.empty()))
+            .merge(RangeRollup.empty());
+        assertThat(merged).isEqualTo(new RangeRollup(2, new Aggregate(1, 2.0, 2.0, 2.0)));
+        assertThat(merged.toAggregate(null)).isEqualTo(new Aggregate(2, null, null, null));
+    }
+}
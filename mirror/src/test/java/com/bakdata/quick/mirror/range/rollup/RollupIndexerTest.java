@@ -0,0 +1,73 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.range.rollup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.bakdata.quick.common.exception.MirrorTopologyException;
+import com.bakdata.quick.common.type.QuickTopicType;
+import com.bakdata.quick.mirror.range.extractor.type.FieldTypeExtractor;
+import com.bakdata.quick.mirror.range.extractor.value.GenericRecordValueExtractor;
+import com.bakdata.quick.mirror.range.indexer.WriteRangeIndexer;
+import com.bakdata.quick.testutil.AvroRangeQueryTest;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+
+class RollupIndexerTest {
+    private static final String RANGE_FIELD = "timestamp";
+    private static final AvroSchema SCHEMA = new AvroSchema(AvroRangeQueryTest.getClassSchema());
+    private static final FieldTypeExtractor TYPE_EXTRACTOR = (schema, field) -> QuickTopicType.LONG;
+
+    @Test
+    void shouldCreateSameRangeIndexAsWriteRangeIndexer() {
+        final AvroRangeQueryTest value = AvroRangeQueryTest.newBuilder().setUserId(1).setTimestamp(123L).build();
+        final WriteRangeIndexer<Integer, GenericRecord, Long> writeRangeIndexer =
+            WriteRangeIndexer.create(TYPE_EXTRACTOR, new GenericRecordValueExtractor<>(), SCHEMA, RANGE_FIELD);
+
+        assertThat(indexer(10).createIndex(1, value))
+            .isEqualTo(writeRangeIndexer.createIndex(1, value))
+            .isEqualTo("1_0000000000000000123");
+    }
+
+    @Test
+    void shouldCreateBucketIndex() {
+        final RollupIndexer<Integer, GenericRecord, Long> indexer = indexer(10);
+        assertThat(indexer.getBucketStart(123L)).isEqualTo(120L);
+        assertThat(indexer.getBucketStart(120L)).isEqualTo(120L);
+        assertThat(indexer.getBucketStart(-1L)).isEqualTo(-10L);
+        assertThat(indexer.createBucketIndex(1, 120L)).isEqualTo("1_0000000000000000120");
+    }
+
+    @Test
+    void shouldConvertRangeBoundsLikeReadRangeIndexer() {
+        assertThat(indexer(10).toRangeBound("120")).isEqualTo(119L);
+    }
+
+    @Test
+    void shouldRejectNonPositiveBucketSize() {
+        assertThatExceptionOfType(MirrorTopologyException.class)
+            .isThrownBy(() -> indexer(0))
+            .withMessage("The rollup bucket size should be positive");
+    }
+
+    private static RollupIndexer<Integer, GenericRecord, Long> indexer(final long bucketSize) {
+        return RollupIndexer.create(TYPE_EXTRACTOR, new GenericRecordValueExtractor<>(), SCHEMA, RANGE_FIELD,
+            bucketSize);
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bakdata.quick.common.api.client.HttpClient;
+import com.bakdata.quick.common.api.client.mirror.HeaderConstants;
+import com.bakdata.quick.common.api.model.mirror.MirrorValue;
+import com.bakdata.quick.common.exception.ServiceUnavailableException;
+import com.bakdata.quick.common.resolver.StringResolver;
+import com.bakdata.quick.common.type.QuickTopicData.QuickData;
+import com.bakdata.quick.common.type.QuickTopicType;
+import com.bakdata.quick.mirror.base.PositionConfig;
+import com.bakdata.quick.mirror.context.IndexInputStream;
+import com.bakdata.quick.mirror.context.MirrorContext;
+import com.bakdata.quick.mirror.context.MirrorContextProvider;
+import com.bakdata.quick.mirror.context.RangeIndexProperties;
+import com.bakdata.quick.mirror.range.extractor.SchemaExtractor;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.query.KeyQuery;
+import org.apache.kafka.streams.query.Position;
+import org.apache.kafka.streams.query.PositionBound;
+import org.apache.kafka.streams.query.QueryResult;
+import org.apache.kafka.streams.query.StateQueryRequest;
+import org.apache.kafka.streams.query.StateQueryResult;
+import org.apache.kafka.streams.state.HostInfo;
+import org.junit.jupiter.api.Test;
+
+class KafkaQueryServiceTest {
+    private static final String TOPIC = "topic";
+    private static final String STORE = "store";
+    private static final int PARTITION = 0;
+    private static final HostInfo HOST = new HostInfo("localhost", 8080);
+    private static final PositionConfig POSITION_CONFIG =
+        new PositionConfig(Optional.of(Duration.ofMillis(200)), Optional.of(Duration.ofMillis(10)));
+
+    private final KafkaStreams streams = mock(KafkaStreams.class);
+    private final Map<String, String> store = Map.of("a", "A", "b", "B");
+
+    @Test
+    void shouldReturnNullForMissingKeysInTheirPosition() {
+        this.mockStore(position(5));
+        final KafkaQueryService<String, String> service = this.createService();
+
+        final HttpResponse<MirrorValue<List<String>>> response =
+            service.getValues(List.of("a", "missing", "b"), null).blockingGet();
+
+        assertThat(response.code()).isEqualTo(HttpStatus.OK.getCode());
+        assertThat(response.body()).isNotNull();
+        assertThat(response.body().getValue()).containsExactly("A", null, "B");
+        assertThat(response.header(HeaderConstants.POSITION_HEADER)).isEqualTo("0:5");
+    }
+
+    @Test
+    void shouldAnswerMissingKeyWithPosition() {
+        this.mockStore(position(5));
+        final KafkaQueryService<String, String> service = this.createService();
+
+        final HttpResponse<MirrorValue<String>> response = service.get("missing", null).blockingGet();
+
+        assertThat(response.code()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+        assertThat(response.header(HeaderConstants.POSITION_HEADER)).isEqualTo("0:5");
+    }
+
+    @Test
+    void shouldNotReportPositionOfValueIfItIsUnknown() {
+        // e.g., a state restored without positions after a restart
+        this.mockStore(Position.emptyPosition());
+        final KafkaQueryService<String, String> service = this.createService();
+
+        final HttpResponse<MirrorValue<String>> response = service.get("a", null).blockingGet();
+
+        assertThat(response.code()).isEqualTo(HttpStatus.OK.getCode());
+        assertThat(response.body()).isNotNull();
+        assertThat(response.body().getValue()).isEqualTo("A");
+        assertThat(response.header(HeaderConstants.POSITION_HEADER)).isNull();
+    }
+
+    @Test
+    void shouldAnswerMissingKeyOfUnprocessedPartitionWithInitialPosition() {
+        this.mockStore(Position.emptyPosition());
+        final KafkaQueryService<String, String> service = this.createService();
+
+        final HttpResponse<MirrorValue<String>> response = service.get("missing", null).blockingGet();
+
+        assertThat(response.code()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+        assertThat(response.header(HeaderConstants.POSITION_HEADER)).isEqualTo("0:-1");
+    }
+
+    @Test
+    void shouldWaitUntilMinPositionIsReached() {
+        final AtomicInteger queries = new AtomicInteger();
+        when(this.streams.query(any())).thenAnswer(invocation -> {
+            // the store catches up with the third query
+            final long offset = queries.incrementAndGet() < 3 ? 3 : 7;
+            return this.queryStore(invocation.getArgument(0), position(offset));
+        });
+        final KafkaQueryService<String, String> service = this.createService();
+
+        final HttpResponse<MirrorValue<String>> response = service.get("a", "0:7").blockingGet();
+
+        assertThat(response.code()).isEqualTo(HttpStatus.OK.getCode());
+        assertThat(response.body()).isNotNull();
+        assertThat(response.body().getValue()).isEqualTo("A");
+        assertThat(response.header(HeaderConstants.POSITION_HEADER)).isEqualTo("0:7");
+        assertThat(queries).hasValueGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldBeUnavailableIfMinPositionIsNotReachedInTime() {
+        this.mockStore(position(3));
+        final KafkaQueryService<String, String> service = this.createService();
+
+        assertThatExceptionOfType(ServiceUnavailableException.class)
+            .isThrownBy(() -> service.get("a", "0:7").blockingGet())
+            .withMessageContaining("0:7");
+    }
+
+    @Test
+    void shouldBeUnavailableIfMinPositionOfAnyKeyIsNotReachedInTime() {
+        this.mockStore(position(3));
+        final KafkaQueryService<String, String> service = this.createService();
+
+        assertThatExceptionOfType(ServiceUnavailableException.class)
+            .isThrownBy(() -> service.getValues(List.of("a", "b"), "0:7").blockingGet());
+    }
+
+    private void mockStore(final Position position) {
+        when(this.streams.query(any())).thenAnswer(invocation -> this.queryStore(invocation.getArgument(0), position));
+    }
+
+    @SuppressWarnings("unchecked") // the service only sends key queries
+    private StateQueryResult<String> queryStore(final StateQueryRequest<String> request, final Position position) {
+        final PositionBound bound = request.getPositionBound();
+        final QueryResult<String> result;
+        if (bound.isUnbounded() || reached(position, bound.position())) {
+            final String key = ((KeyQuery<String, String>) request.getQuery()).getKey();
+            result = QueryResult.forResult(this.store.get(key));
+        } else {
+            result = QueryResult.notUpToBound(position, bound, PARTITION);
+        }
+        result.setPosition(position);
+        final StateQueryResult<String> stateQueryResult = new StateQueryResult<>();
+        stateQueryResult.addResult(PARTITION, result);
+        return stateQueryResult;
+    }
+
+    private KafkaQueryService<String, String> createService() {
+        when(this.streams.queryMetadataForKey(eq(STORE), anyString(), any(Serializer.class)))
+            .thenReturn(new KeyQueryMetadata(HOST, Set.of(), PARTITION));
+        final QuickData<String> data =
+            new QuickData<>(QuickTopicType.STRING, Serdes.String(), new StringResolver(), null);
+        final MirrorContext<String, String> context = MirrorContext.<String, String>builder()
+            .topicName(TOPIC)
+            .pointStoreName(STORE)
+            .indexInputStream(new IndexInputStream<>(data, data, null))
+            .rangeIndexProperties(new RangeIndexProperties("range", null))
+            .streams(this.streams)
+            .hostInfo(HOST)
+            .build();
+        @SuppressWarnings("unchecked")
+        final MirrorContextProvider<String, String> contextProvider = mock(MirrorContextProvider.class);
+        when(contextProvider.get()).thenReturn(context);
+        return new KafkaQueryService<>(new HttpClient(), mock(SchemaExtractor.class), contextProvider,
+            POSITION_CONFIG);
+    }
+
+    private static boolean reached(final Position position, final Position bound) {
+        final Map<Integer, Long> offsets = position.getPartitionPositions(TOPIC);
+        return bound.getPartitionPositions(TOPIC).entrySet().stream()
+            .allMatch(entry -> offsets.getOrDefault(entry.getKey(), -1L) >= entry.getValue());
+    }
+
+    private static Position position(final long offset) {
+        return Position.emptyPosition().withComponent(TOPIC, PARTITION, offset);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *    Copyright 2022 bakdata GmbH
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.bakdata.quick.mirror.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.bakdata.quick.avro.PurchaseStatsAvro;
+import com.bakdata.quick.common.api.model.mirror.Aggregate;
+import com.bakdata.quick.common.exception.BadArgumentException;
+import com.bakdata.quick.mirror.range.extractor.value.GenericRecordValueExtractor;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ValueAggregatorTest {
+    private static final List<PurchaseStatsAvro> PURCHASES = List.of(
+        purchase("first", 3L, 7),
+        purchase("second", 10L, null),
+        purchase("third", 5L, 2));
+
+    @Test
+    void shouldCountValues() {
+        final ValueAggregator<PurchaseStatsAvro> aggregator = aggregator(null);
+        PURCHASES.forEach(aggregator);
+        assertThat(aggregator.toAggregate()).isEqualTo(new Aggregate(3, null, null, null));
+    }
+
+    @Test
+    void shouldAggregateNumericField() {
+        final ValueAggregator<PurchaseStatsAvro> aggregator = aggregator("amount");
+        PURCHASES.forEach(aggregator);
+        final Aggregate aggregate = aggregator.toAggregate();
+        assertThat(aggregate).isEqualTo(new Aggregate(3, 18.0, 3.0, 10.0));
+        assertThat(aggregate.getAvg()).isEqualTo(6.0);
+    }
+
+    @Test
+    void shouldSkipMissingValues() {
+        final ValueAggregator<PurchaseStatsAvro> aggregator = aggregator("productId");
+        PURCHASES.forEach(aggregator);
+        assertThat(aggregator.toAggregate()).isEqualTo(new Aggregate(2, 9.0, 2.0, 7.0));
+    }
+
+    @Test
+    void shouldMergePartialAggregates() {
+        final ValueAggregator<PurchaseStatsAvro> first = aggregator("amount");
+        first.accept(PURCHASES.get(0));
+        final ValueAggregator<PurchaseStatsAvro> second = aggregator("amount");
+        second.accept(PURCHASES.get(1));
+        second.accept(PURCHASES.get(2));
+
+        final Aggregate merged = first.toAggregate().merge(second.toAggregate()).merge(Aggregate.empty());
+        assertThat(merged).isEqualTo(new Aggregate(3, 18.0, 3.0, 10.0));
+    }
+
+    @Test
+    void shouldAggregateSingleValueWithoutAddingIt() {
+        final ValueAggregator<PurchaseStatsAvro> aggregator = aggregator("productId");
+        assertThat(aggregator.aggregateSingle(PURCHASES.get(0))).isEqualTo(new Aggregate(1, 7.0, 7.0, 7.0));
+        assertThat(aggregator.aggregateSingle(PURCHASES.get(1))).isEqualTo(Aggregate.empty());
+        assertThat(aggregator.toAggregate()).isEqualTo(Aggregate.empty());
+    }
+
+    @Test
+    void shouldRejectNonNumericFields() {
+        final ValueAggregator<PurchaseStatsAvro> aggregator = aggregator("id");
+        assertThatExceptionOfType(BadArgumentException.class)
+            .isThrownBy(() -> aggregator.accept(PURCHASES.get(0)))
+            .withMessageContaining("cannot be aggregated");
+    }
+
+    private static ValueAggregator<PurchaseStatsAvro> aggregator(final String field) {
+        return new ValueAggregator<>(field, new GenericRecordValueExtractor<>());
+    }
+
+    private static PurchaseStatsAvro purchase(final String id, final long amount, final Integer productId) {
+        return PurchaseStatsAvro.newBuilder().setId(id).setAmount(amount).setProductId(productId).build();
+    }
+}